@@ -0,0 +1,305 @@
+package com.roam.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.roam.model.Priority;
+import com.roam.model.TaskFilter;
+import com.roam.model.TaskStatus;
+import com.roam.repository.TaskRepository;
+import com.roam.service.CalendarService;
+import com.roam.service.CalendarServiceImpl;
+import com.roam.service.OperationService;
+import com.roam.service.OperationServiceImpl;
+import com.roam.service.SearchService;
+import com.roam.service.TaskService;
+import com.roam.service.TaskServiceImpl;
+import com.roam.service.WikiService;
+import com.roam.service.WikiServiceImpl;
+import com.roam.util.BenchmarkData;
+import com.roam.util.HibernateUtil;
+import com.roam.util.LatencyHistogram;
+import com.roam.util.MarkdownUtils;
+import jakarta.persistence.EntityManager;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless load test that replays a typical mix of user actions against an
+ * existing workspace (see {@link WorkspaceGenerator}) through the same
+ * services and repositories the views use, then reports latency percentiles
+ * per action. Usage:
+ *
+ * <pre>
+ * ./gradlew loadTest -Pargs="--generate --tasks=100000 --wikis=20000 --actions=5000 --users=4"
+ * </pre>
+ *
+ * Options: {@code --generate} fills the database first (accepts the
+ * generator's options), {@code --actions=} total actions (default 2000),
+ * {@code --warmup=} untimed actions first (default 200), {@code --users=}
+ * concurrent simulated users (default 1), {@code --seed=} and
+ * {@code --out=} to also write the report as JSON.
+ */
+public class LoadHarness {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadHarness.class);
+
+    /**
+     * One scripted user action and its share of the mix.
+     */
+    private record Action(String name, int weight, ActionBody body) {
+    }
+
+    @FunctionalInterface
+    private interface ActionBody {
+        void run(Random random) throws Exception;
+    }
+
+    public record ActionReport(String action, long count, long errors, double meanMs, double p50Ms, double p95Ms,
+            double p99Ms, double maxMs) {
+    }
+
+    private final TaskRepository taskRepository = new TaskRepository();
+    private final TaskService taskService = new TaskServiceImpl();
+    private final WikiService wikiService = new WikiServiceImpl();
+    private final OperationService operationService = new OperationServiceImpl();
+    private final CalendarService calendarService = new CalendarServiceImpl();
+    private final SearchService searchService = SearchService.getInstance();
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+    private final List<Action> actions = new ArrayList<>();
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+    private final Map<String, AtomicInteger> errors = new LinkedHashMap<>();
+    private final int totalWeight;
+
+    private List<Long> taskIds;
+    private List<Long> wikiIds;
+
+    public LoadHarness() {
+        actions.add(new Action("filter tasks", 25, this::filterTasks));
+        actions.add(new Action("overdue tasks", 5, random -> taskService.findOverdue()));
+        actions.add(new Action("search", 20, this::search));
+        actions.add(new Action("open wiki", 15, this::openWiki));
+        actions.add(new Action("save task", 10, this::saveTask));
+        actions.add(new Action("save wiki", 5, this::saveWiki));
+        actions.add(new Action("calendar month", 10, this::calendarMonth));
+        actions.add(new Action("list operations", 5, random -> operationService.findAll()));
+        actions.add(new Action("related notes", 5, this::relatedNotes));
+
+        int weight = 0;
+        for (Action action : actions) {
+            weight += action.weight();
+            latencies.put(action.name(), new LatencyHistogram());
+            errors.put(action.name(), new AtomicInteger());
+        }
+        this.totalWeight = weight;
+    }
+
+    /**
+     * Run {@code count} actions across {@code users} threads. Each user has
+     * its own seeded RNG so runs are repeatable.
+     */
+    public List<ActionReport> run(int warmup, int count, int users, long seed) throws Exception {
+        loadIds();
+        if (taskIds.isEmpty() || wikiIds.isEmpty()) {
+            throw new IllegalStateException("Workspace is empty; run with --generate first");
+        }
+
+        logger.info("🔄 Warming up with {} actions...", warmup);
+        runActions(warmup, users, seed - 1, false);
+        logger.info("⏱ Running {} actions with {} user(s)...", count, users);
+        long start = System.nanoTime();
+        runActions(count, users, seed, true);
+        logger.info("✓ Load run finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+
+        List<ActionReport> report = new ArrayList<>();
+        latencies.forEach((name, histogram) -> report.add(new ActionReport(name, histogram.getCount(),
+                errors.get(name).get(), histogram.getMeanMillis(), histogram.getPercentileMillis(50),
+                histogram.getPercentileMillis(95), histogram.getPercentileMillis(99), histogram.getMaxMillis())));
+        return report;
+    }
+
+    private void runActions(int count, int users, long seed, boolean record) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int user = 0; user < users; user++) {
+                Random random = new Random(seed * 31 + user);
+                int share = count / users + (user < count % users ? 1 : 0);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < share; i++) {
+                        perform(pickAction(random), random, record);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private void perform(Action action, Random random, boolean record) {
+        long start = System.nanoTime();
+        try {
+            action.body().run(random);
+        } catch (Exception e) {
+            if (record) {
+                errors.get(action.name()).incrementAndGet();
+            }
+            logger.warn("⚠️ {} failed: {}", action.name(), e.getMessage());
+            return;
+        }
+        if (record) {
+            latencies.get(action.name()).record(System.nanoTime() - start);
+        }
+    }
+
+    private Action pickAction(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Action action : actions) {
+            roll -= action.weight();
+            if (roll < 0) {
+                return action;
+            }
+        }
+        return actions.get(actions.size() - 1);
+    }
+
+    private void loadIds() {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            taskIds = em.createQuery("SELECT t.id FROM Task t", Long.class).getResultList();
+            wikiIds = em.createQuery("SELECT w.id FROM Wiki w", Long.class).getResultList();
+        } finally {
+            em.close();
+        }
+        logger.info("📊 Workspace has {} tasks and {} wikis", taskIds.size(), wikiIds.size());
+    }
+
+    // ==================== Actions ====================
+
+    private void filterTasks(Random random) {
+        TaskFilter filter = new TaskFilter();
+        switch (random.nextInt(4)) {
+            case 0 -> filter.setStatuses(new ArrayList<>(List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS)));
+            case 1 -> filter.setPriorities(new ArrayList<>(List.of(Priority.HIGH)));
+            case 2 -> filter.setSearchQuery(BenchmarkData.word(random));
+            default -> filter.setDueDateFilter(TaskFilter.DueDateFilter.THIS_WEEK);
+        }
+        taskRepository.findWithFilters(filter);
+    }
+
+    private void search(Random random) throws Exception {
+        String query = random.nextBoolean()
+                ? BenchmarkData.word(random)
+                : BenchmarkData.word(random) + " " + BenchmarkData.word(random);
+        searchService.search(query, new SearchService.SearchFilter());
+    }
+
+    private void openWiki(Random random) {
+        wikiService.findById(pick(wikiIds, random)).ifPresent(wiki -> renderer.render(
+                parser.parse(MarkdownUtils.processWikiLinks(wiki.getContent()))));
+    }
+
+    private void saveTask(Random random) {
+        taskService.findById(pick(taskIds, random)).ifPresent(task -> {
+            task.setDescription(BenchmarkData.sentence(random, 30));
+            taskService.updateTask(task);
+        });
+    }
+
+    private void saveWiki(Random random) {
+        wikiService.findById(pick(wikiIds, random)).ifPresent(wiki -> {
+            wiki.setContent(wiki.getContent() + "\n\n" + BenchmarkData.sentence(random, 20));
+            wikiService.updateWiki(wiki);
+        });
+    }
+
+    private void calendarMonth(Random random) {
+        LocalDateTime start = LocalDateTime.now().withDayOfMonth(1).toLocalDate().atStartOfDay()
+                .plusMonths(random.nextInt(6) - 3);
+        calendarService.findByDateRange(start, start.plusMonths(1));
+    }
+
+    private void relatedNotes(Random random) throws Exception {
+        searchService.findRelated("wiki", pick(wikiIds, random), 5);
+    }
+
+    private static Long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    // ==================== Entry point ====================
+
+    private static void print(List<ActionReport> report) {
+        System.out.printf("%n%-16s %8s %6s %10s %10s %10s %10s %10s%n", "action", "count", "errors", "mean ms",
+                "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (ActionReport row : report) {
+            System.out.printf("%-16s %8d %6d %10.2f %10.2f %10.2f %10.2f %10.2f%n", row.action(), row.count(),
+                    row.errors(), row.meanMs(), row.p50Ms(), row.p95Ms(), row.p99Ms(), row.maxMs());
+        }
+    }
+
+    /**
+     * Parse {@code --key=value} and bare {@code --flag} arguments.
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals > 0) {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            } else {
+                options.put(arg.substring(2), "true");
+            }
+        }
+        return options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("generate")) {
+            options.put("index", "true");
+            new WorkspaceGenerator(WorkspaceGenerator.Spec.fromOptions(options)).generate();
+        }
+
+        LoadHarness harness = new LoadHarness();
+        List<ActionReport> report = harness.run(
+                Integer.parseInt(options.getOrDefault("warmup", "200")),
+                Integer.parseInt(options.getOrDefault("actions", "2000")),
+                Integer.parseInt(options.getOrDefault("users", "1")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        print(report);
+
+        if (options.containsKey("out")) {
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            mapper.writeValue(new File(options.get("out")), report);
+            logger.info("✓ Report written to {}", options.get("out"));
+        }
+
+        SearchService.getInstance().close();
+        HibernateUtil.shutdown();
+    }
+}
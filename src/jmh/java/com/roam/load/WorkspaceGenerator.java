@@ -0,0 +1,409 @@
+package com.roam.load;
+
+import com.roam.model.OperationStatus;
+import com.roam.model.Priority;
+import com.roam.model.Region;
+import com.roam.model.TaskStatus;
+import com.roam.model.Wiki;
+import com.roam.repository.RegionRepository;
+import com.roam.service.SearchService;
+import com.roam.util.BenchmarkData;
+import com.roam.util.DatabaseConfig;
+import com.roam.util.HibernateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills a database with a deterministic synthetic workspace: operations,
+ * tasks (some recurring, some overdue), wikis with Markdown and
+ * {@code [[links]]}, calendar events and journal entries.
+ *
+ * Rows are written with JDBC batches rather than through the repositories;
+ * the entities use IDENTITY keys, which disables Hibernate's insert batching.
+ * The same seed always produces the same workspace. Usage:
+ *
+ * <pre>
+ * ./gradlew generateWorkspace -Pargs="--tasks=100000 --wikis=20000 --index"
+ * </pre>
+ */
+public class WorkspaceGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkspaceGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] ASSIGNEES = { "alice", "bob", "carol", "dave", "erin", null };
+    private static final String[] RECURRENCE = { "Daily", "Weekly", "Monthly", "Yearly" };
+    private static final String[] LOCATIONS = { "Office", "Home", "Cafe", "Online", null };
+
+    /**
+     * Sizes of the generated workspace. {@link #DEFAULT} matches the largest
+     * workspace we support (100k tasks, 20k wikis).
+     */
+    public record Spec(long seed, int operations, int tasks, int wikis, int events, int journalEntries,
+            boolean index) {
+
+        public static final Spec DEFAULT = new Spec(42, 1000, 100_000, 20_000, 10_000, 2000, false);
+
+        /**
+         * Read {@code --seed=}, {@code --operations=}, {@code --tasks=},
+         * {@code --wikis=}, {@code --events=}, {@code --journal=} and
+         * {@code --index}, falling back to {@link #DEFAULT}.
+         */
+        public static Spec fromOptions(Map<String, String> options) {
+            return new Spec(
+                    Long.parseLong(options.getOrDefault("seed", String.valueOf(DEFAULT.seed))),
+                    Integer.parseInt(options.getOrDefault("operations", String.valueOf(DEFAULT.operations))),
+                    Integer.parseInt(options.getOrDefault("tasks", String.valueOf(DEFAULT.tasks))),
+                    Integer.parseInt(options.getOrDefault("wikis", String.valueOf(DEFAULT.wikis))),
+                    Integer.parseInt(options.getOrDefault("events", String.valueOf(DEFAULT.events))),
+                    Integer.parseInt(options.getOrDefault("journal", String.valueOf(DEFAULT.journalEntries))),
+                    options.containsKey("index"));
+        }
+    }
+
+    private final Spec spec;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private final List<Long> operationIds = new ArrayList<>();
+    private final List<String> wikiTitles = new ArrayList<>();
+
+    public WorkspaceGenerator(Spec spec) {
+        this.spec = spec;
+        this.random = new Random(spec.seed());
+    }
+
+    /**
+     * Generate the workspace into the database selected by
+     * {@link DatabaseConfig}, running migrations first if needed.
+     */
+    public void generate() throws SQLException, IOException {
+        long start = System.nanoTime();
+
+        // Runs Flyway and creates the default regions
+        HibernateUtil.getEntityManagerFactory();
+        new RegionRepository().createDefaultRegions();
+
+        SearchService searchService = spec.index() ? SearchService.getInstance() : null;
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        try (Connection connection = DriverManager.getConnection(config.getJdbcUrl(), config.getUsername(),
+                config.getPassword())) {
+            connection.setAutoCommit(false);
+            if (searchService != null) {
+                searchService.batch(() -> generate(connection, searchService));
+            } else {
+                generate(connection, null);
+            }
+        }
+
+        logger.info("✓ Generated workspace in {} ms: {} operations, {} tasks, {} wikis, {} events, {} journal entries",
+                (System.nanoTime() - start) / 1_000_000, spec.operations(), spec.tasks(), spec.wikis(),
+                spec.events(), spec.journalEntries());
+    }
+
+    private void generate(Connection connection, SearchService searchService) throws IOException {
+        try {
+            insertOperations(connection, searchService);
+            insertWikis(connection, searchService);
+            insertTasks(connection, searchService);
+            insertEvents(connection, searchService);
+            insertJournalEntries(connection, searchService);
+        } catch (SQLException e) {
+            throw new IOException("Failed to generate workspace", e);
+        }
+    }
+
+    private void insertOperations(Connection connection, SearchService searchService)
+            throws SQLException, IOException {
+        String sql = "INSERT INTO operations (name, purpose, due_date, status, outcome, priority, created_at, "
+                + "updated_at, region) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[] { "ID" })) {
+            List<Object[]> pending = new ArrayList<>();
+            for (int i = 0; i < spec.operations(); i++) {
+                String name = capitalize(BenchmarkData.word(random)) + " " + BenchmarkData.word(random) + " " + i;
+                String purpose = BenchmarkData.sentence(random, 15);
+                String status = pick(OperationStatus.values()).name();
+                String priority = pick(Priority.values()).name();
+                ps.setString(1, name);
+                ps.setString(2, purpose);
+                ps.setObject(3, random.nextBoolean() ? LocalDate.now().plusDays(random.nextInt(180) - 30) : null, Types.DATE);
+                ps.setString(4, status);
+                ps.setString(5, null);
+                ps.setString(6, priority);
+                ps.setTimestamp(7, timestamp(now.minusDays(random.nextInt(365))));
+                ps.setTimestamp(8, timestamp(now));
+                ps.setString(9, pick(Region.DEFAULT_REGIONS));
+                ps.addBatch();
+                pending.add(new Object[] { name, purpose, status, priority });
+                if (pending.size() == BATCH_SIZE || i == spec.operations() - 1) {
+                    List<Long> ids = flush(connection, ps);
+                    operationIds.addAll(ids);
+                    if (searchService != null) {
+                        for (int j = 0; j < ids.size(); j++) {
+                            Object[] row = pending.get(j);
+                            searchService.indexOperation(ids.get(j), (String) row[0], (String) row[1], null,
+                                    (String) row[2], (String) row[3]);
+                        }
+                    }
+                    pending.clear();
+                }
+            }
+        }
+        logger.info("✓ Inserted {} operations", spec.operations());
+    }
+
+    private void insertWikis(Connection connection, SearchService searchService) throws SQLException, IOException {
+        for (int i = 0; i < spec.wikis(); i++) {
+            wikiTitles.add(capitalize(BenchmarkData.word(random)) + " " + BenchmarkData.word(random) + " " + i);
+        }
+
+        String sql = "INSERT INTO wikis (operation_id, title, content, created_at, updated_at, is_favorite, "
+                + "word_count, region) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[] { "ID" })) {
+            List<Wiki> pending = new ArrayList<>();
+            for (int i = 0; i < spec.wikis(); i++) {
+                Wiki wiki = new Wiki(wikiTitles.get(i), random.nextInt(3) == 0 ? null : pick(operationIds));
+                wiki.setContent(wikiContent(i));
+                wiki.setRegion(pick(Region.DEFAULT_REGIONS));
+                wiki.setUpdatedAt(now.minusDays(random.nextInt(365)));
+
+                ps.setObject(1, wiki.getOperationId(), Types.BIGINT);
+                ps.setString(2, wiki.getTitle());
+                ps.setString(3, wiki.getContent());
+                ps.setTimestamp(4, timestamp(wiki.getUpdatedAt().minusDays(random.nextInt(30))));
+                ps.setTimestamp(5, timestamp(wiki.getUpdatedAt()));
+                ps.setBoolean(6, random.nextInt(20) == 0);
+                ps.setInt(7, wiki.getWordCount());
+                ps.setString(8, wiki.getRegion());
+                ps.addBatch();
+                pending.add(wiki);
+                if (pending.size() == BATCH_SIZE || i == spec.wikis() - 1) {
+                    List<Long> ids = flush(connection, ps);
+                    if (searchService != null) {
+                        for (int j = 0; j < ids.size(); j++) {
+                            Wiki w = pending.get(j);
+                            searchService.indexWiki(ids.get(j), w.getTitle(), w.getContent(), w.getRegion(),
+                                    w.getOperationId(), w.getUpdatedAt());
+                        }
+                    }
+                    pending.clear();
+                }
+            }
+        }
+        logger.info("✓ Inserted {} wikis", spec.wikis());
+    }
+
+    private void insertTasks(Connection connection, SearchService searchService) throws SQLException, IOException {
+        String sql = "INSERT INTO tasks (operation_id, title, description, status, due_date, assignee, priority, "
+                + "position, created_at, updated_at, region, recurrence_rule, recurrence_end_date, "
+                + "is_recurring_instance) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[] { "ID" })) {
+            List<Object[]> pending = new ArrayList<>();
+            for (int i = 0; i < spec.tasks(); i++) {
+                Long operationId = pick(operationIds);
+                String title = capitalize(BenchmarkData.sentence(random, 3 + random.nextInt(5)));
+                String description = random.nextInt(4) == 0 ? null : BenchmarkData.sentence(random, 20 + random.nextInt(60));
+                TaskStatus status = pick(TaskStatus.values());
+                Priority priority = pick(Priority.values());
+                // A quarter have no due date; the rest span 60 days back to 90 ahead, so many are overdue
+                LocalDateTime dueDate = random.nextInt(4) == 0 ? null : now.plusDays(random.nextInt(150) - 60);
+                boolean recurring = random.nextInt(20) == 0;
+
+                ps.setLong(1, operationId);
+                ps.setString(2, title);
+                ps.setString(3, description);
+                ps.setString(4, status.name());
+                ps.setTimestamp(5, timestamp(dueDate));
+                ps.setString(6, pick(ASSIGNEES));
+                ps.setString(7, priority.name());
+                ps.setInt(8, i);
+                ps.setTimestamp(9, timestamp(now.minusDays(random.nextInt(365))));
+                ps.setTimestamp(10, timestamp(now));
+                ps.setString(11, pick(Region.DEFAULT_REGIONS));
+                ps.setString(12, recurring ? pick(RECURRENCE) : null);
+                ps.setTimestamp(13, recurring && random.nextBoolean() ? timestamp(now.plusMonths(6)) : null);
+                ps.setBoolean(14, false);
+                ps.addBatch();
+                pending.add(new Object[] { title, description, priority.name(), status.name(), operationId, dueDate });
+                if (pending.size() == BATCH_SIZE || i == spec.tasks() - 1) {
+                    List<Long> ids = flush(connection, ps);
+                    if (searchService != null) {
+                        for (int j = 0; j < ids.size(); j++) {
+                            Object[] row = pending.get(j);
+                            searchService.indexTask(ids.get(j), (String) row[0], (String) row[1], (String) row[2],
+                                    (String) row[3], (Long) row[4], (LocalDateTime) row[5]);
+                        }
+                    }
+                    pending.clear();
+                }
+            }
+        }
+        logger.info("✓ Inserted {} tasks", spec.tasks());
+    }
+
+    private void insertEvents(Connection connection, SearchService searchService) throws SQLException, IOException {
+        List<Long> sourceIds = insertCalendarSources(connection);
+
+        String sql = "INSERT INTO calendar_events (calendar_source_id, operation_id, title, description, location, "
+                + "start_date_time, end_date_time, is_all_day, recurrence_rule, is_recurring_instance, created_at, "
+                + "updated_at, region) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[] { "ID" })) {
+            List<Object[]> pending = new ArrayList<>();
+            for (int i = 0; i < spec.events(); i++) {
+                String title = capitalize(BenchmarkData.sentence(random, 2 + random.nextInt(3)));
+                String description = random.nextBoolean() ? BenchmarkData.sentence(random, 15) : null;
+                String location = pick(LOCATIONS);
+                boolean allDay = random.nextInt(5) == 0;
+                LocalDateTime start = now.truncatedTo(ChronoUnit.HOURS)
+                        .plusHours(random.nextInt(24 * 365) - 24 * 180);
+                LocalDateTime end = allDay ? start.plusDays(1) : start.plusMinutes(30 + 30L * random.nextInt(4));
+
+                ps.setLong(1, pick(sourceIds));
+                ps.setObject(2, random.nextBoolean() ? pick(operationIds) : null, Types.BIGINT);
+                ps.setString(3, title);
+                ps.setString(4, description);
+                ps.setString(5, location);
+                ps.setTimestamp(6, timestamp(start));
+                ps.setTimestamp(7, timestamp(end));
+                ps.setBoolean(8, allDay);
+                ps.setString(9, random.nextInt(10) == 0 ? pick(RECURRENCE) : null);
+                ps.setBoolean(10, false);
+                ps.setTimestamp(11, timestamp(now));
+                ps.setTimestamp(12, timestamp(now));
+                ps.setString(13, pick(Region.DEFAULT_REGIONS));
+                ps.addBatch();
+                pending.add(new Object[] { title, description, start, end, location });
+                if (pending.size() == BATCH_SIZE || i == spec.events() - 1) {
+                    List<Long> ids = flush(connection, ps);
+                    if (searchService != null) {
+                        for (int j = 0; j < ids.size(); j++) {
+                            Object[] row = pending.get(j);
+                            searchService.indexEvent(ids.get(j), (String) row[0], (String) row[1],
+                                    (LocalDateTime) row[2], (LocalDateTime) row[3], (String) row[4]);
+                        }
+                    }
+                    pending.clear();
+                }
+            }
+        }
+        logger.info("✓ Inserted {} calendar events", spec.events());
+    }
+
+    private List<Long> insertCalendarSources(Connection connection) throws SQLException {
+        String sql = "INSERT INTO calendar_sources (name, color, type, is_visible, is_default, created_at, updated_at) "
+                + "VALUES (?, ?, 'REGION', TRUE, FALSE, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[] { "ID" })) {
+            for (int i = 0; i < Region.DEFAULT_REGIONS.length; i++) {
+                ps.setString(1, "Generated " + Region.DEFAULT_REGIONS[i]);
+                ps.setString(2, Region.DEFAULT_COLORS[i]);
+                ps.setTimestamp(3, timestamp(now));
+                ps.setTimestamp(4, timestamp(now));
+                ps.addBatch();
+            }
+            return flush(connection, ps);
+        }
+    }
+
+    private void insertJournalEntries(Connection connection, SearchService searchService)
+            throws SQLException, IOException {
+        String sql = "INSERT INTO journal_entries (title, content, date, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[] { "ID" })) {
+            List<Object[]> pending = new ArrayList<>();
+            for (int i = 0; i < spec.journalEntries(); i++) {
+                LocalDate date = LocalDate.now().minusDays(i);
+                String title = date.toString();
+                String content = BenchmarkData.markdown(80 + random.nextInt(300), spec.seed() + i);
+
+                ps.setString(1, title);
+                ps.setString(2, content);
+                ps.setObject(3, date);
+                ps.setTimestamp(4, timestamp(date.atTime(21, 0)));
+                ps.setTimestamp(5, timestamp(date.atTime(21, 0)));
+                ps.addBatch();
+                pending.add(new Object[] { title, content, date.toString() });
+                if (pending.size() == BATCH_SIZE || i == spec.journalEntries() - 1) {
+                    List<Long> ids = flush(connection, ps);
+                    if (searchService != null) {
+                        for (int j = 0; j < ids.size(); j++) {
+                            Object[] row = pending.get(j);
+                            searchService.indexJournalEntry(ids.get(j), (String) row[0], (String) row[1],
+                                    (String) row[2]);
+                        }
+                    }
+                    pending.clear();
+                }
+            }
+        }
+        logger.info("✓ Inserted {} journal entries", spec.journalEntries());
+    }
+
+    /**
+     * Wiki body of 100-1500 words linking to a few earlier wikis, so the
+     * link graph has no dangling targets.
+     */
+    private String wikiContent(int index) {
+        StringBuilder sb = new StringBuilder(BenchmarkData.markdown(100 + random.nextInt(1400), spec.seed() + index));
+        int links = index == 0 ? 0 : random.nextInt(6);
+        if (links > 0) {
+            sb.append("## Related\n\n");
+            for (int i = 0; i < links; i++) {
+                sb.append("- [[").append(wikiTitles.get(random.nextInt(index))).append("]]\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static List<Long> flush(Connection connection, PreparedStatement ps) throws SQLException {
+        ps.executeBatch();
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getLong(1));
+            }
+        }
+        connection.commit();
+        return ids;
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadHarness.parseOptions(args);
+        new WorkspaceGenerator(Spec.fromOptions(options)).generate();
+        if (options.containsKey("index")) {
+            SearchService.getInstance().close();
+        }
+        HibernateUtil.shutdown();
+    }
+}
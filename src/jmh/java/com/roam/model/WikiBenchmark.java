@@ -0,0 +1,38 @@
+package com.roam.model;
+
+import com.roam.util.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Word counting runs on every wiki persist and update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WikiBenchmark {
+
+    @Param({ "200", "5000", "20000" })
+    public int words;
+
+    private Wiki wiki;
+
+    @Setup
+    public void setUp() {
+        wiki = new Wiki("Benchmark", 1L);
+        wiki.setContent(BenchmarkData.markdown(words, 11));
+    }
+
+    @Benchmark
+    public Integer calculateWordCount() {
+        return wiki.calculateWordCount();
+    }
+}
@@ -0,0 +1,114 @@
+package com.roam.repository;
+
+import com.roam.model.Operation;
+import com.roam.model.Priority;
+import com.roam.model.Task;
+import com.roam.model.TaskFilter;
+import com.roam.model.TaskStatus;
+import com.roam.util.BenchmarkData;
+import com.roam.util.HibernateUtil;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task filtering as used by the Tasks view, against an in-memory H2
+ * database migrated by Flyway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskRepositoryBenchmark {
+
+    private static final String[] ASSIGNEES = { "alice", "bob", "carol", "dave" };
+
+    @Param({ "1000", "10000" })
+    public int tasks;
+
+    private TaskRepository taskRepository;
+    private TaskFilter defaultFilter;
+    private TaskFilter narrowFilter;
+    private TaskFilter searchFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.useInMemoryDatabase();
+        taskRepository = new TaskRepository();
+
+        List<Long> operationIds = new ArrayList<>();
+        OperationRepository operationRepository = new OperationRepository();
+        for (int i = 0; i < 10; i++) {
+            operationIds.add(operationRepository.save(new Operation("Operation " + i)).getId());
+        }
+        seedTasks(operationIds);
+
+        defaultFilter = new TaskFilter();
+
+        narrowFilter = new TaskFilter();
+        narrowFilter.setOperationIds(List.of(operationIds.get(0), operationIds.get(1)));
+        narrowFilter.setStatuses(List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+        narrowFilter.setPriorities(List.of(Priority.HIGH));
+        narrowFilter.setDueDateFilter(TaskFilter.DueDateFilter.THIS_WEEK);
+
+        searchFilter = new TaskFilter();
+        searchFilter.setSearchQuery("roadmap");
+    }
+
+    private void seedTasks(List<Long> operationIds) {
+        Random random = new Random(17);
+        Priority[] priorities = Priority.values();
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            for (int i = 0; i < tasks; i++) {
+                Task task = new Task(BenchmarkData.sentence(random, 5),
+                        operationIds.get(random.nextInt(operationIds.size())));
+                task.setDescription(BenchmarkData.sentence(random, 40));
+                task.setPriority(priorities[random.nextInt(priorities.length)]);
+                task.setStatus(statuses[random.nextInt(statuses.length)]);
+                task.setAssignee(ASSIGNEES[random.nextInt(ASSIGNEES.length)]);
+                task.setDueDate(random.nextInt(4) == 0 ? null : now.plusDays(random.nextInt(60) - 20));
+                task.setPosition(i);
+                em.persist(task);
+                if (i % 500 == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public List<Task> findWithDefaultFilter() {
+        return taskRepository.findWithFilters(defaultFilter);
+    }
+
+    @Benchmark
+    public List<Task> findWithNarrowFilter() {
+        return taskRepository.findWithFilters(narrowFilter);
+    }
+
+    @Benchmark
+    public List<Task> findWithSearchQuery() {
+        return taskRepository.findWithFilters(searchFilter);
+    }
+}
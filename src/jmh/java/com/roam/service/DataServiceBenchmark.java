@@ -0,0 +1,103 @@
+package com.roam.service;
+
+import com.roam.model.Operation;
+import com.roam.model.Task;
+import com.roam.model.Wiki;
+import com.roam.util.BenchmarkData;
+import com.roam.util.HibernateUtil;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON export and merge-mode import of a seeded in-memory database.
+ * Importing the database's own export skips every record, so repeated
+ * invocations measure parsing and duplicate checks without growing the
+ * data set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataServiceBenchmark {
+
+    @Param({ "500" })
+    public int records;
+
+    private Path workDir;
+    private File exportFile;
+    private File importFile;
+    private DataService dataService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkData.useInMemoryDatabase();
+        seed();
+
+        workDir = Files.createTempDirectory("roam-jmh-data");
+        exportFile = workDir.resolve("export.json").toFile();
+        importFile = workDir.resolve("import.json").toFile();
+        dataService = new DataService();
+
+        DataService.ExportResult result = dataService.exportData(importFile);
+        if (!result.isSuccess()) {
+            throw new IllegalStateException("Seed export failed: " + result.getMessage());
+        }
+    }
+
+    private void seed() {
+        Random random = new Random(23);
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            Operation[] operations = new Operation[10];
+            for (int i = 0; i < operations.length; i++) {
+                operations[i] = new Operation("Operation " + i);
+                em.persist(operations[i]);
+            }
+            em.flush();
+            for (int i = 0; i < records; i++) {
+                Long operationId = operations[i % operations.length].getId();
+                Task task = new Task(BenchmarkData.sentence(random, 5), operationId);
+                task.setDescription(BenchmarkData.sentence(random, 30));
+                task.setPosition(i);
+                em.persist(task);
+
+                Wiki wiki = new Wiki("Note " + i + " " + BenchmarkData.word(random), operationId);
+                wiki.setContent(BenchmarkData.markdown(300, i));
+                em.persist(wiki);
+            }
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkData.deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    public DataService.ExportResult exportData() {
+        return dataService.exportData(exportFile);
+    }
+
+    @Benchmark
+    public DataService.ImportResult importDataMerge() {
+        return dataService.importData(importFile, true);
+    }
+}
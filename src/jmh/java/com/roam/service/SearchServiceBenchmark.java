@@ -0,0 +1,98 @@
+package com.roam.service;
+
+import com.roam.util.BenchmarkData;
+import org.apache.lucene.store.FSDirectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lucene indexing and querying against a temporary on-disk index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchServiceBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int documents;
+
+    private Path indexDir;
+    private SearchService searchService;
+    private SearchService.SearchFilter filter;
+    private String content;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        indexDir = Files.createTempDirectory("roam-jmh-index");
+        searchService = new SearchService(FSDirectory.open(indexDir));
+        filter = new SearchService.SearchFilter();
+        content = BenchmarkData.markdown(300, 3);
+
+        Random random = new Random(5);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= documents; id++) {
+            if (id % 2 == 0) {
+                searchService.indexWiki(id, BenchmarkData.sentence(random, 4), BenchmarkData.markdown(200, id),
+                        "Lifestyle", id % 20, now);
+            } else {
+                searchService.indexTask(id, BenchmarkData.sentence(random, 5), BenchmarkData.sentence(random, 30),
+                        "HIGH", "TODO", id % 20, now.plusDays(id % 30));
+            }
+        }
+        nextId = documents + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        searchService.close();
+        BenchmarkData.deleteRecursively(indexDir);
+    }
+
+    /**
+     * A single save, including the commit every service write performs.
+     */
+    @Benchmark
+    public void indexWiki() throws Exception {
+        long id = nextId++;
+        searchService.indexWiki(id, "Benchmark note " + id, content, "Lifestyle", 1L, LocalDateTime.now());
+    }
+
+    /**
+     * Re-indexing an existing document (the common edit path).
+     */
+    @Benchmark
+    public void reindexWiki() throws Exception {
+        searchService.indexWiki(2L, "Benchmark note", content, "Lifestyle", 1L, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<SearchService.SearchResult> searchSingleTerm() throws Exception {
+        return searchService.search("roadmap", filter);
+    }
+
+    @Benchmark
+    public List<SearchService.SearchResult> searchPhrase() throws Exception {
+        return searchService.search("project review deadline", filter);
+    }
+
+    @Benchmark
+    public List<SearchService.SearchResult> findRelated() throws Exception {
+        return searchService.findRelated("wiki", 2L, 5);
+    }
+}
@@ -0,0 +1,105 @@
+package com.roam.util;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Random;
+
+/**
+ * Shared fixtures for the JMH benchmarks: deterministic sample text and an
+ * in-memory database.
+ */
+public final class BenchmarkData {
+
+    public static final String IN_MEMORY_URL = "jdbc:h2:mem:roam-jmh;DB_CLOSE_DELAY=-1";
+
+    private static final String[] WORDS = {
+            "project", "meeting", "review", "deadline", "design", "roadmap", "budget", "release",
+            "customer", "feedback", "research", "draft", "summary", "backlog", "planning", "notes",
+            "server", "migration", "index", "search", "calendar", "journal", "wiki", "task"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Point HibernateUtil at an in-memory H2 database. Must run before the
+     * first repository call; the Gradle jmh task also passes the property
+     * so forked JVMs agree.
+     */
+    public static void useInMemoryDatabase() {
+        if (System.getProperty("roam.db.url") == null) {
+            System.setProperty("roam.db.url", IN_MEMORY_URL);
+        }
+    }
+
+    /**
+     * Markdown document of roughly {@code words} words with headings, lists,
+     * emphasis and a wiki-link every few paragraphs.
+     */
+    public static String markdown(int words, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(words * 8);
+        int written = 0;
+        int paragraph = 0;
+        while (written < words) {
+            if (paragraph % 5 == 0) {
+                sb.append("## ").append(word(random)).append(' ').append(word(random)).append("\n\n");
+            }
+            if (paragraph % 3 == 0) {
+                for (int i = 0; i < 3 && written < words; i++) {
+                    sb.append("- ").append(sentence(random, 6)).append('\n');
+                    written += 6;
+                }
+                sb.append('\n');
+            }
+            int length = 40 + random.nextInt(40);
+            sb.append(sentence(random, length));
+            if (paragraph % 2 == 0) {
+                sb.append(" See [[").append(word(random)).append(' ').append(word(random)).append("]] and **")
+                        .append(word(random)).append("**.");
+            }
+            sb.append("\n\n");
+            written += length;
+            paragraph++;
+        }
+        return sb.toString();
+    }
+
+    public static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(word(random));
+        }
+        return sb.append('.').toString();
+    }
+
+    public static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public static void deleteRecursively(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.roam.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sanitizing note content on save and search queries on every keystroke.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InputSanitizerBenchmark {
+
+    @Param({ "200", "5000" })
+    public int words;
+
+    private String content;
+    private String query;
+    private String specialQuery;
+
+    @Setup
+    public void setUp() {
+        content = BenchmarkData.markdown(words, 42);
+        query = "project review deadline";
+        specialQuery = "title:\"release notes\" AND (budget OR roadmap*) -draft";
+    }
+
+    @Benchmark
+    public String sanitizeContent() {
+        return InputSanitizer.sanitizeContent(content);
+    }
+
+    @Benchmark
+    public String sanitizeSearchQuery() {
+        return InputSanitizer.sanitizeSearchQuery(query);
+    }
+
+    @Benchmark
+    public String sanitizeSearchQueryWithOperators() {
+        return InputSanitizer.sanitizeSearchQuery(specialQuery);
+    }
+}
@@ -0,0 +1,77 @@
+package com.roam.util;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.task.list.items.TaskListItemsExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wiki preview rendering: wiki-link processing followed by CommonMark with
+ * the same GFM extensions as WikiNoteEditor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarkdownBenchmark {
+
+    @Param({ "200", "5000" })
+    public int words;
+
+    private String markdown;
+    private String processed;
+    private Parser parser;
+    private HtmlRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        markdown = BenchmarkData.markdown(words, 7);
+        processed = MarkdownUtils.processWikiLinks(markdown);
+
+        List<Extension> extensions = Arrays.asList(
+                TablesExtension.create(),
+                StrikethroughExtension.create(),
+                TaskListItemsExtension.create());
+        parser = Parser.builder().extensions(extensions).build();
+        renderer = HtmlRenderer.builder().extensions(extensions).build();
+    }
+
+    @Benchmark
+    public String processWikiLinks() {
+        return MarkdownUtils.processWikiLinks(markdown);
+    }
+
+    @Benchmark
+    public String render() {
+        return renderer.render(parser.parse(processed));
+    }
+
+    /**
+     * What the editor does per preview refresh, including building the
+     * parser and renderer each time.
+     */
+    @Benchmark
+    public String renderPreview() {
+        String links = MarkdownUtils.processWikiLinks(markdown);
+        List<Extension> extensions = Arrays.asList(
+                TablesExtension.create(),
+                StrikethroughExtension.create(),
+                TaskListItemsExtension.create());
+        Parser freshParser = Parser.builder().extensions(extensions).build();
+        HtmlRenderer freshRenderer = HtmlRenderer.builder().extensions(extensions).build();
+        return freshRenderer.render(freshParser.parse(links));
+    }
+}
@@ -1,16 +1,31 @@
 package com.roam;
 
+import com.roam.layout.CustomTitleBar;
 import com.roam.layout.WindowResizeHelper;
+import com.roam.service.AttachmentStore;
 import com.roam.service.DatabaseService;
+import com.roam.service.DatabaseMaintenanceService;
+import com.roam.service.FlightRecordingService;
+import com.roam.service.HttpApiService;
+import com.roam.service.IcsFeedService;
+import com.roam.service.SearchService;
 import com.roam.service.SecurityContext;
 import com.roam.service.SettingsService;
 import com.roam.util.HibernateUtil;
 import com.roam.util.ThemeManager;
+import com.roam.util.ThreadPoolManager;
 import com.roam.view.LockScreenLayout;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.image.Image;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
@@ -18,7 +33,10 @@ import javafx.stage.StageStyle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Objects;
+import java.util.concurrent.CompletionException;
 
 public class RoamApplication extends Application {
 
@@ -26,16 +44,25 @@ public class RoamApplication extends Application {
 
     @Override
     public void start(Stage primaryStage) {
-        try {
-            // Initialize database FIRST
-            logger.info("=".repeat(50));
-            logger.info("🚀 Starting Roam Application");
-            logger.info("=".repeat(50));
+        logger.info("=".repeat(50));
+        logger.info("🚀 Starting Roam Application");
+        logger.info("=".repeat(50));
 
-            DatabaseService.initializeDatabase();
+        StartupOrchestrator startup = StartupOrchestrator.getInstance();
 
-            logger.info("=".repeat(50));
+        // Independent stages run concurrently; only the window waits for fonts
+        startup.stage(StartupOrchestrator.STAGE_DATABASE, DatabaseService::initializeDatabase);
+        startup.stage(StartupOrchestrator.STAGE_SEARCH_INDEX, () -> {
+            try {
+                SearchService.getInstance().warmUp();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        startup.stage(StartupOrchestrator.STAGE_FONTS, this::loadFonts);
+        startup.stage(StartupOrchestrator.STAGE_THREAD_POOLS, () -> ThreadPoolManager.getInstance().prestart());
 
+        try {
             // Load settings
             SettingsService settingsService = SettingsService.getInstance();
             String theme = settingsService.getSettings().getTheme();
@@ -43,15 +70,9 @@ public class RoamApplication extends Application {
             // Apply AtlantaFX theme using ThemeManager
             ThemeManager.getInstance().applyTheme(theme);
 
-            // Load custom fonts
-            loadFonts();
-
             // Use undecorated window with transparent background for rounded corners
             primaryStage.initStyle(StageStyle.TRANSPARENT);
 
-            // Create main layout with custom title bar
-            MainLayout mainLayout = new MainLayout(primaryStage);
-
             // Load custom CSS (will complement AtlantaFX)
             String css = Objects.requireNonNull(
                     getClass().getResource("/styles/application.css")).toExternalForm();
@@ -64,21 +85,12 @@ public class RoamApplication extends Application {
             ThemeManager themeManager = ThemeManager.getInstance();
             boolean isDarkTheme = themeManager.isDarkTheme();
 
+            // Fonts are small; wait for them so the first frame renders with the right typeface
+            startup.whenReady(StartupOrchestrator.STAGE_FONTS).exceptionally(e -> null).join();
+
             if (SecurityContext.getInstance().isLockEnabled() && hasPinSet) {
-                LockScreenLayout lockScreenLayout = new LockScreenLayout(primaryStage, () -> {
-                    Scene scene = new Scene(mainLayout, 1024, 600);
-                    scene.setFill(Color.TRANSPARENT);
-                    scene.getStylesheets().add(css);
-                    // Apply dark mode class if needed
-                    if (isDarkTheme) {
-                        scene.getRoot().getStyleClass().add("dark");
-                    }
-                    themeManager.setMainScene(scene);
-                    primaryStage.setScene(scene);
-
-                    // Re-attach resize helper to new layout
-                    new WindowResizeHelper(primaryStage, mainLayout);
-                });
+                LockScreenLayout lockScreenLayout = new LockScreenLayout(primaryStage,
+                        () -> showMainLayoutWhenReady(primaryStage, css, isDarkTheme));
 
                 Scene lockScene = new Scene(lockScreenLayout, 1024, 600);
                 lockScene.setFill(Color.TRANSPARENT);
@@ -92,17 +104,9 @@ public class RoamApplication extends Application {
                 // Enable window resizing for lock screen
                 new WindowResizeHelper(primaryStage, lockScreenLayout);
             } else {
-                // No lock screen - proceed directly to main app
-                Scene scene = new Scene(mainLayout, 1024, 600);
-                scene.setFill(Color.TRANSPARENT);
-                scene.getStylesheets().add(css);
-                // Apply dark mode class if needed
-                if (isDarkTheme) {
-                    scene.getRoot().getStyleClass().add("dark");
-                }
-                themeManager.setMainScene(scene);
-                primaryStage.setScene(scene);
+                // No lock screen - proceed to main app as soon as the database is up
                 SecurityContext.getInstance().setAuthenticated(true); // Auto-authenticate when no lock
+                showMainLayoutWhenReady(primaryStage, css, isDarkTheme);
             }
 
             // Set window properties
@@ -112,9 +116,6 @@ public class RoamApplication extends Application {
             primaryStage.setMinWidth(1024);
             primaryStage.setMinHeight(600);
 
-            // Enable window resizing on edges (for undecorated window)
-            new WindowResizeHelper(primaryStage, mainLayout);
-
             // Set application icon (for taskbar)
             try {
                 Image icon = new Image(
@@ -128,19 +129,83 @@ public class RoamApplication extends Application {
             // Center and show window
             primaryStage.centerOnScreen();
             primaryStage.show();
+            startup.mark("window shown");
 
-            logger.info("✓ Application started successfully");
+            // A failed database stage is fatal, as before
+            startup.whenReady(StartupOrchestrator.STAGE_DATABASE).exceptionally(e -> {
+                Platform.runLater(() -> failStartup(e));
+                return null;
+            });
+            startup.whenAllDone();
 
         } catch (Exception e) {
-            logger.error("✗ Failed to start application: {}", e.getMessage(), e);
-            e.printStackTrace();
-            showErrorDialog("Database Error",
-                    "Failed to initialize database. The application will now close.",
-                    e.getMessage());
-            System.exit(1);
+            failStartup(e);
         }
     }
 
+    /**
+     * Show the main layout once the database stage has completed. Until then a
+     * lightweight placeholder keeps the window responsive.
+     */
+    private void showMainLayoutWhenReady(Stage primaryStage, String css, boolean isDarkTheme) {
+        StartupOrchestrator startup = StartupOrchestrator.getInstance();
+
+        if (!startup.isReady(StartupOrchestrator.STAGE_DATABASE)) {
+            ProgressIndicator progress = new ProgressIndicator();
+            progress.setMaxSize(48, 48);
+            Label loadingLabel = new Label("Preparing your workspace...");
+            VBox loadingBox = new VBox(16, progress, loadingLabel);
+            loadingBox.setAlignment(Pos.CENTER);
+            loadingBox.getStyleClass().add("main-layout");
+
+            BorderPane loadingLayout = new BorderPane(loadingBox);
+            loadingLayout.setTop(new CustomTitleBar(primaryStage));
+            loadingLayout.getStyleClass().add("main-layout");
+            setScene(primaryStage, loadingLayout, css, isDarkTheme);
+            new WindowResizeHelper(primaryStage, loadingLayout);
+
+            startup.whenReady(StartupOrchestrator.STAGE_DATABASE)
+                    .thenRun(() -> Platform.runLater(() -> showMainLayout(primaryStage, css, isDarkTheme)));
+            return;
+        }
+
+        showMainLayout(primaryStage, css, isDarkTheme);
+    }
+
+    private void showMainLayout(Stage primaryStage, String css, boolean isDarkTheme) {
+        // Create main layout with custom title bar
+        MainLayout mainLayout = new MainLayout(primaryStage);
+        Scene scene = setScene(primaryStage, mainLayout, css, isDarkTheme);
+        ThemeManager.getInstance().setMainScene(scene);
+
+        // Re-attach resize helper to new layout
+        new WindowResizeHelper(primaryStage, mainLayout);
+
+        StartupOrchestrator.getInstance().mark("main layout ready");
+        logger.info("✓ Application started successfully");
+    }
+
+    private Scene setScene(Stage primaryStage, Parent root, String css, boolean isDarkTheme) {
+        Scene scene = new Scene(root, 1024, 600);
+        scene.setFill(Color.TRANSPARENT);
+        scene.getStylesheets().add(css);
+        // Apply dark mode class if needed
+        if (isDarkTheme) {
+            scene.getRoot().getStyleClass().add("dark");
+        }
+        primaryStage.setScene(scene);
+        return scene;
+    }
+
+    private void failStartup(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        logger.error("✗ Failed to start application: {}", cause.getMessage(), cause);
+        showErrorDialog("Database Error",
+                "Failed to initialize database. The application will now close.",
+                cause.getMessage());
+        System.exit(1);
+    }
+
     @Override
     public void stop() {
         // Shutdown resources on application exit
@@ -148,8 +213,25 @@ public class RoamApplication extends Application {
         logger.info("🛑 Shutting down Roam Application");
         logger.info("=".repeat(50));
 
+        // Save an active flight recording
+        FlightRecordingService.getInstance().shutdown();
+
+        // No maintenance runs during shutdown
+        DatabaseMaintenanceService.getInstance().stop();
+
+        // Write calendar changes still waiting for the debounce
+        IcsFeedService.getInstance().stop();
+
+        // Copies of attachments opened in other applications
+        AttachmentStore.getInstance().deleteOpenCopies();
+
+        // Finish requests in progress before the pools and database close
+        if (SettingsService.getInstance().getSettings().isApiEnabled()) {
+            HttpApiService.getInstance().stop();
+        }
+
         // Shutdown thread pools gracefully
-        com.roam.util.ThreadPoolManager.getInstance().gracefulShutdown();
+        ThreadPoolManager.getInstance().gracefulShutdown();
 
         // Shutdown Hibernate
         HibernateUtil.shutdown();
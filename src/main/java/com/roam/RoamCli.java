@@ -0,0 +1,291 @@
+package com.roam;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.roam.repository.CalendarEventRepository;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.OperationRepository;
+import com.roam.repository.TaskRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.service.ArchiveExportService;
+import com.roam.service.AttachmentIndexer;
+import com.roam.service.IcsImportService;
+import com.roam.service.SearchService;
+import com.roam.service.SiteExportService;
+import com.roam.service.VaultImportService;
+import com.roam.util.HibernateUtil;
+import com.roam.util.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Headless entry point for scripts such as nightly backups. Starts only
+ * Hibernate (which runs the Flyway migrations) and, for the commands that
+ * need it, the search index; JavaFX is never loaded. Usage:
+ *
+ * <pre>
+ * roam-cli export --archive=backup.zip [--site=public/]
+ * roam-cli import --vault=notes/ | --ics=calendar.ics
+ * roam-cli reindex
+ * roam-cli search &lt;query&gt; [--types=wiki,task] [--limit=50]
+ * roam-cli stats
+ * </pre>
+ *
+ * Results are written to standard output as JSON, one object per line;
+ * log output goes to standard error. Exits with 0 on success, 1 when the
+ * command fails and 2 on bad usage. Point it at another workspace with
+ * {@code -Droam.db.url=} and {@code -Droam.index.dir=} in
+ * {@code ROAM_CLI_OPTS}.
+ */
+public class RoamCli {
+
+    static final int OK = 0;
+    static final int FAILED = 1;
+    static final int USAGE = 2;
+
+    private static final String USAGE_TEXT = """
+            Usage: roam-cli <command> [options]
+
+              export --archive=<file.zip>  Export wikis, journal and attachments as Markdown
+                     --site=<dir>          Publish the wiki as a static HTML site
+              import --vault=<dir>         Import a folder of Markdown notes
+                     --ics=<file>          Import iCalendar events
+              reindex                      Rebuild the search index from the database
+              search <query>               Search, one result per line
+                     --types=wiki,task,event,journal,operation  --limit=<n>
+              stats                        Count the workspace contents
+            """;
+
+    /**
+     * Bad arguments; reported with the usage text.
+     */
+    static class UsageException extends RuntimeException {
+        UsageException(String message) {
+            super(message);
+        }
+    }
+
+    // Not static: logging must only start once main has moved stdout aside
+    private final Logger logger = LoggerFactory.getLogger(RoamCli.class);
+    private final Supplier<SearchService> searchServiceSupplier;
+    private final PrintStream out;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private SearchService searchService;
+
+    RoamCli(Supplier<SearchService> searchServiceSupplier, PrintStream out) {
+        this.searchServiceSupplier = searchServiceSupplier;
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        // Results go to stdout; everything else, the console log included,
+        // goes to stderr so the output can be piped
+        PrintStream out = System.out;
+        System.setOut(System.err);
+
+        RoamCli cli = new RoamCli(SearchService::getInstance, out);
+        int status;
+        try {
+            status = cli.run(args);
+        } finally {
+            cli.close();
+            ThreadPoolManager.getInstance().gracefulShutdown();
+            HibernateUtil.shutdown();
+        }
+        out.flush();
+        System.exit(status);
+    }
+
+    int run(String[] args) {
+        if (args.length == 0 || Set.of("help", "--help", "-h").contains(args[0])) {
+            System.err.print(USAGE_TEXT);
+            return args.length == 0 ? USAGE : OK;
+        }
+
+        String command = args[0];
+        try {
+            Map<String, String> options = new LinkedHashMap<>();
+            List<String> words = new ArrayList<>();
+            parseArguments(Arrays.copyOfRange(args, 1, args.length), options, words);
+            if (!words.isEmpty() && !command.equals("search")) {
+                throw new UsageException("Unexpected argument: " + words.get(0));
+            }
+
+            switch (command) {
+                case "export" -> export(options);
+                case "import" -> importFrom(options);
+                case "reindex" -> reindex();
+                case "search" -> search(String.join(" ", words), options);
+                case "stats" -> stats();
+                default -> throw new UsageException("Unknown command: " + command);
+            }
+            out.flush();
+            return OK;
+        } catch (UsageException e) {
+            System.err.println("roam-cli: " + e.getMessage());
+            System.err.print(USAGE_TEXT);
+            return USAGE;
+        } catch (Exception e) {
+            logger.error("✗ {} failed: {}", command, e.getMessage(), e);
+            print(mapper.createObjectNode()
+                    .put("command", command)
+                    .put("error", e.getClass().getSimpleName())
+                    .put("message", e.getMessage()));
+            return FAILED;
+        }
+    }
+
+    /**
+     * Split {@code --key=value} and {@code --flag} options from plain words.
+     */
+    static void parseArguments(String[] args, Map<String, String> options, List<String> words) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                words.add(arg);
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (equals > 2) {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            } else if (equals < 0 && arg.length() > 2) {
+                options.put(arg.substring(2), "true");
+            } else {
+                throw new UsageException("Malformed option: " + arg);
+            }
+        }
+    }
+
+    private void export(Map<String, String> options) throws IOException {
+        requireOptions(options, "archive", "site");
+        if (options.containsKey("archive")) {
+            long start = System.currentTimeMillis();
+            Path zip = Path.of(options.get("archive"));
+            ArchiveExportService.ExportResult result = new ArchiveExportService().exportTo(zip);
+            print(result("export", result, start).put("archive", zip.toAbsolutePath().toString()));
+        }
+        if (options.containsKey("site")) {
+            long start = System.currentTimeMillis();
+            Path dir = Path.of(options.get("site"));
+            SiteExportService.ExportResult result = new SiteExportService().export(dir);
+            print(result("export", result, start).put("site", dir.toAbsolutePath().toString()));
+        }
+    }
+
+    private void importFrom(Map<String, String> options) throws IOException {
+        requireOptions(options, "vault", "ics");
+        searchService(); // Imports index what they save; opened here so close() releases it
+        if (options.containsKey("vault")) {
+            long start = System.currentTimeMillis();
+            Path dir = Path.of(options.get("vault"));
+            VaultImportService.ImportResult result = new VaultImportService().importVault(dir);
+            print(result("import", result, start).put("vault", dir.toAbsolutePath().toString()));
+        }
+        if (options.containsKey("ics")) {
+            long start = System.currentTimeMillis();
+            Path file = Path.of(options.get("ics"));
+            IcsImportService.ImportResult result = new IcsImportService().importFile(file);
+            print(result("import", result, start).put("ics", file.toAbsolutePath().toString()));
+        }
+    }
+
+    private void reindex() throws IOException {
+        long start = System.currentTimeMillis();
+        int documents = searchService().rebuildIndex();
+        int attachments = AttachmentIndexer.getInstance().indexAll();
+        print(mapper.createObjectNode()
+                .put("command", "reindex")
+                .put("documents", documents)
+                .put("attachments", attachments)
+                .put("millis", System.currentTimeMillis() - start));
+    }
+
+    private void search(String query, Map<String, String> options) throws Exception {
+        if (query.isBlank()) {
+            throw new UsageException("search needs a query");
+        }
+        SearchService.SearchFilter filter = new SearchService.SearchFilter();
+        if (options.containsKey("types")) {
+            filter.types = new ArrayList<>(Arrays.asList(options.get("types").split(",")));
+        }
+        if (options.containsKey("limit")) {
+            filter.maxResults = parsePositive("limit", options.get("limit"));
+        }
+        for (SearchService.SearchResult result : searchService().search(query, filter)) {
+            out.println(mapper.writeValueAsString(result));
+        }
+    }
+
+    private void stats() throws IOException {
+        print(mapper.createObjectNode()
+                .put("command", "stats")
+                .put("wikis", new WikiRepository().count())
+                .put("journalEntries", new JournalEntryRepository().count())
+                .put("tasks", new TaskRepository().countAll())
+                .put("operations", new OperationRepository().count())
+                .put("events", new CalendarEventRepository().count())
+                .put("indexDocuments", searchService().documentCount()));
+    }
+
+    private ObjectNode result(String command, Object result, long start) {
+        ObjectNode node = mapper.createObjectNode().put("command", command);
+        node.setAll((ObjectNode) mapper.valueToTree(result));
+        return node.put("millis", System.currentTimeMillis() - start);
+    }
+
+    private void print(ObjectNode node) {
+        out.println(node.toString());
+    }
+
+    private static void requireOptions(Map<String, String> options, String... names) {
+        if (Arrays.stream(names).noneMatch(options::containsKey)) {
+            throw new UsageException("Expected one of --" + String.join(", --", names));
+        }
+    }
+
+    private static int parsePositive(String name, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new UsageException("--" + name + " must be a positive number");
+    }
+
+    /**
+     * Opens the search index on first use, so commands that do not need it
+     * neither pay for it nor take its write lock.
+     */
+    private SearchService searchService() {
+        if (searchService == null) {
+            searchService = searchServiceSupplier.get();
+        }
+        return searchService;
+    }
+
+    void close() {
+        if (searchService == null) {
+            return;
+        }
+        try {
+            searchService.close();
+        } catch (IOException e) {
+            logger.warn("⚠️ Failed to close search index: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.roam;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent application startup stages concurrently and records a
+ * per-stage timeline.
+ *
+ * Each stage is a named unit of work with optional dependencies on other
+ * stages. Stages start as soon as their dependencies complete, on a small
+ * dedicated pool that is released once startup is over. Callers gate work on
+ * a stage via {@link #whenReady(String)}; the UI thread never has to block on
+ * the database to show the first window.
+ */
+public class StartupOrchestrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupOrchestrator.class);
+
+    private static volatile StartupOrchestrator instance;
+
+    public static final String STAGE_DATABASE = "database";
+    public static final String STAGE_SEARCH_INDEX = "search-index";
+    public static final String STAGE_FONTS = "fonts";
+    public static final String STAGE_THREAD_POOLS = "thread-pools";
+
+    private final long startNanos = System.nanoTime();
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<Void>> stages = new LinkedHashMap<>();
+    private final List<TimelineEntry> timeline = new ArrayList<>();
+
+    private record TimelineEntry(String name, long startMs, long durationMs, String thread, boolean failed,
+            boolean milestone) {
+    }
+
+    private StartupOrchestrator() {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(
+                Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())),
+                r -> {
+                    Thread thread = new Thread(r, "startup-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public static StartupOrchestrator getInstance() {
+        if (instance == null) {
+            synchronized (StartupOrchestrator.class) {
+                if (instance == null) {
+                    instance = new StartupOrchestrator();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Register and start a background stage.
+     *
+     * @param name      Unique stage name
+     * @param work      Work to run
+     * @param dependsOn Stages that must complete successfully first
+     * @return Future completing when the stage is done
+     */
+    public synchronized CompletableFuture<Void> stage(String name, Runnable work, String... dependsOn) {
+        if (stages.containsKey(name)) {
+            throw new IllegalStateException("Startup stage already registered: " + name);
+        }
+
+        CompletableFuture<?>[] dependencies = Arrays.stream(dependsOn)
+                .map(this::whenReady)
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture<Void> future = CompletableFuture.allOf(dependencies)
+                .thenRunAsync(() -> runTimed(name, work), executor);
+        stages.put(name, future);
+        return future;
+    }
+
+    /**
+     * Future completing when the named stage has finished.
+     */
+    public synchronized CompletableFuture<Void> whenReady(String name) {
+        CompletableFuture<Void> future = stages.get(name);
+        if (future == null) {
+            throw new IllegalArgumentException("Unknown startup stage: " + name);
+        }
+        return future;
+    }
+
+    /**
+     * Whether the named stage has completed successfully.
+     */
+    public synchronized boolean isReady(String name) {
+        CompletableFuture<Void> future = stages.get(name);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * Record a milestone (e.g. first window shown) in the timeline.
+     */
+    public void mark(String milestone) {
+        long offset = elapsedMs();
+        synchronized (timeline) {
+            timeline.add(new TimelineEntry(milestone, offset, 0, Thread.currentThread().getName(), false, true));
+        }
+        logger.info("⏱ {} at +{} ms", milestone, offset);
+    }
+
+    /**
+     * Future completing once every registered stage has finished, successfully
+     * or not. Logs the startup timeline and releases the startup threads.
+     */
+    public CompletableFuture<Void> whenAllDone() {
+        CompletableFuture<?>[] all;
+        synchronized (this) {
+            all = stages.values().stream()
+                    .map(f -> f.exceptionally(e -> null))
+                    .toArray(CompletableFuture[]::new);
+        }
+        return CompletableFuture.allOf(all).thenRun(() -> {
+            logTimeline();
+            executor.shutdown();
+        });
+    }
+
+    private void runTimed(String name, Runnable work) {
+        long begin = elapsedMs();
+        boolean failed = false;
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            failed = true;
+            logger.error("✗ Startup stage '{}' failed: {}", name, e.getMessage(), e);
+            throw e;
+        } finally {
+            long duration = elapsedMs() - begin;
+            synchronized (timeline) {
+                timeline.add(new TimelineEntry(name, begin, duration, Thread.currentThread().getName(), failed,
+                        false));
+            }
+            logger.debug("✓ Startup stage '{}' finished in {} ms", name, duration);
+        }
+    }
+
+    private void logTimeline() {
+        List<TimelineEntry> entries;
+        synchronized (timeline) {
+            entries = new ArrayList<>(timeline);
+        }
+        entries.sort((a, b) -> Long.compare(a.startMs(), b.startMs()));
+
+        logger.info("⏱ Startup timeline ({} ms total):", elapsedMs());
+        for (TimelineEntry entry : entries) {
+            if (entry.milestone()) {
+                logger.info("   +{} ms  ● {}", String.format("%5d", entry.startMs()), entry.name());
+            } else {
+                logger.info("   +{} ms  {} {} ({} ms, {})", String.format("%5d", entry.startMs()),
+                        entry.failed() ? "✗" : "✓", entry.name(), entry.durationMs(), entry.thread());
+            }
+        }
+    }
+
+    private long elapsedMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -4,8 +4,11 @@ import com.roam.model.*;
 import com.roam.service.CalendarService;
 import com.roam.service.CalendarServiceImpl;
 import com.roam.repository.*;
+import com.roam.util.AsyncLoader;
 import com.roam.util.DialogUtils;
+import com.roam.util.ThreadPoolManager;
 import com.roam.view.components.EventDialog;
+import javafx.application.Platform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,7 +16,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 public class CalendarController {
@@ -28,10 +32,12 @@ public class CalendarController {
     private final RegionRepository regionRepository;
     private final WikiRepository WikiRepository;
 
-    private List<CalendarSource> calendarSources;
-    private List<CalendarEvent> allEvents;
+    private List<CalendarSource> calendarSources = List.of();
+    private List<CalendarEvent> allEvents = List.of();
 
     private Runnable onDataChanged;
+    private final AsyncLoader loader = new AsyncLoader("calendar events");
+    private final AsyncLoader dialogLoader = new AsyncLoader("event dialog choices");
 
     public CalendarController() {
         this.calendarService = new CalendarServiceImpl();
@@ -41,31 +47,47 @@ public class CalendarController {
         this.taskRepository = new TaskRepository();
         this.regionRepository = new RegionRepository();
         this.WikiRepository = new WikiRepository();
-
-        initialize();
     }
 
     public void setOnDataChanged(Runnable handler) {
         this.onDataChanged = handler;
     }
 
-    private void initialize() {
+    private record CalendarData(List<CalendarSource> sources, List<CalendarEvent> events) {
+    }
+
+    /**
+     * Set up calendar sources and load the events in the background, then
+     * notify the view. Until then the calendar is empty.
+     */
+    public void load() {
+        loader.load(this::initialize, data -> {
+            calendarSources = data.sources();
+            allEvents = data.events();
+            if (onDataChanged != null) {
+                onDataChanged.run();
+            }
+        }, e -> DialogUtils.showError("Database Error", "Failed to load calendar", e.getMessage()));
+    }
+
+    private CalendarData initialize() {
         logger.info("🗓️ Initializing Calendar...");
 
         // Create default calendar sources if not exist
         createDefaultCalendarSources();
 
         // Load all calendar sources
-        calendarSources = sourceRepository.findAll();
-        logger.info("✓ Loaded {} calendar sources", calendarSources.size());
+        List<CalendarSource> sources = sourceRepository.findAll();
+        logger.info("✓ Loaded {} calendar sources", sources.size());
 
         // Load all events
-        loadAllEvents();
+        List<CalendarEvent> events = calendarService.findAll();
 
         // Sync tasks to events
-        syncTasksToEvents();
+        syncTasksToEvents(sources);
 
-        logger.info("✓ Calendar initialized with {} events", allEvents.size());
+        logger.info("✓ Calendar initialized with {} events", events.size());
+        return new CalendarData(sources, events);
     }
 
     private void createDefaultCalendarSources() {
@@ -92,14 +114,43 @@ public class CalendarController {
         }
     }
 
-    private void loadAllEvents() {
-        allEvents = calendarService.findAll();
+    /**
+     * Reload events in the background and notify the view once they arrive.
+     * Only the latest reload is applied if several overlap.
+     */
+    private void reloadEvents() {
+        loader.load(this::findAllEvents, events -> {
+            allEvents = events;
+            if (onDataChanged != null) {
+                onDataChanged.run();
+            }
+        }, e -> DialogUtils.showError("Database Error", "Failed to load events", e.getMessage()));
+    }
+
+    public AsyncLoader getLoader() {
+        return loader;
+    }
+
+    /**
+     * Load all events without updating the controller state.
+     * Safe to call from a background thread.
+     */
+    public List<CalendarEvent> findAllEvents() {
+        return calendarService.findAll();
     }
 
-    private void syncTasksToEvents() {
+    /**
+     * Replace the events shown by the calendar (e.g. with the result of
+     * {@link #findAllEvents()}).
+     */
+    public void setAllEvents(List<CalendarEvent> events) {
+        allEvents = events;
+    }
+
+    private void syncTasksToEvents(List<CalendarSource> sources) {
         try {
             // Get the first region-based calendar source for task syncing
-            CalendarSource regionCal = calendarSources.stream()
+            CalendarSource regionCal = sources.stream()
                     .filter(s -> s.getType() == CalendarSourceType.REGION)
                     .findFirst()
                     .orElse(null);
@@ -156,74 +207,56 @@ public class CalendarController {
                 .collect(Collectors.toList());
     }
 
-    public void createEvent(LocalDate date) {
-        try {
-            CalendarEvent event = new CalendarEvent();
-
-            if (date != null) {
-                event.setStartDateTime(date.atTime(9, 0));
-                event.setEndDateTime(date.atTime(10, 0));
-            } else {
-                event.setStartDateTime(LocalDateTime.now().plusHours(1));
-                event.setEndDateTime(LocalDateTime.now().plusHours(2));
-            }
+    private record DialogChoices(List<Operation> operations, List<Region> regions, List<Task> tasks,
+            List<Wiki> wikis) {
+    }
 
-            List<Operation> operations = operationRepository.findAll();
+    private DialogChoices findDialogChoices() {
+        return new DialogChoices(operationRepository.findAll(), regionRepository.findAll(),
+                taskRepository.findAll(), WikiRepository.findAll());
+    }
 
+    public void createEvent(LocalDate date) {
+        CalendarEvent event = new CalendarEvent();
+
+        if (date != null) {
+            event.setStartDateTime(date.atTime(9, 0));
+            event.setEndDateTime(date.atTime(10, 0));
+        } else {
+            event.setStartDateTime(LocalDateTime.now().plusHours(1));
+            event.setEndDateTime(LocalDateTime.now().plusHours(2));
+        }
+
+        dialogLoader.load(this::findDialogChoices, choices -> {
             EventDialog dialog = new EventDialog(
                     event,
                     calendarSources,
-                    operations,
-                    regionRepository.findAll(),
-                    taskRepository.findAll(),
-                    WikiRepository.findAll(),
+                    choices.operations(),
+                    choices.regions(),
+                    choices.tasks(),
+                    choices.wikis(),
                     null);
-            dialog.showAndWait().ifPresent(newEvent -> {
-                try {
-                    calendarService.createEvent(newEvent);
-                    loadAllEvents();
-                    if (onDataChanged != null) {
-                        onDataChanged.run();
-                    }
-                } catch (Exception e) {
-                    DialogUtils.showError("Save Error", "Failed to create event", e.getMessage());
-                }
-            });
-
-        } catch (Exception e) {
-            DialogUtils.showError("Error", "Failed to open event dialog", e.getMessage());
-        }
+            dialog.showAndWait().ifPresent(newEvent -> write(() -> calendarService.createEvent(newEvent),
+                    "Save Error", "Failed to create event"));
+        }, e -> DialogUtils.showError("Error", "Failed to open event dialog", e.getMessage()));
     }
 
     public void editEvent(CalendarEvent event) {
-        try {
-            List<Operation> operations = operationRepository.findAll();
-
+        dialogLoader.load(this::findDialogChoices, choices -> {
             EventDialog dialog = new EventDialog(
                     event,
                     calendarSources,
-                    operations,
-                    regionRepository.findAll(),
-                    taskRepository.findAll(),
-                    WikiRepository.findAll(),
+                    choices.operations(),
+                    choices.regions(),
+                    choices.tasks(),
+                    choices.wikis(),
                     () -> deleteEvent(event));
 
             dialog.showAndWait().ifPresent(updatedEvent -> {
                 logger.debug("Saving edited event: {}", updatedEvent.getTitle());
-                try {
-                    calendarService.updateEvent(updatedEvent);
-                    loadAllEvents();
-                    if (onDataChanged != null) {
-                        onDataChanged.run();
-                    }
-                } catch (Exception e) {
-                    DialogUtils.showError("Save Error", "Failed to update event", e.getMessage());
-                }
+                write(() -> calendarService.updateEvent(updatedEvent), "Save Error", "Failed to update event");
             });
-
-        } catch (Exception e) {
-            DialogUtils.showError("Error", "Failed to open event dialog", e.getMessage());
-        }
+        }, e -> DialogUtils.showError("Error", "Failed to open event dialog", e.getMessage()));
     }
 
     public void deleteEvent(CalendarEvent event) {
@@ -233,30 +266,47 @@ public class CalendarController {
                 "Event: " + event.getTitle());
 
         if (confirmed) {
-            try {
-                calendarService.deleteEvent(event.getId());
-                loadAllEvents();
-                if (onDataChanged != null) {
-                    onDataChanged.run();
-                }
-            } catch (Exception e) {
-                DialogUtils.showError("Delete Error", "Failed to delete event", e.getMessage());
-            }
+            write(() -> calendarService.deleteEvent(event.getId()), "Delete Error", "Failed to delete event");
         }
     }
 
     public void toggleCalendarVisibility(Long sourceId, boolean visible) {
-        try {
-            Optional<CalendarSource> sourceOpt = sourceRepository.findById(sourceId);
-            sourceOpt.ifPresent(source -> {
+        CompletableFuture.supplyAsync(() -> {
+            sourceRepository.findById(sourceId).ifPresent(source -> {
                 source.setIsVisible(visible);
                 sourceRepository.save(source);
-
-                // Update local list
-                calendarSources = sourceRepository.findAll();
             });
-        } catch (Exception e) {
-            logger.error("Failed to toggle calendar visibility: {}", e.getMessage(), e);
-        }
+            return sourceRepository.findAll();
+        }, ThreadPoolManager.getInstance().getDbExecutor()).whenComplete((sources, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                logger.error("Failed to toggle calendar visibility: {}", error.getMessage(), error);
+                return;
+            }
+            // Update local list
+            calendarSources = sources;
+            if (onDataChanged != null) {
+                onDataChanged.run();
+            }
+        }));
+    }
+
+    /**
+     * Run a write on the database executor, then reload the events. Unlike
+     * loads, writes are never superseded: each one runs. Errors are shown on
+     * the FX thread.
+     */
+    private void write(Runnable write, String errorTitle, String errorHeader) {
+        CompletableFuture.runAsync(write, ThreadPoolManager.getInstance().getDbExecutor())
+                .whenComplete((ignored, error) -> Platform.runLater(() -> {
+                    if (error == null) {
+                        reloadEvents();
+                        return;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    logger.error("✗ {}: {}", errorHeader, cause.getMessage(), cause);
+                    DialogUtils.showError(errorTitle, errorHeader, cause.getMessage());
+                }));
     }
 }
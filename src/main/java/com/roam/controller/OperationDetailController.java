@@ -86,7 +86,7 @@ public class OperationDetailController {
      */
     public List<Task> loadTasks() {
         try {
-            return taskRepository.findByOperationId(operation.getId());
+            return findTasks();
         } catch (Exception e) {
             logger.error("✗ Failed to load tasks: {}", e.getMessage(), e);
             DialogUtils.showError(
@@ -97,6 +97,14 @@ public class OperationDetailController {
         }
     }
 
+    /**
+     * Load the operation's tasks without any UI error handling.
+     * Safe to call from a background thread.
+     */
+    public List<Task> findTasks() {
+        return taskRepository.findByOperationId(operation.getId());
+    }
+
     /**
      * Create new task
      */
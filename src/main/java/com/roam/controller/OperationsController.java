@@ -5,6 +5,7 @@ import com.roam.model.Region;
 import com.roam.service.OperationService;
 import com.roam.service.OperationServiceImpl;
 import com.roam.repository.RegionRepository;
+import com.roam.util.AsyncLoader;
 import com.roam.util.DialogUtils;
 import com.roam.view.components.OperationDialog;
 import com.roam.view.components.OperationTableView;
@@ -21,6 +22,7 @@ public class OperationsController {
     private final RegionRepository regionRepository;
     private OperationTableView tableView;
     private Runnable onDataChanged;
+    private final AsyncLoader loader = new AsyncLoader("operations");
 
     public OperationsController() {
         this.operationService = new OperationServiceImpl();
@@ -40,7 +42,7 @@ public class OperationsController {
      */
     public List<Operation> loadOperations() {
         try {
-            return operationService.findAll();
+            return findOperations();
         } catch (Exception e) {
             logger.error("Failed to load operations: {}", e.getMessage(), e);
             DialogUtils.showError(
@@ -128,16 +130,30 @@ public class OperationsController {
     }
 
     /**
-     * Refresh table data
+     * Load all operations without any UI error handling.
+     * Safe to call from a background thread.
+     */
+    public List<Operation> findOperations() {
+        return operationService.findAll();
+    }
+
+    /**
+     * Refresh table data in the background. Only the latest refresh is
+     * applied if several overlap.
      */
     public void refreshTable() {
-        if (tableView != null) {
-            List<Operation> operations = loadOperations();
-            tableView.getItems().setAll(operations);
-        }
+        loader.load(this::findOperations, operations -> {
+            if (tableView != null) {
+                tableView.getItems().setAll(operations);
+            }
 
-        if (onDataChanged != null) {
-            onDataChanged.run();
-        }
+            if (onDataChanged != null) {
+                onDataChanged.run();
+            }
+        }, e -> DialogUtils.showError("Database Error", "Failed to load operations", e.getMessage()));
+    }
+
+    public AsyncLoader getLoader() {
+        return loader;
     }
 }
@@ -141,13 +141,21 @@ public class TasksController {
 
     public List<Task> loadTasks() {
         try {
-            return taskRepository.findWithFilters(currentFilter);
+            return findTasks();
         } catch (Exception e) {
             DialogUtils.showError("Error", "Failed to load tasks", e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Load tasks matching the current filter without any UI error handling.
+     * Safe to call from a background thread.
+     */
+    public List<Task> findTasks() {
+        return taskRepository.findWithFilters(currentFilter);
+    }
+
     public void applyFilter(TaskFilter filter) {
         this.currentFilter = filter;
         refreshView();
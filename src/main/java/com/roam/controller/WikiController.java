@@ -67,11 +67,23 @@ public class WikiController {
     }
 
     public List<Wiki> loadAllNotes() {
-        List<Wiki> notes = wikiService.findAll();
-        allNotes.setAll(notes);
+        List<Wiki> notes = findAllNotes();
+        setAllNotes(notes);
         return notes;
     }
 
+    /**
+     * Load all wikis without updating the controller state.
+     * Safe to call from a background thread.
+     */
+    public List<Wiki> findAllNotes() {
+        return wikiService.findAll();
+    }
+
+    public void setAllNotes(List<Wiki> notes) {
+        allNotes.setAll(notes);
+    }
+
     public List<Wiki> loadRecentNotes(int limit) {
         return wikiService.findRecent(limit);
     }
@@ -86,12 +98,23 @@ public class WikiController {
         return wikiService.findByOperationId(op.getId());
     }
 
+    /**
+     * Filter the notes already loaded by title or content. Never queries the
+     * database, so it is safe on the FX thread.
+     */
     public List<Wiki> searchNotes(String query) {
         if (query == null || query.trim().isEmpty()) {
-            return loadAllNotes();
+            return List.copyOf(allNotes);
         }
         searchQuery.set(query);
-        return wikiService.findAll(); // Service handles search via Lucene
+        String needle = query.trim().toLowerCase();
+        return allNotes.stream()
+                .filter(wiki -> contains(wiki.getTitle(), needle) || contains(wiki.getContent(), needle))
+                .toList();
+    }
+
+    private static boolean contains(String text, String needle) {
+        return text != null && text.toLowerCase().contains(needle);
     }
 
     public Wiki createNewNote() {
@@ -118,7 +141,6 @@ public class WikiController {
         Wiki.setCreatedAt(LocalDateTime.now());
         Wiki.setUpdatedAt(LocalDateTime.now());
         Wiki.setIsFavorite(false);
-        Wiki.calculateWordCount();
 
         Wiki saved = wikiService.createWiki(Wiki);
         allNotes.add(0, saved);
@@ -132,7 +154,6 @@ public class WikiController {
             return;
 
         currentNote.setUpdatedAt(LocalDateTime.now());
-        currentNote.calculateWordCount();
         wikiService.updateWiki(currentNote);
 
         // Refresh in list
@@ -189,7 +210,6 @@ public class WikiController {
         duplicate.setCreatedAt(LocalDateTime.now());
         duplicate.setUpdatedAt(LocalDateTime.now());
         duplicate.setIsFavorite(false);
-        duplicate.calculateWordCount();
 
         Wiki saved = wikiService.createWiki(duplicate);
         allNotes.add(0, saved);
@@ -214,6 +234,21 @@ public class WikiController {
         // Wiki not found - could implement a feature to ask user to create it
     }
 
+    /**
+     * Open the loaded wiki with the given id.
+     *
+     * @return false if no loaded wiki has that id
+     */
+    public boolean openNoteById(Long id) {
+        for (Wiki wiki : allNotes) {
+            if (wiki.getId().equals(id)) {
+                setCurrentNote(wiki);
+                return true;
+            }
+        }
+        return false;
+    }
+
     public List<WikiTemplate> loadAllTemplates() {
         return templateRepository.findAll();
     }
@@ -289,6 +324,21 @@ public class WikiController {
         }
     }
 
+    /**
+     * Everything a wiki can be linked to, for the property pickers.
+     */
+    public record PropertyChoices(List<Region> regions, List<Operation> operations, List<Task> tasks,
+            List<CalendarEvent> events) {
+    }
+
+    /**
+     * Load the property picker choices. Safe to call from a background thread.
+     */
+    public PropertyChoices findPropertyChoices() {
+        return new PropertyChoices(regionRepository.findAll(), operationRepository.findAll(),
+                taskRepository.findAll(), eventRepository.findAll());
+    }
+
     public List<Region> loadAllRegions() {
         return regionRepository.findAll();
     }
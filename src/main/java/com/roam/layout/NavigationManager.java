@@ -2,7 +2,9 @@ package com.roam.layout;
 
 import com.roam.model.Operation;
 import com.roam.service.SearchService;
+import com.roam.view.JournalView;
 import com.roam.view.SearchView;
+import com.roam.view.WikiView;
 import javafx.animation.FadeTransition;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
@@ -62,30 +64,30 @@ public class NavigationManager {
 
         switch (viewType) {
             case "operations":
-                view = viewFactory.createOperationsView(this::navigateToOperationDetail);
+                view = viewFactory.getOperationsView(this::navigateToOperationDetail);
                 break;
             case "calendar":
-                view = viewFactory.createCalendarView();
+                view = viewFactory.getCalendarView();
                 break;
             case "tasks":
-                view = viewFactory.createTasksView();
+                view = viewFactory.getTasksView();
                 break;
             case "wiki":
-                view = viewFactory.createWikiView();
+                view = viewFactory.getWikiView(this::navigateToSearchResult);
                 contentArea.setPadding(new Insets(0)); // Remove padding for wiki
                 break;
             case "journal":
-                view = viewFactory.createJournalView();
+                view = viewFactory.getJournalView(this::navigateToSearchResult);
                 break;
             case "statistics":
                 view = viewFactory.createStatisticsView();
                 break;
             case "settings":
-                view = viewFactory.createSettingsView();
+                view = viewFactory.getSettingsView();
                 break;
             default:
                 logger.warn("Unknown view type: {}, defaulting to wiki", viewType);
-                view = viewFactory.createWikiView();
+                view = viewFactory.getWikiView(this::navigateToSearchResult);
                 contentArea.setPadding(new Insets(0));
                 break;
         }
@@ -184,7 +186,9 @@ public class NavigationManager {
         switch (result.type) {
             case "wiki":
                 navigateToView("wiki");
-                // TODO: Navigate to specific wiki
+                if (viewFactory.getWikiView(this::navigateToSearchResult) instanceof WikiView wikiView) {
+                    wikiView.openNote(result.id);
+                }
                 break;
             case "task":
                 navigateToView("tasks");
@@ -200,7 +204,9 @@ public class NavigationManager {
                 break;
             case "journal":
                 navigateToView("journal");
-                // TODO: Navigate to specific journal entry
+                if (viewFactory.getJournalView(this::navigateToSearchResult) instanceof JournalView journalView) {
+                    journalView.openEntry(result.id);
+                }
                 break;
             default:
                 logger.warn("Unknown search result type: {}", result.type);
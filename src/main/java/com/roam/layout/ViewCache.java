@@ -0,0 +1,127 @@
+package com.roam.layout;
+
+import com.roam.service.DiagnosticsService;
+import com.roam.util.ThreadPoolManager;
+import com.roam.view.RefreshableView;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Keeps recently used views alive so switching tabs does not rebuild them.
+ *
+ * Retention policy: the {@code maxRetained} most recently shown views are
+ * held strongly. Older views are demoted to soft references, which the GC
+ * clears under memory pressure, so heavy views are dropped before the
+ * application runs low on memory. A cache size of 0 disables caching.
+ *
+ * When a cached view implementing {@link RefreshableView} is shown again, it
+ * is returned immediately with its previous data and revalidated in the
+ * background: fresh data is loaded on the I/O pool and applied on the FX
+ * thread.
+ *
+ * Not thread-safe; use from the FX thread only.
+ */
+public class ViewCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCache.class);
+
+    private final int maxRetained;
+    private final Executor executor;
+    private final LinkedHashMap<String, Node> retained;
+    private final Map<String, SoftReference<Node>> demoted = new HashMap<>();
+    private final Map<String, CompletableFuture<Void>> refreshing = new HashMap<>();
+
+    public ViewCache(int maxRetained) {
+        this(maxRetained, ThreadPoolManager.getInstance().getDbExecutor());
+    }
+
+    ViewCache(int maxRetained, Executor executor) {
+        this.maxRetained = Math.max(0, maxRetained);
+        this.executor = executor;
+        this.retained = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Node> eldest) {
+                if (size() > ViewCache.this.maxRetained) {
+                    demoted.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+                    logger.debug("View demoted to soft reference: {}", eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Return the cached view for {@code key}, creating it with {@code factory}
+     * on a miss. Cached views are revalidated in the background.
+     */
+    public Node get(String key, Supplier<Node> factory) {
+        if (maxRetained == 0) {
+            return DiagnosticsService.getInstance().track("open " + key, factory);
+        }
+
+        Node view = retained.get(key);
+        if (view == null) {
+            SoftReference<Node> ref = demoted.remove(key);
+            view = ref != null ? ref.get() : null;
+            if (view != null) {
+                retained.put(key, view);
+            }
+        }
+
+        if (view == null) {
+            logger.debug("View cache miss: {}", key);
+            view = DiagnosticsService.getInstance().track("open " + key, factory);
+            retained.put(key, view);
+            return view;
+        }
+
+        logger.debug("View cache hit: {}", key);
+        if (view instanceof RefreshableView<?> refreshable) {
+            revalidate(key, refreshable);
+        }
+        return view;
+    }
+
+    /**
+     * Drop a cached view so the next {@link #get} rebuilds it.
+     */
+    public void invalidate(String key) {
+        retained.remove(key);
+        demoted.remove(key);
+    }
+
+    public void clear() {
+        retained.clear();
+        demoted.clear();
+    }
+
+    private <T> void revalidate(String key, RefreshableView<T> view) {
+        if (refreshing.containsKey(key)) {
+            return; // A refresh for this view is already running
+        }
+
+        CompletableFuture<Void> refresh = CompletableFuture
+                .supplyAsync(() -> DiagnosticsService.getInstance().track("refresh " + key, view::loadData), executor)
+                .thenAccept(data -> Platform.runLater(() -> view.applyData(data)))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        logger.error("✗ Failed to refresh view {}: {}", key, error.getMessage(), error);
+                    }
+                    Platform.runLater(() -> refreshing.remove(key));
+                });
+        if (!refresh.isDone()) {
+            refreshing.put(key, refresh);
+        }
+    }
+}
@@ -1,18 +1,81 @@
 package com.roam.layout;
 
 import com.roam.controller.*;
+import com.roam.service.SearchService;
+import com.roam.service.SettingsService;
+import com.roam.util.FlightEvents;
 import com.roam.view.*;
 import javafx.scene.Node;
 
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Factory for creating views with their controllers.
  * Centralizes view instantiation and dependency injection.
+ *
+ * The {@code get*View} methods return cached instances (see {@link ViewCache})
+ * for tab navigation; the {@code create*View} methods always build a new view.
  */
 public class ViewFactory {
 
+    private final ViewCache viewCache;
+
     public ViewFactory() {
+        this(new ViewCache(SettingsService.getInstance().getSettings().getViewCacheSize()));
+    }
+
+    public ViewFactory(ViewCache viewCache) {
+        this.viewCache = viewCache;
+    }
+
+    /**
+     * Gets the cached Operations view, creating it on first use.
+     */
+    public Node getOperationsView(Consumer<com.roam.model.Operation> onOperationClick) {
+        return viewCache.get("operations", () -> createOperationsView(onOperationClick));
+    }
+
+    /**
+     * Gets the cached Calendar view, creating it on first use.
+     */
+    public Node getCalendarView() {
+        return viewCache.get("calendar", this::createCalendarView);
+    }
+
+    /**
+     * Gets the cached Tasks view, creating it on first use.
+     */
+    public Node getTasksView() {
+        return viewCache.get("tasks", this::createTasksView);
+    }
+
+    /**
+     * Gets the cached Wiki view, creating it on first use.
+     */
+    public Node getWikiView(Consumer<SearchService.SearchResult> onOpenResult) {
+        return viewCache.get("wiki", () -> createWikiView(onOpenResult));
+    }
+
+    /**
+     * Gets the cached Journal view, creating it on first use.
+     */
+    public Node getJournalView(Consumer<SearchService.SearchResult> onOpenResult) {
+        return viewCache.get("journal", () -> createJournalView(onOpenResult));
+    }
+
+    /**
+     * Gets the cached Settings view, creating it on first use.
+     */
+    public Node getSettingsView() {
+        return viewCache.get("settings", this::createSettingsView);
+    }
+
+    /**
+     * Drops all cached views (e.g. after a data import).
+     */
+    public void clearCache() {
+        viewCache.clear();
     }
 
     /**
@@ -22,10 +85,12 @@ public class ViewFactory {
      * @return The created OperationsView
      */
     public Node createOperationsView(Consumer<com.roam.model.Operation> onOperationClick) {
-        OperationsController controller = new OperationsController();
-        OperationsView view = new OperationsView(controller);
-        view.setOnOperationClick(onOperationClick);
-        return view;
+        return construct("operations", () -> {
+            OperationsController controller = new OperationsController();
+            OperationsView view = new OperationsView(controller);
+            view.setOnOperationClick(onOperationClick);
+            return view;
+        });
     }
 
     /**
@@ -36,7 +101,7 @@ public class ViewFactory {
      * @return The created OperationDetailView
      */
     public Node createOperationDetailView(com.roam.model.Operation operation, Runnable onBackClick) {
-        return new com.roam.view.OperationDetailView(operation, onBackClick);
+        return construct("operation-detail", () -> new com.roam.view.OperationDetailView(operation, onBackClick));
     }
 
     /**
@@ -45,8 +110,7 @@ public class ViewFactory {
      * @return The created CalendarView
      */
     public Node createCalendarView() {
-        CalendarController controller = new CalendarController();
-        return new CalendarView(controller);
+        return construct("calendar", () -> new CalendarView(new CalendarController()));
     }
 
     /**
@@ -55,27 +119,37 @@ public class ViewFactory {
      * @return The created TasksView
      */
     public Node createTasksView() {
-        TasksController controller = new TasksController();
-        return new TasksView(controller);
+        return construct("tasks", () -> new TasksView(new TasksController()));
     }
 
     /**
      * Creates the Wiki view with its controller.
      *
+     * @param onOpenResult Callback when a related item other than a wiki is
+     *                     clicked
      * @return The created WikiView
      */
-    public Node createWikiView() {
-        WikiController controller = new WikiController();
-        return new WikiView(controller);
+    public Node createWikiView(Consumer<SearchService.SearchResult> onOpenResult) {
+        return construct("wiki", () -> {
+            WikiView view = new WikiView(new WikiController());
+            view.setOnOpenResult(onOpenResult);
+            return view;
+        });
     }
 
     /**
      * Creates the Journal view.
      *
+     * @param onOpenResult Callback when a related item other than a journal
+     *                     entry is clicked
      * @return The created JournalView
      */
-    public Node createJournalView() {
-        return new JournalView();
+    public Node createJournalView(Consumer<SearchService.SearchResult> onOpenResult) {
+        return construct("journal", () -> {
+            JournalView view = new JournalView();
+            view.setOnOpenResult(onOpenResult);
+            return view;
+        });
     }
 
     /**
@@ -84,8 +158,7 @@ public class ViewFactory {
      * @return The created StatisticsView
      */
     public Node createStatisticsView() {
-        WikiController controller = new WikiController();
-        return new StatisticsView(controller);
+        return construct("statistics", () -> new StatisticsView(new WikiController()));
     }
 
     /**
@@ -94,7 +167,7 @@ public class ViewFactory {
      * @return The created SettingsView
      */
     public Node createSettingsView() {
-        return new SettingsView();
+        return construct("settings", SettingsView::new);
     }
 
     /**
@@ -105,10 +178,22 @@ public class ViewFactory {
      * @param onResultClick Callback when a search result is clicked
      * @return The created SearchView
      */
-    public SearchView createSearchView(Consumer<com.roam.service.SearchService.SearchResult> onResultClick) {
+    public SearchView createSearchView(Consumer<SearchService.SearchResult> onResultClick) {
         // Create empty search view - will be populated by NavigationManager
         SearchView searchView = new SearchView(java.util.Collections.emptyList(), "");
         searchView.setOnResultSelected(onResultClick);
         return searchView;
     }
+
+    /**
+     * Builds a view, recording a JFR event for the construction time.
+     */
+    private static <T extends Node> T construct(String name, Supplier<T> factory) {
+        FlightEvents.ViewConstruction event = FlightEvents.viewConstruction(name);
+        try {
+            return factory.get();
+        } finally {
+            event.finish();
+        }
+    }
 }
@@ -68,6 +68,15 @@ public class CalendarEvent {
     @Column(name = "wiki_id")
     private Long wikiId;
 
+    @Column(name = "external_uid", length = 512)
+    private String externalUid;
+
+    @Column(name = "external_fingerprint", length = 64)
+    private String externalFingerprint;
+
+    @Column(name = "recurrence_exdates", columnDefinition = "TEXT")
+    private String recurrenceExdates;
+
     // Constructors
     public CalendarEvent() {
         this.isAllDay = false;
@@ -255,6 +264,30 @@ public class CalendarEvent {
         this.wikiId = wikiId;
     }
 
+    public String getExternalUid() {
+        return externalUid;
+    }
+
+    public void setExternalUid(String externalUid) {
+        this.externalUid = externalUid;
+    }
+
+    public String getExternalFingerprint() {
+        return externalFingerprint;
+    }
+
+    public void setExternalFingerprint(String externalFingerprint) {
+        this.externalFingerprint = externalFingerprint;
+    }
+
+    public String getRecurrenceExdates() {
+        return recurrenceExdates;
+    }
+
+    public void setRecurrenceExdates(String recurrenceExdates) {
+        this.recurrenceExdates = recurrenceExdates;
+    }
+
     @Override
     public String toString() {
         return "CalendarEvent{" +
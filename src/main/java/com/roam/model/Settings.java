@@ -8,6 +8,17 @@ public class Settings {
     private String pinHash = "";
     private String theme = "light";
     private List<String> regions = new ArrayList<>();
+    private int viewCacheSize = 4; // Views kept alive across tab switches (0 = no caching)
+    private boolean virtualThreads = false; // Run blocking background work on virtual threads
+    private int maxConcurrentDbTasks = 8; // Background tasks allowed to use the database at once
+    private boolean diagnosticsEnabled = false; // Collect Hibernate query statistics
+    private boolean databaseMaintenance = true; // Analyze and compact the H2 file when idle
+    private int compactFillRate = 50; // Compact when live data fills less than this % of the file
+    private boolean publishCalendarFeed = false; // Keep ~/.roam/calendar.ics current for calendar apps
+    private String siteExportDir = ""; // Folder the wiki was last published to as HTML
+    private boolean apiEnabled = false; // Serve the HTTP API on localhost for scripts
+    private int apiPort = 8731; // Loopback port of the HTTP API
+    private String apiToken = ""; // Bearer token for the HTTP API; generated on first start
 
     public Settings() {
         // Default regions - matching database regions
@@ -53,4 +64,92 @@ public class Settings {
     public void setRegions(List<String> regions) {
         this.regions = regions;
     }
+
+    public int getViewCacheSize() {
+        return viewCacheSize;
+    }
+
+    public void setViewCacheSize(int viewCacheSize) {
+        this.viewCacheSize = viewCacheSize;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxConcurrentDbTasks() {
+        return maxConcurrentDbTasks;
+    }
+
+    public void setMaxConcurrentDbTasks(int maxConcurrentDbTasks) {
+        this.maxConcurrentDbTasks = maxConcurrentDbTasks;
+    }
+
+    public boolean isDiagnosticsEnabled() {
+        return diagnosticsEnabled;
+    }
+
+    public void setDiagnosticsEnabled(boolean diagnosticsEnabled) {
+        this.diagnosticsEnabled = diagnosticsEnabled;
+    }
+
+    public boolean isDatabaseMaintenance() {
+        return databaseMaintenance;
+    }
+
+    public void setDatabaseMaintenance(boolean databaseMaintenance) {
+        this.databaseMaintenance = databaseMaintenance;
+    }
+
+    public int getCompactFillRate() {
+        return compactFillRate;
+    }
+
+    public void setCompactFillRate(int compactFillRate) {
+        this.compactFillRate = compactFillRate;
+    }
+
+    public boolean isPublishCalendarFeed() {
+        return publishCalendarFeed;
+    }
+
+    public void setPublishCalendarFeed(boolean publishCalendarFeed) {
+        this.publishCalendarFeed = publishCalendarFeed;
+    }
+
+    public String getSiteExportDir() {
+        return siteExportDir;
+    }
+
+    public void setSiteExportDir(String siteExportDir) {
+        this.siteExportDir = siteExportDir;
+    }
+
+    public boolean isApiEnabled() {
+        return apiEnabled;
+    }
+
+    public void setApiEnabled(boolean apiEnabled) {
+        this.apiEnabled = apiEnabled;
+    }
+
+    public int getApiPort() {
+        return apiPort;
+    }
+
+    public void setApiPort(int apiPort) {
+        this.apiPort = apiPort;
+    }
+
+    public String getApiToken() {
+        return apiToken;
+    }
+
+    public void setApiToken(String apiToken) {
+        this.apiToken = apiToken;
+    }
 }
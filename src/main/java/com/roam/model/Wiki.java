@@ -1,5 +1,6 @@
 package com.roam.model;
 
+import com.roam.util.TextStatistics;
 import com.roam.validation.SafeTitle;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -74,27 +75,27 @@ public class Wiki {
     }
 
     // Lifecycle callbacks
+    // The word count is kept in step by setContent, so saving does not
+    // recount the content
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        calculateWordCount();
+        if (wordCount == null) {
+            calculateWordCount();
+        }
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        calculateWordCount();
+        if (wordCount == null) {
+            calculateWordCount();
+        }
     }
 
     public Integer calculateWordCount() {
-        if (content == null || content.trim().isEmpty()) {
-            this.wordCount = 0;
-            return 0;
-        }
-
-        String[] words = content.trim().split("\\s+");
-        this.wordCount = words.length;
+        this.wordCount = TextStatistics.countWords(content);
         return this.wordCount;
     }
 
@@ -129,6 +130,16 @@ public class Wiki {
 
     public void setContent(String content) {
         this.content = content;
+        calculateWordCount();
+    }
+
+    /**
+     * Set the content together with its word count, as already known from an
+     * editor's {@link TextStatistics}, so the content is not counted again.
+     */
+    public void setContent(String content, int wordCount) {
+        this.content = content;
+        this.wordCount = wordCount;
     }
 
     public LocalDateTime getCreatedAt() {
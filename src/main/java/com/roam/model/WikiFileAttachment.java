@@ -41,6 +41,11 @@ public class WikiFileAttachment {
     @Column(name = "description", length = 500)
     private String description;
 
+    // SHA-256 of the content in the attachment store; null for legacy files
+    @Size(max = 64, message = "Content hash exceeds maximum length")
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     // Constructors
     public WikiFileAttachment() {
     }
@@ -122,6 +127,14 @@ public class WikiFileAttachment {
         this.description = description;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     @Override
     public String toString() {
         return "WikiFileAttachment{" +
@@ -9,7 +9,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class CalendarEventRepository {
@@ -47,6 +50,45 @@ public class CalendarEventRepository {
         }
     }
 
+    /**
+     * Insert new events and update existing ones in a single transaction.
+     * Nothing is saved if any event names an id that does not exist.
+     *
+     * @return The saved events, in order
+     */
+    public List<CalendarEvent> saveAll(List<CalendarEvent> events) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        EntityTransaction tx = null;
+
+        try {
+            tx = em.getTransaction();
+            tx.begin();
+            List<CalendarEvent> saved = new ArrayList<>(events.size());
+            for (CalendarEvent event : events) {
+                if (event.getId() == null) {
+                    em.persist(event);
+                    saved.add(event);
+                } else if (em.find(CalendarEvent.class, event.getId()) != null) {
+                    saved.add(em.merge(event));
+                } else {
+                    throw new IllegalArgumentException("No event with id " + event.getId());
+                }
+            }
+            tx.commit();
+            logger.debug("✓ {} events saved", saved.size());
+            return saved;
+
+        } catch (Exception e) {
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            logger.error("✗ Failed to save events: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save events", e);
+        } finally {
+            em.close();
+        }
+    }
+
     public Optional<CalendarEvent> findById(Long id) {
         EntityManager em = HibernateUtil.getEntityManager();
         try {
@@ -69,6 +111,34 @@ public class CalendarEventRepository {
         }
     }
 
+    /**
+     * Count all events
+     */
+    public long count() {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(e) FROM CalendarEvent e", Long.class).getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * The next {@code limit} events by id after {@code afterId}.
+     */
+    public List<CalendarEvent> findPage(long afterId, int limit) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT e FROM CalendarEvent e WHERE e.id > :afterId ORDER BY e.id",
+                    CalendarEvent.class)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
     public List<CalendarEvent> findByDateRange(LocalDateTime start, LocalDateTime end) {
         EntityManager em = HibernateUtil.getEntityManager();
         try {
@@ -135,6 +205,110 @@ public class CalendarEventRepository {
         }
     }
 
+    /**
+     * External UID to fingerprint of every imported event, to decide which
+     * events of a re-import changed. Reads two columns, not whole events.
+     */
+    public Map<String, String> findExternalFingerprints() {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            Map<String, String> fingerprints = new HashMap<>();
+            for (Object[] row : em.createQuery(
+                    "SELECT e.externalUid, e.externalFingerprint FROM CalendarEvent e WHERE e.externalUid IS NOT NULL",
+                    Object[].class).getResultList()) {
+                fingerprints.put((String) row[0], (String) row[1]);
+            }
+            return fingerprints;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Insert or update imported events in one transaction, matching on
+     * external UID. Only the fields an import carries are overwritten, so an
+     * event's links to operations, tasks and wikis survive a re-import.
+     * Overridden occurrences are linked to their series by UID.
+     *
+     * @return The saved events
+     */
+    public List<CalendarEvent> saveImported(List<CalendarEvent> events) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        EntityTransaction tx = null;
+
+        try {
+            tx = em.getTransaction();
+            tx.begin();
+
+            List<String> uids = events.stream().map(CalendarEvent::getExternalUid).toList();
+            Map<String, CalendarEvent> existing = new HashMap<>();
+            for (CalendarEvent event : em.createQuery(
+                    "SELECT e FROM CalendarEvent e WHERE e.externalUid IN :uids", CalendarEvent.class)
+                    .setParameter("uids", uids)
+                    .getResultList()) {
+                existing.put(event.getExternalUid(), event);
+            }
+
+            List<CalendarEvent> saved = new ArrayList<>(events.size());
+            for (CalendarEvent event : events) {
+                CalendarEvent target = existing.get(event.getExternalUid());
+                if (target == null) {
+                    em.persist(event);
+                    existing.put(event.getExternalUid(), event);
+                    target = event;
+                } else {
+                    copyImportedFields(event, target);
+                }
+                saved.add(target);
+            }
+            em.flush();
+
+            // Link overridden occurrences ("uid/recurrence-id") to their series
+            for (CalendarEvent event : saved) {
+                String uid = event.getExternalUid();
+                int slash = uid.lastIndexOf('/');
+                if (Boolean.TRUE.equals(event.getIsRecurringInstance()) && slash > 0) {
+                    CalendarEvent series = existing.get(uid.substring(0, slash));
+                    if (series == null) {
+                        series = em.createQuery("SELECT e FROM CalendarEvent e WHERE e.externalUid = :uid",
+                                CalendarEvent.class)
+                                .setParameter("uid", uid.substring(0, slash))
+                                .getResultStream().findFirst().orElse(null);
+                    }
+                    event.setParentEventId(series != null ? series.getId() : null);
+                }
+            }
+
+            tx.commit();
+            logger.debug("✓ Saved {} imported calendar events", saved.size());
+            return saved;
+
+        } catch (Exception e) {
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            logger.error("✗ Failed to save imported calendar events: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save imported calendar events", e);
+        } finally {
+            em.close();
+        }
+    }
+
+    private static void copyImportedFields(CalendarEvent from, CalendarEvent to) {
+        to.setTitle(from.getTitle());
+        to.setDescription(from.getDescription());
+        to.setLocation(from.getLocation());
+        to.setStartDateTime(from.getStartDateTime());
+        to.setEndDateTime(from.getEndDateTime());
+        to.setIsAllDay(from.getIsAllDay());
+        to.setRecurrenceRule(from.getRecurrenceRule());
+        to.setRecurrenceEndDate(from.getRecurrenceEndDate());
+        to.setRecurrenceExdates(from.getRecurrenceExdates());
+        to.setIsRecurringInstance(from.getIsRecurringInstance());
+        to.setOriginalStartDateTime(from.getOriginalStartDateTime());
+        to.setExternalFingerprint(from.getExternalFingerprint());
+    }
+
     public void delete(Long id) {
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
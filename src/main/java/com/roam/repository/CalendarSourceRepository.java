@@ -92,6 +92,11 @@ public class CalendarSourceRepository {
         }
     }
 
+    /**
+     * Delete a source; the database deletes its events with it. Go through
+     * CalendarService.deleteSource so the events also leave the search index
+     * and the calendar feed.
+     */
     public void delete(Long id) {
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
@@ -7,6 +7,7 @@ import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,40 @@ public class JournalEntryRepository {
         }
     }
 
+    /**
+     * Insert new entries and update existing ones in a single transaction.
+     * Nothing is saved if any entry names an id that does not exist.
+     *
+     * @return The saved entries, in order
+     */
+    public List<JournalEntry> saveAll(List<JournalEntry> entries) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        EntityTransaction tx = null;
+        try {
+            tx = em.getTransaction();
+            tx.begin();
+            List<JournalEntry> saved = new ArrayList<>(entries.size());
+            for (JournalEntry entry : entries) {
+                if (entry.getId() == null) {
+                    em.persist(entry);
+                    saved.add(entry);
+                } else if (em.find(JournalEntry.class, entry.getId()) != null) {
+                    saved.add(em.merge(entry));
+                } else {
+                    throw new IllegalArgumentException("No journal entry with id " + entry.getId());
+                }
+            }
+            tx.commit();
+            return saved;
+        } catch (Exception e) {
+            if (tx != null && tx.isActive())
+                tx.rollback();
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
     public Optional<JournalEntry> findById(Long id) {
         EntityManager em = HibernateUtil.getEntityManager();
         try {
@@ -55,6 +90,34 @@ public class JournalEntryRepository {
         }
     }
 
+    /**
+     * Count all journal entries
+     */
+    public long count() {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(j) FROM JournalEntry j", Long.class).getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * The next {@code limit} entries by id after {@code afterId}.
+     */
+    public List<JournalEntry> findPage(long afterId, int limit) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT j FROM JournalEntry j WHERE j.id > :afterId ORDER BY j.id",
+                    JournalEntry.class)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
     public Optional<JournalEntry> findByDate(LocalDate date) {
         EntityManager em = HibernateUtil.getEntityManager();
         try {
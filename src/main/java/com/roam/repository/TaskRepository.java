@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -52,6 +53,45 @@ public class TaskRepository {
         }
     }
 
+    /**
+     * Insert new tasks and update existing ones in a single transaction.
+     * Nothing is saved if any task names an id that does not exist.
+     *
+     * @return The saved tasks, in order
+     */
+    public List<Task> saveAll(List<Task> tasks) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        EntityTransaction tx = null;
+
+        try {
+            tx = em.getTransaction();
+            tx.begin();
+            List<Task> saved = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                if (task.getId() == null) {
+                    em.persist(task);
+                    saved.add(task);
+                } else if (em.find(Task.class, task.getId()) != null) {
+                    saved.add(em.merge(task));
+                } else {
+                    throw new IllegalArgumentException("No task with id " + task.getId());
+                }
+            }
+            tx.commit();
+            logger.debug("✓ {} tasks saved", saved.size());
+            return saved;
+
+        } catch (Exception e) {
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            logger.error("✗ Failed to save tasks: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save tasks", e);
+        } finally {
+            em.close();
+        }
+    }
+
     public Optional<Task> findById(Long id) {
         EntityManager em = HibernateUtil.getEntityManager();
         try {
@@ -62,6 +102,22 @@ public class TaskRepository {
         }
     }
 
+    /**
+     * The next {@code limit} tasks by id after {@code afterId}.
+     */
+    public List<Task> findPage(long afterId, int limit) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT t FROM Task t WHERE t.id > :afterId ORDER BY t.id",
+                    Task.class)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
     public List<Task> findByOperationId(Long operationId) {
         EntityManager em = HibernateUtil.getEntityManager();
         try {
@@ -164,6 +220,72 @@ public class TaskRepository {
         }
     }
 
+    /**
+     * Find tasks with the given status
+     */
+    public List<Task> findByStatus(TaskStatus status) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            TypedQuery<Task> query = em.createQuery(
+                    "SELECT t FROM Task t WHERE t.status = :status ORDER BY t.createdAt DESC",
+                    Task.class);
+            query.setParameter("status", status);
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Find tasks with the given priority
+     */
+    public List<Task> findByPriority(Priority priority) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            TypedQuery<Task> query = em.createQuery(
+                    "SELECT t FROM Task t WHERE t.priority = :priority ORDER BY t.createdAt DESC",
+                    Task.class);
+            query.setParameter("priority", priority);
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Find tasks due strictly before the given time
+     */
+    public List<Task> findDueBefore(LocalDateTime dateTime) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            TypedQuery<Task> query = em.createQuery(
+                    "SELECT t FROM Task t WHERE t.dueDate < :dateTime ORDER BY t.createdAt DESC",
+                    Task.class);
+            query.setParameter("dateTime", dateTime);
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Find tasks that are not done and due strictly before the given time
+     */
+    public List<Task> findOverdue(LocalDateTime dateTime) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            TypedQuery<Task> query = em.createQuery(
+                    "SELECT t FROM Task t WHERE t.dueDate < :dateTime AND t.status <> :status "
+                            + "ORDER BY t.createdAt DESC",
+                    Task.class);
+            query.setParameter("dateTime", dateTime);
+            query.setParameter("status", TaskStatus.DONE);
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Find tasks with filters applied
      */
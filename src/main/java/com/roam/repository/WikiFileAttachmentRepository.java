@@ -5,8 +5,11 @@ import com.roam.util.HibernateUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class WikiFileAttachmentRepository {
 
@@ -41,6 +44,16 @@ public class WikiFileAttachmentRepository {
         }
     }
 
+    public List<WikiFileAttachment> findAll() {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT w FROM WikiFileAttachment w ORDER BY w.id", WikiFileAttachment.class)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
     public List<WikiFileAttachment> findByWikiId(Long wikiId) {
         EntityManager em = HibernateUtil.getEntityManager();
         try {
@@ -54,6 +67,54 @@ public class WikiFileAttachmentRepository {
         }
     }
 
+    /**
+     * Attachments of any of the wikis, ordered by wiki and then by id.
+     */
+    public List<WikiFileAttachment> findByWikiIds(Collection<Long> wikiIds) {
+        if (wikiIds.isEmpty()) {
+            return List.of();
+        }
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery(
+                    "SELECT w FROM WikiFileAttachment w WHERE w.wikiId IN :wikiIds ORDER BY w.wikiId, w.id",
+                    WikiFileAttachment.class)
+                    .setParameter("wikiIds", wikiIds)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Number of attachments sharing the stored blob {@code contentHash}.
+     */
+    public long countByContentHash(String contentHash) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery(
+                    "SELECT COUNT(w) FROM WikiFileAttachment w WHERE w.contentHash = :contentHash", Long.class)
+                    .setParameter("contentHash", contentHash)
+                    .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Every blob hash still referenced by an attachment.
+     */
+    public Set<String> findContentHashes() {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return new HashSet<>(em.createQuery(
+                    "SELECT DISTINCT w.contentHash FROM WikiFileAttachment w WHERE w.contentHash IS NOT NULL",
+                    String.class).getResultList());
+        } finally {
+            em.close();
+        }
+    }
+
     public void delete(WikiFileAttachment attachment) {
         EntityManager em = HibernateUtil.getEntityManager();
         try {
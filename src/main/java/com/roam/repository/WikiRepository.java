@@ -10,7 +10,10 @@ import jakarta.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class WikiRepository {
@@ -53,6 +56,80 @@ public class WikiRepository {
         }
     }
 
+    /**
+     * Insert new wikis and update existing ones in a single transaction. Bulk
+     * imports and the HTTP API call this per batch instead of {@link #save}
+     * per wiki. Nothing is saved if any wiki is invalid or names an id that
+     * does not exist.
+     *
+     * @return The saved wikis, in order
+     */
+    public List<Wiki> saveAll(List<Wiki> wikis) {
+        wikis.forEach(validationService::validate);
+
+        EntityManager em = HibernateUtil.getEntityManager();
+        EntityTransaction tx = null;
+
+        try {
+            tx = em.getTransaction();
+            tx.begin();
+            List<Wiki> saved = new ArrayList<>(wikis.size());
+            for (Wiki wiki : wikis) {
+                if (wiki.getId() == null) {
+                    em.persist(wiki);
+                    saved.add(wiki);
+                } else if (em.find(Wiki.class, wiki.getId()) != null) {
+                    saved.add(em.merge(wiki));
+                } else {
+                    throw new IllegalArgumentException("No wiki with id " + wiki.getId());
+                }
+            }
+            tx.commit();
+            logger.debug("✓ {} wikis saved", saved.size());
+            return saved;
+
+        } catch (Exception e) {
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            logger.error("✗ Failed to save wikis: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save wikis", e);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Set the linked wiki ids of many wikis in a single transaction.
+     *
+     * @param links Wiki id to comma-separated linked ids
+     */
+    public void updateLinkedWikiIds(Map<Long, String> links) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        EntityTransaction tx = null;
+
+        try {
+            tx = em.getTransaction();
+            tx.begin();
+            for (Map.Entry<Long, String> link : links.entrySet()) {
+                em.createQuery("UPDATE Wiki n SET n.linkedWikiIds = :links WHERE n.id = :id")
+                        .setParameter("links", link.getValue())
+                        .setParameter("id", link.getKey())
+                        .executeUpdate();
+            }
+            tx.commit();
+
+        } catch (Exception e) {
+            if (tx != null && tx.isActive()) {
+                tx.rollback();
+            }
+            logger.error("✗ Failed to update wiki links: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to update wiki links", e);
+        } finally {
+            em.close();
+        }
+    }
+
     public Optional<Wiki> findById(Long id) {
         EntityManager em = HibernateUtil.getEntityManager();
         try {
@@ -124,6 +201,52 @@ public class WikiRepository {
         }
     }
 
+    /**
+     * Count all notes
+     */
+    public long count() {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(n) FROM Wiki n", Long.class).getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * The next {@code limit} notes by id after {@code afterId}, so large
+     * exports can page through every note without holding them all.
+     */
+    public List<Wiki> findPage(long afterId, int limit) {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            return em.createQuery("SELECT n FROM Wiki n WHERE n.id > :afterId ORDER BY n.id", Wiki.class)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Ids of all notes by title, without loading their content. Where titles
+     * repeat, the first note wins.
+     */
+    public Map<String, Long> findIdsByTitle() {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            Map<String, Long> ids = new LinkedHashMap<>();
+            for (Object[] row : em.createQuery("SELECT n.title, n.id FROM Wiki n ORDER BY n.id", Object[].class)
+                    .getResultList()) {
+                ids.putIfAbsent((String) row[0], (Long) row[1]);
+            }
+            return ids;
+        } finally {
+            em.close();
+        }
+    }
+
     /**
      * Find all favorite notes
      */
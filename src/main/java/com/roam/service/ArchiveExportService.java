@@ -0,0 +1,321 @@
+package com.roam.service;
+
+import com.roam.model.JournalEntry;
+import com.roam.model.Operation;
+import com.roam.model.Wiki;
+import com.roam.model.WikiFileAttachment;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.OperationRepository;
+import com.roam.repository.WikiFileAttachmentRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports every wiki and journal entry into a single ZIP archive of Markdown
+ * files.
+ *
+ * Notes are paged from the repositories {@link #PAGE_SIZE} at a time and
+ * rendered with YAML front matter on the compute pool, while the calling
+ * thread writes the finished entries to the archive in order. At most
+ * {@link #MAX_IN_FLIGHT} notes are rendered ahead of the writer, so memory
+ * stays bounded however large the workspace is. Wikis are laid out as
+ * {@code <region>/<operation>/<title>.md} and journal entries as
+ * {@code Journal/<date>.md}, the layout {@link VaultImportService} reads
+ * back. Attachments are referenced from their wiki's front matter and
+ * stored once per blob under {@code attachments/}, streamed from the
+ * attachment store.
+ */
+public class ArchiveExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveExportService.class);
+
+    static final int PAGE_SIZE = 200;
+    static final int MAX_IN_FLIGHT = 64;
+
+    private static final int MAX_FILE_NAME = 120;
+
+    public record ExportResult(int wikis, int journalEntries, int attachments) {
+    }
+
+    /**
+     * An attachment as referenced from a note. {@code include} is set on the
+     * first reference to a blob, which writes its bytes.
+     */
+    record AttachmentRef(String entryPath, Path source, boolean include) {
+    }
+
+    private record Rendered(String path, byte[] markdown, List<AttachmentRef> attachments) {
+    }
+
+    private final WikiRepository wikiRepository;
+    private final JournalEntryRepository journalRepository;
+    private final WikiFileAttachmentRepository attachmentRepository;
+    private final OperationRepository operationRepository;
+    private final AttachmentStore attachmentStore;
+    private final Executor executor;
+
+    public ArchiveExportService() {
+        this(new WikiRepository(), new JournalEntryRepository(), new WikiFileAttachmentRepository(),
+                new OperationRepository(), AttachmentStore.getInstance(),
+                ThreadPoolManager.getInstance().getComputePool());
+    }
+
+    ArchiveExportService(WikiRepository wikiRepository, JournalEntryRepository journalRepository,
+            WikiFileAttachmentRepository attachmentRepository, OperationRepository operationRepository,
+            AttachmentStore attachmentStore, Executor executor) {
+        this.wikiRepository = wikiRepository;
+        this.journalRepository = journalRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.operationRepository = operationRepository;
+        this.attachmentStore = attachmentStore;
+        this.executor = executor;
+    }
+
+    /**
+     * Write the archive to a temporary file next to {@code zipFile} and move
+     * it into place once complete.
+     */
+    public ExportResult exportTo(Path zipFile) throws IOException {
+        long start = System.currentTimeMillis();
+        Path target = zipFile.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+        ExportResult result;
+        try {
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                result = write(zip);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        logger.info("✓ Exported {} wikis, {} journal entries and {} attachments to {} in {} ms", result.wikis(),
+                result.journalEntries(), result.attachments(), target.getFileName(),
+                System.currentTimeMillis() - start);
+        return result;
+    }
+
+    ExportResult write(ZipOutputStream zip) throws IOException {
+        OrderedWriter writer = new OrderedWriter(zip);
+        Set<String> usedPaths = new HashSet<>();
+        Map<String, String> blobPaths = new HashMap<>();
+        Map<Long, String> operationNames = new HashMap<>();
+        for (Operation operation : operationRepository.findAll()) {
+            operationNames.put(operation.getId(), operation.getName());
+        }
+
+        int wikis = 0;
+        long afterId = 0;
+        List<Wiki> page;
+        while (!(page = wikiRepository.findPage(afterId, PAGE_SIZE)).isEmpty()) {
+            Map<Long, List<WikiFileAttachment>> attachments = new HashMap<>();
+            for (WikiFileAttachment attachment : attachmentRepository.findByWikiIds(
+                    page.stream().map(Wiki::getId).toList())) {
+                attachments.computeIfAbsent(attachment.getWikiId(), id -> new ArrayList<>()).add(attachment);
+            }
+            for (Wiki wiki : page) {
+                String folder = folder(wiki.getRegion(), operationNames.get(wiki.getOperationId()));
+                String path = uniquePath(folder, fileName(wiki.getTitle()), usedPaths);
+                List<AttachmentRef> refs = new ArrayList<>();
+                for (WikiFileAttachment attachment : attachments.getOrDefault(wiki.getId(), List.of())) {
+                    refs.add(reference(attachment, blobPaths));
+                }
+                writer.submit(() -> new Rendered(path, renderWiki(wiki, operationNames.get(wiki.getOperationId()),
+                        refs), refs));
+                wikis++;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        int entries = 0;
+        afterId = 0;
+        List<JournalEntry> entryPage;
+        while (!(entryPage = journalRepository.findPage(afterId, PAGE_SIZE)).isEmpty()) {
+            for (JournalEntry entry : entryPage) {
+                String name = entry.getDate() != null ? entry.getDate().toString() : fileName(entry.getTitle());
+                String path = uniquePath("Journal/", name, usedPaths);
+                writer.submit(() -> new Rendered(path, renderJournalEntry(entry), List.of()));
+                entries++;
+            }
+            afterId = entryPage.get(entryPage.size() - 1).getId();
+        }
+
+        writer.finish();
+        return new ExportResult(wikis, entries, writer.blobs);
+    }
+
+    /**
+     * Writes rendered notes in submission order, keeping at most
+     * {@link #MAX_IN_FLIGHT} renders outstanding.
+     */
+    private final class OrderedWriter {
+
+        private final ZipOutputStream zip;
+        private final Deque<CompletableFuture<Rendered>> pending = new ArrayDeque<>();
+        private int blobs;
+
+        private OrderedWriter(ZipOutputStream zip) {
+            this.zip = zip;
+        }
+
+        void submit(Supplier<Rendered> render) throws IOException {
+            pending.addLast(CompletableFuture.supplyAsync(render, executor));
+            while (pending.size() > MAX_IN_FLIGHT) {
+                writeNext();
+            }
+        }
+
+        void finish() throws IOException {
+            while (!pending.isEmpty()) {
+                writeNext();
+            }
+        }
+
+        private void writeNext() throws IOException {
+            Rendered rendered = pending.removeFirst().join();
+            zip.putNextEntry(new ZipEntry(rendered.path()));
+            zip.write(rendered.markdown());
+            zip.closeEntry();
+
+            for (AttachmentRef attachment : rendered.attachments()) {
+                if (!attachment.include()) {
+                    continue;
+                }
+                if (!Files.isRegularFile(attachment.source())) {
+                    logger.warn("⚠️ Attachment missing, not exported: {}", attachment.source());
+                    continue;
+                }
+                zip.putNextEntry(new ZipEntry(attachment.entryPath()));
+                Files.copy(attachment.source(), zip);
+                zip.closeEntry();
+                blobs++;
+            }
+        }
+    }
+
+    /**
+     * Where the attachment's bytes go in the archive: one entry per blob,
+     * named after the first attachment that references it.
+     */
+    private AttachmentRef reference(WikiFileAttachment attachment, Map<String, String> blobPaths) {
+        String key = attachment.getContentHash() != null ? attachment.getContentHash()
+                : "legacy-" + attachment.getId();
+        String path = "attachments/" + key + "/" + fileName(attachment.getFileName());
+        String existing = blobPaths.putIfAbsent(key, path);
+        return new AttachmentRef(existing != null ? existing : path, attachmentStore.contentPath(attachment),
+                existing == null);
+    }
+
+    static byte[] renderWiki(Wiki wiki, String operation, List<AttachmentRef> attachments) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("---\n");
+        sb.append("title: ").append(quote(wiki.getTitle())).append('\n');
+        if (wiki.getRegion() != null && !wiki.getRegion().isEmpty()) {
+            sb.append("region: ").append(quote(wiki.getRegion())).append('\n');
+        }
+        if (operation != null) {
+            sb.append("operation: ").append(quote(operation)).append('\n');
+        }
+        if (Boolean.TRUE.equals(wiki.getIsFavorite())) {
+            sb.append("favorite: true\n");
+        }
+        sb.append("created: ").append(wiki.getCreatedAt()).append('\n');
+        sb.append("updated: ").append(wiki.getUpdatedAt()).append('\n');
+        if (!attachments.isEmpty()) {
+            sb.append("attachments:\n");
+            for (AttachmentRef attachment : attachments) {
+                sb.append("  - ").append(quote(attachment.entryPath())).append('\n');
+            }
+        }
+        sb.append("---\n\n");
+        sb.append(wiki.getContent() != null ? wiki.getContent() : "");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] renderJournalEntry(JournalEntry entry) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("---\n");
+        sb.append("title: ").append(quote(entry.getTitle())).append('\n');
+        sb.append("date: ").append(entry.getDate()).append('\n');
+        sb.append("created: ").append(entry.getCreatedAt()).append('\n');
+        sb.append("updated: ").append(entry.getUpdatedAt()).append('\n');
+        sb.append("---\n\n");
+        sb.append(entry.getContent() != null ? entry.getContent() : "");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String folder(String region, String operation) {
+        StringBuilder folder = new StringBuilder();
+        if (region != null && !region.isBlank()) {
+            folder.append(fileName(region)).append('/');
+            if (operation != null && !operation.isBlank()) {
+                folder.append(fileName(operation)).append('/');
+            }
+        }
+        return folder.toString();
+    }
+
+    /**
+     * {@code folder + name + ".md"}, numbered when a note with the same
+     * name is already in the folder.
+     */
+    private static String uniquePath(String folder, String name, Set<String> usedPaths) {
+        String path = folder + name + ".md";
+        for (int i = 2; !usedPaths.add(path.toLowerCase(Locale.ROOT)); i++) {
+            path = folder + name + " (" + i + ").md";
+        }
+        return path;
+    }
+
+    /**
+     * {@code name} with characters that are not allowed in file names on
+     * common systems replaced.
+     */
+    static String fileName(String name) {
+        if (name == null) {
+            return "Untitled";
+        }
+        String cleaned = name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (cleaned.length() > MAX_FILE_NAME) {
+            cleaned = cleaned.substring(0, MAX_FILE_NAME).trim();
+        }
+        while (cleaned.endsWith(".")) {
+            cleaned = cleaned.substring(0, cleaned.length() - 1);
+        }
+        return cleaned.isEmpty() ? "Untitled" : cleaned;
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "\"\"";
+        }
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", " ") + "\"";
+    }
+}
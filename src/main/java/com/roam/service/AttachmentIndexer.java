@@ -0,0 +1,172 @@
+package com.roam.service;
+
+import com.roam.model.WikiFileAttachment;
+import com.roam.repository.WikiFileAttachmentRepository;
+import com.roam.util.AttachmentTextExtractor;
+import com.roam.util.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Makes the text inside wiki attachments searchable.
+ *
+ * Text-like attachments are extracted with {@link AttachmentTextExtractor}
+ * and indexed as child documents of their wiki, one per chunk, so a search
+ * for words in an attached note or log finds the wiki. Extraction runs on
+ * the compute pool and is skipped when the index already holds the
+ * attachment at the same content digest: its blob hash, or size and
+ * modification time for attachments from before the attachment store.
+ *
+ * @ThreadSafe Extraction runs unlocked; only the index write is serialized
+ */
+public class AttachmentIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentIndexer.class);
+
+    private static volatile AttachmentIndexer instance;
+
+    private final SearchService searchService;
+    private final AttachmentStore attachmentStore;
+    private final WikiFileAttachmentRepository repository;
+    private final Executor executor;
+
+    AttachmentIndexer(SearchService searchService, AttachmentStore attachmentStore,
+            WikiFileAttachmentRepository repository, Executor executor) {
+        this.searchService = searchService;
+        this.attachmentStore = attachmentStore;
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    public static AttachmentIndexer getInstance() {
+        if (instance == null) {
+            synchronized (AttachmentIndexer.class) {
+                if (instance == null) {
+                    instance = new AttachmentIndexer(SearchService.getInstance(), AttachmentStore.getInstance(),
+                            new WikiFileAttachmentRepository(), ThreadPoolManager.getInstance().getComputePool());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Index the attachment in the background.
+     *
+     * @return Future completing with the number of chunks indexed
+     */
+    public CompletableFuture<Integer> indexAsync(WikiFileAttachment attachment) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return index(attachment);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("⚠️ Failed to index attachment {}: {}", attachment.getFileName(), e.getMessage());
+                return 0;
+            }
+        }, executor);
+    }
+
+    /**
+     * Extract and index the attachment's text unless it is not text, or is
+     * already indexed at its current digest.
+     *
+     * @return Number of chunks indexed; 0 when skipped
+     */
+    public int index(WikiFileAttachment attachment) throws IOException {
+        return index(attachment, null);
+    }
+
+    /**
+     * Index every attachment whose content changed since it was last
+     * indexed. The indexed digests are read once up front rather than
+     * looked up per attachment.
+     *
+     * @return Number of attachments (re)indexed
+     */
+    public int indexAll() {
+        Map<Long, String> indexedDigests;
+        try {
+            indexedDigests = searchService.attachmentDigests();
+        } catch (IOException e) {
+            logger.warn("⚠️ Failed to read indexed attachments: {}", e.getMessage());
+            return 0;
+        }
+
+        int indexed = 0;
+        for (WikiFileAttachment attachment : repository.findAll()) {
+            try {
+                if (index(attachment, indexedDigests) > 0) {
+                    indexed++;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("⚠️ Failed to index attachment {}: {}", attachment.getFileName(), e.getMessage());
+            }
+        }
+        return indexed;
+    }
+
+    /**
+     * @param indexedDigests Digests already in the index by attachment id, or
+     *                       null to look this attachment up
+     */
+    private int index(WikiFileAttachment attachment, Map<Long, String> indexedDigests) throws IOException {
+        if (attachment.getId() == null
+                || !AttachmentTextExtractor.isTextLike(attachment.getFileName(), attachment.getFileType())) {
+            return 0;
+        }
+        Path file = attachmentStore.contentPath(attachment);
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        String digest = digest(attachment, file);
+        boolean current = indexedDigests != null ? digest.equals(indexedDigests.get(attachment.getId()))
+                : searchService.hasAttachment(attachment.getId(), digest);
+        if (current) {
+            return 0;
+        }
+
+        // Extract before touching the index, so the write below is short
+        List<String> chunks = new ArrayList<>();
+        AttachmentTextExtractor.extract(file, (index, text) -> chunks.add(text));
+
+        synchronized (this) {
+            searchService.batch(() -> {
+                searchService.deleteAttachment(attachment.getId());
+                for (int i = 0; i < chunks.size(); i++) {
+                    searchService.indexAttachmentChunk(attachment.getId(), attachment.getWikiId(),
+                            attachment.getFileName(), digest, i, chunks.get(i));
+                }
+            });
+        }
+        logger.debug("✓ Indexed attachment {} ({} chunk(s))", attachment.getFileName(), chunks.size());
+        return chunks.size();
+    }
+
+    public void remove(WikiFileAttachment attachment) {
+        if (attachment.getId() == null) {
+            return;
+        }
+        try {
+            searchService.deleteAttachment(attachment.getId());
+        } catch (IOException e) {
+            logger.warn("⚠️ Failed to remove attachment {} from index: {}", attachment.getFileName(),
+                    e.getMessage());
+        }
+    }
+
+    private static String digest(WikiFileAttachment attachment, Path file) throws IOException {
+        if (attachment.getContentHash() != null) {
+            return attachment.getContentHash();
+        }
+        return Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+    }
+}
@@ -0,0 +1,379 @@
+package com.roam.service;
+
+import com.roam.model.WikiFileAttachment;
+import com.roam.repository.WikiFileAttachmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for wiki attachments under
+ * {@code ~/.roam/attachments} (or {@code -Droam.attachments.dir}).
+ *
+ * Each file is stored once as {@code blobs/<ab>/<sha-256>}, however many
+ * wikis attach it. The reference count of a blob is the number of
+ * {@code wiki_file_attachments} rows with its {@code content_hash}, so rows
+ * removed by the cascade from a deleted wiki are counted correctly too; the
+ * blob is deleted when the last row goes, and {@link #collectGarbage()}
+ * removes any left behind.
+ *
+ * Ingest reads the source once through a direct buffer, hashing and writing
+ * each block as it goes. The source is not memory-mapped: on Windows a
+ * mapping keeps the file locked until it is garbage collected. Call it off
+ * the FX thread; {@link Progress} reports the bytes copied every chunk.
+ *
+ * @ThreadSafe Blob moves, deletes and garbage collection are serialized on
+ *             one lock; copying runs outside it
+ */
+public class AttachmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentStore.class);
+
+    private static volatile AttachmentStore instance;
+
+    static final String ROOT_PROPERTY = "roam.attachments.dir";
+    static final long CHUNK_BYTES = 8L * 1024 * 1024;
+    private static final int BUFFER_BYTES = 1024 * 1024;
+
+    // Temporary and open copies younger than this are left to their owner
+    static final long GC_GRACE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Receives the number of bytes copied so far.
+     */
+    @FunctionalInterface
+    public interface Progress {
+        void update(long bytesCopied, long totalBytes);
+    }
+
+    /**
+     * A stored blob. {@code deduplicated} is true when identical content was
+     * already in the store and the new copy was discarded.
+     */
+    public record Blob(String hash, long size, Path path, boolean deduplicated) {
+    }
+
+    public record GcResult(int blobsDeleted, long bytesReclaimed) {
+    }
+
+    private record Staged(Path file, String hash) {
+    }
+
+    private final Path blobDir;
+    private final Path tempDir;
+    private final Path openDir;
+    private final WikiFileAttachmentRepository repository;
+    private final Object lock = new Object();
+
+    AttachmentStore(Path root, WikiFileAttachmentRepository repository) {
+        this.blobDir = root.resolve("blobs");
+        this.tempDir = root.resolve("tmp");
+        this.openDir = root.resolve("open");
+        this.repository = repository;
+    }
+
+    public static AttachmentStore getInstance() {
+        if (instance == null) {
+            synchronized (AttachmentStore.class) {
+                if (instance == null) {
+                    Path root = Paths.get(System.getProperty(ROOT_PROPERTY,
+                            System.getProperty("user.home") + "/.roam/attachments"));
+                    instance = new AttachmentStore(root, new WikiFileAttachmentRepository());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Copy {@code source} into the store and attach it to a wiki.
+     */
+    public WikiFileAttachment attach(Long wikiId, Path source, Progress progress) throws IOException {
+        Staged staged = stage(source, progress);
+        String hash = staged.hash();
+
+        synchronized (lock) {
+            Blob blob = commit(staged);
+
+            WikiFileAttachment attachment = new WikiFileAttachment();
+            attachment.setWikiId(wikiId);
+            attachment.setFileName(source.getFileName().toString());
+            attachment.setFilePath(blob.path().toAbsolutePath().toString());
+            attachment.setFileSize(blob.size());
+            attachment.setFileType(Files.probeContentType(source));
+            attachment.setContentHash(hash);
+            WikiFileAttachment saved = repository.save(attachment);
+
+            logger.info("✓ Attached {} to wiki {} ({}, {} bytes)", attachment.getFileName(), wikiId,
+                    blob.deduplicated() ? "deduplicated" : "stored", blob.size());
+            return saved;
+        }
+    }
+
+    /**
+     * Remove an attachment, and its blob once nothing else references it.
+     * Attachments from before the store keep deleting their own file.
+     */
+    public void detach(WikiFileAttachment attachment) throws IOException {
+        synchronized (lock) {
+            repository.delete(attachment);
+
+            String hash = attachment.getContentHash();
+            if (hash == null) {
+                Files.deleteIfExists(Paths.get(attachment.getFilePath()));
+            } else if (repository.countByContentHash(hash) == 0) {
+                Files.deleteIfExists(blobPath(hash));
+                logger.info("🗑 Removed unreferenced attachment blob {}", hash);
+            }
+        }
+    }
+
+    /**
+     * Store {@code source} without attaching it. Nothing references the blob
+     * yet: unless the caller saves an attachment row with its hash before the
+     * next {@link #collectGarbage()}, the blob is deleted. Tests only; the app
+     * goes through {@link #attach}.
+     */
+    Blob store(Path source, Progress progress) throws IOException {
+        Staged staged = stage(source, progress);
+        synchronized (lock) {
+            return commit(staged);
+        }
+    }
+
+    /**
+     * A path the desktop can open: the legacy file, or a read-only copy of the
+     * blob under the attachment's original name, since blob names carry no
+     * extension. Never the blob itself or a link to it: an editor saving in
+     * place would change the content every wiki with that hash shares.
+     *
+     * One copy is kept per hash and name, and reused while its size and
+     * modification time still match the blob's; a copy an editor changed
+     * anyway is replaced. Copying a large file takes a while, so call it off
+     * the FX thread. Copies are removed by {@link #deleteOpenCopies()} on
+     * shutdown and by {@link #collectGarbage()} once stale.
+     */
+    public Path resolveForOpening(WikiFileAttachment attachment) throws IOException {
+        if (attachment.getContentHash() == null) {
+            return Paths.get(attachment.getFilePath());
+        }
+        Path blob = blobPath(attachment.getContentHash());
+        Path dir = openDir.resolve(attachment.getContentHash());
+        Path copy = dir.resolve(Paths.get(attachment.getFileName()).getFileName());
+        Files.createDirectories(dir);
+        // Reuse counts as use, so garbage collection leaves the copy alone
+        Files.setLastModifiedTime(dir, FileTime.fromMillis(System.currentTimeMillis()));
+
+        FileTime blobModified = Files.getLastModifiedTime(blob);
+        if (Files.isRegularFile(copy) && Files.size(copy) == Files.size(blob)
+                && Files.getLastModifiedTime(copy).equals(blobModified)) {
+            return copy;
+        }
+
+        // Copy aside and move into place, so a concurrent open never sees a
+        // partial file
+        Path part = Files.createTempFile(dir, "open-", ".part");
+        try {
+            Files.copy(blob, part, StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(part, blobModified);
+            part.toFile().setReadOnly();
+            Files.move(part, copy, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            part.toFile().setWritable(true);
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        return copy;
+    }
+
+    /**
+     * Delete every copy made by {@link #resolveForOpening}. Copies still open
+     * in another application may not be deletable; those are left for
+     * {@link #collectGarbage()}.
+     */
+    public void deleteOpenCopies() {
+        synchronized (lock) {
+            if (!Files.isDirectory(openDir)) {
+                return;
+            }
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(openDir)) {
+                for (Path entry : entries) {
+                    try {
+                        deleteRecursively(entry);
+                    } catch (IOException e) {
+                        logger.warn("⚠️ Could not delete opened attachment copy {}: {}", entry, e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("⚠️ Could not list opened attachment copies: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Where the attachment's bytes are: its blob, or the legacy file.
+     */
+    public Path contentPath(WikiFileAttachment attachment) {
+        return attachment.getContentHash() != null ? blobPath(attachment.getContentHash())
+                : Paths.get(attachment.getFilePath());
+    }
+
+    public Path blobPath(String hash) {
+        return blobDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Delete blobs no attachment references, plus stale temporary and open
+     * copies.
+     */
+    public GcResult collectGarbage() throws IOException {
+        synchronized (lock) {
+            return collectGarbage(repository.findContentHashes(), System.currentTimeMillis() - GC_GRACE_MILLIS);
+        }
+    }
+
+    GcResult collectGarbage(Set<String> referenced, long staleBeforeMillis) throws IOException {
+        synchronized (lock) {
+            int deleted = 0;
+            long reclaimed = 0;
+            if (Files.isDirectory(blobDir)) {
+                List<Path> blobs;
+                try (Stream<Path> files = Files.walk(blobDir, 2)) {
+                    blobs = files.filter(Files::isRegularFile).toList();
+                }
+                for (Path blob : blobs) {
+                    if (!referenced.contains(blob.getFileName().toString())) {
+                        long size = Files.size(blob);
+                        if (Files.deleteIfExists(blob)) {
+                            deleted++;
+                            reclaimed += size;
+                        }
+                    }
+                }
+            }
+            deleteStale(tempDir, staleBeforeMillis);
+            deleteStale(openDir, staleBeforeMillis);
+
+            if (deleted > 0) {
+                logger.info("✓ Attachment GC removed {} blob(s), reclaimed {} bytes", deleted, reclaimed);
+            }
+            return new GcResult(deleted, reclaimed);
+        }
+    }
+
+    /**
+     * Copy {@code source} to a temporary file, hashing it on the way.
+     */
+    private Staged stage(Path source, Progress progress) throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "ingest-", ".part");
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long chunkEnd = Math.min(position + CHUNK_BYTES, size);
+                while (position < chunkEnd) {
+                    buffer.clear().limit((int) Math.min(BUFFER_BYTES, chunkEnd - position));
+                    int read = in.read(buffer, position);
+                    if (read < 0) {
+                        throw new IOException("File shrank while copying: " + source);
+                    }
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.rewind();
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    position += read;
+                }
+                if (progress != null) {
+                    progress.update(position, size);
+                }
+            }
+            out.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        return new Staged(temp, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Move a staged file into place, or drop it if the blob already exists.
+     * Caller holds the lock.
+     */
+    private Blob commit(Staged staged) throws IOException {
+        String hash = staged.hash();
+        Path target = blobPath(hash);
+        long size = Files.size(staged.file());
+        if (Files.exists(target)) {
+            Files.delete(staged.file());
+            return new Blob(hash, size, target, true);
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(staged.file(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(staged.file(), target);
+        }
+        return new Blob(hash, size, target, false);
+    }
+
+    private static void deleteStale(Path dir, long staleBeforeMillis) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                if (Files.getLastModifiedTime(entry).toMillis() < staleBeforeMillis) {
+                    deleteRecursively(entry);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(path)) {
+                for (Path child : children) {
+                    deleteRecursively(child);
+                }
+            }
+        } else {
+            // Open copies are read-only, which blocks deleting them on Windows
+            path.toFile().setWritable(true);
+        }
+        Files.deleteIfExists(path);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
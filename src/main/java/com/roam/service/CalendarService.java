@@ -32,6 +32,15 @@ public interface CalendarService {
      */
     CalendarEvent updateEvent(CalendarEvent event);
 
+    /**
+     * Create the events without an id and update the others, all in one
+     * transaction, and index them with a single search commit.
+     * 
+     * @param events Events to save
+     * @return Saved events, in order
+     */
+    List<CalendarEvent> saveEvents(List<CalendarEvent> events);
+
     /**
      * Deletes a calendar event by ID.
      *
@@ -41,6 +50,16 @@ public interface CalendarService {
      */
     void deleteEvent(Long id);
 
+    /**
+     * Deletes a calendar source together with its events, and removes the
+     * events from the search index and the calendar feed.
+     *
+     * @param sourceId The calendar source ID
+     * @throws IllegalArgumentException if sourceId is null
+     * @throws RuntimeException         if deletion fails
+     */
+    void deleteSource(Long sourceId);
+
     /**
      * Finds a calendar event by ID.
      *
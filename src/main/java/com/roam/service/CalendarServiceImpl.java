@@ -3,16 +3,20 @@ package com.roam.service;
 import com.roam.model.CalendarEvent;
 import com.roam.model.Task;
 import com.roam.repository.CalendarEventRepository;
+import com.roam.repository.CalendarSourceRepository;
 import com.roam.repository.TaskRepository;
+import com.roam.util.FlightEvents;
 import com.roam.util.HibernateUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -22,20 +26,31 @@ public class CalendarServiceImpl implements CalendarService {
 
     private static final Logger logger = LoggerFactory.getLogger(CalendarServiceImpl.class);
     private final CalendarEventRepository repository;
+    private final CalendarSourceRepository sourceRepository;
     private final TaskRepository taskRepository;
     private final SearchService searchService;
+    private final IcsFeedService feed;
 
     public CalendarServiceImpl() {
         this.repository = new CalendarEventRepository();
+        this.sourceRepository = new CalendarSourceRepository();
         this.taskRepository = new TaskRepository();
         this.searchService = SearchService.getInstance();
+        this.feed = IcsFeedService.getInstance();
     }
 
     public CalendarServiceImpl(CalendarEventRepository repository, TaskRepository taskRepository,
             SearchService searchService) {
+        this(repository, taskRepository, searchService, null);
+    }
+
+    CalendarServiceImpl(CalendarEventRepository repository, TaskRepository taskRepository,
+            SearchService searchService, IcsFeedService feed) {
         this.repository = repository;
+        this.sourceRepository = new CalendarSourceRepository();
         this.taskRepository = taskRepository;
         this.searchService = searchService;
+        this.feed = feed;
     }
 
     @Override
@@ -44,6 +59,7 @@ public class CalendarServiceImpl implements CalendarService {
             throw new IllegalArgumentException("CalendarEvent cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("CalendarEvent", "create");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -57,6 +73,7 @@ public class CalendarServiceImpl implements CalendarService {
             logger.info("✓ Calendar event created: {}", created.getTitle());
 
             indexEvent(created);
+            publish(created);
 
             return created;
 
@@ -68,6 +85,7 @@ public class CalendarServiceImpl implements CalendarService {
             throw new RuntimeException("Failed to create calendar event", e);
         } finally {
             em.close();
+            flightEvent.finish(event.getId());
         }
     }
 
@@ -77,6 +95,7 @@ public class CalendarServiceImpl implements CalendarService {
             throw new IllegalArgumentException("CalendarEvent and ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("CalendarEvent", "update");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -90,6 +109,7 @@ public class CalendarServiceImpl implements CalendarService {
             logger.info("✓ Calendar event updated: {}", updated.getTitle());
 
             indexEvent(updated);
+            publish(updated);
 
             return updated;
 
@@ -101,7 +121,37 @@ public class CalendarServiceImpl implements CalendarService {
             throw new RuntimeException("Failed to update calendar event", e);
         } finally {
             em.close();
+            flightEvent.finish(event.getId());
+        }
+    }
+
+    @Override
+    public List<CalendarEvent> saveEvents(List<CalendarEvent> events) {
+        if (events == null || events.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Calendar events cannot be null");
+        }
+
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("CalendarEvent", "saveAll");
+        List<CalendarEvent> saved;
+        try {
+            saved = repository.saveAll(events);
+            logger.info("✓ {} calendar events saved", saved.size());
+        } catch (Exception e) {
+            logger.error("✗ Failed to save calendar events: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save calendar events", e);
+        } finally {
+            flightEvent.finish((Long) null);
+        }
+
+        try {
+            searchService.batch(() -> saved.forEach(this::indexEvent));
+        } catch (IOException e) {
+            logger.error("✗ Failed to index calendar events: {}", e.getMessage(), e);
         }
+        if (feed != null) {
+            feed.onEventsSaved(saved);
+        }
+        return saved;
     }
 
     @Override
@@ -110,6 +160,7 @@ public class CalendarServiceImpl implements CalendarService {
             throw new IllegalArgumentException("Event ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("CalendarEvent", "delete");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -126,6 +177,9 @@ public class CalendarServiceImpl implements CalendarService {
             tx.commit();
 
             searchService.deleteDocument(id);
+            if (feed != null) {
+                feed.onEventDeleted(id);
+            }
 
         } catch (Exception e) {
             if (tx != null && tx.isActive()) {
@@ -135,6 +189,33 @@ public class CalendarServiceImpl implements CalendarService {
             throw new RuntimeException("Failed to delete calendar event", e);
         } finally {
             em.close();
+            flightEvent.finish(id);
+        }
+    }
+
+    @Override
+    public void deleteSource(Long sourceId) {
+        if (sourceId == null) {
+            throw new IllegalArgumentException("Calendar source ID cannot be null");
+        }
+
+        try {
+            // The database deletes the events with the source
+            List<CalendarEvent> events = repository.findByCalendarSourceId(sourceId);
+            sourceRepository.delete(sourceId);
+
+            searchService.batch(() -> {
+                for (CalendarEvent event : events) {
+                    searchService.deleteDocument(event.getId());
+                }
+            });
+            if (feed != null) {
+                events.forEach(event -> feed.onEventDeleted(event.getId()));
+            }
+            logger.info("✓ Calendar source {} deleted with {} event(s)", sourceId, events.size());
+        } catch (Exception e) {
+            logger.error("✗ Failed to delete calendar source: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to delete calendar source", e);
         }
     }
 
@@ -244,6 +325,7 @@ public class CalendarServiceImpl implements CalendarService {
                 logger.info("✓ Updated calendar event for task: {}", task.getTitle());
 
                 indexEvent(event);
+                publish(event);
             } else {
                 // Create new event
                 CalendarEvent event = new CalendarEvent();
@@ -263,6 +345,7 @@ public class CalendarServiceImpl implements CalendarService {
                 logger.info("✓ Created calendar event for task: {}", task.getTitle());
 
                 indexEvent(created);
+                publish(created);
             }
 
             tx.commit();
@@ -288,6 +371,15 @@ public class CalendarServiceImpl implements CalendarService {
         }
     }
 
+    /**
+     * Refresh the event in the published calendar feed, if there is one.
+     */
+    private void publish(CalendarEvent event) {
+        if (feed != null) {
+            feed.onEventSaved(event);
+        }
+    }
+
     @Override
     public void indexEvent(CalendarEvent event) {
         try {
@@ -10,6 +10,7 @@ import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,9 @@ public class DataService {
     private final JournalEntryRepository journalRepository;
     private final JournalTemplateRepository journalTemplateRepository;
 
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final IcsFeedService feed;
+
     private final ObjectMapper objectMapper;
 
     public DataService() {
@@ -41,6 +45,8 @@ public class DataService {
         this.WikiTemplateRepository = new WikiTemplateRepository();
         this.journalRepository = new JournalEntryRepository();
         this.journalTemplateRepository = new JournalTemplateRepository();
+        this.duplicateDetectionService = DuplicateDetectionService.getInstance();
+        this.feed = IcsFeedService.getInstance();
 
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
@@ -97,6 +103,7 @@ public class DataService {
 
             int importedCount = 0;
             int skippedCount = 0;
+            int possibleDuplicates = 0;
             StringBuilder errors = new StringBuilder();
 
             // Validate metadata
@@ -178,17 +185,20 @@ public class DataService {
 
             // Import calendar events
             if (importData.containsKey("calendarEvents")) {
+                List<CalendarEvent> saved = new ArrayList<>();
                 try {
                     List<CalendarEvent> events = objectMapper.convertValue(importData.get("calendarEvents"),
                             objectMapper.getTypeFactory().constructCollectionType(List.class, CalendarEvent.class));
                     for (CalendarEvent event : events) {
                         event.setId(null);
-                        eventRepository.save(event);
+                        saved.add(eventRepository.save(event));
                         importedCount++;
                     }
                 } catch (Exception e) {
                     errors.append("Calendar events import error: ").append(e.getMessage()).append("\n");
                 }
+                // Publish what was saved, even if a later event failed
+                feed.onEventsSaved(saved);
             }
 
             // Import notes
@@ -197,8 +207,16 @@ public class DataService {
                     List<Wiki> notes = objectMapper.convertValue(importData.get("notes"),
                             objectMapper.getTypeFactory().constructCollectionType(List.class, Wiki.class));
                     for (Wiki Wiki : notes) {
+                        boolean similar = !duplicateDetectionService.findSimilarWikis(Wiki.getContent()).isEmpty();
+                        if (similar && mergeMode) {
+                            skippedCount++;
+                            continue;
+                        }
+                        if (similar) {
+                            possibleDuplicates++;
+                        }
                         Wiki.setId(null);
-                        WikiRepository.save(Wiki);
+                        duplicateDetectionService.onWikiSaved(WikiRepository.save(Wiki));
                         importedCount++;
                     }
                 } catch (Exception e) {
@@ -231,8 +249,17 @@ public class DataService {
                     List<JournalEntry> entries = objectMapper.convertValue(importData.get("journalEntries"),
                             objectMapper.getTypeFactory().constructCollectionType(List.class, JournalEntry.class));
                     for (JournalEntry entry : entries) {
+                        boolean similar = !duplicateDetectionService.findSimilarJournalEntries(entry.getContent())
+                                .isEmpty();
+                        if (similar && mergeMode) {
+                            skippedCount++;
+                            continue;
+                        }
+                        if (similar) {
+                            possibleDuplicates++;
+                        }
                         entry.setId(null);
-                        journalRepository.save(entry);
+                        duplicateDetectionService.onJournalEntrySaved(journalRepository.save(entry));
                         importedCount++;
                     }
                 } catch (Exception e) {
@@ -258,6 +285,10 @@ public class DataService {
             String message = errors.length() > 0
                     ? "Import completed with errors:\n" + errors.toString()
                     : "Data imported successfully";
+            if (possibleDuplicates > 0) {
+                message += "\n" + possibleDuplicates
+                        + " imported notes look like existing ones (Settings > Find Duplicates).";
+            }
 
             return new ImportResult(true, message, importedCount, skippedCount);
 
@@ -0,0 +1,305 @@
+package com.roam.service;
+
+import com.roam.model.Settings;
+import com.roam.util.DatabaseConfig;
+import com.roam.util.HibernateUtil;
+import com.roam.util.ThreadPoolManager;
+import org.h2.engine.Session;
+import org.h2.engine.SessionLocal;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the embedded H2 file database healthy while the app is idle.
+ *
+ * H2 never shrinks its file on its own while the database is open, and the
+ * optimizer only knows the row counts from the last {@code ANALYZE}. This
+ * service checks every minute on the scheduled pool and, once no statement
+ * has run for {@link #IDLE_MILLIS}:
+ * <ul>
+ * <li>runs {@code ANALYZE} after {@link #ANALYZE_AFTER_WRITES} writes</li>
+ * <li>every {@link #COMPACT_INTERVAL_MILLIS}, compacts the file online if
+ * live data fills less than Settings.compactFillRate percent of it</li>
+ * </ul>
+ * On start it also sizes the page cache from the maximum heap. Each run is
+ * logged and kept as a {@link Report}, including the bytes reclaimed.
+ *
+ * Writes and activity are seen through a statement listener registered with
+ * {@link HibernateUtil} while the service runs. In-memory and remote
+ * databases are only analyzed.
+ */
+public class DatabaseMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseMaintenanceService.class);
+
+    private static volatile DatabaseMaintenanceService instance;
+
+    static final long CHECK_INTERVAL_SECONDS = 60;
+    static final long IDLE_MILLIS = 30_000;
+    static final long ANALYZE_AFTER_WRITES = 1_000;
+    static final long COMPACT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    static final int MAX_COMPACT_TIME_MS = 2_000;
+    private static final int COMPACT_WRITE_BYTES = 16 * 1024 * 1024;
+
+    // Page cache: an eighth of the heap, within these bounds
+    static final int MIN_CACHE_MB = 16;
+    static final int MAX_CACHE_MB = 256;
+
+    /**
+     * Outcome of one maintenance run. Sizes are in bytes, fill rates in
+     * percent of the file holding live data.
+     */
+    public record Report(Instant time, boolean analyzed, boolean compacted, long fileSizeBefore,
+            long fileSizeAfter, int fillRateBefore, int fillRateAfter, long durationMs) {
+
+        public long reclaimedBytes() {
+            return Math.max(0, fileSizeBefore - fileSizeAfter);
+        }
+    }
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final int compactFillRate;
+    private final boolean fileDatabase;
+
+    private final LongAdder writesSinceAnalyze = new LongAdder();
+    private final Consumer<String> statementListener = this::recordStatement;
+    private final Object maintenanceLock = new Object();
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+    private volatile long lastCompactCheckMillis;
+    private volatile Report lastReport;
+    private ScheduledFuture<?> task;
+
+    DatabaseMaintenanceService(String jdbcUrl, String username, String password, boolean enabled,
+            int compactFillRate) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.compactFillRate = Math.max(0, Math.min(100, compactFillRate));
+        this.fileDatabase = isFileDatabase(jdbcUrl);
+    }
+
+    public static DatabaseMaintenanceService getInstance() {
+        if (instance == null) {
+            synchronized (DatabaseMaintenanceService.class) {
+                if (instance == null) {
+                    DatabaseConfig config = DatabaseConfig.getInstance();
+                    Settings settings = SettingsService.getInstance().getSettings();
+                    if (settings == null) {
+                        settings = new Settings();
+                    }
+                    instance = new DatabaseMaintenanceService(config.getJdbcUrl(), config.getUsername(),
+                            config.getPassword(), settings.isDatabaseMaintenance(), settings.getCompactFillRate());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Size the page cache and start the idle checks. Does nothing when
+     * maintenance is disabled in Settings or the database is not H2.
+     */
+    public synchronized void start() {
+        if (!enabled || task != null || !jdbcUrl.startsWith("jdbc:h2:")) {
+            return;
+        }
+        if (fileDatabase) {
+            applyCacheSize();
+        }
+        HibernateUtil.addStatementListener(statementListener);
+        task = ThreadPoolManager.getInstance().scheduleAtFixedRate(this::runIfIdle,
+                CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        logger.info("✓ Database maintenance scheduled (compact below {}% fill)", compactFillRate);
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            HibernateUtil.removeStatementListener(statementListener);
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    /**
+     * Note a statement about to run. Called for every SQL statement while
+     * the service runs, so it only touches a volatile and a counter.
+     */
+    public void recordStatement(String sql) {
+        lastActivityMillis = System.currentTimeMillis();
+        if (isWrite(sql)) {
+            writesSinceAnalyze.increment();
+        }
+    }
+
+    public Report getLastReport() {
+        return lastReport;
+    }
+
+    private void runIfIdle() {
+        if (System.currentTimeMillis() - lastActivityMillis < IDLE_MILLIS) {
+            return;
+        }
+        runMaintenance(false);
+    }
+
+    /**
+     * Run whatever maintenance is due, or all of it when {@code force} is
+     * set.
+     *
+     * @return the report, or null if nothing was due or the run failed
+     */
+    public Report runMaintenance(boolean force) {
+        synchronized (maintenanceLock) {
+            long now = System.currentTimeMillis();
+            boolean analyze = force || writesSinceAnalyze.sum() >= ANALYZE_AFTER_WRITES;
+            boolean checkCompaction = fileDatabase
+                    && (force || now - lastCompactCheckMillis >= COMPACT_INTERVAL_MILLIS);
+            if (!analyze && !checkCompaction) {
+                return null;
+            }
+
+            long start = System.nanoTime();
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
+                    Statement statement = connection.createStatement()) {
+                if (analyze) {
+                    writesSinceAnalyze.reset();
+                    statement.execute("ANALYZE");
+                }
+
+                long sizeBefore = readInfo(connection, "info.FILE_SIZE");
+                int fillBefore = (int) readInfo(connection, "info.CHUNKS_FILL_RATE");
+                boolean compacted = false;
+                if (checkCompaction) {
+                    lastCompactCheckMillis = now;
+                    if (fillBefore >= 0 && fillBefore < compactFillRate) {
+                        compacted = compact(connection);
+                    }
+                }
+                long sizeAfter = compacted ? readInfo(connection, "info.FILE_SIZE") : sizeBefore;
+                int fillAfter = compacted ? (int) readInfo(connection, "info.CHUNKS_FILL_RATE") : fillBefore;
+
+                Report report = new Report(Instant.now(), analyze, compacted, sizeBefore, sizeAfter,
+                        fillBefore, fillAfter, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                lastReport = report;
+                log(report);
+                return report;
+            } catch (SQLException | RuntimeException e) {
+                logger.warn("⚠️ Database maintenance failed: {}", e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Rewrite sparsely filled chunks and move them to the start of the file
+     * so it can be truncated. Runs alongside open connections; H2 locks the
+     * store while moving chunks.
+     */
+    private boolean compact(Connection connection) throws SQLException {
+        Session session = connection.unwrap(JdbcConnection.class).getSession();
+        if (!(session instanceof SessionLocal local)) {
+            return false;
+        }
+        MVStore store = local.getDatabase().getStore().getMvStore();
+        store.compact(compactFillRate, COMPACT_WRITE_BYTES);
+        store.compactFile(MAX_COMPACT_TIME_MS);
+        return true;
+    }
+
+    private void applyCacheSize() {
+        int cacheKb = cacheSizeKb(Runtime.getRuntime().maxMemory());
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
+                Statement statement = connection.createStatement()) {
+            statement.execute("SET CACHE_SIZE " + cacheKb);
+            logger.info("✓ Database cache set to {} MB", cacheKb / 1024);
+        } catch (SQLException e) {
+            logger.warn("⚠️ Could not set database cache size: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Page cache size in KB for a JVM with {@code maxHeapBytes} of heap.
+     */
+    static int cacheSizeKb(long maxHeapBytes) {
+        long mb = maxHeapBytes == Long.MAX_VALUE ? MAX_CACHE_MB : maxHeapBytes / (8 * 1024 * 1024);
+        return (int) Math.max(MIN_CACHE_MB, Math.min(MAX_CACHE_MB, mb)) * 1024;
+    }
+
+    /**
+     * Whether {@code sql} changes data. Hibernate writes start with the verb,
+     * so only the first word is checked.
+     */
+    static boolean isWrite(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        int i = 0;
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return sql.regionMatches(true, i, "insert", 0, 6)
+                || sql.regionMatches(true, i, "update", 0, 6)
+                || sql.regionMatches(true, i, "delete", 0, 6)
+                || sql.regionMatches(true, i, "merge", 0, 5);
+    }
+
+    /**
+     * Embedded H2 databases with a file behind them; only those can be
+     * compacted from this process.
+     */
+    static boolean isFileDatabase(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:h2:")) {
+            return false;
+        }
+        String location = jdbcUrl.substring("jdbc:h2:".length());
+        return !location.startsWith("mem:") && !location.startsWith("tcp:") && !location.startsWith("ssl:");
+    }
+
+    private static long readInfo(Connection connection, String name) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = ?")) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Long.parseLong(rs.getString(1).trim()) : -1;
+            }
+        }
+    }
+
+    private static void log(Report report) {
+        if (report.compacted()) {
+            logger.info("✓ Database compacted: {} → {} (reclaimed {}, fill {}% → {}%) in {} ms",
+                    formatBytes(report.fileSizeBefore()), formatBytes(report.fileSizeAfter()),
+                    formatBytes(report.reclaimedBytes()), report.fillRateBefore(), report.fillRateAfter(),
+                    report.durationMs());
+        } else {
+            logger.info("📊 Database maintenance: analyzed={}, file {} at {}% fill, {} ms",
+                    report.analyzed(), formatBytes(report.fileSizeBefore()), report.fillRateBefore(),
+                    report.durationMs());
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+}
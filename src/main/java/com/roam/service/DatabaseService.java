@@ -1,13 +1,19 @@
 package com.roam.service;
 
 import com.roam.util.HibernateUtil;
+import com.roam.util.ThreadPoolManager;
 import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
 public class DatabaseService {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseService.class);
+    private static final long ATTACHMENT_GC_DELAY_MINUTES = 2;
+    private static final long ATTACHMENT_GC_INTERVAL_MINUTES = 60;
 
     /**
      * Initialize database connection and schema
@@ -28,6 +34,22 @@ public class DatabaseService {
                 // Initialize default templates
                 DataInitializer initializer = new DataInitializer();
                 initializer.initializeDefaultTemplates();
+
+                // Idle-time ANALYZE and compaction
+                DatabaseMaintenanceService.getInstance().start();
+
+                // Calendar feed for external calendar apps, if enabled
+                IcsFeedService.getInstance().start();
+
+                // Local HTTP API for scripts, if enabled
+                if (SettingsService.getInstance().getSettings().isApiEnabled()) {
+                    startHttpApi();
+                }
+
+                // Attachment blobs left behind by deleted wikis, and stale
+                // copies of opened attachments
+                ThreadPoolManager.getInstance().scheduleAtFixedRate(DatabaseService::collectAttachmentGarbage,
+                        ATTACHMENT_GC_DELAY_MINUTES, ATTACHMENT_GC_INTERVAL_MINUTES, TimeUnit.MINUTES);
             } else {
                 logger.error("✗ Database connection test failed");
             }
@@ -39,6 +61,23 @@ public class DatabaseService {
         }
     }
 
+    private static void startHttpApi() {
+        try {
+            HttpApiService.getInstance().start();
+        } catch (IOException e) {
+            // The port may be taken; the rest of the app works without the API
+            logger.warn("⚠️ HTTP API could not start: {}", e.getMessage());
+        }
+    }
+
+    private static void collectAttachmentGarbage() {
+        try {
+            AttachmentStore.getInstance().collectGarbage();
+        } catch (Exception e) {
+            logger.warn("⚠️ Attachment garbage collection failed: {}", e.getMessage());
+        }
+    }
+
     /**
      * Test database connection
      */
@@ -0,0 +1,363 @@
+package com.roam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.roam.util.FlightEvents;
+import com.roam.util.LatencyHistogram;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Query diagnostics built on Hibernate statistics.
+ *
+ * Hibernate reports every query, prepared statement and lazy fetch to a
+ * {@link Statistics} implementation; this service installs one (see
+ * {@link #statisticsFactory()}) that also records per-query latency
+ * histograms and attributes work to the UI action running on the current
+ * thread (see {@link #track(String, Supplier)}). Actions that run the same
+ * query or lazy fetch many times are flagged as likely N+1 patterns, and
+ * queries slower than {@link #SLOW_QUERY_MS} are kept for inspection.
+ *
+ * Collection is off unless enabled in Settings; when off, Hibernate skips the
+ * statistics callbacks entirely.
+ */
+public class DiagnosticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsService.class);
+
+    private static volatile DiagnosticsService instance;
+
+    public static final long SLOW_QUERY_MS = 100;
+    public static final int N_PLUS_ONE_THRESHOLD = 10;
+    private static final int MAX_RECENT = 50;
+
+    private final Map<String, QueryRecord> queries = new ConcurrentHashMap<>();
+    private final Map<String, ActionRecord> actions = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final Deque<NPlusOneWarning> warnings = new ArrayDeque<>();
+    private final ThreadLocal<ActionContext> currentAction = new ThreadLocal<>();
+
+    private volatile boolean enabled;
+    private volatile boolean flightRecording;
+    private volatile Statistics statistics;
+
+    public record QueryStat(String query, long count, long rows, double meanMs, double p50Ms, double p95Ms,
+            double p99Ms, double maxMs) {
+    }
+
+    public record ActionStat(String action, long count, long statements, long maxStatements, double meanMs,
+            double maxMs) {
+    }
+
+    public record SlowQuery(Instant time, String action, String query, long durationMs) {
+    }
+
+    public record NPlusOneWarning(Instant time, String action, String pattern, long count) {
+    }
+
+    /**
+     * Point-in-time copy of all diagnostics, used by the UI and the JSON
+     * export.
+     */
+    public record Snapshot(Instant capturedAt, boolean enabled, long queryCount, long statementCount,
+            long sessionCount, long entityLoadCount, long entityFetchCount, long collectionFetchCount,
+            List<QueryStat> queries, List<ActionStat> actions, List<SlowQuery> slowQueries,
+            List<NPlusOneWarning> nPlusOneWarnings) {
+    }
+
+    private static final class QueryRecord {
+        private final LongAdder rows = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    private static final class ActionRecord {
+        private final LongAdder statements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    private static final class ActionContext {
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Integer> patterns = new HashMap<>();
+        private long statements;
+
+        private ActionContext(String name) {
+            this.name = name;
+        }
+    }
+
+    DiagnosticsService() {
+    }
+
+    public static DiagnosticsService getInstance() {
+        if (instance == null) {
+            synchronized (DiagnosticsService.class) {
+                if (instance == null) {
+                    instance = new DiagnosticsService();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Factory to pass as {@code hibernate.stats.factory} when building the
+     * EntityManagerFactory.
+     */
+    public StatisticsFactory statisticsFactory() {
+        return sessionFactory -> {
+            RecordingStatistics recording = new RecordingStatistics(sessionFactory, this);
+            recording.setStatisticsEnabled(enabled || flightRecording);
+            statistics = recording;
+            return recording;
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn collection on or off at runtime.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        updateStatisticsEnabled();
+        logger.info("{} Query diagnostics {}", enabled ? "✓" : "🔄", enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * Report queries as JFR events while a flight recording is running.
+     * Hibernate statistics stay on for the duration even if diagnostics are
+     * disabled.
+     */
+    public void setFlightRecording(boolean flightRecording) {
+        this.flightRecording = flightRecording;
+        updateStatisticsEnabled();
+    }
+
+    private void updateStatisticsEnabled() {
+        Statistics current = statistics;
+        if (current != null) {
+            current.setStatisticsEnabled(enabled || flightRecording);
+        }
+    }
+
+    /**
+     * Run {@code work} as the named UI action, attributing the queries it
+     * runs on this thread to the action. Nested calls join the outer action.
+     */
+    public <T> T track(String action, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+
+        if (currentAction.get() != null) {
+            return work.get();
+        }
+
+        ActionContext context = new ActionContext(action);
+        currentAction.set(context);
+        try {
+            return work.get();
+        } finally {
+            currentAction.remove();
+            finishAction(context);
+        }
+    }
+
+    /**
+     * Clear everything recorded so far, including Hibernate's own counters.
+     */
+    public void reset() {
+        queries.clear();
+        actions.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+        synchronized (warnings) {
+            warnings.clear();
+        }
+        Statistics current = statistics;
+        if (current != null) {
+            current.clear();
+        }
+    }
+
+    public Snapshot snapshot() {
+        List<QueryStat> queryStats = new ArrayList<>();
+        queries.forEach((query, record) -> {
+            LatencyHistogram latency = record.latency;
+            queryStats.add(new QueryStat(query, latency.getCount(), record.rows.sum(), latency.getMeanMillis(),
+                    latency.getPercentileMillis(50), latency.getPercentileMillis(95),
+                    latency.getPercentileMillis(99), latency.getMaxMillis()));
+        });
+        queryStats.sort(Comparator.comparingDouble((QueryStat q) -> q.meanMs() * q.count()).reversed());
+
+        List<ActionStat> actionStats = new ArrayList<>();
+        actions.forEach((action, record) -> actionStats.add(new ActionStat(action, record.latency.getCount(),
+                record.statements.sum(), record.maxStatements.get(), record.latency.getMeanMillis(),
+                record.latency.getMaxMillis())));
+        actionStats.sort(Comparator.comparingLong(ActionStat::statements).reversed());
+
+        List<SlowQuery> slow;
+        synchronized (slowQueries) {
+            slow = new ArrayList<>(slowQueries);
+        }
+        List<NPlusOneWarning> nPlusOne;
+        synchronized (warnings) {
+            nPlusOne = new ArrayList<>(warnings);
+        }
+
+        Statistics stats = statistics;
+        return new Snapshot(Instant.now(), enabled,
+                stats != null ? stats.getQueryExecutionCount() : 0,
+                stats != null ? stats.getPrepareStatementCount() : 0,
+                stats != null ? stats.getSessionOpenCount() : 0,
+                stats != null ? stats.getEntityLoadCount() : 0,
+                stats != null ? stats.getEntityFetchCount() : 0,
+                stats != null ? stats.getCollectionFetchCount() : 0,
+                queryStats, actionStats, slow, nPlusOne);
+    }
+
+    /**
+     * Write a {@link #snapshot()} to a JSON file.
+     */
+    public void exportJson(File file) {
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.registerModule(new JavaTimeModule());
+            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            mapper.enable(SerializationFeature.INDENT_OUTPUT);
+            mapper.writeValue(file, snapshot());
+            logger.info("✓ Diagnostics exported to {}", file.getAbsolutePath());
+        } catch (IOException e) {
+            logger.error("✗ Failed to export diagnostics: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to export diagnostics", e);
+        }
+    }
+
+    // ==================== Recording (called by Hibernate) ====================
+
+    void recordQuery(String query, int rows, long durationMs) {
+        if (flightRecording) {
+            FlightEvents.queryExecuted(query, rows, durationMs);
+        }
+        if (!enabled) {
+            return;
+        }
+
+        QueryRecord record = queries.computeIfAbsent(query, key -> new QueryRecord());
+        record.latency.record(TimeUnit.MILLISECONDS.toNanos(durationMs));
+        record.rows.add(Math.max(0, rows));
+
+        ActionContext context = currentAction.get();
+        if (context != null) {
+            context.patterns.merge("query: " + query, 1, Integer::sum);
+        }
+
+        if (durationMs >= SLOW_QUERY_MS) {
+            String action = context != null ? context.name : null;
+            logger.warn("⚠️ Slow query ({} ms{}): {}", durationMs, action != null ? ", " + action : "", query);
+            addBounded(slowQueries, new SlowQuery(Instant.now(), action, query, durationMs));
+        }
+    }
+
+    void recordStatement() {
+        ActionContext context = currentAction.get();
+        if (context != null) {
+            context.statements++;
+        }
+    }
+
+    void recordFetch(String kind, String name) {
+        ActionContext context = currentAction.get();
+        if (context != null) {
+            context.patterns.merge(kind + " fetch: " + name, 1, Integer::sum);
+        }
+    }
+
+    private void finishAction(ActionContext context) {
+        long elapsed = System.nanoTime() - context.startNanos;
+        ActionRecord record = actions.computeIfAbsent(context.name, key -> new ActionRecord());
+        record.latency.record(elapsed);
+        record.statements.add(context.statements);
+        record.maxStatements.accumulateAndGet(context.statements, Math::max);
+
+        context.patterns.forEach((pattern, count) -> {
+            if (count >= N_PLUS_ONE_THRESHOLD) {
+                logger.warn("⚠️ Possible N+1 in '{}': {} ran {} times", context.name, pattern, count);
+                addBounded(warnings, new NPlusOneWarning(Instant.now(), context.name, pattern, count));
+            }
+        });
+    }
+
+    private static <T> void addBounded(Deque<T> deque, T item) {
+        synchronized (deque) {
+            deque.addFirst(item);
+            while (deque.size() > MAX_RECENT) {
+                deque.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Hibernate statistics that forward query, statement and fetch events to
+     * the diagnostics service.
+     */
+    private static final class RecordingStatistics extends StatisticsImpl {
+
+        private final DiagnosticsService diagnostics;
+
+        private RecordingStatistics(SessionFactoryImplementor sessionFactory, DiagnosticsService diagnostics) {
+            super(sessionFactory);
+            this.diagnostics = diagnostics;
+        }
+
+        @Override
+        public void queryExecuted(String hql, int rows, long time) {
+            super.queryExecuted(hql, rows, time);
+            diagnostics.recordQuery(hql, rows, time);
+        }
+
+        @Override
+        public void prepareStatement() {
+            super.prepareStatement();
+            diagnostics.recordStatement();
+        }
+
+        @Override
+        public void fetchEntity(String entityName) {
+            super.fetchEntity(entityName);
+            diagnostics.recordFetch("entity", entityName);
+        }
+
+        @Override
+        public void fetchCollection(String role) {
+            super.fetchCollection(role);
+            diagnostics.recordFetch("collection", role);
+        }
+    }
+}
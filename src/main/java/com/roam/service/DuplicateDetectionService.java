@@ -0,0 +1,214 @@
+package com.roam.service;
+
+import com.roam.model.JournalEntry;
+import com.roam.model.Wiki;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.MinHashIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects near-duplicate wikis and journal entries.
+ *
+ * Keeps one {@link MinHashIndex} per document type. The indexes are built
+ * from the database on first use and then kept current by the wiki and
+ * journal services on every save and delete, so checks during import and in
+ * the maintenance view never compare all documents pairwise.
+ */
+public class DuplicateDetectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateDetectionService.class);
+
+    private static volatile DuplicateDetectionService instance;
+
+    public static final String TYPE_WIKI = "wiki";
+    public static final String TYPE_JOURNAL = "journal";
+
+    /** Default estimated similarity above which two documents are reported. */
+    public static final double DEFAULT_THRESHOLD = 0.8;
+
+    private final WikiRepository wikiRepository;
+    private final JournalEntryRepository journalRepository;
+
+    private final MinHashIndex wikiIndex = new MinHashIndex();
+    private final MinHashIndex journalIndex = new MinHashIndex();
+    private final Map<Long, String> wikiTitles = new ConcurrentHashMap<>();
+    private final Map<Long, String> journalTitles = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    private DuplicateDetectionService() {
+        this(new WikiRepository(), new JournalEntryRepository());
+    }
+
+    DuplicateDetectionService(WikiRepository wikiRepository, JournalEntryRepository journalRepository) {
+        this.wikiRepository = wikiRepository;
+        this.journalRepository = journalRepository;
+    }
+
+    public static DuplicateDetectionService getInstance() {
+        if (instance == null) {
+            synchronized (DuplicateDetectionService.class) {
+                if (instance == null) {
+                    instance = new DuplicateDetectionService();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * A document that looks like a duplicate of something else.
+     */
+    public record DuplicateMatch(String type, Long id, String title, double similarity) {
+    }
+
+    /**
+     * Two existing documents that look like duplicates of each other.
+     */
+    public record DuplicatePair(String type, Long firstId, String firstTitle,
+            Long secondId, String secondTitle, double similarity) {
+    }
+
+    // ==================== INCREMENTAL UPDATES ====================
+
+    /**
+     * Update the signature of a saved wiki. Ignored until the index has been
+     * loaded, since loading reads the current state from the database anyway.
+     */
+    public void onWikiSaved(Wiki wiki) {
+        if (!loaded || wiki == null || wiki.getId() == null) {
+            return;
+        }
+        putWiki(wiki);
+    }
+
+    public void onWikiDeleted(Long id) {
+        if (!loaded || id == null) {
+            return;
+        }
+        wikiIndex.remove(id);
+        wikiTitles.remove(id);
+    }
+
+    public void onJournalEntrySaved(JournalEntry entry) {
+        if (!loaded || entry == null || entry.getId() == null) {
+            return;
+        }
+        putJournalEntry(entry);
+    }
+
+    public void onJournalEntryDeleted(Long id) {
+        if (!loaded || id == null) {
+            return;
+        }
+        journalIndex.remove(id);
+        journalTitles.remove(id);
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Find existing wikis whose content closely resembles the given text.
+     */
+    public List<DuplicateMatch> findSimilarWikis(String content) {
+        ensureLoaded();
+        return toMatches(TYPE_WIKI, wikiIndex.findSimilar(content, DEFAULT_THRESHOLD), wikiTitles);
+    }
+
+    /**
+     * Find existing journal entries whose content closely resembles the given
+     * text.
+     */
+    public List<DuplicateMatch> findSimilarJournalEntries(String content) {
+        ensureLoaded();
+        return toMatches(TYPE_JOURNAL, journalIndex.findSimilar(content, DEFAULT_THRESHOLD), journalTitles);
+    }
+
+    /**
+     * List all near-duplicate pairs among existing wikis and journal entries,
+     * most similar first.
+     */
+    public List<DuplicatePair> findAllDuplicates(double threshold) {
+        ensureLoaded();
+        List<DuplicatePair> pairs = new ArrayList<>();
+        for (MinHashIndex.Pair pair : wikiIndex.findAllPairs(threshold)) {
+            pairs.add(toPair(TYPE_WIKI, pair, wikiTitles));
+        }
+        for (MinHashIndex.Pair pair : journalIndex.findAllPairs(threshold)) {
+            pairs.add(toPair(TYPE_JOURNAL, pair, journalTitles));
+        }
+        pairs.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+        return pairs;
+    }
+
+    /**
+     * Drop and rebuild both indexes from the database.
+     */
+    public synchronized void rebuild() {
+        loaded = false;
+        ensureLoaded();
+    }
+
+    // ==================== INTERNALS ====================
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            wikiIndex.clear();
+            journalIndex.clear();
+            wikiTitles.clear();
+            journalTitles.clear();
+
+            for (Wiki wiki : wikiRepository.findAll()) {
+                putWiki(wiki);
+            }
+            for (JournalEntry entry : journalRepository.findAll()) {
+                putJournalEntry(entry);
+            }
+
+            loaded = true;
+            logger.info("✓ Duplicate index built: {} wikis, {} journal entries in {} ms",
+                    wikiIndex.size(), journalIndex.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    // Only content is shingled: two notes are duplicates because of what they
+    // say, and imported copies frequently get a different title
+    private void putWiki(Wiki wiki) {
+        wikiIndex.put(wiki.getId(), wiki.getContent());
+        wikiTitles.put(wiki.getId(), wiki.getTitle() != null ? wiki.getTitle() : "Untitled");
+    }
+
+    private void putJournalEntry(JournalEntry entry) {
+        journalIndex.put(entry.getId(), entry.getContent());
+        String title = entry.getTitle() != null ? entry.getTitle()
+                : entry.getDate() != null ? entry.getDate().toString() : "Untitled";
+        journalTitles.put(entry.getId(), title);
+    }
+
+    private List<DuplicateMatch> toMatches(String type, List<MinHashIndex.Match> matches, Map<Long, String> titles) {
+        List<DuplicateMatch> result = new ArrayList<>(matches.size());
+        for (MinHashIndex.Match match : matches) {
+            result.add(new DuplicateMatch(type, match.id(), titles.get(match.id()), match.similarity()));
+        }
+        return result;
+    }
+
+    private DuplicatePair toPair(String type, MinHashIndex.Pair pair, Map<Long, String> titles) {
+        return new DuplicatePair(type, pair.firstId(), titles.get(pair.firstId()),
+                pair.secondId(), titles.get(pair.secondId()), pair.similarity());
+    }
+}
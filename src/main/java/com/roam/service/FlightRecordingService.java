@@ -0,0 +1,174 @@
+package com.roam.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts and stops Java Flight Recorder recordings from the application.
+ *
+ * Recordings use the JDK "profile" settings plus all Roam events (see
+ * {@link com.roam.util.FlightEvents}) and are written to
+ * {@code ~/.roam/recordings/roam-<timestamp>.jfr} for analysis in JDK Mission
+ * Control. While any recording is running, Hibernate statistics are
+ * switched on so that database queries are reported as events.
+ *
+ * JFR is left alone until it is needed: recordings are watched from the
+ * first in-app recording, or from startup when JFR is already running then
+ * (e.g. {@code -XX:StartFlightRecording}). Recordings started with
+ * {@code jcmd JFR.start} before either are not seen.
+ */
+public class FlightRecordingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    private static FlightRecordingService instance;
+
+    private static final String RECORDINGS_DIR = "recordings";
+    private static final String SETTINGS_NAME = "profile";
+
+    private final Path recordingsDir;
+    private Recording recording;
+    private Path destination;
+    private boolean watching;
+
+    private FlightRecordingService() {
+        this(Paths.get(System.getProperty("user.home"), ".roam", RECORDINGS_DIR));
+    }
+
+    FlightRecordingService(Path recordingsDir) {
+        this.recordingsDir = recordingsDir;
+    }
+
+    public static synchronized FlightRecordingService getInstance() {
+        if (instance == null) {
+            instance = new FlightRecordingService();
+        }
+        return instance;
+    }
+
+    /**
+     * Watch recordings if JFR is already running. Does not initialize JFR
+     * otherwise, so an ordinary startup pays nothing for it.
+     */
+    public static void watchIfRunning() {
+        if (FlightRecorder.isAvailable() && FlightRecorder.isInitialized()) {
+            getInstance().watchRecordings();
+        }
+    }
+
+    /**
+     * Start a new recording.
+     *
+     * @return File the recording will be written to when stopped
+     */
+    public synchronized Path start() {
+        if (recording != null) {
+            return destination;
+        }
+
+        watchRecordings();
+        try {
+            Files.createDirectories(recordingsDir);
+            destination = recordingsDir.resolve(
+                    "roam-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr");
+
+            Recording newRecording = new Recording(Configuration.getConfiguration(SETTINGS_NAME));
+            newRecording.setName("Roam");
+            newRecording.enable("com.roam.*");
+            newRecording.setToDisk(true);
+            newRecording.setDestination(destination);
+            newRecording.start();
+            recording = newRecording;
+
+            logger.info("⏺ Flight recording started: {}", destination);
+            return destination;
+        } catch (Exception e) {
+            logger.error("✗ Failed to start flight recording: {}", e.getMessage(), e);
+            destination = null;
+            throw new RuntimeException("Failed to start flight recording", e);
+        }
+    }
+
+    /**
+     * Stop the current recording and write it to disk.
+     *
+     * @return File the recording was written to, or null if none was running
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            return null;
+        }
+
+        Path written = destination;
+        try {
+            recording.stop();
+            logger.info("⏹ Flight recording saved: {}", written);
+            return written;
+        } finally {
+            recording.close();
+            recording = null;
+            destination = null;
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    public synchronized Path getDestination() {
+        return destination;
+    }
+
+    /**
+     * Keep Hibernate statistics on while any JFR recording is running, so
+     * query events are emitted.
+     */
+    private synchronized void watchRecordings() {
+        if (watching || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        watching = true;
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording changed) {
+                updateDiagnostics();
+            }
+        });
+        updateDiagnostics();
+    }
+
+    private static void updateDiagnostics() {
+        boolean anyRunning = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .anyMatch(r -> r.getState() == RecordingState.RUNNING);
+        DiagnosticsService.getInstance().setFlightRecording(anyRunning);
+    }
+
+    /**
+     * Directory recordings are written to.
+     */
+    public Path getRecordingsDir() {
+        return recordingsDir;
+    }
+
+    /**
+     * Ensure an active recording is written out before exit.
+     */
+    public void shutdown() {
+        try {
+            stop();
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Failed to save flight recording on exit: {}", e.getMessage());
+        }
+    }
+}
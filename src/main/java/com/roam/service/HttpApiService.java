@@ -0,0 +1,570 @@
+package com.roam.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.roam.model.CalendarEvent;
+import com.roam.model.JournalEntry;
+import com.roam.model.Settings;
+import com.roam.model.Task;
+import com.roam.model.TaskStatus;
+import com.roam.model.Wiki;
+import com.roam.repository.CalendarEventRepository;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.TaskRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.ThreadPoolManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Optional HTTP API on the loopback interface, so scripts can create
+ * tasks, log journal entries and search without driving the UI.
+ *
+ * Enabled by Settings.apiEnabled on {@code 127.0.0.1:<apiPort>}. Every
+ * request must carry {@code Authorization: Bearer <apiToken>}; the token is
+ * generated into the settings file on first start. Collections are
+ * {@code tasks}, {@code wikis}, {@code events} and {@code journal}:
+ *
+ * <pre>
+ * GET    /api/tasks              all tasks as NDJSON, or filtered, e.g. ?status=TODO
+ * GET    /api/tasks/{id}         one task
+ * POST   /api/tasks              create
+ * PUT    /api/tasks/{id}         update the given fields
+ * DELETE /api/tasks/{id}         delete
+ * POST   /api/tasks/batch        create or update many in one transaction
+ * GET    /api/search?q=...       search results as NDJSON (&amp;types=wiki,task &amp;limit=50)
+ * </pre>
+ *
+ * Listings are streamed one JSON object per line, paged from the database
+ * by id, so their size is not bounded by memory. A batch body is a JSON
+ * array or NDJSON of whole objects; objects with an id replace the stored
+ * one, the others are created, and nothing is saved if any of them fails.
+ * Each request runs on its own virtual thread and takes one of the
+ * {@link ThreadPoolManager} database permits, so requests and background
+ * work together stay within the connection limit. A streamed listing gives
+ * its permit back while it writes each page to the client.
+ *
+ * @ThreadSafe
+ */
+public class HttpApiService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpApiService.class);
+
+    private static volatile HttpApiService instance;
+
+    static final String PREFIX = "/api/";
+    static final String JSON = "application/json";
+    static final String NDJSON = "application/x-ndjson";
+    static final int PAGE_SIZE = 500;
+    static final int MAX_BATCH = 10_000;
+
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final int TOKEN_BYTES = 32;
+
+    /**
+     * Fails a request with the given status.
+     */
+    static class ApiException extends RuntimeException {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Pager<T> {
+        List<T> page(long afterId, int limit);
+    }
+
+    /**
+     * One collection of the API and the service operations behind it.
+     * {@code filter} answers a listing with query parameters, or returns
+     * null when none of its parameters are present.
+     */
+    private record Resource<T>(Class<T> type, Function<T, Long> getId, BiConsumer<T, Long> setId,
+            Function<Long, Optional<T>> find, UnaryOperator<T> create, UnaryOperator<T> update,
+            Consumer<Long> delete, UnaryOperator<List<T>> saveAll, Pager<T> pager,
+            Function<Map<String, String>, List<T>> filter) {
+    }
+
+    private final InetSocketAddress address;
+    private final byte[] token;
+    private final SearchService searchService;
+    private final Semaphore dbPermits;
+    private final Map<String, Resource<?>> resources = new HashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final ObjectWriter writer = mapper.writer();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    HttpApiService(InetSocketAddress address, String token, Semaphore dbPermits, TaskService taskService,
+            WikiService wikiService, CalendarService calendarService, JournalService journalService,
+            SearchService searchService) {
+        this.address = address;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        this.searchService = searchService;
+        this.dbPermits = dbPermits;
+
+        TaskRepository taskRepository = new TaskRepository();
+        resources.put("tasks", new Resource<>(Task.class, Task::getId, Task::setId, taskService::findById,
+                taskService::createTask, taskService::updateTask, taskService::deleteTask, taskService::saveTasks,
+                taskRepository::findPage, params -> {
+                    if (params.containsKey("operationId")) {
+                        return taskService.findByOperationId(longParam(params, "operationId"));
+                    }
+                    if (params.containsKey("status")) {
+                        return taskService.findByStatus(TaskStatus.valueOf(params.get("status")));
+                    }
+                    if (params.containsKey("dueBefore")) {
+                        return taskService.findDueBefore(LocalDate.parse(params.get("dueBefore")));
+                    }
+                    return null;
+                }));
+
+        WikiRepository wikiRepository = new WikiRepository();
+        resources.put("wikis", new Resource<>(Wiki.class, Wiki::getId, Wiki::setId, wikiService::findById,
+                wikiService::createWiki, wikiService::updateWiki, wikiService::deleteWiki, wikiService::saveWikis,
+                wikiRepository::findPage, params -> {
+                    if (params.containsKey("operationId")) {
+                        return wikiService.findByOperationId(longParam(params, "operationId"));
+                    }
+                    if (params.containsKey("favorite")) {
+                        return wikiService.findFavorites();
+                    }
+                    if (params.containsKey("recent")) {
+                        return wikiService.findRecent((int) longParam(params, "recent"));
+                    }
+                    return null;
+                }));
+
+        CalendarEventRepository eventRepository = new CalendarEventRepository();
+        resources.put("events", new Resource<>(CalendarEvent.class, CalendarEvent::getId, CalendarEvent::setId,
+                calendarService::findById, calendarService::createEvent, calendarService::updateEvent,
+                calendarService::deleteEvent, calendarService::saveEvents, eventRepository::findPage, params -> {
+                    if (params.containsKey("from") || params.containsKey("to")) {
+                        return calendarService.findByDateRange(LocalDateTime.parse(required(params, "from")),
+                                LocalDateTime.parse(required(params, "to")));
+                    }
+                    if (params.containsKey("operationId")) {
+                        return calendarService.findByOperationId(longParam(params, "operationId"));
+                    }
+                    if (params.containsKey("sourceId")) {
+                        return calendarService.findBySourceId(longParam(params, "sourceId"));
+                    }
+                    return null;
+                }));
+
+        JournalEntryRepository journalRepository = new JournalEntryRepository();
+        resources.put("journal", new Resource<>(JournalEntry.class, JournalEntry::getId, JournalEntry::setId,
+                journalService::findById, journalService::createEntry, journalService::updateEntry,
+                journalService::deleteEntry, journalService::saveEntries, journalRepository::findPage, params -> {
+                    if (params.containsKey("date")) {
+                        return journalService.findByDate(LocalDate.parse(params.get("date")));
+                    }
+                    if (params.containsKey("from") || params.containsKey("to")) {
+                        return journalService.findByDateRange(LocalDate.parse(required(params, "from")),
+                                LocalDate.parse(required(params, "to")));
+                    }
+                    if (params.containsKey("recent")) {
+                        return journalService.findRecent((int) longParam(params, "recent"));
+                    }
+                    return null;
+                }));
+    }
+
+    public static HttpApiService getInstance() {
+        if (instance == null) {
+            synchronized (HttpApiService.class) {
+                if (instance == null) {
+                    SettingsService settingsService = SettingsService.getInstance();
+                    Settings settings = settingsService.getSettings();
+                    if (settings.getApiToken() == null || settings.getApiToken().isBlank()) {
+                        settings.setApiToken(newToken());
+                        settingsService.saveSettings();
+                    }
+                    instance = new HttpApiService(
+                            new InetSocketAddress(InetAddress.getLoopbackAddress(), settings.getApiPort()),
+                            settings.getApiToken(), ThreadPoolManager.getInstance().getDbPermits(),
+                            new TaskServiceImpl(), new WikiServiceImpl(), new CalendarServiceImpl(),
+                            new JournalServiceImpl(), SearchService.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Start listening. Does nothing if already started.
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        HttpServer created = HttpServer.create(address, 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        created.setExecutor(executor);
+        created.createContext(PREFIX, this::handle);
+        created.start();
+        server = created;
+        logger.info("✓ HTTP API listening on http://{}:{}{}", address.getHostString(), getPort(), PREFIX);
+    }
+
+    /**
+     * Stop listening, giving requests in progress a moment to finish.
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(STOP_DELAY_SECONDS);
+        executor.close();
+        server = null;
+        executor = null;
+        logger.info("✓ HTTP API stopped");
+    }
+
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The port listened on; differs from the configured one when that is 0.
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : address.getPort();
+    }
+
+    private void handle(HttpExchange exchange) {
+        try (exchange) {
+            try {
+                if (!authorized(exchange)) {
+                    throw new ApiException(401, "Missing or wrong bearer token");
+                }
+                dbPermits.acquire();
+                try {
+                    route(exchange);
+                } finally {
+                    dbPermits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                fail(exchange, e);
+            }
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return false;
+        }
+        // Constant time, so the token cannot be guessed from response times
+        return MessageDigest.isEqual(token, header.substring(7).trim().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring(PREFIX.length()).split("/");
+        Map<String, String> params = queryParams(exchange.getRequestURI().getRawQuery());
+
+        if (path.length == 1 && path[0].equals("search")) {
+            requireMethod(method, "GET");
+            search(exchange, params);
+            return;
+        }
+        Resource<?> resource = resources.get(path[0]);
+        if (resource == null || path.length > 2) {
+            throw new ApiException(404, "Not found: " + exchange.getRequestURI().getPath());
+        }
+        if (path.length == 1) {
+            switch (method) {
+                case "GET" -> list(exchange, resource, params);
+                case "POST" -> create(exchange, resource);
+                default -> throw new ApiException(405, "Method not allowed: " + method);
+            }
+        } else if (path[1].equals("batch")) {
+            requireMethod(method, "POST");
+            batch(exchange, resource);
+        } else {
+            long id = parseId(path[1]);
+            switch (method) {
+                case "GET" -> sendJson(exchange, 200, found(resource, id));
+                case "PUT" -> update(exchange, resource, id);
+                case "DELETE" -> {
+                    found(resource, id);
+                    resource.delete().accept(id);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> throw new ApiException(405, "Method not allowed: " + method);
+            }
+        }
+    }
+
+    private <T> void list(HttpExchange exchange, Resource<T> resource, Map<String, String> params)
+            throws IOException {
+        List<T> filtered = resource.filter().apply(params);
+        try (OutputStream out = startStream(exchange)) {
+            if (filtered != null) {
+                writeWithoutPermit(out, filtered);
+                return;
+            }
+            long afterId = 0;
+            List<T> page;
+            while (!(page = resource.pager().page(afterId, PAGE_SIZE)).isEmpty()) {
+                writeWithoutPermit(out, page);
+                afterId = resource.getId().apply(page.get(page.size() - 1));
+            }
+        }
+    }
+
+    /**
+     * Write and flush {@code items} with the request's database permit given
+     * back, so a slow client does not hold a connection slot. The permit is
+     * taken again before returning.
+     */
+    private void writeWithoutPermit(OutputStream out, List<?> items) throws IOException {
+        dbPermits.release();
+        try {
+            writeLines(out, items);
+            out.flush();
+        } finally {
+            dbPermits.acquireUninterruptibly();
+        }
+    }
+
+    private <T> void create(HttpExchange exchange, Resource<T> resource) throws IOException {
+        T item = readBody(exchange, resource.type());
+        resource.setId().accept(item, null);
+        sendJson(exchange, 201, resource.create().apply(item));
+    }
+
+    /**
+     * Apply the fields in the body to the stored object, so clients can send
+     * only what changes.
+     */
+    private <T> void update(HttpExchange exchange, Resource<T> resource, long id) throws IOException {
+        T item = found(resource, id);
+        try (InputStream in = exchange.getRequestBody()) {
+            item = mapper.readerForUpdating(item).readValue(in);
+        }
+        resource.setId().accept(item, id);
+        sendJson(exchange, 200, resource.update().apply(item));
+    }
+
+    private <T> void batch(HttpExchange exchange, Resource<T> resource) throws IOException {
+        List<T> items = new ArrayList<>();
+        try (InputStream in = exchange.getRequestBody();
+                MappingIterator<T> values = mapper.readerFor(resource.type()).readValues(in)) {
+            // Accepts a JSON array as well as one object per line
+            while (values.hasNextValue()) {
+                if (items.size() == MAX_BATCH) {
+                    throw new ApiException(413, "At most " + MAX_BATCH + " objects per batch");
+                }
+                items.add(values.nextValue());
+            }
+        }
+        List<T> saved = items.isEmpty() ? List.of() : resource.saveAll().apply(items);
+        try (OutputStream out = startStream(exchange)) {
+            writeLines(out, saved);
+        }
+    }
+
+    private void search(HttpExchange exchange, Map<String, String> params) throws IOException {
+        SearchService.SearchFilter filter = new SearchService.SearchFilter();
+        if (params.containsKey("types")) {
+            filter.types = new ArrayList<>(Arrays.asList(params.get("types").split(",")));
+        }
+        if (params.containsKey("limit")) {
+            filter.maxResults = (int) longParam(params, "limit");
+        }
+        List<SearchService.SearchResult> results;
+        try {
+            results = searchService.search(required(params, "q"), filter);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Search failed", e);
+        }
+        try (OutputStream out = startStream(exchange)) {
+            writeLines(out, results);
+        }
+    }
+
+    private <T> T found(Resource<T> resource, long id) {
+        return resource.find().apply(id)
+                .orElseThrow(() -> new ApiException(404, "No " + resource.type().getSimpleName() + " with id " + id));
+    }
+
+    private <T> T readBody(HttpExchange exchange, Class<T> type) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return mapper.readValue(in, type);
+        }
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Send the headers of a chunked NDJSON response.
+     */
+    private OutputStream startStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", NDJSON);
+        exchange.sendResponseHeaders(200, 0);
+        return new BufferedOutputStream(exchange.getResponseBody(), 64 * 1024);
+    }
+
+    private void writeLines(OutputStream out, Iterable<?> items) throws IOException {
+        for (Iterator<?> it = items.iterator(); it.hasNext();) {
+            writer.writeValue(out, it.next());
+            out.write('\n');
+        }
+    }
+
+    private void fail(HttpExchange exchange, Exception e) {
+        int status = status(e);
+        if (status >= 500) {
+            logger.error("✗ HTTP API {} {} failed: {}", exchange.getRequestMethod(), exchange.getRequestURI(),
+                    e.getMessage(), e);
+        } else {
+            logger.debug("HTTP API {} {}: {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), status,
+                    e.getMessage());
+        }
+        if (exchange.getResponseCode() != -1) {
+            return; // Already streaming; the client sees a truncated response
+        }
+        try {
+            String message = status >= 500 ? "Internal error" : rootMessage(e);
+            sendJson(exchange, status, Map.of("error", message != null ? message : "Bad request"));
+        } catch (IOException ignored) {
+            // Client went away
+        }
+    }
+
+    /**
+     * 4xx for problems with the request anywhere in the cause chain, such as
+     * malformed JSON, invalid values or unknown ids; 500 otherwise.
+     */
+    static int status(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ApiException api) {
+                return api.status;
+            }
+            if (t instanceof JsonProcessingException || t instanceof IllegalArgumentException
+                    || t instanceof DateTimeException || t instanceof ValidationService.ValidationException
+                    || t instanceof org.hibernate.exception.ConstraintViolationException) {
+                return 400;
+            }
+        }
+        return 500;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (!(cause instanceof ApiException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new ApiException(405, "Method not allowed: " + method);
+        }
+    }
+
+    private static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Not found: " + value);
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            throw new ApiException(400, "Missing query parameter: " + name);
+        }
+        return value;
+    }
+
+    private static long longParam(Map<String, String> params, String name) {
+        try {
+            return Long.parseLong(required(params, name));
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Not a number: " + name);
+        }
+    }
+
+    static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
@@ -0,0 +1,423 @@
+package com.roam.service;
+
+import com.roam.model.CalendarEvent;
+import com.roam.model.Settings;
+import com.roam.repository.CalendarEventRepository;
+import com.roam.util.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes all calendar events as an iCalendar file that external calendar
+ * apps can subscribe to, kept current as events change.
+ *
+ * Enabled by Settings.publishCalendarFeed; the file is
+ * {@code ~/.roam/calendar.ics} (or {@code -Droam.feed.file}). Every event is
+ * rendered once into a VEVENT fragment, held in memory by id. Calendar
+ * writes replace or drop single fragments, and a debounced background job
+ * joins the fragments into the file, writing a temporary file and renaming
+ * it over the old one so readers never see a partial feed. A burst of
+ * changes, such as an import, costs one write.
+ *
+ * Unlike the dialog export, recurrence rules, exception dates and moved
+ * occurrences are included. Times are written in UTC.
+ *
+ * @ThreadSafe
+ */
+public class IcsFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IcsFeedService.class);
+
+    private static volatile IcsFeedService instance;
+
+    static final String FILE_PROPERTY = "roam.feed.file";
+    static final long DEBOUNCE_MILLIS = 2_000;
+
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int MAX_LINE_OCTETS = 75;
+
+    /**
+     * Runs the feed write after a delay.
+     */
+    @FunctionalInterface
+    interface Scheduler {
+        void schedule(Runnable task, long delayMillis);
+    }
+
+    private final Path feedFile;
+    private final CalendarEventRepository repository;
+    private final Scheduler scheduler;
+    private final boolean enabled;
+
+    // Event id -> VEVENT fragment, in id order so the file is stable.
+    // Changed under fragmentLock; a rebuild swaps in a whole new map.
+    private volatile Map<Long, String> fragments = new ConcurrentSkipListMap<>();
+    private final Object fragmentLock = new Object();
+    // Fragments changed while a rebuild reads the database (null: deleted)
+    private Map<Long, String> changedDuringRebuild;
+    private final Object writeLock = new Object();
+    private volatile boolean started;
+    private boolean writeScheduled;
+
+    IcsFeedService(Path feedFile, CalendarEventRepository repository, Scheduler scheduler, boolean enabled) {
+        this.feedFile = feedFile;
+        this.repository = repository;
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+    }
+
+    public static IcsFeedService getInstance() {
+        if (instance == null) {
+            synchronized (IcsFeedService.class) {
+                if (instance == null) {
+                    Settings settings = SettingsService.getInstance().getSettings();
+                    boolean enabled = settings != null && settings.isPublishCalendarFeed();
+                    Path file = Paths.get(System.getProperty(FILE_PROPERTY,
+                            System.getProperty("user.home") + "/.roam/calendar.ics"));
+                    instance = new IcsFeedService(file, new CalendarEventRepository(),
+                            (task, delay) -> ThreadPoolManager.getInstance().schedule(task, delay,
+                                    TimeUnit.MILLISECONDS),
+                            enabled);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Render every event and write the feed, on the IO pool. Does nothing
+     * unless the feed is enabled in Settings.
+     */
+    public void start() {
+        if (!enabled || started) {
+            return;
+        }
+        started = true;
+        ThreadPoolManager.getInstance().submitIoTask(this::rebuild);
+    }
+
+    /**
+     * Write any pending changes now.
+     */
+    public void stop() {
+        boolean pending;
+        synchronized (this) {
+            pending = writeScheduled;
+        }
+        if (started && pending) {
+            writeNow();
+        }
+    }
+
+    public Path getFeedFile() {
+        return feedFile;
+    }
+
+    /**
+     * Re-render every event from the database and write the feed. The new
+     * fragments are built aside and swapped in whole; saves and deletes that
+     * arrive while the database is read are applied on top, so a stale read
+     * cannot bring back a deleted event or an old version of a saved one.
+     */
+    void rebuild() {
+        synchronized (fragmentLock) {
+            changedDuringRebuild = new HashMap<>();
+        }
+        try {
+            Map<Long, String> rebuilt = new ConcurrentSkipListMap<>();
+            for (CalendarEvent event : repository.findAll()) {
+                if (event.getId() != null) {
+                    rebuilt.put(event.getId(), render(event));
+                }
+            }
+            synchronized (fragmentLock) {
+                changedDuringRebuild.forEach((id, fragment) -> {
+                    if (fragment == null) {
+                        rebuilt.remove(id);
+                    } else {
+                        rebuilt.put(id, fragment);
+                    }
+                });
+                fragments = rebuilt;
+                started = true;
+            }
+            writeNow();
+            logger.info("✓ Calendar feed published to {} ({} events)", feedFile, rebuilt.size());
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not build calendar feed: {}", e.getMessage());
+        } finally {
+            synchronized (fragmentLock) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    public void onEventSaved(CalendarEvent event) {
+        if (started && event != null && event.getId() != null) {
+            String fragment = render(event);
+            synchronized (fragmentLock) {
+                put(event.getId(), fragment);
+            }
+            scheduleWrite();
+        }
+    }
+
+    public void onEventsSaved(Collection<CalendarEvent> events) {
+        if (!started) {
+            return;
+        }
+        for (CalendarEvent event : events) {
+            if (event.getId() != null) {
+                String fragment = render(event);
+                synchronized (fragmentLock) {
+                    put(event.getId(), fragment);
+                }
+            }
+        }
+        scheduleWrite();
+    }
+
+    public void onEventDeleted(Long id) {
+        if (!started || id == null) {
+            return;
+        }
+        boolean removed;
+        synchronized (fragmentLock) {
+            removed = fragments.remove(id) != null;
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(id, null);
+            }
+        }
+        if (removed) {
+            scheduleWrite();
+        }
+    }
+
+    /**
+     * Caller holds fragmentLock.
+     */
+    private void put(Long id, String fragment) {
+        fragments.put(id, fragment);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(id, fragment);
+        }
+    }
+
+    private void scheduleWrite() {
+        synchronized (this) {
+            if (writeScheduled) {
+                return;
+            }
+            writeScheduled = true;
+        }
+        scheduler.schedule(this::writeNow, DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Join the fragments into the feed file, replacing it atomically.
+     */
+    void writeNow() {
+        synchronized (this) {
+            writeScheduled = false;
+        }
+        synchronized (writeLock) {
+            Path temp = null;
+            try {
+                Path dir = feedFile.toAbsolutePath().getParent();
+                Files.createDirectories(dir);
+                temp = Files.createTempFile(dir, feedFile.getFileName().toString(), ".part");
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                        Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8)) {
+                    writer.write("BEGIN:VCALENDAR\r\n");
+                    writer.write("VERSION:2.0\r\n");
+                    writer.write("PRODID:-//Roam//Roam Calendar//EN\r\n");
+                    writer.write("CALSCALE:GREGORIAN\r\n");
+                    writer.write("X-WR-CALNAME:Roam\r\n");
+                    for (String fragment : fragments.values()) {
+                        writer.write(fragment);
+                    }
+                    writer.write("END:VCALENDAR\r\n");
+                    writer.flush();
+                    channel.force(false);
+                }
+                try {
+                    Files.move(temp, feedFile, StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, feedFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+                logger.debug("✓ Calendar feed written ({} events)", fragments.size());
+            } catch (IOException e) {
+                logger.warn("⚠️ Could not write calendar feed: {}", e.getMessage());
+            } finally {
+                if (temp != null) {
+                    try {
+                        Files.deleteIfExists(temp);
+                    } catch (IOException ignored) {
+                        // Best effort; the next write replaces it
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The VEVENT for one event, with CRLF line endings and folded lines.
+     */
+    static String render(CalendarEvent event) {
+        StringBuilder out = new StringBuilder(256);
+        line(out, "BEGIN:VEVENT");
+        line(out, "UID:" + uid(event));
+        line(out, "DTSTAMP:" + utc(event.getUpdatedAt() != null ? event.getUpdatedAt() : LocalDateTime.now()));
+
+        boolean allDay = Boolean.TRUE.equals(event.getIsAllDay());
+        if (allDay) {
+            line(out, "DTSTART;VALUE=DATE:" + event.getStartDateTime().toLocalDate().format(DATE));
+            // The app stores the last day inclusively; DTEND is exclusive
+            line(out, "DTEND;VALUE=DATE:" + event.getEndDateTime().toLocalDate().plusDays(1).format(DATE));
+        } else {
+            line(out, "DTSTART:" + utc(event.getStartDateTime()));
+            line(out, "DTEND:" + utc(event.getEndDateTime()));
+        }
+
+        if (Boolean.TRUE.equals(event.getIsRecurringInstance()) && event.getOriginalStartDateTime() != null) {
+            line(out, allDay
+                    ? "RECURRENCE-ID;VALUE=DATE:" + event.getOriginalStartDateTime().toLocalDate().format(DATE)
+                    : "RECURRENCE-ID:" + utc(event.getOriginalStartDateTime()));
+        } else {
+            String rule = recurrenceRule(event);
+            if (rule != null) {
+                line(out, "RRULE:" + rule);
+                String exdates = event.getRecurrenceExdates();
+                if (exdates != null && !exdates.isBlank()) {
+                    for (String exdate : exdates.split(",")) {
+                        line(out, exdate.length() == 8 ? "EXDATE;VALUE=DATE:" + exdate
+                                : "EXDATE:" + utc(LocalDateTime.parse(exdate, LOCAL_DATE_TIME)));
+                    }
+                }
+            }
+        }
+
+        line(out, "SUMMARY:" + escape(event.getTitle()));
+        if (event.getDescription() != null && !event.getDescription().isEmpty()) {
+            line(out, "DESCRIPTION:" + escape(event.getDescription()));
+        }
+        if (event.getLocation() != null && !event.getLocation().isEmpty()) {
+            line(out, "LOCATION:" + escape(event.getLocation()));
+        }
+        line(out, "END:VEVENT");
+        return out.toString();
+    }
+
+    /**
+     * The imported UID where there is one, so subscribers see the same
+     * event; otherwise one derived from the id. Moved occurrences share
+     * their series' UID.
+     */
+    private static String uid(CalendarEvent event) {
+        String external = event.getExternalUid();
+        if (external != null) {
+            int slash = external.lastIndexOf('/');
+            return Boolean.TRUE.equals(event.getIsRecurringInstance()) && slash > 0
+                    ? external.substring(0, slash)
+                    : external;
+        }
+        Long id = Boolean.TRUE.equals(event.getIsRecurringInstance()) && event.getParentEventId() != null
+                ? event.getParentEventId()
+                : event.getId();
+        return id + "@roam.app";
+    }
+
+    /**
+     * RRULE value: imported rules as they are, the event dialog's choices
+     * ("Daily" ... "Yearly") translated, bounded by the recurrence end date.
+     */
+    static String recurrenceRule(CalendarEvent event) {
+        String rule = event.getRecurrenceRule();
+        if (rule == null || rule.isBlank() || "None".equalsIgnoreCase(rule)) {
+            return null;
+        }
+        if (!rule.toUpperCase(Locale.ROOT).contains("FREQ=")) {
+            rule = switch (rule.toLowerCase(Locale.ROOT)) {
+                case "daily" -> "FREQ=DAILY";
+                case "weekly" -> "FREQ=WEEKLY";
+                case "monthly" -> "FREQ=MONTHLY";
+                case "yearly" -> "FREQ=YEARLY";
+                default -> null;
+            };
+            if (rule == null) {
+                return null;
+            }
+        }
+        if (event.getRecurrenceEndDate() != null && !rule.toUpperCase(Locale.ROOT).contains("UNTIL=")
+                && !rule.toUpperCase(Locale.ROOT).contains("COUNT=")) {
+            rule += ";UNTIL=" + utc(event.getRecurrenceEndDate());
+        }
+        return rule;
+    }
+
+    private static String utc(LocalDateTime local) {
+        return local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(UTC_DATE_TIME);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    /**
+     * Append a content line, folded at 75 octets without splitting a
+     * character.
+     */
+    private static void line(StringBuilder out, String line) {
+        int octets = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            int size;
+            if (Character.isLowSurrogate(c)) {
+                size = 0; // Counted with its high surrogate
+            } else if (Character.isHighSurrogate(c)) {
+                size = 4;
+            } else {
+                size = c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+            }
+            if (octets + size > MAX_LINE_OCTETS) {
+                out.append("\r\n ");
+                octets = 1;
+            }
+            out.append(c);
+            octets += size;
+        }
+        out.append("\r\n");
+    }
+}
@@ -0,0 +1,139 @@
+package com.roam.service;
+
+import com.roam.model.CalendarEvent;
+import com.roam.model.CalendarSource;
+import com.roam.repository.CalendarEventRepository;
+import com.roam.repository.CalendarSourceRepository;
+import com.roam.util.IcsEventReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports events from iCalendar files, updating earlier imports in place.
+ *
+ * Events are streamed from the file by {@link IcsEventReader} and matched to
+ * existing rows by UID (plus RECURRENCE-ID for overridden occurrences). Each
+ * event's fingerprint is compared with the one stored at its last import,
+ * and only new or changed events are written, in transactions of
+ * {@link #BATCH_SIZE}. Re-importing a large calendar therefore touches only
+ * what changed. Written events are re-indexed for search in one commit.
+ */
+public class IcsImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IcsImportService.class);
+
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Outcome of an import. {@code skipped} counts VEVENTs without a UID or
+     * a readable start.
+     */
+    public record ImportResult(int added, int updated, int unchanged, int skipped) {
+
+        public int total() {
+            return added + updated + unchanged;
+        }
+    }
+
+    private final CalendarEventRepository eventRepository;
+    private final CalendarSourceRepository sourceRepository;
+    private final SearchService searchService;
+    private final IcsFeedService feed;
+
+    public IcsImportService() {
+        this(new CalendarEventRepository(), new CalendarSourceRepository(), SearchService.getInstance(),
+                IcsFeedService.getInstance());
+    }
+
+    IcsImportService(CalendarEventRepository eventRepository, CalendarSourceRepository sourceRepository,
+            SearchService searchService, IcsFeedService feed) {
+        this.eventRepository = eventRepository;
+        this.sourceRepository = sourceRepository;
+        this.searchService = searchService;
+        this.feed = feed;
+    }
+
+    public ImportResult importFile(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ImportResult result = importFrom(reader);
+            logger.info("✓ Imported {}: {} added, {} updated, {} unchanged, {} skipped", file.getFileName(),
+                    result.added(), result.updated(), result.unchanged(), result.skipped());
+            return result;
+        }
+    }
+
+    /**
+     * Import into the default calendar (the first calendar if none is marked
+     * default). New events go there; updated events stay where they are.
+     */
+    public ImportResult importFrom(Reader reader) throws IOException {
+        Long sourceId = sourceRepository.findDefault()
+                .or(() -> sourceRepository.findAll().stream().findFirst())
+                .map(CalendarSource::getId)
+                .orElseThrow(() -> new IllegalStateException("No calendar to import events into"));
+
+        Map<String, String> fingerprints = eventRepository.findExternalFingerprints();
+        List<CalendarEvent> batch = new ArrayList<>(BATCH_SIZE);
+        int[] counts = new int[3]; // added, updated, unchanged
+        int[] skipped = new int[1];
+
+        searchService.batch(() -> {
+            skipped[0] = IcsEventReader.read(reader, event -> {
+                String key = event.key();
+                String fingerprint = event.fingerprint();
+                String previous = fingerprints.put(key, fingerprint);
+                if (fingerprint.equals(previous)) {
+                    counts[2]++;
+                    return;
+                }
+                counts[previous == null ? 0 : 1]++;
+                batch.add(toEntity(event, fingerprint, sourceId));
+                if (batch.size() >= BATCH_SIZE) {
+                    flush(batch);
+                }
+            });
+            flush(batch);
+        });
+
+        return new ImportResult(counts[0], counts[1], counts[2], skipped[0]);
+    }
+
+    private void flush(List<CalendarEvent> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CalendarEvent> saved = eventRepository.saveImported(batch);
+        for (CalendarEvent event : saved) {
+            searchService.indexEvent(event.getId(), event.getTitle(), event.getDescription(),
+                    event.getStartDateTime(), event.getEndDateTime(), event.getLocation());
+        }
+        if (feed != null) {
+            feed.onEventsSaved(saved);
+        }
+        batch.clear();
+    }
+
+    static CalendarEvent toEntity(IcsEventReader.IcsEvent event, String fingerprint, Long sourceId) {
+        CalendarEvent entity = new CalendarEvent(event.summary(), event.start(), event.end(), sourceId);
+        entity.setDescription(event.description());
+        entity.setLocation(event.location());
+        entity.setIsAllDay(event.allDay());
+        entity.setRecurrenceRule(event.recurrenceRule());
+        entity.setRecurrenceEndDate(event.recurrenceEnd());
+        entity.setRecurrenceExdates(event.exdates());
+        entity.setIsRecurringInstance(event.recurrenceId() != null);
+        entity.setOriginalStartDateTime(event.recurrenceId());
+        entity.setExternalUid(event.key());
+        entity.setExternalFingerprint(fingerprint);
+        return entity;
+    }
+}
@@ -32,6 +32,15 @@ public interface JournalService {
      */
     JournalEntry updateEntry(JournalEntry entry);
 
+    /**
+     * Create the entries without an id and update the others, all in one
+     * transaction, and index them with a single search commit.
+     * 
+     * @param entries Entries to save
+     * @return Saved entries, in order
+     */
+    List<JournalEntry> saveEntries(List<JournalEntry> entries);
+
     /**
      * Deletes a journal entry by ID.
      *
@@ -2,6 +2,7 @@ package com.roam.service;
 
 import com.roam.model.JournalEntry;
 import com.roam.repository.JournalEntryRepository;
+import com.roam.util.FlightEvents;
 import com.roam.util.HibernateUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
@@ -9,8 +10,10 @@ import jakarta.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -21,15 +24,18 @@ public class JournalServiceImpl implements JournalService {
     private static final Logger logger = LoggerFactory.getLogger(JournalServiceImpl.class);
     private final JournalEntryRepository repository;
     private final SearchService searchService;
+    private final DuplicateDetectionService duplicateDetectionService;
 
     public JournalServiceImpl() {
         this.repository = new JournalEntryRepository();
         this.searchService = SearchService.getInstance();
+        this.duplicateDetectionService = DuplicateDetectionService.getInstance();
     }
 
     public JournalServiceImpl(JournalEntryRepository repository, SearchService searchService) {
         this.repository = repository;
         this.searchService = searchService;
+        this.duplicateDetectionService = DuplicateDetectionService.getInstance();
     }
 
     @Override
@@ -38,6 +44,7 @@ public class JournalServiceImpl implements JournalService {
             throw new IllegalArgumentException("JournalEntry cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("JournalEntry", "create");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -62,6 +69,7 @@ public class JournalServiceImpl implements JournalService {
             throw new RuntimeException("Failed to create journal entry", e);
         } finally {
             em.close();
+            flightEvent.finish(entry.getId());
         }
     }
 
@@ -71,6 +79,7 @@ public class JournalServiceImpl implements JournalService {
             throw new IllegalArgumentException("JournalEntry and ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("JournalEntry", "update");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -95,15 +104,43 @@ public class JournalServiceImpl implements JournalService {
             throw new RuntimeException("Failed to update journal entry", e);
         } finally {
             em.close();
+            flightEvent.finish(entry.getId());
         }
     }
 
+    @Override
+    public List<JournalEntry> saveEntries(List<JournalEntry> entries) {
+        if (entries == null || entries.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Journal entries cannot be null");
+        }
+
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("JournalEntry", "saveAll");
+        List<JournalEntry> saved;
+        try {
+            saved = repository.saveAll(entries);
+            logger.info("✓ {} journal entries saved", saved.size());
+        } catch (Exception e) {
+            logger.error("✗ Failed to save journal entries: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save journal entries", e);
+        } finally {
+            flightEvent.finish((Long) null);
+        }
+
+        try {
+            searchService.batch(() -> saved.forEach(this::indexEntry));
+        } catch (IOException e) {
+            logger.error("✗ Failed to index journal entries: {}", e.getMessage(), e);
+        }
+        return saved;
+    }
+
     @Override
     public void deleteEntry(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("Entry ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("JournalEntry", "delete");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -120,6 +157,7 @@ public class JournalServiceImpl implements JournalService {
             tx.commit();
 
             searchService.deleteDocument(id);
+            duplicateDetectionService.onJournalEntryDeleted(id);
 
         } catch (Exception e) {
             if (tx != null && tx.isActive()) {
@@ -129,6 +167,7 @@ public class JournalServiceImpl implements JournalService {
             throw new RuntimeException("Failed to delete journal entry", e);
         } finally {
             em.close();
+            flightEvent.finish(id);
         }
     }
 
@@ -220,5 +259,6 @@ public class JournalServiceImpl implements JournalService {
         } catch (Exception e) {
             logger.error("✗ Failed to index journal entry: {}", e.getMessage(), e);
         }
+        duplicateDetectionService.onJournalEntrySaved(entry);
     }
 }
@@ -4,6 +4,7 @@ import com.roam.model.Operation;
 import com.roam.model.OperationStatus;
 import com.roam.model.Priority;
 import com.roam.repository.OperationRepository;
+import com.roam.util.FlightEvents;
 import com.roam.util.HibernateUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
@@ -43,6 +44,7 @@ public class OperationServiceImpl implements OperationService {
             throw new IllegalArgumentException("Operation cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Operation", "create");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -69,6 +71,7 @@ public class OperationServiceImpl implements OperationService {
             throw new RuntimeException("Failed to create operation", e);
         } finally {
             em.close();
+            flightEvent.finish(operation.getId());
         }
     }
 
@@ -78,6 +81,7 @@ public class OperationServiceImpl implements OperationService {
             throw new IllegalArgumentException("Operation and ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Operation", "update");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -104,6 +108,7 @@ public class OperationServiceImpl implements OperationService {
             throw new RuntimeException("Failed to update operation", e);
         } finally {
             em.close();
+            flightEvent.finish(operation.getId());
         }
     }
 
@@ -113,6 +118,7 @@ public class OperationServiceImpl implements OperationService {
             throw new IllegalArgumentException("Operation ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Operation", "delete");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -142,6 +148,7 @@ public class OperationServiceImpl implements OperationService {
             throw new RuntimeException("Failed to delete operation", e);
         } finally {
             em.close();
+            flightEvent.finish(id);
         }
     }
 
@@ -0,0 +1,111 @@
+package com.roam.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.roam.util.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Recommends wikis, journal entries and tasks similar to the one currently open.
+ *
+ * Recommendations come from a single more-like-this query against the search
+ * index (see {@link SearchService#findRelated}) and are computed on the compute
+ * pool. Results are cached per document version, so reopening an unchanged
+ * note costs nothing while an edited note gets fresh recommendations.
+ */
+public class RelatedContentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedContentService.class);
+
+    private static RelatedContentService instance;
+
+    public static final int DEFAULT_MAX_RESULTS = 5;
+    private static final int MAX_CACHED_DOCUMENTS = 200;
+
+    private final SearchService searchService;
+    private final Executor executor;
+    private final Cache<String, List<SearchService.SearchResult>> cache;
+
+    private RelatedContentService() {
+        this(SearchService.getInstance(), ThreadPoolManager.getInstance().getComputePool());
+    }
+
+    RelatedContentService(SearchService searchService, Executor executor) {
+        this.searchService = searchService;
+        this.executor = executor;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(MAX_CACHED_DOCUMENTS)
+                .build();
+    }
+
+    public static synchronized RelatedContentService getInstance() {
+        if (instance == null) {
+            instance = new RelatedContentService();
+        }
+        return instance;
+    }
+
+    /**
+     * Asynchronously find items related to the given document.
+     *
+     * @param type    Document type (wiki, journal, task)
+     * @param id      Document ID
+     * @param version Last modification time of the document, used as cache key
+     * @return Future completing with up to {@link #DEFAULT_MAX_RESULTS} items
+     */
+    public CompletableFuture<List<SearchService.SearchResult>> findRelatedAsync(String type, Long id,
+            LocalDateTime version) {
+        return findRelatedAsync(type, id, version, DEFAULT_MAX_RESULTS, List.of("wiki", "journal", "task"));
+    }
+
+    /**
+     * Asynchronously find up to {@code maxResults} items of the given target
+     * types related to the given document.
+     */
+    public CompletableFuture<List<SearchService.SearchResult>> findRelatedAsync(String type, Long id,
+            LocalDateTime version, int maxResults, Collection<String> targetTypes) {
+        if (type == null || id == null || targetTypes == null || targetTypes.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        String key = cacheKey(type, id, version, maxResults, targetTypes);
+        List<SearchService.SearchResult> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<SearchService.SearchResult> related = List.copyOf(
+                        searchService.findRelated(type, id, maxResults, targetTypes));
+                cache.put(key, related);
+                logger.debug("✓ Found {} related items for {} {}", related.size(), type, id);
+                return related;
+            } catch (Exception e) {
+                logger.error("✗ Failed to find related content for {} {}: {}", type, id, e.getMessage(), e);
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Drop all cached recommendations (e.g. after the index was rebuilt).
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private String cacheKey(String type, Long id, LocalDateTime version, int maxResults,
+            Collection<String> targetTypes) {
+        return type + ":" + id + ":" + (version != null ? version : "") + ":" + maxResults + ":"
+                + String.join(",", targetTypes);
+    }
+}
@@ -1,21 +1,34 @@
 package com.roam.service;
 
+import com.roam.repository.CalendarEventRepository;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.OperationRepository;
+import com.roam.repository.TaskRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.FlightEvents;
 import com.roam.util.InputSanitizer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.*;
 import org.apache.lucene.index.*;
+import org.apache.lucene.queries.mlt.MoreLikeThis;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.*;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
 
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for searching across all modules using Apache Lucene
@@ -27,14 +40,43 @@ public class SearchService {
     private final StandardAnalyzer analyzer;
     private IndexWriter indexWriter;
 
-    private static final String INDEX_PATH = System.getProperty("user.home") + "/.roam/index";
+    // Batches open on the calling thread; while one is open, that thread's
+    // updates are committed once when its outermost batch ends instead of
+    // after every document. Per thread, so a long import does not hold back
+    // the commits (and search visibility) of saves made meanwhile
+    private final ThreadLocal<int[]> batchDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    // roam.index.dir points tools and benchmarks at a separate index
+    private static final String INDEX_PATH = System.getProperty("roam.index.dir",
+            System.getProperty("user.home") + "/.roam/index");
+
+    // allText keeps term vectors so related-content lookups can reuse the
+    // already-analyzed terms instead of re-reading the source entity
+    private static final FieldType ALL_TEXT_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        ALL_TEXT_TYPE.setStoreTermVectors(true);
+        ALL_TEXT_TYPE.freeze();
+    }
+
+    // Types that take part in "related notes" recommendations
+    private static final List<String> RELATED_TYPES = List.of("wiki", "journal", "task");
+
+    // Attachment text is indexed as child documents of type "attachment",
+    // linked to their wiki by wikiId; they have no "id" field so updating or
+    // deleting a wiki document leaves them alone
+    private static final String ATTACHMENT_TYPE = "attachment";
+    private static final int ATTACHMENT_SNIPPET_CHARS = 300;
 
     private SearchService() throws IOException {
-        // Ensure index directory exists
-        java.nio.file.Path indexPath = Paths.get(INDEX_PATH);
-        java.nio.file.Files.createDirectories(indexPath);
+        this(openIndexDirectory());
+    }
 
-        this.indexDirectory = FSDirectory.open(indexPath);
+    /**
+     * Creates a service on top of an existing directory (used by tests).
+     */
+    SearchService(Directory directory) throws IOException {
+        this.indexDirectory = directory;
         this.analyzer = new StandardAnalyzer();
 
         IndexWriterConfig config = new IndexWriterConfig(analyzer);
@@ -42,6 +84,13 @@ public class SearchService {
         this.indexWriter = new IndexWriter(indexDirectory, config);
     }
 
+    private static Directory openIndexDirectory() throws IOException {
+        // Ensure index directory exists
+        java.nio.file.Path indexPath = Paths.get(INDEX_PATH);
+        java.nio.file.Files.createDirectories(indexPath);
+        return FSDirectory.open(indexPath);
+    }
+
     public static synchronized SearchService getInstance() {
         if (instance == null) {
             try {
@@ -71,12 +120,11 @@ public class SearchService {
                 Field.Store.YES));
 
         // For fuzzy matching and better search
-        doc.add(new TextField("allText",
+        doc.add(new Field("allText",
                 (title != null ? title + " " : "") + (content != null ? content : ""),
-                Field.Store.NO));
+                ALL_TEXT_TYPE));
 
-        indexWriter.updateDocument(new Term("id", id.toString()), doc);
-        indexWriter.commit();
+        updateDocument("wiki", id, doc);
     }
 
     /**
@@ -97,12 +145,11 @@ public class SearchService {
                 dueDate != null ? dueDate.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : "",
                 Field.Store.YES));
 
-        doc.add(new TextField("allText",
+        doc.add(new Field("allText",
                 (title != null ? title + " " : "") + (description != null ? description : ""),
-                Field.Store.NO));
+                ALL_TEXT_TYPE));
 
-        indexWriter.updateDocument(new Term("id", id.toString()), doc);
-        indexWriter.commit();
+        updateDocument("task", id, doc);
     }
 
     /**
@@ -124,14 +171,13 @@ public class SearchService {
                 endTime != null ? endTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : "",
                 Field.Store.YES));
 
-        doc.add(new TextField("allText",
+        doc.add(new Field("allText",
                 (title != null ? title + " " : "") +
                         (description != null ? description + " " : "") +
                         (location != null ? location : ""),
-                Field.Store.NO));
+                ALL_TEXT_TYPE));
 
-        indexWriter.updateDocument(new Term("id", id.toString()), doc);
-        indexWriter.commit();
+        updateDocument("event", id, doc);
     }
 
     /**
@@ -146,12 +192,11 @@ public class SearchService {
         doc.add(new TextField("content", content != null ? content : "", Field.Store.YES));
         doc.add(new StringField("date", date != null ? date : "", Field.Store.YES));
 
-        doc.add(new TextField("allText",
+        doc.add(new Field("allText",
                 (title != null ? title + " " : "") + (content != null ? content : ""),
-                Field.Store.NO));
+                ALL_TEXT_TYPE));
 
-        indexWriter.updateDocument(new Term("id", id.toString()), doc);
-        indexWriter.commit();
+        updateDocument("journal", id, doc);
     }
 
     /**
@@ -169,14 +214,82 @@ public class SearchService {
         doc.add(new StringField("status", status != null ? status : "", Field.Store.YES));
         doc.add(new StringField("priority", priority != null ? priority : "", Field.Store.YES));
 
-        doc.add(new TextField("allText",
+        doc.add(new Field("allText",
                 (name != null ? name + " " : "") +
                         (purpose != null ? purpose + " " : "") +
                         (outcome != null ? outcome : ""),
-                Field.Store.NO));
+                ALL_TEXT_TYPE));
 
-        indexWriter.updateDocument(new Term("id", id.toString()), doc);
-        indexWriter.commit();
+        updateDocument("operation", id, doc);
+    }
+
+    /**
+     * Index one chunk of an attachment's text under its wiki. Chunks of the
+     * same attachment share {@code digest}, the content hash they were
+     * extracted from.
+     */
+    public void indexAttachmentChunk(Long attachmentId, Long wikiId, String fileName, String digest, int chunk,
+            String text) throws IOException {
+        Document doc = new Document();
+
+        doc.add(new StringField("attachmentId", attachmentId.toString(), Field.Store.YES));
+        doc.add(new StringField("wikiId", wikiId.toString(), Field.Store.YES));
+        doc.add(new StringField("type", ATTACHMENT_TYPE, Field.Store.YES));
+        doc.add(new StringField("digest", digest, Field.Store.YES));
+        doc.add(new StoredField("chunk", chunk));
+        doc.add(new TextField("title", fileName != null ? fileName : "", Field.Store.YES));
+        doc.add(new TextField("content", text, Field.Store.NO));
+        doc.add(new StoredField("snippet",
+                text.length() > ATTACHMENT_SNIPPET_CHARS ? text.substring(0, ATTACHMENT_SNIPPET_CHARS) : text));
+
+        FlightEvents.Search event = FlightEvents.search("index", ATTACHMENT_TYPE, null);
+        indexWriter.addDocument(doc);
+        event.finish(1);
+        commitUnlessBatching();
+    }
+
+    /**
+     * Whether the attachment is indexed from content with this digest, so
+     * extraction can be skipped. Sees uncommitted updates.
+     */
+    public boolean hasAttachment(Long attachmentId, String digest) throws IOException {
+        try (IndexReader reader = DirectoryReader.open(indexWriter)) {
+            Query query = new BooleanQuery.Builder()
+                    .add(new TermQuery(new Term("attachmentId", attachmentId.toString())), BooleanClause.Occur.FILTER)
+                    .add(new TermQuery(new Term("digest", digest)), BooleanClause.Occur.FILTER)
+                    .build();
+            return new IndexSearcher(reader).count(query) > 0;
+        }
+    }
+
+    /**
+     * The digest every indexed attachment was extracted from, by attachment
+     * id, read with one reader. Sees uncommitted updates.
+     */
+    public Map<Long, String> attachmentDigests() throws IOException {
+        Map<Long, String> digests = new HashMap<>();
+        Set<String> fields = Set.of("attachmentId", "digest");
+        try (IndexReader reader = DirectoryReader.open(indexWriter)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            StoredFields storedFields = searcher.storedFields();
+            TopDocs chunks = searcher.search(new TermQuery(new Term("type", ATTACHMENT_TYPE)),
+                    Math.max(1, reader.numDocs()));
+            for (ScoreDoc chunk : chunks.scoreDocs) {
+                Document doc = storedFields.document(chunk.doc, fields);
+                digests.put(Long.valueOf(doc.get("attachmentId")), doc.get("digest"));
+            }
+        }
+        return digests;
+    }
+
+    public void deleteAttachment(Long attachmentId) throws IOException {
+        indexWriter.deleteDocuments(new Term("attachmentId", attachmentId.toString()));
+        commitUnlessBatching();
+    }
+
+    public void deleteAttachmentsOfWiki(Long wikiId) throws IOException {
+        indexWriter.deleteDocuments(new Term("wikiId", wikiId.toString()));
+        commitUnlessBatching();
     }
 
     /**
@@ -189,6 +302,8 @@ public class SearchService {
             return results;
         }
 
+        FlightEvents.Search event = FlightEvents.search("search", null, queryString);
+
         // Sanitize search query to prevent Lucene injection attacks
         String sanitizedQuery = InputSanitizer.sanitizeSearchQuery(queryString);
 
@@ -198,54 +313,156 @@ public class SearchService {
 
         // Execute search with limit
         TopDocs topDocs = searcher.search(query, filter.maxResults); // Process results
+        Set<Long> wikiIds = new HashSet<>();
         for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
             Document doc = searcher.storedFields().document(scoreDoc.doc);
-            SearchResult result = new SearchResult();
-            result.id = Long.parseLong(doc.get("id"));
-            result.type = doc.get("type"); // Get title based on type (operations use "name" field)
-            if ("operation".equals(result.type)) {
-                result.title = doc.get("name");
-            } else {
-                result.title = doc.get("title");
+            SearchResult result = ATTACHMENT_TYPE.equals(doc.get("type"))
+                    ? attachmentResult(searcher, doc, scoreDoc.score)
+                    : toSearchResult(doc, scoreDoc.score);
+            // A wiki is listed once, at its best match (its text or an attachment)
+            if (result != null && (!"wiki".equals(result.type) || wikiIds.add(result.id))) {
+                results.add(result);
             }
+        }
+
+        reader.close();
+        event.finish(results.size());
+        return results;
+    }
+
+    /**
+     * Find content similar to an indexed wiki, journal entry or task.
+     * Runs a single more-like-this query over the stored term vectors of the
+     * source document's allText field, so no database access is needed.
+     *
+     * @param type       Type of the source document (wiki, journal, task)
+     * @param id         ID of the source document
+     * @param maxResults Maximum number of related items to return
+     * @return Related items across types, best match first
+     */
+    public List<SearchResult> findRelated(String type, Long id, int maxResults) throws IOException {
+        return findRelated(type, id, maxResults, RELATED_TYPES);
+    }
+
+    /**
+     * Find content similar to an indexed document, restricted to the given
+     * target types.
+     */
+    public List<SearchResult> findRelated(String type, Long id, int maxResults, Collection<String> targetTypes)
+            throws IOException {
+        List<SearchResult> results = new ArrayList<>();
+
+        if (type == null || id == null || maxResults <= 0 || targetTypes == null || targetTypes.isEmpty()) {
+            return results;
+        }
+
+        FlightEvents.Search event = FlightEvents.search("related", type, null);
+        try (IndexReader reader = DirectoryReader.open(indexDirectory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
 
-            result.snippet = getSnippet(doc);
-            result.score = scoreDoc.score;
-
-            // Type-specific fields
-            switch (result.type) {
-                case "wiki":
-                    result.region = doc.get("region");
-                    result.operationId = doc.get("operationId");
-                    result.updatedAt = doc.get("updatedAt");
-                    break;
-                case "task":
-                    result.priority = doc.get("priority");
-                    result.status = doc.get("status");
-                    result.operationId = doc.get("operationId");
-                    result.dueDate = doc.get("dueDate");
-                    break;
-                case "event":
-                    result.location = doc.get("location");
-                    result.startTime = doc.get("startTime");
-                    result.endTime = doc.get("endTime");
-                    break;
-                case "journal":
-                    result.date = doc.get("date");
-                    break;
-                case "operation":
-                    result.status = doc.get("status");
-                    result.priority = doc.get("priority");
-                    break;
+            Query sourceQuery = documentQuery(type, id);
+            TopDocs source = searcher.search(sourceQuery, 1);
+            if (source.scoreDocs.length == 0) {
+                return results;
             }
 
-            results.add(result);
+            MoreLikeThis mlt = new MoreLikeThis(reader);
+            mlt.setAnalyzer(analyzer);
+            mlt.setFieldNames(new String[] { "allText" });
+            mlt.setMinTermFreq(1);
+            mlt.setMinDocFreq(2); // Terms unique to the source cannot match anything else
+            mlt.setMaxQueryTerms(25);
+
+            Query likeQuery = mlt.like(source.scoreDocs[0].doc);
+
+            BooleanQuery.Builder typeBuilder = new BooleanQuery.Builder();
+            for (String relatedType : targetTypes) {
+                typeBuilder.add(new TermQuery(new Term("type", relatedType)), BooleanClause.Occur.SHOULD);
+            }
+
+            Query query = new BooleanQuery.Builder()
+                    .add(likeQuery, BooleanClause.Occur.MUST)
+                    .add(typeBuilder.build(), BooleanClause.Occur.FILTER)
+                    .add(sourceQuery, BooleanClause.Occur.MUST_NOT)
+                    .build();
+
+            TopDocs topDocs = searcher.search(query, maxResults);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document doc = searcher.storedFields().document(scoreDoc.doc);
+                results.add(toSearchResult(doc, scoreDoc.score));
+            }
+        } finally {
+            event.finish(results.size());
         }
 
-        reader.close();
         return results;
     }
 
+    /**
+     * Present an attachment match as its wiki, with the matching file in the
+     * snippet. Null if the wiki is not indexed.
+     */
+    private SearchResult attachmentResult(IndexSearcher searcher, Document attachment, float score)
+            throws IOException {
+        TopDocs wiki = searcher.search(documentQuery("wiki", Long.parseLong(attachment.get("wikiId"))), 1);
+        if (wiki.scoreDocs.length == 0) {
+            return null;
+        }
+        SearchResult result = toSearchResult(searcher.storedFields().document(wiki.scoreDocs[0].doc), score);
+        result.snippet = "📎 " + attachment.get("title") + ": " + attachment.get("snippet");
+        return result;
+    }
+
+    private Query documentQuery(String type, Long id) {
+        return new BooleanQuery.Builder()
+                .add(new TermQuery(new Term("id", id.toString())), BooleanClause.Occur.FILTER)
+                .add(new TermQuery(new Term("type", type)), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private SearchResult toSearchResult(Document doc, float score) {
+        SearchResult result = new SearchResult();
+        result.id = Long.parseLong(doc.get("id"));
+        result.type = doc.get("type"); // Get title based on type (operations use "name" field)
+        if ("operation".equals(result.type)) {
+            result.title = doc.get("name");
+        } else {
+            result.title = doc.get("title");
+        }
+
+        result.snippet = getSnippet(doc);
+        result.score = score;
+
+        // Type-specific fields
+        switch (result.type) {
+            case "wiki":
+                result.region = doc.get("region");
+                result.operationId = doc.get("operationId");
+                result.updatedAt = doc.get("updatedAt");
+                break;
+            case "task":
+                result.priority = doc.get("priority");
+                result.status = doc.get("status");
+                result.operationId = doc.get("operationId");
+                result.dueDate = doc.get("dueDate");
+                break;
+            case "event":
+                result.location = doc.get("location");
+                result.startTime = doc.get("startTime");
+                result.endTime = doc.get("endTime");
+                break;
+            case "journal":
+                result.date = doc.get("date");
+                break;
+            case "operation":
+                result.status = doc.get("status");
+                result.priority = doc.get("priority");
+                break;
+        }
+
+        return result;
+    }
+
     private Query buildQuery(String queryString, SearchFilter filter) throws Exception {
         // Parse basic query
         String[] fields = { "title", "content", "description", "name", "purpose", "outcome", "location", "allText" };
@@ -265,6 +482,9 @@ public class SearchService {
             for (String type : filter.types) {
                 typeBuilder.add(new TermQuery(new Term("type", type)), BooleanClause.Occur.SHOULD);
             }
+            if (filter.types.contains("wiki")) {
+                typeBuilder.add(new TermQuery(new Term("type", ATTACHMENT_TYPE)), BooleanClause.Occur.SHOULD);
+            }
             builder.add(typeBuilder.build(), BooleanClause.Occur.MUST);
         }
 
@@ -312,8 +532,21 @@ public class SearchService {
      * Delete document from index
      */
     public void deleteDocument(Long id) throws IOException {
+        FlightEvents.Search event = FlightEvents.search("delete", null, null);
         indexWriter.deleteDocuments(new Term("id", id.toString()));
-        indexWriter.commit();
+        event.finish(1);
+        commitUnlessBatching();
+    }
+
+    /**
+     * Open a reader once and touch every segment so the first real search
+     * does not pay for loading the index from disk. Called during startup.
+     */
+    public void warmUp() throws IOException {
+        try (IndexReader reader = DirectoryReader.open(indexWriter)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            searcher.search(new MatchAllDocsQuery(), 1);
+        }
     }
 
     /**
@@ -321,20 +554,159 @@ public class SearchService {
      */
     public void clearIndex() throws IOException {
         indexWriter.deleteAll();
+        commit();
+    }
+
+    private void updateDocument(String type, Long id, Document doc) throws IOException {
+        FlightEvents.Search event = FlightEvents.search("index", type, null);
+        indexWriter.updateDocument(new Term("id", id.toString()), doc);
+        event.finish(1);
+        commitUnlessBatching();
+    }
+
+    private void commitUnlessBatching() throws IOException {
+        if (batchDepth.get()[0] == 0) {
+            commit();
+        }
+    }
+
+    private void commit() throws IOException {
+        FlightEvents.Search event = FlightEvents.search("commit", null, null);
         indexWriter.commit();
+        event.finish(0);
     }
 
     /**
-     * Rebuild entire index from database
+     * Run many index updates with a single commit at the end. Bulk loads use
+     * this because a commit per document dominates indexing time. If the
+     * work fails the batch does not commit, but its updates are not rolled
+     * back either: the next commit, from any thread, publishes them.
      */
-    public void rebuildIndex() {
-        // This will be called to reindex all content
-        // Implementation will fetch all data and reindex
+    public void batch(IndexBatch work) throws IOException {
+        int[] depth = batchDepth.get();
+        depth[0]++;
+        boolean completed = false;
         try {
-            clearIndex();
-            // Repositories will be used to fetch and reindex all data
-        } catch (IOException e) {
-            e.printStackTrace();
+            work.run();
+            completed = true;
+        } finally {
+            if (--depth[0] == 0 && completed) {
+                commit();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface IndexBatch {
+        void run() throws IOException;
+    }
+
+    /**
+     * Rebuild the index from the database: every wiki, task, operation,
+     * event and journal entry is indexed again in a single batch, then
+     * documents nothing in the database matched are deleted, along with the
+     * attachment text of wikis that no longer exist. Documents are replaced
+     * one by one rather than wiping the index first, so a reader, or a
+     * commit made by another thread meanwhile, never sees it empty; if the
+     * rebuild fails, nothing is committed and every old document is still
+     * there. Attachment text is left to {@link AttachmentIndexer#indexAll()}.
+     *
+     * @return Number of documents indexed
+     */
+    public int rebuildIndex() throws IOException {
+        return rebuildIndex(new WikiRepository(), new TaskRepository(), new OperationRepository(),
+                new CalendarEventRepository(), new JournalEntryRepository());
+    }
+
+    int rebuildIndex(WikiRepository wikis, TaskRepository tasks, OperationRepository operations,
+            CalendarEventRepository events, JournalEntryRepository journal) throws IOException {
+        Set<String> stale = indexedKeys();
+        int[] count = new int[1];
+        batch(() -> {
+            for (com.roam.model.Wiki wiki : wikis.findAll()) {
+                indexWiki(wiki.getId(), wiki.getTitle(), wiki.getContent(), wiki.getRegion(),
+                        wiki.getOperationId(), wiki.getUpdatedAt());
+                stale.remove(key("wiki", wiki.getId()));
+                stale.remove(key(ATTACHMENT_TYPE, wiki.getId()));
+                count[0]++;
+            }
+            for (com.roam.model.Task task : tasks.findAll()) {
+                indexTask(task.getId(), task.getTitle(), task.getDescription(),
+                        task.getPriority() != null ? task.getPriority().toString() : null,
+                        task.getStatus() != null ? task.getStatus().toString() : null,
+                        task.getOperationId(), task.getDueDate());
+                stale.remove(key("task", task.getId()));
+                count[0]++;
+            }
+            for (com.roam.model.Operation op : operations.findAll()) {
+                indexOperation(op.getId(), op.getName(), op.getPurpose(), op.getOutcome(),
+                        op.getStatus() != null ? op.getStatus().toString() : null,
+                        op.getPriority() != null ? op.getPriority().toString() : null);
+                stale.remove(key("operation", op.getId()));
+                count[0]++;
+            }
+            for (com.roam.model.CalendarEvent event : events.findAll()) {
+                indexEvent(event.getId(), event.getTitle(), event.getDescription(), event.getStartDateTime(),
+                        event.getEndDateTime(), event.getLocation());
+                stale.remove(key("event", event.getId()));
+                count[0]++;
+            }
+            for (com.roam.model.JournalEntry entry : journal.findAll()) {
+                indexJournalEntry(entry.getId(), entry.getTitle(), entry.getContent(),
+                        entry.getDate() != null ? entry.getDate().toString() : null);
+                stale.remove(key("journal", entry.getId()));
+                count[0]++;
+            }
+
+            for (String key : stale) {
+                int colon = key.indexOf(':');
+                String type = key.substring(0, colon);
+                String id = key.substring(colon + 1);
+                if (type.equals(ATTACHMENT_TYPE)) {
+                    indexWriter.deleteDocuments(new Term("wikiId", id));
+                } else {
+                    indexWriter.deleteDocuments(documentQuery(type, Long.parseLong(id)));
+                }
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * The type and id of every document in the index; attachment chunks are
+     * keyed by their wiki.
+     */
+    private Set<String> indexedKeys() throws IOException {
+        Set<String> keys = new HashSet<>();
+        Set<String> fields = Set.of("type", "id", "wikiId");
+        try (IndexReader reader = DirectoryReader.open(indexWriter)) {
+            StoredFields storedFields = reader.storedFields();
+            Bits liveDocs = MultiBits.getLiveDocs(reader);
+            for (int doc = 0; doc < reader.maxDoc(); doc++) {
+                if (liveDocs != null && !liveDocs.get(doc)) {
+                    continue;
+                }
+                Document document = storedFields.document(doc, fields);
+                String type = document.get("type");
+                String id = ATTACHMENT_TYPE.equals(type) ? document.get("wikiId") : document.get("id");
+                if (type != null && id != null) {
+                    keys.add(type + ":" + id);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static String key(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    /**
+     * Number of documents in the index, attachment chunks included.
+     */
+    public int documentCount() throws IOException {
+        try (IndexReader reader = DirectoryReader.open(indexWriter)) {
+            return reader.numDocs();
         }
     }
 
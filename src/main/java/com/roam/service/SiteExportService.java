@@ -0,0 +1,412 @@
+package com.roam.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roam.model.Wiki;
+import com.roam.repository.WikiRepository;
+import com.roam.util.MarkdownUtils;
+import com.roam.util.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Publishes the wiki as a static HTML site.
+ *
+ * Pages are rendered with the preview's pipeline ({@link MarkdownUtils}),
+ * with {@code [[links]]} pointing at the linked page's file. A manifest in
+ * the output folder records each page's file and a hash of everything the
+ * page shows: its title, region and content, and the files its links point
+ * to. Publishing again to the same folder renders only pages whose hash
+ * changed, in parallel on the compute pool, and deletes pages of wikis that
+ * are gone. The index page carries a search box backed by a prebuilt index
+ * of each page's terms, loaded as a script so the site works from disk.
+ *
+ * Only an empty folder or one holding a site published before is written
+ * to, and manifest entries naming files outside the folder are ignored, so
+ * publishing never overwrites or deletes anything else.
+ */
+public class SiteExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SiteExportService.class);
+
+    static final String MANIFEST = "site-manifest.json";
+    static final String SEARCH_INDEX = "search-index.js";
+    // Bump when page markup changes, so every page is rendered again
+    static final int FORMAT_VERSION = 1;
+
+    private static final int MAX_TERMS = 300;
+    private static final int MAX_SLUG = 60;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public record ExportResult(int rendered, int unchanged, int removed) {
+    }
+
+    /**
+     * A published page. {@code terms} are its distinct search terms,
+     * space-separated.
+     */
+    record Page(String file, String hash, String title, String region, String terms) {
+    }
+
+    record Manifest(int version, Map<Long, Page> pages) {
+    }
+
+    private final WikiRepository wikiRepository;
+    private final Executor executor;
+
+    public SiteExportService() {
+        this(new WikiRepository(), ThreadPoolManager.getInstance().getComputePool());
+    }
+
+    SiteExportService(WikiRepository wikiRepository, Executor executor) {
+        this.wikiRepository = wikiRepository;
+        this.executor = executor;
+    }
+
+    public ExportResult export(Path outputDir) throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(outputDir);
+        if (!Files.exists(outputDir.resolve(MANIFEST)) && !isEmpty(outputDir)) {
+            throw new IOException(outputDir + " is not empty and holds no published site. Choose an empty folder.");
+        }
+        Map<Long, Page> previous = readManifest(outputDir);
+
+        List<Wiki> wikis = new ArrayList<>(wikiRepository.findAll());
+        wikis.sort(Comparator.comparing(Wiki::getId));
+        Map<Long, String> files = new HashMap<>();
+        Map<String, String> filesByTitle = new HashMap<>();
+        for (Wiki wiki : wikis) {
+            String file = slug(wiki.getTitle()) + "-" + wiki.getId() + ".html";
+            files.put(wiki.getId(), file);
+            filesByTitle.putIfAbsent(key(wiki.getTitle()), file);
+        }
+
+        Map<Long, Page> pages = new TreeMap<>();
+        List<CompletableFuture<Map.Entry<Long, Page>>> renders = new ArrayList<>();
+        for (Wiki wiki : wikis) {
+            String file = files.get(wiki.getId());
+            String hash = hash(wiki, filesByTitle);
+            Page page = previous.get(wiki.getId());
+            if (page != null && page.hash().equals(hash) && page.file().equals(file)
+                    && Files.exists(outputDir.resolve(file))) {
+                pages.put(wiki.getId(), page);
+            } else {
+                renders.add(CompletableFuture.supplyAsync(
+                        () -> Map.entry(wiki.getId(), render(outputDir, wiki, file, hash, filesByTitle)), executor));
+            }
+        }
+        for (CompletableFuture<Map.Entry<Long, Page>> render : renders) {
+            try {
+                Map.Entry<Long, Page> rendered = render.join();
+                pages.put(rendered.getKey(), rendered.getValue());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                throw e;
+            }
+        }
+
+        int removed = 0;
+        for (Map.Entry<Long, Page> old : previous.entrySet()) {
+            Page current = pages.get(old.getKey());
+            if (current == null || !current.file().equals(old.getValue().file())) {
+                Files.deleteIfExists(outputDir.resolve(old.getValue().file()));
+                if (current == null) {
+                    removed++;
+                }
+            }
+        }
+
+        if (!renders.isEmpty() || removed > 0 || !Files.exists(outputDir.resolve("index.html"))) {
+            writeString(outputDir.resolve("index.html"), renderIndex(pages.values()));
+            writeString(outputDir.resolve(SEARCH_INDEX), renderSearchIndex(pages.values()));
+            writeString(outputDir.resolve("search.js"), SEARCH_SCRIPT);
+            writeString(outputDir.resolve("style.css"), STYLESHEET);
+            writeString(outputDir.resolve(MANIFEST),
+                    objectMapper.writeValueAsString(new Manifest(FORMAT_VERSION, pages)));
+        }
+
+        ExportResult result = new ExportResult(renders.size(), wikis.size() - renders.size(), removed);
+        logger.info("✓ Published site to {} in {} ms: {} rendered, {} unchanged, {} removed", outputDir,
+                System.currentTimeMillis() - start, result.rendered(), result.unchanged(), result.removed());
+        return result;
+    }
+
+    private static boolean isEmpty(Path dir) throws IOException {
+        try (var entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+
+    /**
+     * Pages of the previous export. Entries whose file lies outside
+     * {@code outputDir} are dropped, so they are neither reused nor deleted.
+     */
+    private static Map<Long, Page> readManifest(Path outputDir) {
+        Path file = outputDir.resolve(MANIFEST);
+        if (!Files.exists(file)) {
+            return Map.of();
+        }
+        Manifest manifest;
+        try {
+            manifest = objectMapper.readValue(file.toFile(), new TypeReference<Manifest>() {
+            });
+        } catch (IOException e) {
+            logger.warn("⚠️ Ignoring unreadable site manifest: {}", e.getMessage());
+            return Map.of();
+        }
+        if (manifest.version() != FORMAT_VERSION || manifest.pages() == null) {
+            return Map.of();
+        }
+        Path root = outputDir.toAbsolutePath().normalize();
+        Map<Long, Page> pages = new HashMap<>();
+        manifest.pages().forEach((id, page) -> {
+            if (page.file() != null && isInside(root, page.file())) {
+                pages.put(id, page);
+            } else {
+                logger.warn("⚠️ Ignoring site manifest entry outside {}: {}", root, page.file());
+            }
+        });
+        return pages;
+    }
+
+    private static boolean isInside(Path root, String file) {
+        try {
+            Path resolved = root.resolve(file).normalize();
+            return resolved.startsWith(root) && !resolved.equals(root);
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Hash of everything the page shows, including where its links lead.
+     */
+    static String hash(Wiki wiki, Map<String, String> filesByTitle) {
+        MessageDigest digest = sha256();
+        List<String> fields = new ArrayList<>(List.of(String.valueOf(wiki.getTitle()),
+                String.valueOf(wiki.getRegion()), String.valueOf(wiki.getContent())));
+        for (String title : MarkdownUtils.wikiLinkTitles(wiki.getContent())) {
+            fields.add(String.valueOf(filesByTitle.get(key(title))));
+        }
+        for (String field : fields) {
+            digest.update(field.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Page render(Path outputDir, Wiki wiki, String file, String hash,
+            Map<String, String> filesByTitle) {
+        String title = MarkdownUtils.escapeHtml(wiki.getTitle());
+        String body = MarkdownUtils.toHtml(
+                MarkdownUtils.processWikiLinks(wiki.getContent(), linked -> filesByTitle.get(key(linked))));
+        StringBuilder html = new StringBuilder();
+        html.append(head(title));
+        html.append("<nav><a href=\"index.html\">All pages</a>");
+        if (wiki.getRegion() != null && !wiki.getRegion().isEmpty()) {
+            html.append(" · ").append(MarkdownUtils.escapeHtml(wiki.getRegion()));
+        }
+        html.append("</nav>\n<article>\n<h1>").append(title).append("</h1>\n");
+        html.append(body);
+        html.append("</article>\n</body>\n</html>\n");
+        try {
+            writeString(outputDir.resolve(file), html.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Page(file, hash, wiki.getTitle(), wiki.getRegion(),
+                terms(wiki.getTitle() + " " + wiki.getContent()));
+    }
+
+    private static String renderIndex(Iterable<Page> pages) {
+        Map<String, List<Page>> byRegion = new TreeMap<>();
+        for (Page page : pages) {
+            String region = page.region() == null || page.region().isEmpty() ? "Unfiled" : page.region();
+            byRegion.computeIfAbsent(region, r -> new ArrayList<>()).add(page);
+        }
+        StringBuilder html = new StringBuilder(head("Wiki"));
+        html.append("<article>\n<h1>Wiki</h1>\n");
+        html.append("<input id=\"search\" type=\"search\" placeholder=\"Search\" autocomplete=\"off\">\n");
+        html.append("<ul id=\"results\"></ul>\n");
+        for (Map.Entry<String, List<Page>> region : byRegion.entrySet()) {
+            html.append("<h2>").append(MarkdownUtils.escapeHtml(region.getKey())).append("</h2>\n<ul>\n");
+            region.getValue().sort(Comparator.comparing(page -> page.title().toLowerCase(Locale.ROOT)));
+            for (Page page : region.getValue()) {
+                html.append("<li><a href=\"").append(MarkdownUtils.escapeHtml(page.file())).append("\">")
+                        .append(MarkdownUtils.escapeHtml(page.title())).append("</a></li>\n");
+            }
+            html.append("</ul>\n");
+        }
+        html.append("</article>\n<script src=\"").append(SEARCH_INDEX).append("\"></script>\n");
+        html.append("<script src=\"search.js\"></script>\n</body>\n</html>\n");
+        return html.toString();
+    }
+
+    /**
+     * {@code [[title, file, terms], ...]} as a script, since browsers do not
+     * let pages opened from disk fetch files.
+     */
+    static String renderSearchIndex(Iterable<Page> pages) throws IOException {
+        List<List<String>> docs = new ArrayList<>();
+        for (Page page : pages) {
+            docs.add(List.of(page.title(), page.file(), page.terms()));
+        }
+        return "window.ROAM_SEARCH_INDEX = " + objectMapper.writeValueAsString(docs) + ";\n";
+    }
+
+    /**
+     * Distinct lower-case words of two or more letters or digits, at most
+     * {@link #MAX_TERMS}.
+     */
+    static String terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (word.length() > 1) {
+                terms.add(word);
+                if (terms.size() == MAX_TERMS) {
+                    break;
+                }
+            }
+        }
+        return String.join(" ", terms);
+    }
+
+    static String slug(String title) {
+        String slug = title == null ? "" : title.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{Nd}]+", "-");
+        slug = slug.replaceAll("^-+|-+$", "");
+        if (slug.length() > MAX_SLUG) {
+            slug = slug.substring(0, MAX_SLUG).replaceAll("-+$", "");
+        }
+        return slug.isEmpty() ? "page" : slug;
+    }
+
+    private static String head(String escapedTitle) {
+        return "<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n"
+                + "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\n"
+                + "<title>" + escapedTitle + "</title>\n<link rel=\"stylesheet\" href=\"style.css\">\n"
+                + "</head>\n<body>\n";
+    }
+
+    private static void writeString(Path file, String content) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".part");
+        Files.writeString(temp, content);
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String key(String title) {
+        return title == null ? "" : title.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final String STYLESHEET = """
+            body {
+                font-family: 'Segoe UI', sans-serif;
+                font-size: 14px;
+                line-height: 1.6;
+                color: #000000;
+                padding: 30px;
+                max-width: 800px;
+                margin: 0 auto;
+            }
+            nav { font-size: 13px; color: #666; margin-bottom: 10px; }
+            h1 { font-size: 32px; font-weight: bold; margin: 20px 0 10px; }
+            h2 { font-size: 24px; font-weight: bold; margin: 18px 0 8px; }
+            h3 { font-size: 20px; font-weight: bold; margin: 16px 0 6px; }
+            p { margin: 10px 0; }
+            code {
+                background-color: #F5F5F5;
+                padding: 2px 6px;
+                border-radius: 3px;
+                font-family: 'Courier New', monospace;
+            }
+            pre { background-color: #F5F5F5; padding: 12px; border-radius: 6px; overflow-x: auto; }
+            pre code { background-color: transparent; padding: 0; }
+            table { border-collapse: collapse; width: 100%; margin: 15px 0; }
+            th, td { border: 1px solid #ddd; padding: 8px 12px; text-align: left; }
+            th { background-color: #f0f0f0; font-weight: bold; }
+            tr:nth-child(even) { background-color: #f9f9f9; }
+            del { text-decoration: line-through; color: #888; }
+            ul.contains-task-list { list-style: none; padding-left: 20px; }
+            input[type='checkbox'] { margin-right: 8px; }
+            a { color: #4285f4; text-decoration: none; }
+            a.wiki-link { border-bottom: 1px dashed #4285f4; }
+            a.wiki-link:hover { background-color: #E3F2FD; }
+            span.wiki-link.missing { color: #888; border-bottom: 1px dashed #bbb; }
+            #search { width: 100%; padding: 8px; font-size: 14px; box-sizing: border-box; }
+            """;
+
+    // Pages match when every query word starts one of their terms; title
+    // matches first
+    private static final String SEARCH_SCRIPT = """
+            (function () {
+                var docs = window.ROAM_SEARCH_INDEX || [];
+                var input = document.getElementById('search');
+                var results = document.getElementById('results');
+                input.addEventListener('input', function () {
+                    results.innerHTML = '';
+                    var words = input.value.toLowerCase().split(/[^\\p{L}\\p{Nd}]+/u)
+                        .filter(function (word) { return word.length > 1; });
+                    if (!words.length) {
+                        return;
+                    }
+                    var hits = [];
+                    docs.forEach(function (doc) {
+                        var terms = ' ' + doc[2];
+                        var all = words.every(function (word) { return terms.indexOf(' ' + word) >= 0; });
+                        if (all) {
+                            var title = doc[0].toLowerCase();
+                            var inTitle = words.every(function (word) { return title.indexOf(word) >= 0; });
+                            hits.push({ doc: doc, inTitle: inTitle });
+                        }
+                    });
+                    hits.sort(function (a, b) { return b.inTitle - a.inTitle; });
+                    hits.slice(0, 50).forEach(function (hit) {
+                        var item = document.createElement('li');
+                        var link = document.createElement('a');
+                        link.href = hit.doc[1];
+                        link.textContent = hit.doc[0];
+                        item.appendChild(link);
+                        results.appendChild(item);
+                    });
+                });
+            })();
+            """;
+}
@@ -17,6 +17,12 @@ public interface TaskService {
 
     Task updateTask(Task task);
 
+    /**
+     * Create the tasks without an id and update the others, all in one
+     * transaction, and index them with a single search commit.
+     */
+    List<Task> saveTasks(List<Task> tasks);
+
     void deleteTask(Long id);
 
     Optional<Task> findById(Long id);
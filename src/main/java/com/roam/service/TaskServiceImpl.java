@@ -4,14 +4,17 @@ import com.roam.model.Task;
 import com.roam.model.TaskStatus;
 import com.roam.model.Priority;
 import com.roam.repository.TaskRepository;
+import com.roam.util.FlightEvents;
 import com.roam.util.HibernateUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -39,6 +42,7 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalArgumentException("Task cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Task", "create");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -63,6 +67,7 @@ public class TaskServiceImpl implements TaskService {
             throw new RuntimeException("Failed to create task", e);
         } finally {
             em.close();
+            flightEvent.finish(task.getId());
         }
     }
 
@@ -72,6 +77,7 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalArgumentException("Task and ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Task", "update");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -96,15 +102,43 @@ public class TaskServiceImpl implements TaskService {
             throw new RuntimeException("Failed to update task", e);
         } finally {
             em.close();
+            flightEvent.finish(task.getId());
         }
     }
 
+    @Override
+    public List<Task> saveTasks(List<Task> tasks) {
+        if (tasks == null || tasks.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Tasks cannot be null");
+        }
+
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Task", "saveAll");
+        List<Task> saved;
+        try {
+            saved = repository.saveAll(tasks);
+            logger.info("✓ {} tasks saved", saved.size());
+        } catch (Exception e) {
+            logger.error("✗ Failed to save tasks: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save tasks", e);
+        } finally {
+            flightEvent.finish((Long) null);
+        }
+
+        try {
+            searchService.batch(() -> saved.forEach(this::indexTask));
+        } catch (IOException e) {
+            logger.error("✗ Failed to index tasks: {}", e.getMessage(), e);
+        }
+        return saved;
+    }
+
     @Override
     public void deleteTask(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("Task ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Task", "delete");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -130,6 +164,7 @@ public class TaskServiceImpl implements TaskService {
             throw new RuntimeException("Failed to delete task", e);
         } finally {
             em.close();
+            flightEvent.finish(id);
         }
     }
 
@@ -166,9 +201,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public List<Task> findByStatus(TaskStatus status) {
         try {
-            return repository.findAll().stream()
-                    .filter(t -> status.equals(t.getStatus()))
-                    .toList();
+            return repository.findByStatus(status);
         } catch (Exception e) {
             logger.error("✗ Failed to find tasks by status: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve tasks", e);
@@ -178,9 +211,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public List<Task> findByPriority(Priority priority) {
         try {
-            return repository.findAll().stream()
-                    .filter(t -> priority.equals(t.getPriority()))
-                    .toList();
+            return repository.findByPriority(priority);
         } catch (Exception e) {
             logger.error("✗ Failed to find tasks by priority: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve tasks", e);
@@ -190,9 +221,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public List<Task> findDueBefore(LocalDate date) {
         try {
-            return repository.findAll().stream()
-                    .filter(t -> t.getDueDate() != null && t.getDueDate().toLocalDate().isBefore(date))
-                    .toList();
+            return repository.findDueBefore(date.atStartOfDay());
         } catch (Exception e) {
             logger.error("✗ Failed to find tasks due before date: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve tasks", e);
@@ -202,11 +231,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public List<Task> findOverdue() {
         try {
-            LocalDate today = LocalDate.now();
-            return repository.findAll().stream()
-                    .filter(t -> t.getDueDate() != null && t.getDueDate().toLocalDate().isBefore(today))
-                    .filter(t -> t.getStatus() != TaskStatus.DONE)
-                    .toList();
+            return repository.findOverdue(LocalDate.now().atStartOfDay());
         } catch (Exception e) {
             logger.error("✗ Failed to find overdue tasks: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve overdue tasks", e);
@@ -216,7 +241,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public long count() {
         try {
-            return repository.findAll().size();
+            return repository.countAll();
         } catch (Exception e) {
             logger.error("✗ Failed to count tasks: {}", e.getMessage(), e);
             return 0;
@@ -239,6 +264,7 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalArgumentException("Task ID and status cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Task", "update");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -270,6 +296,7 @@ public class TaskServiceImpl implements TaskService {
             throw new RuntimeException("Failed to update task status", e);
         } finally {
             em.close();
+            flightEvent.finish(id);
         }
     }
 
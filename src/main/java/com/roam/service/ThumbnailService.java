@@ -0,0 +1,319 @@
+package com.roam.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.roam.model.WikiFileAttachment;
+import com.roam.util.ThreadPoolManager;
+import javafx.scene.image.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Thumbnails for image attachments, shown in the wiki file list.
+ *
+ * Images are decoded on the compute pool, subsampled while reading so a
+ * large photo never has to be decoded at full size, scaled to at most
+ * {@link #THUMBNAIL_PX} pixels and saved as PNG under
+ * {@code ~/.roam/thumbnails} (or {@code -Droam.thumbnails.dir}), named by
+ * content digest. That directory is an LRU cache bounded to
+ * {@link #MAX_DISK_BYTES}; a file's modification time is its last use, so
+ * the order survives restarts. Loaded thumbnails are kept in a soft-valued
+ * memory cache, and concurrent requests for one image share a single
+ * decode.
+ *
+ * @ThreadSafe
+ */
+public class ThumbnailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private static volatile ThumbnailService instance;
+
+    static final String DIR_PROPERTY = "roam.thumbnails.dir";
+    public static final int THUMBNAIL_PX = 96;
+    static final long MAX_DISK_BYTES = 64L * 1024 * 1024;
+    private static final int MAX_MEMORY_ENTRIES = 1_000;
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "bmp", "wbmp");
+
+    private final Path cacheDir;
+    private final long maxDiskBytes;
+    private final AttachmentStore attachmentStore;
+    private final Executor executor;
+
+    private final Cache<String, Image> memory = CacheBuilder.newBuilder()
+            .softValues()
+            .maximumSize(MAX_MEMORY_ENTRIES)
+            .build();
+    private final Map<String, CompletableFuture<Image>> pending = new ConcurrentHashMap<>();
+    private final Set<String> unreadable = ConcurrentHashMap.newKeySet();
+
+    // Thumbnail file name -> size, least recently used first; loaded on first use
+    private final Object diskLock = new Object();
+    private LinkedHashMap<String, Long> diskIndex;
+    private long diskBytes;
+
+    ThumbnailService(Path cacheDir, long maxDiskBytes, AttachmentStore attachmentStore, Executor executor) {
+        this.cacheDir = cacheDir;
+        this.maxDiskBytes = maxDiskBytes;
+        this.attachmentStore = attachmentStore;
+        this.executor = executor;
+    }
+
+    public static ThumbnailService getInstance() {
+        if (instance == null) {
+            synchronized (ThumbnailService.class) {
+                if (instance == null) {
+                    Path dir = Paths.get(System.getProperty(DIR_PROPERTY,
+                            System.getProperty("user.home") + "/.roam/thumbnails"));
+                    instance = new ThumbnailService(dir, MAX_DISK_BYTES, AttachmentStore.getInstance(),
+                            ThreadPoolManager.getInstance().getComputePool());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Whether a thumbnail can be made for the attachment.
+     */
+    public static boolean isImage(String fileName, String mimeType) {
+        if (fileName != null) {
+            int dot = fileName.lastIndexOf('.');
+            if (dot >= 0 && IMAGE_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return mimeType != null
+                && IMAGE_EXTENSIONS.contains(mimeType.replace("image/", "").toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The thumbnail if it is already in memory, so the list can show it
+     * without waiting.
+     */
+    public Image getCached(WikiFileAttachment attachment) {
+        String key = key(attachment);
+        return key != null ? memory.getIfPresent(key) : null;
+    }
+
+    /**
+     * Load or make the attachment's thumbnail in the background.
+     *
+     * @return Future completing with the thumbnail, or null when the
+     *         attachment is not a readable image
+     */
+    public CompletableFuture<Image> thumbnail(WikiFileAttachment attachment) {
+        if (!isImage(attachment.getFileName(), attachment.getFileType())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String key = key(attachment);
+        if (key == null || unreadable.contains(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Image cached = memory.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        Path source = attachmentStore.contentPath(attachment);
+        return pending.computeIfAbsent(key, k -> {
+            CompletableFuture<Image> future = CompletableFuture.supplyAsync(() -> load(k, source), executor);
+            future.whenComplete((image, error) -> pending.remove(k));
+            return future;
+        });
+    }
+
+    private Image load(String key, Path source) {
+        try {
+            Path file = thumbnailFile(key, source);
+            Image image = file != null ? new Image(file.toUri().toString()) : null;
+            if (image == null || image.isError()) {
+                unreadable.add(key);
+                return null;
+            }
+            memory.put(key, image);
+            return image;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ Could not make thumbnail for {}: {}", source.getFileName(), e.getMessage());
+            unreadable.add(key);
+            return null;
+        }
+    }
+
+    /**
+     * The cached thumbnail file for {@code key}, made from {@code source} if
+     * missing.
+     *
+     * @return Thumbnail path, or null if {@code source} is not a readable
+     *         image
+     */
+    Path thumbnailFile(String key, Path source) throws IOException {
+        String name = key + ".png";
+        Path file = cacheDir.resolve(name);
+        synchronized (diskLock) {
+            loadIndex();
+            if (diskIndex.get(name) != null && Files.exists(file)) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                return file;
+            }
+        }
+
+        BufferedImage thumbnail = decodeScaled(source, THUMBNAIL_PX);
+        if (thumbnail == null) {
+            return null;
+        }
+        Path temp = Files.createTempFile(cacheDir, name, ".part");
+        try {
+            ImageIO.write(thumbnail, "png", temp.toFile());
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        synchronized (diskLock) {
+            Long previous = diskIndex.put(name, Files.size(file));
+            diskBytes += Files.size(file) - (previous != null ? previous : 0);
+            evict(name);
+        }
+        return file;
+    }
+
+    /**
+     * Decode {@code source} at no more than twice {@code maxPx} using
+     * subsampling, then scale it smoothly to fit {@code maxPx}.
+     */
+    static BufferedImage decodeScaled(Path source, int maxPx) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int step = Math.max(1, Math.max(width, height) / (maxPx * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                double scale = Math.min(1.0, (double) maxPx / Math.max(decoded.getWidth(), decoded.getHeight()));
+                int targetWidth = Math.max(1, (int) Math.round(decoded.getWidth() * scale));
+                int targetHeight = Math.max(1, (int) Math.round(decoded.getHeight() * scale));
+                BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = scaled.createGraphics();
+                try {
+                    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                    g.drawImage(decoded, 0, 0, targetWidth, targetHeight, null);
+                } finally {
+                    g.dispose();
+                }
+                return scaled;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Read the cache directory, oldest use first. Caller holds the lock.
+     */
+    private void loadIndex() throws IOException {
+        if (diskIndex != null) {
+            return;
+        }
+        Files.createDirectories(cacheDir);
+        record Entry(String name, long size, long lastUsed) {
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, "*.png")) {
+            for (Path file : files) {
+                entries.add(new Entry(file.getFileName().toString(), Files.size(file),
+                        Files.getLastModifiedTime(file).toMillis()));
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::lastUsed));
+        diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+        diskBytes = 0;
+        for (Entry entry : entries) {
+            diskIndex.put(entry.name(), entry.size());
+            diskBytes += entry.size();
+        }
+    }
+
+    /**
+     * Delete least recently used thumbnails until the cache fits, keeping
+     * {@code keep}. Caller holds the lock.
+     */
+    private void evict(String keep) throws IOException {
+        Iterator<Map.Entry<String, Long>> it = diskIndex.entrySet().iterator();
+        while (diskBytes > maxDiskBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            Files.deleteIfExists(cacheDir.resolve(eldest.getKey()));
+            diskBytes -= eldest.getValue();
+            it.remove();
+        }
+    }
+
+    long diskBytes() {
+        synchronized (diskLock) {
+            return diskBytes;
+        }
+    }
+
+    /**
+     * Cache key: the blob hash, or for attachments from before the
+     * attachment store, the file's location, size and modification time.
+     */
+    private String key(WikiFileAttachment attachment) {
+        if (attachment.getContentHash() != null) {
+            return attachment.getContentHash();
+        }
+        try {
+            Path file = attachmentStore.contentPath(attachment);
+            return "legacy-" + Integer.toHexString(file.toAbsolutePath().hashCode()) + "-" + Files.size(file)
+                    + "-" + Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
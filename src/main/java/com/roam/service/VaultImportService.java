@@ -0,0 +1,514 @@
+package com.roam.service;
+
+import com.roam.model.JournalEntry;
+import com.roam.model.Operation;
+import com.roam.model.Region;
+import com.roam.model.Wiki;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.OperationRepository;
+import com.roam.repository.RegionRepository;
+import com.roam.repository.WikiRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a folder of Markdown notes, such as an Obsidian vault, in one go.
+ *
+ * The tree is walked with NIO, skipping hidden folders like
+ * {@code .obsidian}, and the files are read and parsed in parallel on a
+ * fork-join pool. Files named by date ({@code 2024-03-01.md}) become journal
+ * entries, everything else a wiki. A wiki's top-level folder becomes its
+ * region and the folder below that its operation; both are created when
+ * missing. Notes are inserted in transactions of {@link #BATCH_SIZE}, then
+ * {@code [[links]]} are resolved to wiki ids by title or file name, imported
+ * notes first, and everything is indexed for search in a single commit.
+ *
+ * A note with the same title as an existing one and content that
+ * {@link DuplicateDetectionService} finds similar was imported before and is
+ * skipped, so importing a vault again adds only what is new. If saving fails
+ * part way, the notes already saved are still linked and indexed, and
+ * regions and operations created for notes that were not saved are removed.
+ */
+public class VaultImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaultImportService.class);
+
+    static final int BATCH_SIZE = 500;
+
+    // [[Target]], [[Target|alias]], [[Target#heading]] and ![[embeds]]
+    private static final Pattern WIKI_LINK = Pattern.compile("\\[\\[([^\\]|#\\n]+)(?:[|#][^\\]\\n]*)?\\]\\]");
+
+    private static final int MAX_TITLE = 255;
+    private static final int MAX_REGION = 50;
+
+    /**
+     * Outcome of an import. {@code links} counts resolved links;
+     * {@code failed} counts files that could not be read or were invalid;
+     * {@code skipped} counts notes that were already imported.
+     */
+    public record ImportResult(int wikis, int journalEntries, int links, int failed, int skipped) {
+    }
+
+    /**
+     * A parsed file: exactly one of {@code wiki} and {@code journalEntry} is
+     * set. {@code links} are lower-cased link targets.
+     */
+    record Note(List<String> folders, String name, Wiki wiki, JournalEntry journalEntry, Set<String> links) {
+    }
+
+    private final WikiRepository wikiRepository;
+    private final JournalEntryRepository journalRepository;
+    private final RegionRepository regionRepository;
+    private final OperationRepository operationRepository;
+    private final SearchService searchService;
+    private final DuplicateDetectionService duplicateService;
+    private final ValidationService validationService = ValidationService.getInstance();
+    private final int parallelism;
+
+    public VaultImportService() {
+        this(new WikiRepository(), new JournalEntryRepository(), new RegionRepository(), new OperationRepository(),
+                SearchService.getInstance(), DuplicateDetectionService.getInstance(),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    VaultImportService(WikiRepository wikiRepository, JournalEntryRepository journalRepository,
+            RegionRepository regionRepository, OperationRepository operationRepository,
+            SearchService searchService, DuplicateDetectionService duplicateService, int parallelism) {
+        this.wikiRepository = wikiRepository;
+        this.journalRepository = journalRepository;
+        this.regionRepository = regionRepository;
+        this.operationRepository = operationRepository;
+        this.searchService = searchService;
+        this.duplicateService = duplicateService;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public ImportResult importVault(Path root) throws IOException {
+        long start = System.currentTimeMillis();
+        List<Path> files = findMarkdownFiles(root);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<Note> notes;
+        try {
+            notes = pool.invoke(ForkJoinTask.adapt(() -> files.parallelStream()
+                    .map(file -> parse(root, file))
+                    .filter(Objects::nonNull)
+                    .toList()));
+        } finally {
+            pool.shutdown();
+        }
+
+        // Existing titles are read before saving, so imported notes shadow them
+        Map<String, Long> targets = new HashMap<>();
+        wikiRepository.findIdsByTitle().forEach((title, id) -> targets.putIfAbsent(key(title), id));
+
+        List<Note> wikiNotes = new ArrayList<>();
+        List<JournalEntry> entries = new ArrayList<>();
+        int skipped = 0;
+        for (Note note : notes) {
+            if (note.wiki() != null) {
+                Long existing = alreadyImported(note.wiki().getTitle(),
+                        duplicateService.findSimilarWikis(note.wiki().getContent()));
+                if (existing == null) {
+                    wikiNotes.add(note);
+                    continue;
+                }
+                // Links to the skipped note go to the copy already there
+                targets.put(key(note.name()), existing);
+            } else if (alreadyImported(note.journalEntry().getTitle(),
+                    duplicateService.findSimilarJournalEntries(note.journalEntry().getContent())) == null) {
+                entries.add(note.journalEntry());
+                continue;
+            }
+            skipped++;
+        }
+
+        Created created = assignRegionsAndOperations(wikiNotes);
+
+        List<Note> savedNotes = new ArrayList<>();
+        List<JournalEntry> savedEntries = new ArrayList<>();
+        int links = 0;
+        boolean completed = false;
+        try {
+            for (List<Note> batch : batches(wikiNotes)) {
+                wikiRepository.saveAll(batch.stream().map(Note::wiki).toList());
+                savedNotes.addAll(batch);
+            }
+            for (List<JournalEntry> batch : batches(entries)) {
+                savedEntries.addAll(journalRepository.saveAll(batch));
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                logger.warn("⚠️ Vault import failed after saving {} wikis and {} journal entries",
+                        savedNotes.size(), savedEntries.size());
+                removeUnused(created, savedNotes);
+            }
+            // Whatever was saved is linked and indexed, even when a later batch failed
+            try {
+                links = resolveLinks(savedNotes, targets);
+            } catch (RuntimeException e) {
+                if (completed) {
+                    throw e;
+                }
+                logger.error("✗ Failed to resolve links of imported wikis: {}", e.getMessage(), e);
+            }
+            index(savedNotes.stream().map(Note::wiki).toList(), savedEntries);
+        }
+
+        ImportResult result = new ImportResult(savedNotes.size(), savedEntries.size(), links,
+                files.size() - notes.size(), skipped);
+        logger.info("✓ Imported vault {} in {} ms: {} wikis, {} journal entries, {} links, {} failed, {} skipped",
+                root.getFileName(), System.currentTimeMillis() - start, result.wikis(), result.journalEntries(),
+                result.links(), result.failed(), result.skipped());
+        return result;
+    }
+
+    /**
+     * The id of the existing note with this title among {@code matches}, or
+     * null if the note is new.
+     */
+    private static Long alreadyImported(String title, List<DuplicateDetectionService.DuplicateMatch> matches) {
+        return matches.stream()
+                .filter(match -> key(match.title()).equals(key(title)))
+                .map(DuplicateDetectionService.DuplicateMatch::id)
+                .findFirst()
+                .orElse(null);
+    }
+
+    static List<Path> findMarkdownFiles(Path root) throws IOException {
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return !dir.equals(root) && dir.getFileName().toString().startsWith(".")
+                        ? FileVisitResult.SKIP_SUBTREE
+                        : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()
+                        && file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".md")) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                logger.warn("⚠️ Skipping unreadable path {}: {}", file, e.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
+    /**
+     * Read one file into a wiki or journal entry.
+     *
+     * @return The note, or null if the file cannot be read or is not valid
+     */
+    Note parse(Path root, Path file) {
+        try {
+            String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            if (text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+
+            Map<String, String> frontMatter = new HashMap<>();
+            String body = splitFrontMatter(text, frontMatter).trim();
+
+            String fileName = file.getFileName().toString();
+            String name = fileName.substring(0, fileName.length() - 3);
+            String title = frontMatter.get("title");
+            if (title == null || title.isBlank()) {
+                title = name.replace('_', ' ');
+            }
+            title = title.length() > MAX_TITLE ? title.substring(0, MAX_TITLE) : title;
+
+            List<String> folders = new ArrayList<>();
+            for (Path part : root.relativize(file.getParent() != null ? file.getParent() : root)) {
+                if (!part.toString().isEmpty()) {
+                    folders.add(part.toString());
+                }
+            }
+
+            LocalDate date = parseDate(name);
+            if (date != null) {
+                LocalDate declared = parseDate(frontMatter.get("date"));
+                JournalEntry entry = new JournalEntry();
+                entry.setTitle(title);
+                entry.setContent(body);
+                entry.setDate(declared != null ? declared : date);
+                return new Note(folders, name, null, entry, Set.of());
+            }
+
+            Wiki wiki = new Wiki();
+            wiki.setTitle(title);
+            wiki.setContent(body);
+            validationService.validate(wiki);
+            return new Note(folders, name, wiki, null, links(body));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ Failed to import {}: {}", root.relativize(file), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Collect {@code key: value} pairs from a leading YAML front matter block.
+     *
+     * @return The text after the front matter
+     */
+    static String splitFrontMatter(String text, Map<String, String> frontMatter) {
+        if (!text.startsWith("---")) {
+            return text;
+        }
+        int firstLineEnd = text.indexOf('\n');
+        if (firstLineEnd < 0 || !text.substring(0, firstLineEnd).trim().equals("---")) {
+            return text;
+        }
+        int lineStart = firstLineEnd + 1;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            String line = text.substring(lineStart, lineEnd).trim();
+            if (line.equals("---") || line.equals("...")) {
+                return text.substring(Math.min(lineEnd + 1, text.length()));
+            }
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                String value = line.substring(colon + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1).replace("\\\"", "\"").replace("\\\\", "\\");
+                } else if (value.length() >= 2 && value.startsWith("'") && value.endsWith("'")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                frontMatter.putIfAbsent(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), value);
+            }
+            lineStart = lineEnd + 1;
+        }
+        // Unterminated: not front matter after all
+        frontMatter.clear();
+        return text;
+    }
+
+    /**
+     * Link targets in {@code content}, by their last path segment without
+     * extension, lower-cased.
+     */
+    static Set<String> links(String content) {
+        Set<String> links = new LinkedHashSet<>();
+        Matcher matcher = WIKI_LINK.matcher(content);
+        while (matcher.find()) {
+            String target = matcher.group(1).trim();
+            target = target.substring(target.lastIndexOf('/') + 1);
+            if (target.toLowerCase(Locale.ROOT).endsWith(".md")) {
+                target = target.substring(0, target.length() - 3);
+            }
+            if (!target.isBlank()) {
+                links.add(key(target));
+            }
+        }
+        return links;
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Regions and operations created by an import.
+     */
+    private record Created(List<Region> regions, List<Operation> operations) {
+    }
+
+    /**
+     * Put each wiki in the region named by its top-level folder and the
+     * operation named by the folder below, creating them when missing.
+     *
+     * @return What was created
+     */
+    private Created assignRegionsAndOperations(List<Note> notes) {
+        Created created = new Created(new ArrayList<>(), new ArrayList<>());
+        Map<String, String> regions = new HashMap<>();
+        for (Region region : regionRepository.findAll()) {
+            regions.put(key(region.getName()), region.getName());
+        }
+        Map<String, Long> operations = new HashMap<>();
+        for (Operation operation : operationRepository.findAll()) {
+            operations.putIfAbsent(key(operation.getRegion() + "/" + operation.getName()), operation.getId());
+        }
+
+        for (Note note : notes) {
+            if (note.folders().isEmpty()) {
+                continue;
+            }
+            String folder = note.folders().get(0);
+            String regionName = folder.length() > MAX_REGION ? folder.substring(0, MAX_REGION) : folder;
+            String region = regions.get(key(regionName));
+            if (region == null) {
+                String color = Region.DEFAULT_COLORS[created.regions().size() % Region.DEFAULT_COLORS.length];
+                Region saved = regionRepository.save(new Region(regionName, color, false));
+                created.regions().add(saved);
+                region = saved.getName();
+                regions.put(key(region), region);
+            }
+            note.wiki().setRegion(region);
+
+            if (note.folders().size() > 1) {
+                String name = note.folders().get(1);
+                String operationKey = key(region + "/" + name);
+                Long operationId = operations.get(operationKey);
+                if (operationId == null && !operations.containsKey(operationKey)) {
+                    try {
+                        Operation operation = new Operation(name);
+                        operation.setRegion(region);
+                        Operation saved = operationRepository.save(operation);
+                        created.operations().add(saved);
+                        operationId = saved.getId();
+                    } catch (RuntimeException e) {
+                        logger.warn("⚠️ Could not create operation for folder {}: {}", name, e.getMessage());
+                    }
+                    operations.put(operationKey, operationId);
+                }
+                note.wiki().setOperationId(operationId);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Delete the regions and operations this import created that no saved
+     * wiki uses.
+     */
+    private void removeUnused(Created created, List<Note> saved) {
+        Set<String> usedRegions = new HashSet<>();
+        Set<Long> usedOperations = new HashSet<>();
+        for (Note note : saved) {
+            usedRegions.add(note.wiki().getRegion());
+            usedOperations.add(note.wiki().getOperationId());
+        }
+        try {
+            for (Operation operation : created.operations()) {
+                if (!usedOperations.contains(operation.getId())) {
+                    operationRepository.delete(operation.getId());
+                }
+            }
+            for (Region region : created.regions()) {
+                if (!usedRegions.contains(region.getName())) {
+                    regionRepository.delete(region.getId());
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("✗ Failed to remove regions and operations of a failed import: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Store each saved wiki's links as ids.
+     *
+     * @return Number of links resolved
+     */
+    private int resolveLinks(List<Note> notes, Map<String, Long> targets) {
+        for (Note note : notes) {
+            targets.put(key(note.wiki().getTitle()), note.wiki().getId());
+        }
+        // File names win over titles, since that is what the links name
+        for (Note note : notes) {
+            targets.put(key(note.name()), note.wiki().getId());
+        }
+
+        int resolved = 0;
+        Map<Long, String> batch = new LinkedHashMap<>();
+        for (Note note : notes) {
+            Long id = note.wiki().getId();
+            List<Long> linked = note.links().stream()
+                    .map(targets::get)
+                    .filter(Objects::nonNull)
+                    .filter(target -> !target.equals(id))
+                    .distinct()
+                    .toList();
+            if (linked.isEmpty()) {
+                continue;
+            }
+            String ids = linked.stream().map(String::valueOf).collect(Collectors.joining(","));
+            note.wiki().setLinkedWikiIds(ids);
+            batch.put(id, ids);
+            resolved += linked.size();
+            if (batch.size() >= BATCH_SIZE) {
+                wikiRepository.updateLinkedWikiIds(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            wikiRepository.updateLinkedWikiIds(batch);
+        }
+        return resolved;
+    }
+
+    private void index(List<Wiki> wikis, List<JournalEntry> entries) {
+        try {
+            searchService.batch(() -> {
+                for (Wiki wiki : wikis) {
+                    searchService.indexWiki(wiki.getId(), wiki.getTitle(), wiki.getContent(), wiki.getRegion(),
+                            wiki.getOperationId(), wiki.getUpdatedAt());
+                }
+                for (JournalEntry entry : entries) {
+                    searchService.indexJournalEntry(entry.getId(), entry.getTitle(), entry.getContent(),
+                            entry.getDate().toString());
+                }
+            });
+        } catch (IOException e) {
+            logger.error("✗ Failed to index imported vault: {}", e.getMessage(), e);
+        }
+        wikis.forEach(duplicateService::onWikiSaved);
+        entries.forEach(duplicateService::onJournalEntrySaved);
+    }
+
+    private static <T> List<List<T>> batches(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += BATCH_SIZE) {
+            batches.add(items.subList(i, Math.min(items.size(), i + BATCH_SIZE)));
+        }
+        return batches;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
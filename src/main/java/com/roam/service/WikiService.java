@@ -26,6 +26,15 @@ public interface WikiService {
      */
     Wiki updateWiki(Wiki wiki);
 
+    /**
+     * Create the wikis without an id and update the others, all in one
+     * transaction, and index them with a single search commit.
+     * 
+     * @param wikis Wikis to save
+     * @return Saved wikis, in order
+     */
+    List<Wiki> saveWikis(List<Wiki> wikis);
+
     /**
      * Delete a wiki note by ID.
      * 
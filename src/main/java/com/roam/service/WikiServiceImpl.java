@@ -2,13 +2,16 @@ package com.roam.service;
 
 import com.roam.model.Wiki;
 import com.roam.repository.WikiRepository;
+import com.roam.util.FlightEvents;
 import com.roam.util.HibernateUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -19,15 +22,18 @@ public class WikiServiceImpl implements WikiService {
     private static final Logger logger = LoggerFactory.getLogger(WikiServiceImpl.class);
     private final WikiRepository repository;
     private final SearchService searchService;
+    private final DuplicateDetectionService duplicateDetectionService;
 
     public WikiServiceImpl() {
         this.repository = new WikiRepository();
         this.searchService = SearchService.getInstance();
+        this.duplicateDetectionService = DuplicateDetectionService.getInstance();
     }
 
     public WikiServiceImpl(WikiRepository repository, SearchService searchService) {
         this.repository = repository;
         this.searchService = searchService;
+        this.duplicateDetectionService = DuplicateDetectionService.getInstance();
     }
 
     @Override
@@ -36,6 +42,7 @@ public class WikiServiceImpl implements WikiService {
             throw new IllegalArgumentException("Wiki cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Wiki", "create");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -61,6 +68,7 @@ public class WikiServiceImpl implements WikiService {
             throw new RuntimeException("Failed to create wiki", e);
         } finally {
             em.close();
+            flightEvent.finish(wiki.getId());
         }
     }
 
@@ -70,6 +78,7 @@ public class WikiServiceImpl implements WikiService {
             throw new IllegalArgumentException("Wiki and ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Wiki", "update");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -95,15 +104,43 @@ public class WikiServiceImpl implements WikiService {
             throw new RuntimeException("Failed to update wiki", e);
         } finally {
             em.close();
+            flightEvent.finish(wiki.getId());
         }
     }
 
+    @Override
+    public List<Wiki> saveWikis(List<Wiki> wikis) {
+        if (wikis == null || wikis.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Wikis cannot be null");
+        }
+
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Wiki", "saveAll");
+        List<Wiki> saved;
+        try {
+            saved = repository.saveAll(wikis);
+            logger.info("✓ {} wikis saved", saved.size());
+        } catch (Exception e) {
+            logger.error("✗ Failed to save wikis: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save wikis", e);
+        } finally {
+            flightEvent.finish((Long) null);
+        }
+
+        try {
+            searchService.batch(() -> saved.forEach(this::indexWiki));
+        } catch (IOException e) {
+            logger.error("✗ Failed to index wikis: {}", e.getMessage(), e);
+        }
+        return saved;
+    }
+
     @Override
     public void deleteWiki(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("Wiki ID cannot be null");
         }
 
+        FlightEvents.ServiceOperation flightEvent = FlightEvents.serviceOperation("Wiki", "delete");
         EntityManager em = HibernateUtil.getEntityManager();
         EntityTransaction tx = null;
 
@@ -122,6 +159,8 @@ public class WikiServiceImpl implements WikiService {
             tx.commit();
 
             searchService.deleteDocument(id);
+            searchService.deleteAttachmentsOfWiki(id);
+            duplicateDetectionService.onWikiDeleted(id);
 
         } catch (Exception e) {
             if (tx != null && tx.isActive()) {
@@ -132,6 +171,7 @@ public class WikiServiceImpl implements WikiService {
             throw new RuntimeException("Failed to delete wiki", e);
         } finally {
             em.close();
+            flightEvent.finish(id);
         }
     }
 
@@ -252,5 +292,6 @@ public class WikiServiceImpl implements WikiService {
         } catch (Exception e) {
             logger.error("✗ Failed to index wiki: {}", e.getMessage(), e);
         }
+        duplicateDetectionService.onWikiSaved(wiki);
     }
 }
@@ -0,0 +1,122 @@
+package com.roam.util;
+
+import com.roam.service.DiagnosticsService;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs data queries for a view off the FX thread with latest-wins semantics.
+ * Queries run on the database executor of {@link ThreadPoolManager}.
+ *
+ * Each view owns one loader. Every {@link #load} supersedes the previous one:
+ * the older request is cancelled and, if its query still completes, its result
+ * is dropped, so a slow query can never overwrite newer data. Results and
+ * errors are delivered on the FX thread. {@link #loadingProperty()} is true
+ * while the latest request is running and can drive a loading indicator.
+ *
+ * Must be used from the FX thread.
+ */
+public class AsyncLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncLoader.class);
+
+    private final String name;
+    private final Executor executor;
+    private final Executor uiExecutor;
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(this, "loading", false);
+
+    private long generation;
+    private CompletableFuture<?> current;
+
+    /**
+     * @param name Name used in log messages (usually the view name)
+     */
+    public AsyncLoader(String name) {
+        this(name, ThreadPoolManager.getInstance().getDbExecutor(), Platform::runLater);
+    }
+
+    public AsyncLoader(String name, Executor executor, Executor uiExecutor) {
+        this.name = name;
+        this.executor = executor;
+        this.uiExecutor = uiExecutor;
+    }
+
+    /**
+     * Run {@code query} in the background and hand its result to
+     * {@code onSuccess} on the FX thread, unless a newer load was started in
+     * the meantime. Failures are logged and passed to {@code onError}.
+     *
+     * @return Future of the query result (cancelled if superseded)
+     */
+    public <T> CompletableFuture<T> load(Supplier<T> query, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        long requestGeneration = ++generation;
+        if (current != null) {
+            current.cancel(false);
+        }
+        loading.set(true);
+
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(
+                () -> DiagnosticsService.getInstance().track(name, query), executor);
+        current = future;
+
+        future.whenComplete((result, error) -> uiExecutor.execute(() -> {
+            if (requestGeneration != generation) {
+                logger.debug("Dropped superseded {} load", name);
+                return;
+            }
+            loading.set(false);
+            current = null;
+
+            if (error == null) {
+                onSuccess.accept(result);
+            } else if (!future.isCancelled()) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                logger.error("✗ Failed to load {}: {}", name, cause.getMessage(), cause);
+                if (onError != null) {
+                    onError.accept(cause);
+                }
+            }
+        }));
+
+        return future;
+    }
+
+    /**
+     * Same as {@link #load(Supplier, Consumer, Consumer)} with errors only
+     * logged.
+     */
+    public <T> CompletableFuture<T> load(Supplier<T> query, Consumer<T> onSuccess) {
+        return load(query, onSuccess, null);
+    }
+
+    /**
+     * Cancel the pending request, if any, and drop its result.
+     */
+    public void cancel() {
+        generation++;
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+        }
+        loading.set(false);
+    }
+
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    public boolean isLoading() {
+        return loading.get();
+    }
+}
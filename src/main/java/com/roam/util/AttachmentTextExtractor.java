@@ -0,0 +1,251 @@
+package com.roam.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Streams the text out of text-like attachments (plain text, Markdown, CSV,
+ * JSON, HTML, logs, source code) for the search index.
+ *
+ * The file is memory-mapped a window at a time and decoded straight from
+ * the mapping, so even very large logs are read without loading them whole.
+ * The charset comes from a byte-order mark, otherwise from whether the
+ * first {@value #SAMPLE_BYTES} bytes are valid UTF-8 (falling back to
+ * windows-1252). Text is handed out in chunks of about {@link #CHUNK_CHARS}
+ * characters, cut at whitespace, up to {@link #MAX_CHUNKS} per file. Markup
+ * tags are dropped from HTML and XML.
+ */
+public final class AttachmentTextExtractor {
+
+    public static final int CHUNK_CHARS = 32 * 1024;
+    public static final int MAX_CHUNKS = 256;
+    static final int WINDOW_BYTES = 4 * 1024 * 1024;
+    static final int SAMPLE_BYTES = 64 * 1024;
+
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    private static final Set<String> TEXT_EXTENSIONS = Set.of(
+            "txt", "text", "md", "markdown", "csv", "tsv", "json", "log", "yaml", "yml", "toml", "ini",
+            "properties", "cfg", "conf", "sql", "html", "htm", "xhtml", "xml",
+            "java", "kt", "scala", "groovy", "py", "rb", "js", "mjs", "ts", "tsx", "jsx", "c", "h", "cpp",
+            "hpp", "cc", "cs", "go", "rs", "swift", "php", "sh", "bat", "ps1", "css", "scss", "gradle");
+
+    private static final Set<String> MARKUP_EXTENSIONS = Set.of("html", "htm", "xhtml", "xml");
+
+    /**
+     * Receives each chunk of text, numbered from 0.
+     */
+    @FunctionalInterface
+    public interface ChunkSink {
+        void accept(int index, String text) throws IOException;
+    }
+
+    private AttachmentTextExtractor() {
+    }
+
+    /**
+     * Whether the attachment is worth extracting, judged by its extension
+     * or, failing that, a {@code text/*} MIME type.
+     */
+    public static boolean isTextLike(String fileName, String mimeType) {
+        String extension = extension(fileName);
+        if (TEXT_EXTENSIONS.contains(extension)) {
+            return true;
+        }
+        return mimeType != null && mimeType.startsWith("text/");
+    }
+
+    /**
+     * Extract the text of {@code file} into {@code sink}.
+     *
+     * @return Number of chunks produced; 0 for empty or binary files
+     */
+    public static int extract(Path file, ChunkSink sink) throws IOException {
+        return extract(file, sink, WINDOW_BYTES);
+    }
+
+    static int extract(Path file, ChunkSink sink, int windowBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+
+            ByteBuffer sample = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, SAMPLE_BYTES));
+            int bom = bomLength(sample);
+            Charset charset = bom > 0 ? bomCharset(sample) : detectCharset(sample);
+            if (charset == null) {
+                return 0; // Binary
+            }
+
+            CharsetDecoder decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            Chunker chunker = new Chunker(sink, MARKUP_EXTENSIONS.contains(extension(file.getFileName().toString())));
+            CharBuffer chars = CharBuffer.allocate(64 * 1024);
+
+            long position = bom;
+            while (position < size && !chunker.isFull()) {
+                long length = Math.min(windowBytes, size - position);
+                boolean last = position + length == size;
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                CoderResult result;
+                do {
+                    result = decoder.decode(window, chars, last);
+                    chars.flip();
+                    chunker.append(chars);
+                    chars.clear();
+                } while (result.isOverflow() && !chunker.isFull());
+
+                if (window.position() == 0) {
+                    break; // Window too small for a single character
+                }
+                // A character split across windows is decoded with the next one
+                position += window.position();
+            }
+            decoder.flush(chars);
+            chars.flip();
+            chunker.append(chars);
+            return chunker.finish();
+        }
+    }
+
+    /**
+     * UTF-8 if the sample decodes cleanly (ignoring a character cut off at
+     * its end), null if it looks binary, windows-1252 otherwise.
+     */
+    static Charset detectCharset(ByteBuffer sample) {
+        for (int i = sample.position(); i < sample.limit(); i++) {
+            if (sample.get(i) == 0) {
+                return null;
+            }
+        }
+        CharsetDecoder utf8 = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            ByteBuffer input = sample.duplicate();
+            CharBuffer output = CharBuffer.allocate(input.remaining());
+            CoderResult result = utf8.decode(input, output, false);
+            if (result.isError()) {
+                result.throwException();
+            }
+            return StandardCharsets.UTF_8;
+        } catch (CharacterCodingException e) {
+            return WINDOWS_1252;
+        }
+    }
+
+    private static int bomLength(ByteBuffer sample) {
+        if (sample.limit() >= 3 && (sample.get(0) & 0xFF) == 0xEF && (sample.get(1) & 0xFF) == 0xBB
+                && (sample.get(2) & 0xFF) == 0xBF) {
+            return 3;
+        }
+        if (sample.limit() >= 2 && ((sample.get(0) & 0xFF) == 0xFE && (sample.get(1) & 0xFF) == 0xFF
+                || (sample.get(0) & 0xFF) == 0xFF && (sample.get(1) & 0xFF) == 0xFE)) {
+            return 2;
+        }
+        return 0;
+    }
+
+    private static Charset bomCharset(ByteBuffer sample) {
+        if ((sample.get(0) & 0xFF) == 0xEF) {
+            return StandardCharsets.UTF_8;
+        }
+        return (sample.get(0) & 0xFF) == 0xFE ? StandardCharsets.UTF_16BE : StandardCharsets.UTF_16LE;
+    }
+
+    private static String extension(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Collects decoded text into chunks, cutting at whitespace and dropping
+     * markup tags.
+     */
+    private static final class Chunker {
+
+        private final ChunkSink sink;
+        private final boolean markup;
+        private final StringBuilder text = new StringBuilder(CHUNK_CHARS + 1024);
+        private boolean inTag;
+        private int count;
+
+        private Chunker(ChunkSink sink, boolean markup) {
+            this.sink = sink;
+            this.markup = markup;
+        }
+
+        private boolean isFull() {
+            return count >= MAX_CHUNKS;
+        }
+
+        private void append(CharBuffer chars) throws IOException {
+            while (chars.hasRemaining() && !isFull()) {
+                char c = chars.get();
+                if (markup) {
+                    if (c == '<') {
+                        inTag = true;
+                        continue;
+                    }
+                    if (inTag) {
+                        if (c == '>') {
+                            inTag = false;
+                            text.append(' ');
+                        }
+                        continue;
+                    }
+                }
+                text.append(c);
+                if (text.length() >= CHUNK_CHARS) {
+                    emit(cutPoint());
+                }
+            }
+        }
+
+        /**
+         * Last whitespace in the second half of the buffer, so words stay
+         * whole; the full buffer if there is none.
+         */
+        private int cutPoint() {
+            for (int i = text.length() - 1; i >= CHUNK_CHARS / 2; i--) {
+                if (Character.isWhitespace(text.charAt(i))) {
+                    return i + 1;
+                }
+            }
+            return text.length();
+        }
+
+        private void emit(int end) throws IOException {
+            String chunk = text.substring(0, end);
+            text.delete(0, end);
+            if (!chunk.isBlank()) {
+                sink.accept(count++, chunk);
+            }
+        }
+
+        private int finish() throws IOException {
+            if (!isFull() && !text.isEmpty()) {
+                emit(text.length());
+            }
+            return count;
+        }
+    }
+}
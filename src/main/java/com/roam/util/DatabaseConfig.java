@@ -16,9 +16,11 @@ import java.util.Properties;
  * or a properties file outside version control.
  * 
  * Priority order:
- * 1. Environment variables (DB_USER, DB_PASSWORD)
- * 2. User home config file (~/.roam/database.properties)
- * 3. Fallback defaults (for development only)
+ * 1. System properties (roam.db.url, roam.db.user, roam.db.password), used by
+ * benchmarks and tests to run against an in-memory database
+ * 2. Environment variables (DB_USER, DB_PASSWORD)
+ * 3. User home config file (~/.roam/database.properties)
+ * 4. Fallback defaults (for development only)
  */
 public class DatabaseConfig {
 
@@ -34,13 +36,22 @@ public class DatabaseConfig {
     private static DatabaseConfig instance;
 
     private DatabaseConfig() {
-        // Try environment variables first (highest priority)
+        // System properties override everything (benchmarks and tests)
+        String propUrl = System.getProperty("roam.db.url");
+
+        // Then environment variables
         String envUser = System.getenv("ROAM_DB_USER");
         String envPassword = System.getenv("ROAM_DB_PASSWORD");
         String envUrl = System.getenv("ROAM_DB_URL");
         String envDriver = System.getenv("ROAM_DB_DRIVER");
 
-        if (envUser != null && envPassword != null) {
+        if (propUrl != null) {
+            this.username = System.getProperty("roam.db.user", "sa");
+            this.password = System.getProperty("roam.db.password", "");
+            this.jdbcUrl = propUrl;
+            this.driver = System.getProperty("roam.db.driver", "org.h2.Driver");
+            logger.info("✓ Database configuration loaded from system properties");
+        } else if (envUser != null && envPassword != null) {
             this.username = envUser;
             this.password = envPassword;
             this.jdbcUrl = envUrl != null ? envUrl : getDefaultJdbcUrl();
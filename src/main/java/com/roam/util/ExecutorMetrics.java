@@ -0,0 +1,293 @@
+package com.roam.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters, gauges and latency histograms for one executor.
+ *
+ * Tasks are wrapped with {@link #wrap(Runnable, String, boolean)}, which
+ * records how long each task waited before it started and how long it ran.
+ * Tasks running longer than the slow-task threshold are logged as warnings.
+ */
+public class ExecutorMetrics implements ExecutorMetricsMBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorMetrics.class);
+
+    public static final long DEFAULT_SLOW_TASK_THRESHOLD_MS = 2000;
+
+    private final String name;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder slowTasks = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    private volatile long slowTaskThresholdMillis = DEFAULT_SLOW_TASK_THRESHOLD_MS;
+
+    public ExecutorMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Wrap a task so its queue wait and run time are recorded.
+     *
+     * @param task        Task to run
+     * @param description Name used in slow-task warnings
+     * @param measureWait Whether time until start counts as queue wait
+     *                    (false for delayed and periodic tasks)
+     * @return Instrumented task; call {@link #recordRejected(Runnable)} if it
+     *         cannot be submitted
+     */
+    public Runnable wrap(Runnable task, String description, boolean measureWait) {
+        long submittedAt = System.nanoTime();
+        submitted.increment();
+        queued.incrementAndGet();
+        return new InstrumentedTask(task, description, measureWait, submittedAt, false);
+    }
+
+    /**
+     * Wrap a task that runs repeatedly, such as one from
+     * {@code scheduleAtFixedRate}. Every execution counts as a submitted
+     * task, and between executions the task counts as queued.
+     */
+    public Runnable wrapPeriodic(Runnable task, String description) {
+        submitted.increment();
+        queued.incrementAndGet();
+        return new InstrumentedTask(task, description, false, System.nanoTime(), true);
+    }
+
+    /**
+     * Record that a wrapped delayed or periodic task was cancelled, so it no
+     * longer counts as queued.
+     */
+    public void recordCancelled(Runnable wrapped) {
+        if (wrapped instanceof InstrumentedTask instrumented) {
+            instrumented.cancelled = true;
+            if (instrumented.claimQueued()) {
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Record that a wrapped task was rejected by the executor.
+     */
+    public void recordRejected(Runnable wrapped) {
+        rejected.increment();
+        if (wrapped instanceof InstrumentedTask instrumented && instrumented.claimQueued()) {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * One-line summary for logs.
+     */
+    public String summary() {
+        return String.format(
+                "%s: submitted=%d completed=%d failed=%d rejected=%d slow=%d active=%d queued=%d "
+                        + "wait p50/p95/p99=%.1f/%.1f/%.1f ms run p50/p95/p99/max=%.1f/%.1f/%.1f/%.1f ms",
+                name, getSubmittedCount(), getCompletedCount(), getFailedCount(), getRejectedCount(),
+                getSlowTaskCount(), getActiveCount(), getQueuedCount(),
+                getWaitTimeP50Millis(), getWaitTimeP95Millis(), getWaitTimeP99Millis(),
+                getRunTimeP50Millis(), getRunTimeP95Millis(), getRunTimeP99Millis(), getRunTimeMaxMillis());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public long getSlowTaskCount() {
+        return slowTasks.sum();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    @Override
+    public double getWaitTimeP50Millis() {
+        return waitTime.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getWaitTimeP95Millis() {
+        return waitTime.getPercentileMillis(95);
+    }
+
+    @Override
+    public double getWaitTimeP99Millis() {
+        return waitTime.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getRunTimeMeanMillis() {
+        return runTime.getMeanMillis();
+    }
+
+    @Override
+    public double getRunTimeP50Millis() {
+        return runTime.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getRunTimeP95Millis() {
+        return runTime.getPercentileMillis(95);
+    }
+
+    @Override
+    public double getRunTimeP99Millis() {
+        return runTime.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getRunTimeMaxMillis() {
+        return runTime.getMaxMillis();
+    }
+
+    @Override
+    public long getSlowTaskThresholdMillis() {
+        return slowTaskThresholdMillis;
+    }
+
+    @Override
+    public void setSlowTaskThresholdMillis(long thresholdMillis) {
+        this.slowTaskThresholdMillis = Math.max(1, thresholdMillis);
+    }
+
+    @Override
+    public void reset() {
+        submitted.reset();
+        completed.reset();
+        failed.reset();
+        rejected.reset();
+        slowTasks.reset();
+        waitTime.reset();
+        runTime.reset();
+    }
+
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    public LatencyHistogram getRunTime() {
+        return runTime;
+    }
+
+    private final class InstrumentedTask implements Runnable {
+
+        private final Runnable task;
+        private final String description;
+        private final boolean measureWait;
+        private final long submittedAt;
+        private final boolean periodic;
+        private final AtomicBoolean inQueue = new AtomicBoolean(true);
+        private volatile boolean cancelled;
+
+        private InstrumentedTask(Runnable task, String description, boolean measureWait, long submittedAt,
+                boolean periodic) {
+            this.task = task;
+            this.description = description;
+            this.measureWait = measureWait;
+            this.submittedAt = submittedAt;
+            this.periodic = periodic;
+        }
+
+        private boolean claimQueued() {
+            return inQueue.compareAndSet(true, false);
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            if (claimQueued()) {
+                queued.decrementAndGet();
+            }
+            if (measureWait) {
+                waitTime.record(start - submittedAt);
+            }
+            active.incrementAndGet();
+            boolean success = false;
+            try {
+                task.run();
+                // Tasks from submit() catch their own exceptions
+                success = !(task instanceof Future<?> future) || future.state() != Future.State.FAILED;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                active.decrementAndGet();
+                runTime.record(elapsed);
+                if (success) {
+                    completed.increment();
+                } else {
+                    failed.increment();
+                }
+
+                long elapsedMillis = elapsed / 1_000_000;
+                if (elapsedMillis >= slowTaskThresholdMillis) {
+                    slowTasks.increment();
+                    logger.warn("⚠️ Slow task in {} pool: {} took {} ms", name, description, elapsedMillis);
+                }
+                // A periodic task that threw is not run again
+                if (periodic && success) {
+                    requeue();
+                }
+            }
+        }
+
+        /**
+         * Count the next execution of a periodic task as queued. Re-checks
+         * cancellation afterwards, so a cancel that raced with this run
+         * still takes the task off the gauge exactly once.
+         */
+        private void requeue() {
+            submitted.increment();
+            queued.incrementAndGet();
+            inQueue.set(true);
+            if (cancelled && claimQueued()) {
+                queued.decrementAndGet();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.roam.util;
+
+/**
+ * JMX view of {@link ExecutorMetrics}, registered as
+ * {@code com.roam:type=Executor,name=<pool>}.
+ */
+public interface ExecutorMetricsMBean {
+
+    String getName();
+
+    long getSubmittedCount();
+
+    long getCompletedCount();
+
+    long getFailedCount();
+
+    long getRejectedCount();
+
+    long getSlowTaskCount();
+
+    int getActiveCount();
+
+    int getQueuedCount();
+
+    double getWaitTimeP50Millis();
+
+    double getWaitTimeP95Millis();
+
+    double getWaitTimeP99Millis();
+
+    double getRunTimeMeanMillis();
+
+    double getRunTimeP50Millis();
+
+    double getRunTimeP95Millis();
+
+    double getRunTimeP99Millis();
+
+    double getRunTimeMaxMillis();
+
+    long getSlowTaskThresholdMillis();
+
+    void setSlowTaskThresholdMillis(long thresholdMillis);
+
+    void reset();
+}
@@ -6,7 +6,12 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.roam.model.CalendarEvent;
 import com.roam.model.JournalEntry;
 import com.roam.model.Operation;
+import com.roam.model.Settings;
 import com.roam.model.Wiki;
+import com.roam.service.ArchiveExportService;
+import com.roam.service.SettingsService;
+import com.roam.service.SiteExportService;
+import javafx.concurrent.Task;
 import javafx.stage.FileChooser;
 import javafx.stage.Window;
 import org.slf4j.Logger;
@@ -15,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
@@ -89,6 +95,80 @@ public class ExportUtils {
         }
     }
 
+    /**
+     * Export every wiki and journal entry, with attachments, into one ZIP
+     * archive in the background; see {@link ArchiveExportService}.
+     */
+    public static void exportArchive(Window owner) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Archive");
+        fileChooser.setInitialFileName("roam-export-" + LocalDate.now() + ".zip");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("ZIP Archives", "*.zip"));
+
+        File file = fileChooser.showSaveDialog(owner);
+        if (file == null) {
+            return;
+        }
+
+        Task<ArchiveExportService.ExportResult> exportTask = new Task<>() {
+            @Override
+            protected ArchiveExportService.ExportResult call() throws IOException {
+                return new ArchiveExportService().exportTo(file.toPath());
+            }
+        };
+        exportTask.setOnSucceeded(event -> {
+            ArchiveExportService.ExportResult result = exportTask.getValue();
+            DialogUtils.showSuccess(result.wikis() + " wikis, " + result.journalEntries() + " journals and "
+                    + result.attachments() + " attachments exported to " + file.getName());
+        });
+        exportTask.setOnFailed(event -> {
+            Throwable error = exportTask.getException();
+            logger.error("Failed to export archive: {} - {}", file.getName(), error.getMessage(), error);
+            DialogUtils.showError("Export Error", "Failed to save file", error.getMessage());
+        });
+        ThreadPoolManager.getInstance().submitIoTask(exportTask);
+    }
+
+    /**
+     * Publish the wiki as a static HTML site in the background. Publishing
+     * to the same folder again only renders what changed; see
+     * {@link SiteExportService}.
+     */
+    public static void exportSite(Window owner) {
+        Settings settings = SettingsService.getInstance().getSettings();
+        javafx.stage.DirectoryChooser dirChooser = new javafx.stage.DirectoryChooser();
+        dirChooser.setTitle("Select Site Folder");
+        File previous = new File(settings.getSiteExportDir() != null ? settings.getSiteExportDir() : "");
+        if (previous.isDirectory()) {
+            dirChooser.setInitialDirectory(previous);
+        }
+
+        File dir = dirChooser.showDialog(owner);
+        if (dir == null) {
+            return;
+        }
+        settings.setSiteExportDir(dir.getPath());
+        SettingsService.getInstance().saveSettings();
+
+        Task<SiteExportService.ExportResult> exportTask = new Task<>() {
+            @Override
+            protected SiteExportService.ExportResult call() throws IOException {
+                return new SiteExportService().export(dir.toPath());
+            }
+        };
+        exportTask.setOnSucceeded(event -> {
+            SiteExportService.ExportResult result = exportTask.getValue();
+            DialogUtils.showSuccess("Site published to " + dir.getPath() + "\n" + result.rendered()
+                    + " page(s) rendered, " + result.unchanged() + " unchanged, " + result.removed() + " removed.");
+        });
+        exportTask.setOnFailed(event -> {
+            Throwable error = exportTask.getException();
+            logger.error("Failed to publish site: {} - {}", dir.getPath(), error.getMessage(), error);
+            DialogUtils.showError("Export Error", "Failed to publish site", error.getMessage());
+        });
+        ThreadPoolManager.getInstance().submitIoTask(exportTask);
+    }
+
     public static void exportEventsToICS(Window owner, List<CalendarEvent> events) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Export Events");
@@ -0,0 +1,212 @@
+package com.roam.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Custom Java Flight Recorder events for Roam.
+ *
+ * Events appear under the "Roam" category in JDK Mission Control. When no
+ * recording is running, JFR disables them and each instrumented call costs
+ * little more than an object allocation, so the instrumentation stays in
+ * production builds. Usage:
+ *
+ * <pre>
+ * FlightEvents.ServiceOperation event = FlightEvents.serviceOperation("Wiki", "create");
+ * try {
+ *     ...
+ * } finally {
+ *     event.finish(wiki.getId());
+ * }
+ * </pre>
+ */
+public final class FlightEvents {
+
+    private static final String CATEGORY = "Roam";
+
+    private FlightEvents() {
+    }
+
+    @Name("com.roam.ServiceOperation")
+    @Label("Service Operation")
+    @Description("Create, update or delete through a service")
+    @Category({ CATEGORY, "Service" })
+    public static class ServiceOperation extends Event {
+
+        @Label("Entity Type")
+        String entityType;
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Entity ID")
+        long entityId;
+
+        public void finish(Long id) {
+            end();
+            if (shouldCommit()) {
+                entityId = id != null ? id : -1;
+                commit();
+            }
+        }
+    }
+
+    @Name("com.roam.Query")
+    @Label("Database Query")
+    @Description("HQL/JPQL query executed through a repository")
+    @Category({ CATEGORY, "Database" })
+    @StackTrace(false)
+    public static class Query extends Event {
+
+        @Label("Entity Type")
+        String entityType;
+
+        @Label("Query")
+        String query;
+
+        @Label("Rows")
+        int rows;
+
+        @Label("Execution Time")
+        @Timespan(Timespan.MILLISECONDS)
+        long executionTime;
+    }
+
+    @Name("com.roam.Search")
+    @Label("Search Index Operation")
+    @Description("Lucene index update, commit or query")
+    @Category({ CATEGORY, "Search" })
+    public static class Search extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Document Type")
+        String documentType;
+
+        @Label("Query")
+        String query;
+
+        @Label("Result Count")
+        int resultCount;
+
+        public void finish(int count) {
+            end();
+            if (shouldCommit()) {
+                resultCount = count;
+                commit();
+            }
+        }
+    }
+
+    @Name("com.roam.MarkdownRender")
+    @Label("Markdown Render")
+    @Description("Wiki-link processing and CommonMark rendering to HTML")
+    @Category({ CATEGORY, "UI" })
+    public static class MarkdownRender extends Event {
+
+        @Label("Source")
+        String source;
+
+        @Label("Markdown Length")
+        @DataAmount(DataAmount.BYTES)
+        long inputLength;
+
+        @Label("HTML Length")
+        @DataAmount(DataAmount.BYTES)
+        long outputLength;
+
+        public void finish(String html) {
+            end();
+            if (shouldCommit()) {
+                outputLength = html != null ? html.length() : 0;
+                commit();
+            }
+        }
+    }
+
+    @Name("com.roam.ViewConstruction")
+    @Label("View Construction")
+    @Description("Building a view and its controller")
+    @Category({ CATEGORY, "UI" })
+    public static class ViewConstruction extends Event {
+
+        @Label("View")
+        String view;
+
+        public void finish() {
+            end();
+            commit();
+        }
+    }
+
+    public static ServiceOperation serviceOperation(String entityType, String operation) {
+        ServiceOperation event = new ServiceOperation();
+        event.entityType = entityType;
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public static Search search(String operation, String documentType, String query) {
+        Search event = new Search();
+        event.operation = operation;
+        event.documentType = documentType;
+        event.query = query;
+        event.begin();
+        return event;
+    }
+
+    public static MarkdownRender markdownRender(String source, String markdown) {
+        MarkdownRender event = new MarkdownRender();
+        event.source = source;
+        event.inputLength = markdown != null ? markdown.length() : 0;
+        event.begin();
+        return event;
+    }
+
+    public static ViewConstruction viewConstruction(String view) {
+        ViewConstruction event = new ViewConstruction();
+        event.view = view;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Record a query that has already completed (Hibernate reports queries
+     * after execution).
+     */
+    public static void queryExecuted(String query, int rows, long executionMillis) {
+        Query event = new Query();
+        if (event.isEnabled()) {
+            event.entityType = entityType(query);
+            event.query = query;
+            event.rows = rows;
+            event.executionTime = executionMillis;
+            event.commit();
+        }
+    }
+
+    /**
+     * Entity name after the first FROM in a query, or null.
+     */
+    static String entityType(String query) {
+        if (query == null) {
+            return null;
+        }
+        String[] tokens = query.trim().split("\\s+");
+        for (int i = 0; i < tokens.length - 1; i++) {
+            if (tokens[i].equalsIgnoreCase("from")) {
+                String entity = tokens[i + 1];
+                return entity.substring(entity.lastIndexOf('.') + 1);
+            }
+        }
+        return null;
+    }
+}
@@ -1,19 +1,29 @@
 package com.roam.util;
 
+import com.roam.service.DiagnosticsService;
+import com.roam.service.FlightRecordingService;
+import com.roam.service.SettingsService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.StatisticsSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class HibernateUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(HibernateUtil.class);
     private static volatile EntityManagerFactory entityManagerFactory;
     private static final String PERSISTENCE_UNIT_NAME = "roam-pu";
+    private static final List<Consumer<String>> statementListeners = new CopyOnWriteArrayList<>();
 
     // Private constructor to prevent instantiation
     private HibernateUtil() {
@@ -45,12 +55,22 @@ public class HibernateUtil {
                         }
 
                         // Override persistence.xml properties with runtime values
-                        Map<String, String> properties = new HashMap<>();
+                        Map<String, Object> properties = new HashMap<>();
                         properties.put("jakarta.persistence.jdbc.driver", dbConfig.getDriver());
                         properties.put("jakarta.persistence.jdbc.url", dbConfig.getJdbcUrl());
                         properties.put("jakarta.persistence.jdbc.user", dbConfig.getUsername());
                         properties.put("jakarta.persistence.jdbc.password", dbConfig.getPassword());
 
+                        // Query diagnostics (Settings > Diagnostics)
+                        DiagnosticsService diagnostics = DiagnosticsService.getInstance();
+                        diagnostics.setEnabled(SettingsService.getInstance().getSettings().isDiagnosticsEnabled());
+                        properties.put(StatisticsSettings.STATS_BUILDER, diagnostics.statisticsFactory());
+                        properties.put(StatisticsSettings.GENERATE_STATISTICS,
+                                String.valueOf(diagnostics.isEnabled()));
+                        FlightRecordingService.watchIfRunning(); // Reports queries to JFR while recording
+
+                        properties.put(JdbcSettings.STATEMENT_INSPECTOR, (StatementInspector) HibernateUtil::inspect);
+
                         entityManagerFactory = Persistence.createEntityManagerFactory(
                                 PERSISTENCE_UNIT_NAME,
                                 properties);
@@ -66,6 +86,26 @@ public class HibernateUtil {
         return entityManagerFactory;
     }
 
+    /**
+     * Call {@code listener} with every SQL statement before it runs, on the
+     * thread running it. Listeners run on the query path, so keep them cheap.
+     * Can be added at any time, before or after Hibernate starts.
+     */
+    public static void addStatementListener(Consumer<String> listener) {
+        statementListeners.add(listener);
+    }
+
+    public static void removeStatementListener(Consumer<String> listener) {
+        statementListeners.remove(listener);
+    }
+
+    private static String inspect(String sql) {
+        for (Consumer<String> listener : statementListeners) {
+            listener.accept(sql);
+        }
+        return sql;
+    }
+
     /**
      * Get a new EntityManager instance
      */
@@ -0,0 +1,304 @@
+package com.roam.util;
+
+import biweekly.util.DateTimeComponents;
+import biweekly.util.Duration;
+import com.github.mangstadt.vinnie.VObjectProperty;
+import com.github.mangstadt.vinnie.io.Context;
+import com.github.mangstadt.vinnie.io.SyntaxRules;
+import com.github.mangstadt.vinnie.io.VObjectDataAdapter;
+import com.github.mangstadt.vinnie.io.VObjectReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Streams the VEVENTs out of an iCalendar file one at a time, so calendars
+ * with tens of thousands of events are imported without holding them all.
+ *
+ * Built on the vinnie parser underneath biweekly, which unfolds lines and
+ * decodes parameters; date values are parsed with biweekly. Times with a
+ * TZID or in UTC are converted to the local zone, floating times are taken
+ * as they are, and DATE values make an all-day event ending at 23:59:59 of
+ * its last day, as the event dialog does. RRULE is kept verbatim and EXDATEs
+ * are normalized to local iCalendar form.
+ */
+public final class IcsEventReader {
+
+    static final DateTimeFormatter ICS_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    static final DateTimeFormatter ICS_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String UNTITLED = "Untitled event";
+
+    /**
+     * One VEVENT. {@code recurrenceId} is set on an occurrence that overrides
+     * part of a recurring series.
+     */
+    public record IcsEvent(String uid, LocalDateTime recurrenceId, String summary, String description,
+            String location, LocalDateTime start, LocalDateTime end, boolean allDay, String recurrenceRule,
+            LocalDateTime recurrenceEnd, String exdates) {
+
+        /**
+         * Identifies the event across imports: the UID, plus the
+         * RECURRENCE-ID for an overridden occurrence.
+         */
+        public String key() {
+            return recurrenceId == null ? uid : uid + "/" + recurrenceId.format(ICS_DATE_TIME);
+        }
+
+        /**
+         * SHA-256 over every imported field, to tell whether an event changed
+         * since it was last imported.
+         */
+        public String fingerprint() {
+            MessageDigest digest = sha256();
+            for (Object field : new Object[] { key(), summary, description, location, start, end, allDay,
+                    recurrenceRule, recurrenceEnd, exdates }) {
+                digest.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    /**
+     * Receives each event in file order.
+     */
+    @FunctionalInterface
+    public interface EventSink {
+        void accept(IcsEvent event) throws IOException;
+    }
+
+    private IcsEventReader() {
+    }
+
+    /**
+     * Parse every VEVENT in {@code reader} into {@code sink}.
+     *
+     * @return Number of events skipped for lacking a UID or a usable DTSTART
+     */
+    public static int read(Reader reader, EventSink sink) throws IOException {
+        Listener listener = new Listener(sink);
+        try (VObjectReader parser = new VObjectReader(reader, SyntaxRules.iCalendar())) {
+            parser.parse(listener);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return listener.skipped;
+    }
+
+    private static final class Listener extends VObjectDataAdapter {
+
+        private final EventSink sink;
+        private List<VObjectProperty> properties;
+        private int depth; // Nesting below the VEVENT, e.g. VALARM
+        private int skipped;
+
+        private Listener(EventSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void onComponentBegin(String name, Context context) {
+            if (properties != null) {
+                depth++;
+            } else if ("VEVENT".equalsIgnoreCase(name)) {
+                properties = new ArrayList<>();
+            }
+        }
+
+        @Override
+        public void onComponentEnd(String name, Context context) {
+            if (properties == null) {
+                return;
+            }
+            if (depth > 0) {
+                depth--;
+                return;
+            }
+            IcsEvent event = toEvent(properties);
+            properties = null;
+            if (event == null) {
+                skipped++;
+                return;
+            }
+            try {
+                sink.accept(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void onProperty(VObjectProperty property, Context context) {
+            if (properties != null && depth == 0) {
+                properties.add(property);
+            }
+        }
+    }
+
+    private static IcsEvent toEvent(List<VObjectProperty> properties) {
+        String uid = null;
+        String summary = null;
+        String description = null;
+        String location = null;
+        String rrule = null;
+        VObjectProperty dtStart = null;
+        VObjectProperty dtEnd = null;
+        VObjectProperty duration = null;
+        VObjectProperty recurrenceId = null;
+        List<VObjectProperty> exdates = new ArrayList<>();
+
+        for (VObjectProperty property : properties) {
+            String value = property.getValue();
+            switch (property.getName().toUpperCase()) {
+                case "UID" -> uid = value;
+                case "SUMMARY" -> summary = unescape(value);
+                case "DESCRIPTION" -> description = unescape(value);
+                case "LOCATION" -> location = unescape(value);
+                case "RRULE" -> rrule = value;
+                case "DTSTART" -> dtStart = property;
+                case "DTEND" -> dtEnd = property;
+                case "DURATION" -> duration = property;
+                case "RECURRENCE-ID" -> recurrenceId = property;
+                case "EXDATE" -> exdates.add(property);
+                default -> {
+                }
+            }
+        }
+        if (uid == null || uid.isBlank() || dtStart == null) {
+            return null;
+        }
+
+        try {
+            boolean allDay = isDate(dtStart);
+            LocalDateTime start = toLocal(dtStart, dtStart.getValue());
+            LocalDateTime end;
+            if (allDay) {
+                // DTEND is exclusive for dates; the app stores the last day inclusively
+                LocalDate lastDay = dtEnd != null ? toLocal(dtEnd, dtEnd.getValue()).toLocalDate().minusDays(1)
+                        : start.toLocalDate();
+                end = (lastDay.isBefore(start.toLocalDate()) ? start.toLocalDate() : lastDay).atTime(23, 59, 59);
+            } else if (dtEnd != null) {
+                end = toLocal(dtEnd, dtEnd.getValue());
+            } else if (duration != null) {
+                end = start.plusSeconds(Duration.parse(duration.getValue()).toMillis() / 1000);
+            } else {
+                end = start;
+            }
+
+            return new IcsEvent(uid.trim(),
+                    recurrenceId != null ? toLocal(recurrenceId, recurrenceId.getValue()) : null,
+                    summary == null || summary.isBlank() ? UNTITLED : truncate(summary, 255),
+                    description,
+                    location != null ? truncate(location, 255) : null,
+                    start, end.isBefore(start) ? start : end, allDay, rrule, recurrenceEnd(rrule),
+                    exdates(exdates));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * UNTIL of the rule in local time, or null.
+     */
+    private static LocalDateTime recurrenceEnd(String rrule) {
+        if (rrule == null) {
+            return null;
+        }
+        for (String part : rrule.split(";")) {
+            if (part.regionMatches(true, 0, "UNTIL=", 0, 6)) {
+                return toLocal(null, part.substring(6));
+            }
+        }
+        return null;
+    }
+
+    private static String exdates(List<VObjectProperty> properties) {
+        List<String> values = new ArrayList<>();
+        for (VObjectProperty property : properties) {
+            boolean date = isDate(property);
+            for (String value : property.getValue().split(",")) {
+                if (!value.isBlank()) {
+                    LocalDateTime local = toLocal(property, value.trim());
+                    values.add(date ? local.toLocalDate().format(ICS_DATE) : local.format(ICS_DATE_TIME));
+                }
+            }
+        }
+        return values.isEmpty() ? null : String.join(",", values);
+    }
+
+    private static boolean isDate(VObjectProperty property) {
+        String type = property.getParameters().first("VALUE");
+        if (type != null) {
+            return "DATE".equalsIgnoreCase(type);
+        }
+        return !property.getValue().contains("T");
+    }
+
+    /**
+     * A DATE or DATE-TIME value in the local zone.
+     */
+    static LocalDateTime toLocal(VObjectProperty property, String value) {
+        DateTimeComponents components = DateTimeComponents.parse(value.trim());
+        LocalDateTime time = LocalDateTime.of(components.getYear(), components.getMonth(), components.getDate(),
+                components.getHour(), components.getMinute(), components.getSecond());
+        if (!components.hasTime()) {
+            return time;
+        }
+        if (components.isUtc()) {
+            return time.atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        String tzid = property != null ? property.getParameters().first("TZID") : null;
+        if (tzid != null) {
+            try {
+                ZoneId zone = ZoneId.of(tzid.startsWith("/") ? tzid.substring(1) : tzid);
+                return time.atZone(zone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            } catch (DateTimeException e) {
+                // Custom VTIMEZONE names: treat as floating time
+            }
+        }
+        return time;
+    }
+
+    static String unescape(String value) {
+        if (value == null || value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                sb.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
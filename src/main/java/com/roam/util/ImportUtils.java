@@ -3,14 +3,17 @@ package com.roam.util;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.roam.model.CalendarEvent;
 import com.roam.model.JournalEntry;
 import com.roam.model.Operation;
 import com.roam.model.Wiki;
-import com.roam.repository.CalendarEventRepository;
 import com.roam.repository.JournalEntryRepository;
 import com.roam.repository.OperationRepository;
 import com.roam.repository.WikiRepository;
+import com.roam.service.DuplicateDetectionService;
+import com.roam.service.IcsImportService;
+import com.roam.service.VaultImportService;
+import javafx.concurrent.Task;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Window;
 import org.slf4j.Logger;
@@ -22,79 +25,109 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class ImportUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(ImportUtils.class);
-    private static final DateTimeFormatter ICS_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
 
-    public static List<Wiki> importNotesFromMarkdown(Window owner) {
+    /**
+     * Import Markdown files as wikis in the background. Files that look like
+     * existing wikis are offered in one confirmation dialog first.
+     */
+    public static void importNotesFromMarkdown(Window owner) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Import Wikis");
         fileChooser.getExtensionFilters().add(
                 new FileChooser.ExtensionFilter("Markdown Files", "*.md"));
 
         List<File> files = fileChooser.showOpenMultipleDialog(owner);
-        List<Wiki> importedNotes = new ArrayList<>();
-
-        if (files != null && !files.isEmpty()) {
-            WikiRepository WikiRepository = new WikiRepository();
-            int successCount = 0;
-            int errorCount = 0;
-
-            for (File file : files) {
-                try {
-                    Wiki Wiki = parseMarkdownFile(file);
-                    if (Wiki != null) {
-                        WikiRepository.save(Wiki);
-                        importedNotes.add(Wiki);
-                        successCount++;
-                    }
-                } catch (IOException e) {
-                    errorCount++;
-                    logger.error("Failed to import: {} - {}", file.getName(), e.getMessage(), e);
-                }
-            }
-
-            showImportResult(successCount, errorCount, "Wiki(s)");
+        if (files == null || files.isEmpty()) {
+            return;
         }
 
-        return importedNotes;
+        WikiRepository WikiRepository = new WikiRepository();
+        DuplicateDetectionService duplicateService = DuplicateDetectionService.getInstance();
+        importWithDuplicateCheck(files, ImportUtils::parseMarkdownFile,
+                Wiki -> duplicateService.findSimilarWikis(Wiki.getContent()),
+                Wiki -> duplicateService.onWikiSaved(WikiRepository.save(Wiki)),
+                "wikis", "Wiki(s)");
     }
 
-    public static List<CalendarEvent> importEventsFromICS(Window owner) {
+    /**
+     * Import an iCalendar file in the background. Events imported before
+     * are updated in place, matched by UID; see {@link IcsImportService}.
+     */
+    public static void importEventsFromICS(Window owner) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Import Events");
         fileChooser.getExtensionFilters().add(
                 new FileChooser.ExtensionFilter("iCalendar Files", "*.ics"));
 
         File file = fileChooser.showOpenDialog(owner);
-        List<CalendarEvent> importedEvents = new ArrayList<>();
-
-        if (file != null) {
-            CalendarEventRepository eventRepository = new CalendarEventRepository();
-            int successCount = 0;
-            int errorCount = 0;
+        if (file == null) {
+            return;
+        }
 
-            try {
-                List<CalendarEvent> events = parseICSFile(file);
-                for (CalendarEvent event : events) {
-                    eventRepository.save(event);
-                    importedEvents.add(event);
-                    successCount++;
-                }
-            } catch (IOException e) {
-                errorCount++;
-                logger.error("Failed to import events: {} - {}", file.getName(), e.getMessage(), e);
+        Task<IcsImportService.ImportResult> importTask = new Task<>() {
+            @Override
+            protected IcsImportService.ImportResult call() throws IOException {
+                return new IcsImportService().importFile(file.toPath());
             }
+        };
+        importTask.setOnSucceeded(event -> {
+            IcsImportService.ImportResult result = importTask.getValue();
+            DialogUtils.showSuccess(result.added() + " event(s) added, " + result.updated() + " updated, "
+                    + result.unchanged() + " unchanged."
+                    + (result.skipped() > 0 ? "\n" + result.skipped() + " event(s) could not be read." : ""));
+        });
+        importTask.setOnFailed(event -> {
+            Throwable error = importTask.getException();
+            logger.error("Failed to import events: {} - {}", file.getName(), error.getMessage(), error);
+            DialogUtils.showError("Import Error", "No events imported", error.getMessage());
+        });
+        ThreadPoolManager.getInstance().submitIoTask(importTask);
+    }
 
-            showImportResult(successCount, errorCount, "Event(s)");
+    /**
+     * Import a whole folder of Markdown notes, such as an Obsidian vault, in
+     * the background; see {@link VaultImportService}.
+     */
+    public static void importVault(Window owner) {
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setTitle("Import Markdown Vault");
+
+        File directory = directoryChooser.showDialog(owner);
+        if (directory == null) {
+            return;
         }
 
-        return importedEvents;
+        Task<VaultImportService.ImportResult> importTask = new Task<>() {
+            @Override
+            protected VaultImportService.ImportResult call() throws IOException {
+                return new VaultImportService().importVault(directory.toPath());
+            }
+        };
+        importTask.setOnSucceeded(event -> {
+            VaultImportService.ImportResult result = importTask.getValue();
+            DialogUtils.showSuccess(result.wikis() + " wiki(s) and " + result.journalEntries()
+                    + " journal entry(s) imported, " + result.links() + " link(s) resolved."
+                    + (result.skipped() > 0 ? "\n" + result.skipped() + " note(s) were already imported." : "")
+                    + (result.failed() > 0 ? "\n" + result.failed() + " file(s) failed to import." : ""));
+        });
+        importTask.setOnFailed(event -> {
+            Throwable error = importTask.getException();
+            logger.error("Failed to import vault: {} - {}", directory.getName(), error.getMessage(), error);
+            DialogUtils.showError("Import Error", "Vault not imported", error.getMessage());
+        });
+        ThreadPoolManager.getInstance().submitIoTask(importTask);
     }
 
     public static List<Operation> importOperationsFromJSON(Window owner) {
@@ -135,38 +168,128 @@ public class ImportUtils {
         return importedOperations;
     }
 
-    public static List<JournalEntry> importJournalsFromMarkdown(Window owner) {
+    /**
+     * Import Markdown files as journal entries in the background. Files that
+     * look like existing entries are offered in one confirmation dialog first.
+     */
+    public static void importJournalsFromMarkdown(Window owner) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Import Journals");
         fileChooser.getExtensionFilters().add(
                 new FileChooser.ExtensionFilter("Markdown Files", "*.md"));
 
         List<File> files = fileChooser.showOpenMultipleDialog(owner);
-        List<JournalEntry> importedEntries = new ArrayList<>();
+        if (files == null || files.isEmpty()) {
+            return;
+        }
 
-        if (files != null && !files.isEmpty()) {
-            JournalEntryRepository journalRepository = new JournalEntryRepository();
-            int successCount = 0;
-            int errorCount = 0;
+        JournalEntryRepository journalRepository = new JournalEntryRepository();
+        DuplicateDetectionService duplicateService = DuplicateDetectionService.getInstance();
+        importWithDuplicateCheck(files, ImportUtils::parseJournalMarkdownFile,
+                entry -> duplicateService.findSimilarJournalEntries(entry.getContent()),
+                entry -> duplicateService.onJournalEntrySaved(journalRepository.save(entry)),
+                "journal entries", "Journal Entry(s)");
+    }
+
+    @FunctionalInterface
+    private interface FileParser<T> {
+        T parse(File file) throws IOException;
+    }
 
-            for (File file : files) {
-                try {
-                    JournalEntry entry = parseJournalMarkdownFile(file);
-                    if (entry != null) {
-                        journalRepository.save(entry);
-                        importedEntries.add(entry);
-                        successCount++;
+    private record Parsed<T>(List<T> items, Set<T> flagged,
+            Map<String, List<DuplicateDetectionService.DuplicateMatch>> duplicates, int errors) {
+    }
+
+    /**
+     * Parse {@code files} and look for duplicates in the background, ask
+     * about the duplicates on the FX thread, then save in the background.
+     * Only the dialogs run on the FX thread.
+     */
+    private static <T> void importWithDuplicateCheck(List<File> files, FileParser<T> parser,
+            Function<T, List<DuplicateDetectionService.DuplicateMatch>> findSimilar, Consumer<T> save,
+            String duplicateType, String resultType) {
+        Task<Parsed<T>> parseTask = new Task<>() {
+            @Override
+            protected Parsed<T> call() {
+                List<T> items = new ArrayList<>();
+                Map<String, List<DuplicateDetectionService.DuplicateMatch>> duplicates = new LinkedHashMap<>();
+                Set<T> flagged = new HashSet<>();
+                int errors = 0;
+                for (File file : files) {
+                    try {
+                        T item = parser.parse(file);
+                        if (item != null) {
+                            items.add(item);
+                            List<DuplicateDetectionService.DuplicateMatch> matches = findSimilar.apply(item);
+                            if (!matches.isEmpty()) {
+                                duplicates.put(file.getName(), matches);
+                                flagged.add(item);
+                            }
+                        }
+                    } catch (IOException e) {
+                        errors++;
+                        logger.error("Failed to import: {} - {}", file.getName(), e.getMessage(), e);
                     }
-                } catch (IOException e) {
-                    errorCount++;
-                    logger.error("Failed to import journal: {} - {}", file.getName(), e.getMessage(), e);
                 }
+                return new Parsed<>(items, flagged, duplicates, errors);
             }
+        };
+        parseTask.setOnSucceeded(event -> {
+            Parsed<T> parsed = parseTask.getValue();
+            boolean importDuplicates = confirmPossibleDuplicates(parsed.duplicates(), duplicateType);
+            List<T> toSave = parsed.items().stream()
+                    .filter(item -> importDuplicates || !parsed.flagged().contains(item))
+                    .toList();
+
+            Task<Integer> saveTask = new Task<>() {
+                @Override
+                protected Integer call() {
+                    toSave.forEach(save);
+                    return toSave.size();
+                }
+            };
+            saveTask.setOnSucceeded(done -> showImportResult(saveTask.getValue(), parsed.errors(), resultType));
+            saveTask.setOnFailed(done -> {
+                Throwable error = saveTask.getException();
+                logger.error("Failed to import {}: {}", duplicateType, error.getMessage(), error);
+                DialogUtils.showError("Import Error", "Import failed", error.getMessage());
+            });
+            ThreadPoolManager.getInstance().submitIoTask(saveTask);
+        });
+        parseTask.setOnFailed(event -> {
+            Throwable error = parseTask.getException();
+            logger.error("Failed to import {}: {}", duplicateType, error.getMessage(), error);
+            DialogUtils.showError("Import Error", "Import failed", error.getMessage());
+        });
+        ThreadPoolManager.getInstance().submitIoTask(parseTask);
+    }
 
-            showImportResult(successCount, errorCount, "Journal Entry(s)");
+    /**
+     * Ask whether files that look like existing content should be imported.
+     *
+     * @return true to import everything, false to skip the flagged files
+     */
+    private static boolean confirmPossibleDuplicates(
+            Map<String, List<DuplicateDetectionService.DuplicateMatch>> duplicates, String type) {
+        if (duplicates.isEmpty()) {
+            return true;
+        }
+
+        StringBuilder details = new StringBuilder();
+        int shown = 0;
+        for (Map.Entry<String, List<DuplicateDetectionService.DuplicateMatch>> entry : duplicates.entrySet()) {
+            if (shown++ == 10) {
+                details.append("… and ").append(duplicates.size() - 10).append(" more\n");
+                break;
+            }
+            DuplicateDetectionService.DuplicateMatch best = entry.getValue().get(0);
+            details.append(entry.getKey()).append(" → ").append(best.title())
+                    .append(String.format(" (%.0f%% similar)", best.similarity() * 100)).append("\n");
         }
 
-        return importedEntries;
+        return DialogUtils.showConfirmation("Possible Duplicates",
+                duplicates.size() + " file(s) look like existing " + type,
+                details + "\nImport them anyway? Choose Cancel to skip these files.");
     }
 
     private static void showImportResult(int successCount, int errorCount, String type) {
@@ -228,46 +351,9 @@ public class ImportUtils {
         Wiki.setUpdatedAt(LocalDateTime.now());
         Wiki.setIsFavorite(false);
 
-        // Calculate word count
-        String text = content.toString().replaceAll("[^a-zA-Z\\s]", "");
-        int wordCount = text.trim().isEmpty() ? 0 : text.trim().split("\\s+").length;
-        Wiki.setWordCount(wordCount);
-
         return Wiki;
     }
 
-    private static List<CalendarEvent> parseICSFile(File file) throws IOException {
-        List<CalendarEvent> events = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            CalendarEvent currentEvent = null;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.equals("BEGIN:VEVENT")) {
-                    currentEvent = new CalendarEvent();
-                } else if (line.equals("END:VEVENT")) {
-                    if (currentEvent != null) {
-                        events.add(currentEvent);
-                        currentEvent = null;
-                    }
-                } else if (currentEvent != null) {
-                    if (line.startsWith("SUMMARY:")) {
-                        currentEvent.setTitle(line.substring(8));
-                    } else if (line.startsWith("DESCRIPTION:")) {
-                        currentEvent.setDescription(line.substring(12).replace("\\n", "\n"));
-                    } else if (line.startsWith("LOCATION:")) {
-                        currentEvent.setLocation(line.substring(9));
-                    } else if (line.startsWith("DTSTART:")) {
-                        currentEvent.setStartDateTime(LocalDateTime.parse(line.substring(8), ICS_DATE_FORMAT));
-                    } else if (line.startsWith("DTEND:")) {
-                        currentEvent.setEndDateTime(LocalDateTime.parse(line.substring(6), ICS_DATE_FORMAT));
-                    }
-                }
-            }
-        }
-        return events;
-    }
-
     private static JournalEntry parseJournalMarkdownFile(File file) throws IOException {
         StringBuilder content = new StringBuilder();
         String title = null;
@@ -2,8 +2,6 @@ package com.roam.util;
 
 import org.owasp.encoder.Encode;
 
-import java.util.regex.Pattern;
-
 /**
  * Utility class for sanitizing and validating user inputs to prevent injection
  * attacks.
@@ -26,18 +24,31 @@ public class InputSanitizer {
     public static final int MAX_CONTENT_LENGTH = 100000; // 100KB
     public static final int MAX_DESCRIPTION_LENGTH = 5000;
 
-    // Patterns for detecting malicious input
-    private static final Pattern JPQL_INJECTION_PATTERN = Pattern.compile(
-            "(?i)(SELECT|UPDATE|DELETE|INSERT|DROP|CREATE|ALTER|EXEC|EXECUTE|UNION|--|\\/\\*|\\*\\/|;)",
-            Pattern.CASE_INSENSITIVE);
+    // SQL keywords rejected anywhere in search queries and JPQL input, matched
+    // case-insensitively (ASCII only) and also inside longer words
+    private static final String[] SQL_KEYWORDS = {
+            "select", "update", "delete", "insert", "drop", "create", "alter", "exec", "union"
+    };
+
+    // Characters escaped with a backslash in search queries
+    private static final boolean[] LUCENE_SPECIAL_CHARS = new boolean[128];
+
+    static {
+        for (char c : "+-!(){}[]^\"~*?:\\/".toCharArray()) {
+            LUCENE_SPECIAL_CHARS[c] = true;
+        }
+    }
 
-    private static final Pattern LUCENE_SPECIAL_CHARS = Pattern.compile(
-            "[+\\-!(){}\\[\\]^\"~*?:\\\\/]");
+    // More wildcards than this on one line are rejected (potential DoS)
+    private static final int MAX_WILDCARDS_PER_LINE = 4;
 
-    // Pattern for excessive wildcards (potential DoS)
-    private static final Pattern EXCESSIVE_WILDCARDS = Pattern.compile(
-            "([*?].*){5,}" // More than 5 wildcards
-    );
+    // Control characters (as bit positions) kept by each field type
+    private static final int KEEP_NONE = 0;
+    private static final int KEEP_TAB_NEWLINE = 1 << '\t' | 1 << '\n';
+    private static final int KEEP_TAB_NEWLINE_CR = KEEP_TAB_NEWLINE | 1 << '\r';
+
+    // Output buffer reused per thread so sanitizing allocates only the result
+    private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<>();
 
     private InputSanitizer() {
         // Utility class - prevent instantiation
@@ -45,7 +56,8 @@ public class InputSanitizer {
 
     /**
      * Sanitizes a search query for use with Lucene.
-     * Escapes special characters and validates query complexity.
+     * Escapes special characters and validates query complexity in a single
+     * pass; returns the trimmed query itself when nothing needs escaping.
      * 
      * @param query The raw search query
      * @return Sanitized query safe for Lucene
@@ -64,23 +76,49 @@ public class InputSanitizer {
                     "Search query too long. Maximum length is " + MAX_SEARCH_QUERY_LENGTH + " characters.");
         }
 
-        // Check for excessive wildcards (DoS prevention)
-        if (EXCESSIVE_WILDCARDS.matcher(query).find()) {
-            throw new IllegalArgumentException(
-                    "Search query too complex. Please reduce the number of wildcards.");
+        int length = query.length();
+        char[] out = null;
+        int written = 0;
+        int wildcardsOnLine = 0;
+        boolean sqlKeyword = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = query.charAt(i);
+
+            if (c == '*' || c == '?') {
+                // Check for excessive wildcards (DoS prevention)
+                if (++wildcardsOnLine > MAX_WILDCARDS_PER_LINE) {
+                    throw new IllegalArgumentException(
+                            "Search query too complex. Please reduce the number of wildcards.");
+                }
+            } else if (isLineTerminator(c)) {
+                wildcardsOnLine = 0;
+            } else if (c == ';' || startsWithSqlKeyword(query, i)) {
+                // Reported after the scan so wildcard errors take precedence
+                sqlKeyword = true;
+            }
+
+            // Escape Lucene special characters (including wildcards)
+            if (c < 128 && LUCENE_SPECIAL_CHARS[c]) {
+                if (out == null) {
+                    out = buffer(length * 2);
+                    query.getChars(0, i, out, 0);
+                    written = i;
+                }
+                out[written++] = '\\';
+            }
+            if (out != null) {
+                out[written++] = c;
+            }
         }
 
-        // Escape Lucene special characters
-        // Allow wildcards (*?) but escape other special chars
-        String sanitized = LUCENE_SPECIAL_CHARS.matcher(query).replaceAll("\\\\$0");
-
-        // Remove any potential JPQL injection attempts
-        if (JPQL_INJECTION_PATTERN.matcher(sanitized).find()) {
+        // Reject any potential JPQL injection attempts
+        if (sqlKeyword) {
             throw new IllegalArgumentException(
                     "Invalid search query. Please remove SQL keywords.");
         }
 
-        return sanitized;
+        return out == null ? query : new String(out, 0, written);
     }
 
     /**
@@ -98,7 +136,7 @@ public class InputSanitizer {
         input = input.trim();
 
         // Check for SQL injection patterns
-        if (JPQL_INJECTION_PATTERN.matcher(input).find()) {
+        if (containsSqlInjection(input)) {
             throw new IllegalArgumentException(
                     "Invalid input detected. Please remove special SQL characters.");
         }
@@ -154,7 +192,7 @@ public class InputSanitizer {
         }
 
         // Remove control characters
-        return title.replaceAll("\\p{Cntrl}", "");
+        return removeControlChars(title, KEEP_NONE);
     }
 
     /**
@@ -177,7 +215,7 @@ public class InputSanitizer {
         }
 
         // Remove control characters except newlines and tabs
-        return description.replaceAll("[\\p{Cntrl}&&[^\n\t]]", "");
+        return removeControlChars(description, KEEP_TAB_NEWLINE);
     }
 
     /**
@@ -198,7 +236,97 @@ public class InputSanitizer {
         }
 
         // Allow newlines and tabs in content
-        return content.replaceAll("[\\p{Cntrl}&&[^\n\t\r]]", "");
+        return removeControlChars(content, KEEP_TAB_NEWLINE_CR);
+    }
+
+    /**
+     * Removes ASCII control characters (0x00-0x1F, 0x7F) other than those in
+     * {@code keep}. Returns {@code text} itself when there is nothing to
+     * remove.
+     */
+    private static String removeControlChars(String text, int keep) {
+        int length = text.length();
+        char[] out = null;
+        int written = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            boolean remove = c == 0x7F || (c < 0x20 && (keep & (1 << c)) == 0);
+            if (remove) {
+                if (out == null) {
+                    out = buffer(length);
+                    text.getChars(0, i, out, 0);
+                    written = i;
+                }
+            } else if (out != null) {
+                out[written++] = c;
+            }
+        }
+
+        return out == null ? text : new String(out, 0, written);
+    }
+
+    /**
+     * True if the text contains an SQL keyword, a statement separator or a
+     * comment delimiter ({@code --}, {@code /*}, <code>*&#47;</code>).
+     */
+    private static boolean containsSqlInjection(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == ';' || startsWithSqlKeyword(text, i)) {
+                return true;
+            }
+            if (i + 1 < length) {
+                char next = text.charAt(i + 1);
+                if ((c == '-' && next == '-') || (c == '/' && next == '*') || (c == '*' && next == '/')) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithSqlKeyword(String text, int start) {
+        char first = toAsciiLowerCase(text.charAt(start));
+        for (String keyword : SQL_KEYWORDS) {
+            if (keyword.charAt(0) == first && matchesIgnoreAsciiCase(text, start, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesIgnoreAsciiCase(String text, int start, String keyword) {
+        if (start + keyword.length() > text.length()) {
+            return false;
+        }
+        for (int k = 1; k < keyword.length(); k++) {
+            if (toAsciiLowerCase(text.charAt(start + k)) != keyword.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toAsciiLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * Line terminators as understood by regex {@code .}
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static char[] buffer(int size) {
+        char[] buffer = BUFFER.get();
+        if (buffer == null || buffer.length < size) {
+            buffer = new char[Math.max(size, 256)];
+            BUFFER.set(buffer);
+        }
+        return buffer;
     }
 
     /**
@@ -0,0 +1,110 @@
+package com.roam.util;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExecutorService decorator that records every task in an
+ * {@link ExecutorMetrics}. Works for any delegate, including
+ * virtual-thread-per-task executors that have no queue of their own.
+ */
+public class InstrumentedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final ExecutorMetrics metrics;
+
+    public InstrumentedExecutorService(ExecutorService delegate, ExecutorMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    public ExecutorService getDelegate() {
+        return delegate;
+    }
+
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Runnable wrapped = metrics.wrap(command, describe(command), true);
+        try {
+            delegate.execute(wrapped);
+        } catch (RejectedExecutionException e) {
+            metrics.recordRejected(wrapped);
+            throw e;
+        }
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new NamedFutureTask<>(runnable, value, describe(runnable));
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new NamedFutureTask<>(callable, describe(callable));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    static String describe(Object task) {
+        if (task instanceof NamedFutureTask<?> named) {
+            return named.name;
+        }
+        String name = task.getClass().getName();
+        int lambda = name.indexOf("$$Lambda");
+        if (lambda > 0) {
+            name = name.substring(0, lambda) + " lambda";
+        }
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * FutureTask that keeps the submitted task's name for slow-task warnings.
+     */
+    private static final class NamedFutureTask<T> extends FutureTask<T> {
+
+        private final String name;
+
+        private NamedFutureTask(Runnable runnable, T value, String name) {
+            super(runnable, value);
+            this.name = name;
+        }
+
+        private NamedFutureTask(Callable<T> callable, String name) {
+            super(callable);
+            this.name = name;
+        }
+    }
+}
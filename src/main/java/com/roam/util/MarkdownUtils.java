@@ -1,5 +1,15 @@
 package com.roam.util;
 
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.task.list.items.TaskListItemsExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -8,7 +18,25 @@ public class MarkdownUtils {
     // Regex for [[Wiki Title]]
     private static final Pattern WIKI_LINK_PATTERN = Pattern.compile("\\[\\[(.*?)\\]\\]");
 
+    // CommonMark with GFM tables, strikethrough and task lists; both are
+    // immutable and safe to share between threads
+    private static final List<Extension> EXTENSIONS = List.of(
+            TablesExtension.create(),
+            StrikethroughExtension.create(),
+            TaskListItemsExtension.create());
+    private static final Parser PARSER = Parser.builder().extensions(EXTENSIONS).build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().extensions(EXTENSIONS).build();
+
     public static String processWikiLinks(String markdown) {
+        // The WebView will intercept "Wiki:" protocol
+        return processWikiLinks(markdown, title -> "Wiki://" + title.replace(" ", "%20"));
+    }
+
+    /**
+     * Replace each {@code [[Title]]} with a link to {@code href.apply(title)},
+     * or with plain text where that is null.
+     */
+    public static String processWikiLinks(String markdown, Function<String, String> href) {
         if (markdown == null)
             return "";
 
@@ -17,14 +45,53 @@ public class MarkdownUtils {
 
         while (matcher.find()) {
             String noteTitle = matcher.group(1);
-            // Replace [[Title]] with <a href="Wiki:Title">Title</a>
-            // The WebView will intercept "Wiki:" protocol
-            String replacement = String.format("<a href='Wiki://%s' class='wiki-link'>%s</a>",
-                    noteTitle.replace(" ", "%20"), noteTitle);
-            matcher.appendReplacement(sb, replacement);
+            String target = href.apply(noteTitle);
+            String replacement = target != null
+                    ? String.format("<a href='%s' class='wiki-link'>%s</a>", escapeHtml(target), escapeHtml(noteTitle))
+                    : String.format("<span class='wiki-link missing'>%s</span>", escapeHtml(noteTitle));
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
         }
         matcher.appendTail(sb);
 
         return sb.toString();
     }
+
+    /**
+     * The titles of all {@code [[Title]]} links, in order.
+     */
+    public static List<String> wikiLinkTitles(String markdown) {
+        if (markdown == null) {
+            return List.of();
+        }
+        List<String> titles = new ArrayList<>();
+        Matcher matcher = WIKI_LINK_PATTERN.matcher(markdown);
+        while (matcher.find()) {
+            titles.add(matcher.group(1));
+        }
+        return titles;
+    }
+
+    /**
+     * Render Markdown whose wiki-links were already processed to an HTML
+     * fragment, as the wiki preview shows it.
+     */
+    public static String toHtml(String markdown) {
+        return RENDERER.render(PARSER.parse(markdown));
+    }
+
+    public static String escapeHtml(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> sb.append("&amp;");
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
 }
@@ -0,0 +1,85 @@
+package com.roam.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application-wide registry of runtime metrics.
+ *
+ * Every executor gets one {@link ExecutorMetrics}, created on first use and
+ * registered with the platform MBean server so it can be inspected with
+ * JConsole or VisualVM under the {@code com.roam} domain.
+ */
+public class MetricsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private static volatile MetricsRegistry instance;
+
+    static final String JMX_DOMAIN = "com.roam";
+
+    private final Map<String, ExecutorMetrics> executors = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get or create the metrics for the named executor.
+     */
+    public ExecutorMetrics executor(String name) {
+        return executors.computeIfAbsent(name, key -> {
+            ExecutorMetrics metrics = new ExecutorMetrics(key);
+            registerMBean("Executor", key, metrics);
+            return metrics;
+        });
+    }
+
+    public Collection<ExecutorMetrics> getExecutors() {
+        return new ArrayList<>(executors.values());
+    }
+
+    /**
+     * Log a summary line for every executor.
+     */
+    public void logSummary() {
+        for (ExecutorMetrics metrics : getExecutors()) {
+            logger.info("📊 {}", metrics.summary());
+        }
+    }
+
+    /**
+     * Register an MBean as {@code com.roam:type=<type>,name=<name>}.
+     * Failures are logged; metrics keep working without JMX.
+     */
+    public void registerMBean(String type, String name, Object mbean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(mbean, objectName);
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to register MBean {}/{}: {}", type, name, e.getMessage());
+        }
+    }
+}
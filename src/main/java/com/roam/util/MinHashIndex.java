@@ -0,0 +1,344 @@
+package com.roam.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory near-duplicate index based on MinHash signatures and
+ * locality-sensitive hashing.
+ *
+ * Text is normalized and split into overlapping character shingles; each
+ * document is reduced to a fixed-size MinHash signature whose agreement rate
+ * with another signature estimates the Jaccard similarity of the two shingle
+ * sets. Signatures are split into bands and every band is hashed into a
+ * bucket, so documents sharing at least one bucket become candidates. Lookups
+ * therefore only touch the few documents in matching buckets instead of
+ * comparing every pair.
+ *
+ * Signatures live in one flat {@code int[]} (one slot per document) to keep
+ * the footprint at {@value #NUM_HASHES} ints per document. Thread-safe.
+ */
+public class MinHashIndex {
+
+    public static final int NUM_HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS = NUM_HASHES / BANDS;
+    private static final int SHINGLE_SIZE = 5;
+
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seed = mix64(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    // Slot storage: signatures[slot * NUM_HASHES .. +NUM_HASHES], ids[slot]
+    private int[] signatures = new int[16 * NUM_HASHES];
+    private long[] ids = new long[16];
+    private int slotCount;
+    private int[] freeSlots = new int[4];
+    private int freeCount;
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    // LSH buckets keyed by (band, band hash); values are slot lists
+    private final Map<Long, IntList> buckets = new HashMap<>();
+
+    /**
+     * A document found similar to a query.
+     */
+    public record Match(long id, double similarity) {
+    }
+
+    /**
+     * A pair of indexed documents found similar to each other.
+     */
+    public record Pair(long firstId, long secondId, double similarity) {
+    }
+
+    /**
+     * Add or replace the signature of a document. Text too short to shingle
+     * is removed from the index, since it cannot be compared meaningfully.
+     */
+    public synchronized void put(long id, String text) {
+        int[] signature = signature(text);
+        remove(id);
+        if (signature == null) {
+            return;
+        }
+
+        int slot = allocateSlot();
+        ids[slot] = id;
+        System.arraycopy(signature, 0, signatures, slot * NUM_HASHES, NUM_HASHES);
+        slotById.put(id, slot);
+
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucketKey(band, signature), k -> new IntList()).add(slot);
+        }
+    }
+
+    /**
+     * Remove a document from the index (no-op if absent).
+     */
+    public synchronized void remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+
+        int[] signature = Arrays.copyOfRange(signatures, slot * NUM_HASHES, (slot + 1) * NUM_HASHES);
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(band, signature);
+            IntList bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(slot);
+                if (bucket.size == 0) {
+                    buckets.remove(key);
+                }
+            }
+        }
+
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    public synchronized boolean contains(long id) {
+        return slotById.containsKey(id);
+    }
+
+    public synchronized int size() {
+        return slotById.size();
+    }
+
+    public synchronized void clear() {
+        signatures = new int[16 * NUM_HASHES];
+        ids = new long[16];
+        slotCount = 0;
+        freeSlots = new int[4];
+        freeCount = 0;
+        slotById.clear();
+        buckets.clear();
+    }
+
+    /**
+     * Find indexed documents whose estimated similarity to the given text is
+     * at least {@code minSimilarity}, most similar first.
+     */
+    public List<Match> findSimilar(String text, double minSimilarity) {
+        int[] signature = signature(text);
+        if (signature == null) {
+            return List.of();
+        }
+        return findSimilar(signature, null, minSimilarity);
+    }
+
+    /**
+     * Find indexed documents similar to an already indexed document.
+     */
+    public synchronized List<Match> findSimilar(long id, double minSimilarity) {
+        Integer slot = slotById.get(id);
+        if (slot == null) {
+            return List.of();
+        }
+        int[] signature = Arrays.copyOfRange(signatures, slot * NUM_HASHES, (slot + 1) * NUM_HASHES);
+        return findSimilar(signature, slot, minSimilarity);
+    }
+
+    /**
+     * Report every pair of indexed documents with estimated similarity of at
+     * least {@code minSimilarity}, most similar first. Only documents sharing
+     * an LSH bucket are compared.
+     */
+    public synchronized List<Pair> findAllPairs(double minSimilarity) {
+        Set<Long> seen = new HashSet<>();
+        List<Pair> pairs = new ArrayList<>();
+
+        for (IntList bucket : buckets.values()) {
+            for (int i = 0; i < bucket.size; i++) {
+                for (int j = i + 1; j < bucket.size; j++) {
+                    int a = Math.min(bucket.values[i], bucket.values[j]);
+                    int b = Math.max(bucket.values[i], bucket.values[j]);
+                    if (!seen.add(((long) a << 32) | b)) {
+                        continue;
+                    }
+                    double similarity = similarity(a, b);
+                    if (similarity >= minSimilarity) {
+                        pairs.add(new Pair(ids[a], ids[b], similarity));
+                    }
+                }
+            }
+        }
+
+        pairs.sort((p1, p2) -> Double.compare(p2.similarity(), p1.similarity()));
+        return pairs;
+    }
+
+    private synchronized List<Match> findSimilar(int[] signature, Integer excludeSlot, double minSimilarity) {
+        Set<Integer> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            IntList bucket = buckets.get(bucketKey(band, signature));
+            if (bucket != null) {
+                for (int i = 0; i < bucket.size; i++) {
+                    candidates.add(bucket.values[i]);
+                }
+            }
+        }
+        if (excludeSlot != null) {
+            candidates.remove(excludeSlot);
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int slot : candidates) {
+            double similarity = similarity(signature, slot);
+            if (similarity >= minSimilarity) {
+                matches.add(new Match(ids[slot], similarity));
+            }
+        }
+
+        matches.sort((m1, m2) -> Double.compare(m2.similarity(), m1.similarity()));
+        return matches;
+    }
+
+    private double similarity(int slotA, int slotB) {
+        int offsetA = slotA * NUM_HASHES;
+        int offsetB = slotB * NUM_HASHES;
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (signatures[offsetA + i] == signatures[offsetB + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    private double similarity(int[] signature, int slot) {
+        int offset = slot * NUM_HASHES;
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (signature[i] == signatures[offset + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            ids = Arrays.copyOf(ids, slotCount * 2);
+            signatures = Arrays.copyOf(signatures, slotCount * 2 * NUM_HASHES);
+        }
+        return slotCount++;
+    }
+
+    private static long bucketKey(int band, int[] signature) {
+        int hash = 1;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = 31 * hash + signature[i];
+        }
+        return ((long) band << 32) | (hash & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Compute the MinHash signature of a text, or null if the text has fewer
+     * characters than one shingle after normalization.
+     */
+    static int[] signature(String text) {
+        String normalized = normalize(text);
+        if (normalized.length() < SHINGLE_SIZE) {
+            return null;
+        }
+
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (int start = 0; start + SHINGLE_SIZE <= normalized.length(); start++) {
+            long shingle = shingleHash(normalized, start);
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) mix64(shingle ^ SEEDS[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Lower-case the text and collapse punctuation and whitespace runs into a
+     * single space, so formatting-only edits do not change the shingles.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                sb.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static long shingleHash(String text, int start) {
+        // FNV-1a over the shingle characters
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < start + SHINGLE_SIZE; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix64(long z) {
+        // SplitMix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Minimal growable int list used for bucket contents.
+     */
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.roam.util;
+
+/**
+ * Word, character and line counts for an editor document, kept current from
+ * each edit instead of recounting the whole text.
+ *
+ * <p>
+ * A word is a maximal run of characters that are not whitespace in the
+ * sense of the regex {@code \s} (space, tab, line feed, vertical tab, form
+ * feed, carriage return), which matches {@code text.trim().split("\\s+")}
+ * for any text that passed {@link InputSanitizer#sanitizeContent(String)}.
+ * An edit only changes word boundaries inside the replaced range and at the
+ * characters on either side of it, so {@link #replace} runs in time
+ * proportional to the size of the edit.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe; each editor owns one instance and updates it on the FX
+ * thread.
+ * </p>
+ */
+public final class TextStatistics {
+
+    public static final int WORDS_PER_MINUTE = 200;
+
+    private int length;
+    private int words;
+    private int lineBreaks;
+
+    /**
+     * Count the words in {@code text} in a single pass.
+     */
+    public static int countWords(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        return wordStarts(-1, text, 0, text.length(), -1);
+    }
+
+    /**
+     * Recount everything from {@code text}. Used when a document is loaded or
+     * when a change arrived without its delta.
+     */
+    public void reset(CharSequence text) {
+        if (text == null) {
+            length = 0;
+            words = 0;
+            lineBreaks = 0;
+            return;
+        }
+        length = text.length();
+        words = countWords(text);
+        lineBreaks = countLineBreaks(text, 0, length);
+    }
+
+    /**
+     * Apply the edit that replaces {@code [start, end)} of {@code before}
+     * with {@code inserted}. {@code before} is the document as it was before
+     * the edit and must be the text these statistics currently describe.
+     */
+    public void replace(CharSequence before, int start, int end, CharSequence inserted) {
+        if (start < 0 || end < start || end > before.length()) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + start + ", " + end + ") outside text of length " + before.length());
+        }
+        if (inserted == null) {
+            inserted = "";
+        }
+        int previous = start > 0 ? before.charAt(start - 1) : -1;
+        int next = end < before.length() ? before.charAt(end) : -1;
+
+        words += wordStarts(previous, inserted, 0, inserted.length(), next)
+                - wordStarts(previous, before, start, end, next);
+        lineBreaks += countLineBreaks(inserted, 0, inserted.length()) - countLineBreaks(before, start, end);
+        length += inserted.length() - (end - start);
+    }
+
+    public int getWords() {
+        return words;
+    }
+
+    public int getCharacters() {
+        return length;
+    }
+
+    /**
+     * Number of lines as the editor shows them; an empty document has none.
+     */
+    public int getLines() {
+        return length == 0 ? 0 : lineBreaks + 1;
+    }
+
+    /**
+     * Estimated reading time in whole minutes, rounded up.
+     */
+    public int getReadingTimeMinutes() {
+        return (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE;
+    }
+
+    /**
+     * Count the positions in {@code text[from, to)} plus the trailing
+     * {@code next} character where a word starts, given the character before
+     * {@code from}. {@code -1} stands for the start or end of the document.
+     */
+    private static int wordStarts(int previous, CharSequence text, int from, int to, int next) {
+        boolean inWord = previous >= 0 && !isWhitespace((char) previous);
+        int starts = 0;
+        for (int i = from; i < to; i++) {
+            boolean word = !isWhitespace(text.charAt(i));
+            if (word && !inWord) {
+                starts++;
+            }
+            inWord = word;
+        }
+        if (next >= 0 && !inWord && !isWhitespace((char) next)) {
+            starts++;
+        }
+        return starts;
+    }
+
+    private static int countLineBreaks(CharSequence text, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+}
@@ -1,5 +1,7 @@
 package com.roam.util;
 
+import com.roam.model.Settings;
+import com.roam.service.SettingsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,6 +17,20 @@ import java.util.concurrent.*;
  * - COMPUTE_POOL: For CPU-intensive operations (indexing, search)
  * - SCHEDULED_POOL: For scheduled/delayed tasks
  * 
+ * Execution modes (Settings.virtualThreads, or -Droam.threads.virtual):
+ * - platform (default): IO_POOL is a fixed pool of 5 platform threads
+ * - virtual: IO_POOL starts one virtual thread per task, so bursts of
+ * blocking work no longer queue behind each other
+ * 
+ * Database work submitted through {@link #getDbExecutor()} is bounded by a
+ * semaphore (Settings.maxConcurrentDbTasks) so that an unbounded number of
+ * virtual threads cannot exhaust the JDBC connection pool. In platform mode
+ * the limit is capped at the I/O pool size, which bounds DB tasks already.
+ * 
+ * Every pool is instrumented (queue wait, run time, active/queued tasks,
+ * rejections, slow tasks) via {@link MetricsRegistry}; the metrics are
+ * exposed as JMX MBeans under {@code com.roam:type=Executor}.
+ * 
  * @ThreadSafe Singleton implementation with proper shutdown hooks
  */
 public class ThreadPoolManager {
@@ -24,40 +40,85 @@ public class ThreadPoolManager {
     private static volatile ThreadPoolManager instance;
     private static final Object LOCK = new Object();
 
+    // System properties overriding the settings file
+    static final String VIRTUAL_THREADS_PROPERTY = "roam.threads.virtual";
+    static final String MAX_DB_TASKS_PROPERTY = "roam.db.maxConcurrentTasks";
+
+    private static final int IO_POOL_SIZE = 5;
+
     // Thread pools for different operation types
     private final ExecutorService ioPool;
     private final ExecutorService computePool;
     private final ScheduledExecutorService scheduledPool;
 
+    // Limits concurrent database work from background tasks
+    private final boolean virtualThreads;
+    private final int maxDbTasks;
+    private final Semaphore dbPermits;
+    private final Executor dbExecutor;
+
+    // Per-pool instrumentation
+    private final ExecutorMetrics scheduledMetrics;
+    private final ExecutorMetrics dbMetrics;
+
     // Shutdown timeout
     private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
 
     /**
      * Private constructor for singleton pattern.
-     * Initializes thread pools with appropriate sizes.
+     * Reads the execution mode from settings (system properties win).
      */
     private ThreadPoolManager() {
-        int processors = Runtime.getRuntime().availableProcessors();
+        this(readVirtualThreads(), readMaxDbTasks());
+    }
 
-        // IO Pool: Fixed size for file operations (export/import)
-        // Larger pool since I/O operations are blocking but not CPU-intensive
-        this.ioPool = Executors.newFixedThreadPool(
-                5,
-                createThreadFactory("io-pool"));
+    /**
+     * Initializes thread pools with appropriate sizes.
+     * 
+     * @param virtualThreads Run I/O tasks on virtual threads
+     * @param maxDbTasks     Maximum concurrent tasks on the DB executor
+     */
+    ThreadPoolManager(boolean virtualThreads, int maxDbTasks) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        this.virtualThreads = virtualThreads;
+        this.maxDbTasks = virtualThreads ? Math.max(1, maxDbTasks)
+                : Math.max(1, Math.min(maxDbTasks, IO_POOL_SIZE));
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+
+        if (virtualThreads) {
+            // IO Pool: One virtual thread per task; blocking calls park the
+            // virtual thread instead of holding a platform thread
+            this.ioPool = new InstrumentedExecutorService(
+                    Executors.newThreadPerTaskExecutor(createVirtualThreadFactory("io-virtual")),
+                    metrics.executor("io"));
+        } else {
+            // IO Pool: Fixed size for file operations (export/import)
+            // Larger pool since I/O operations are blocking but not CPU-intensive
+            this.ioPool = new InstrumentedExecutorService(
+                    Executors.newFixedThreadPool(IO_POOL_SIZE, createThreadFactory("io-pool")),
+                    metrics.executor("io"));
+        }
 
         // Compute Pool: Fixed size based on CPU cores for CPU-intensive tasks
         // Used for indexing, search, and other computational work
-        this.computePool = Executors.newFixedThreadPool(
-                Math.max(2, processors),
-                createThreadFactory("compute-pool"));
+        this.computePool = new InstrumentedExecutorService(
+                Executors.newFixedThreadPool(Math.max(2, processors), createThreadFactory("compute-pool")),
+                metrics.executor("compute"));
 
         // Scheduled Pool: For periodic or delayed tasks
         this.scheduledPool = Executors.newScheduledThreadPool(
                 2,
                 createThreadFactory("scheduled-pool"));
 
-        logger.info("✓ ThreadPoolManager initialized: IO={}, Compute={}, Scheduled={}",
-                5, Math.max(2, processors), 2);
+        this.scheduledMetrics = metrics.executor("scheduled");
+
+        // DB tasks: wait time covers both the I/O queue and the permit wait
+        this.dbMetrics = metrics.executor("db");
+        this.dbPermits = new Semaphore(this.maxDbTasks, true);
+        this.dbExecutor = this::executeDbTask;
+
+        logger.info("✓ ThreadPoolManager initialized: IO={}, Compute={}, Scheduled={}, DB tasks={}",
+                virtualThreads ? "virtual" : IO_POOL_SIZE, Math.max(2, processors), 2, this.maxDbTasks);
     }
 
     /**
@@ -87,6 +148,67 @@ public class ThreadPoolManager {
         return ioPool;
     }
 
+    /**
+     * Get Executor for background tasks that query the database. Tasks run
+     * on the I/O pool but at most {@code maxConcurrentDbTasks} of them hold
+     * a database permit at once; the rest wait for a permit.
+     * 
+     * @return Executor for database tasks
+     */
+    public Executor getDbExecutor() {
+        return dbExecutor;
+    }
+
+    /**
+     * Submit a callable that queries the database to the I/O pool, bounded by
+     * the database permit limit.
+     * 
+     * @param task Callable task to execute
+     * @param <T>  Return type
+     * @return CompletableFuture containing the result
+     */
+    public <T> CompletableFuture<T> submitDbTask(Callable<T> task) {
+        logger.debug("Submitting DB callable: {}", task.getClass().getSimpleName());
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, dbExecutor);
+    }
+
+    /**
+     * Maximum number of tasks allowed to use the database at once.
+     * 
+     * @return Database permit limit
+     */
+    public int getMaxDbTasks() {
+        return maxDbTasks;
+    }
+
+    /**
+     * The permits that limit database use to {@link #getMaxDbTasks()}. Work
+     * that queries on its own threads, such as HTTP API requests, takes one
+     * around its queries so it shares the limit with the DB executor.
+     *
+     * @return Fair semaphore of database permits
+     */
+    public Semaphore getDbPermits() {
+        return dbPermits;
+    }
+
+    /**
+     * Whether I/O tasks run on virtual threads.
+     * 
+     * @return true in virtual-thread mode
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
     /**
      * Get ExecutorService for CPU-intensive operations (indexing, search).
      * 
@@ -105,6 +227,21 @@ public class ThreadPoolManager {
         return scheduledPool;
     }
 
+    /**
+     * Start pool threads ahead of time so the first background task after
+     * startup does not pay for thread creation.
+     */
+    public void prestart() {
+        for (ExecutorService pool : new ExecutorService[] { ioPool, computePool, scheduledPool }) {
+            if (pool instanceof InstrumentedExecutorService instrumented) {
+                pool = instrumented.getDelegate();
+            }
+            if (pool instanceof ThreadPoolExecutor executor) {
+                executor.prestartAllCoreThreads();
+            }
+        }
+    }
+
     /**
      * Submit a task to the I/O pool and return a Future.
      * 
@@ -161,7 +298,8 @@ public class ThreadPoolManager {
      */
     public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
         logger.debug("Scheduling task with delay: {} {}", delay, unit);
-        return scheduledPool.schedule(task, delay, unit);
+        Runnable wrapped = scheduledMetrics.wrap(task, InstrumentedExecutorService.describe(task), false);
+        return new CancelTrackingFuture<>(scheduledPool.schedule(wrapped, delay, unit), wrapped);
     }
 
     /**
@@ -176,7 +314,9 @@ public class ThreadPoolManager {
     public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
         logger.debug("Scheduling periodic task: initial={} {}, period={} {}",
                 initialDelay, unit, period, unit);
-        return scheduledPool.scheduleAtFixedRate(task, initialDelay, period, unit);
+        Runnable wrapped = scheduledMetrics.wrapPeriodic(task, InstrumentedExecutorService.describe(task));
+        return new CancelTrackingFuture<>(scheduledPool.scheduleAtFixedRate(wrapped, initialDelay, period, unit),
+                wrapped);
     }
 
     /**
@@ -231,6 +371,7 @@ public class ThreadPoolManager {
                 SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
 
         boolean allTerminated = ioTerminated && computeTerminated && scheduledTerminated;
+        MetricsRegistry.getInstance().logSummary();
 
         if (allTerminated) {
             logger.info("✓ All thread pools terminated successfully");
@@ -285,6 +426,128 @@ public class ThreadPoolManager {
         return ioPool.isTerminated() && computePool.isTerminated() && scheduledPool.isTerminated();
     }
 
+    private void executeDbTask(Runnable task) {
+        Runnable wrapped = dbMetrics.wrap(task, InstrumentedExecutorService.describe(task), true);
+        try {
+            ioPool.execute(() -> runWithDbPermit(wrapped));
+        } catch (RejectedExecutionException e) {
+            dbMetrics.recordRejected(wrapped);
+            throw e;
+        }
+    }
+
+    /**
+     * Run the task once a permit is free. An interrupt while waiting does not
+     * skip the task: the task is often a CompletableFuture step that only
+     * completes its future by running, so skipping it would leave callers in
+     * join() forever. The wait continues and the task runs with the
+     * interrupt flag set, free to fail fast.
+     */
+    private void runWithDbPermit(Runnable task) {
+        try {
+            dbPermits.acquire();
+        } catch (InterruptedException e) {
+            dbPermits.acquireUninterruptibly();
+            Thread.currentThread().interrupt();
+        }
+        try {
+            task.run();
+        } finally {
+            dbPermits.release();
+        }
+    }
+
+    /**
+     * Scheduled future that takes a cancelled task off the scheduled pool's
+     * queued gauge.
+     */
+    private final class CancelTrackingFuture<V> implements ScheduledFuture<V> {
+
+        private final ScheduledFuture<V> delegate;
+        private final Runnable wrapped;
+
+        private CancelTrackingFuture(ScheduledFuture<V> delegate, Runnable wrapped) {
+            this.delegate = delegate;
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = delegate.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                scheduledMetrics.recordCancelled(wrapped);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return delegate.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return delegate.compareTo(other);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return delegate.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.get(timeout, unit);
+        }
+    }
+
+    private static boolean readVirtualThreads() {
+        String property = System.getProperty(VIRTUAL_THREADS_PROPERTY);
+        if (property != null) {
+            return Boolean.parseBoolean(property);
+        }
+        Settings settings = SettingsService.getInstance().getSettings();
+        return settings != null && settings.isVirtualThreads();
+    }
+
+    private static int readMaxDbTasks() {
+        String property = System.getProperty(MAX_DB_TASKS_PROPERTY);
+        if (property != null) {
+            try {
+                return Integer.parseInt(property.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("⚠️ Ignoring invalid {}: {}", MAX_DB_TASKS_PROPERTY, property);
+            }
+        }
+        Settings settings = SettingsService.getInstance().getSettings();
+        return settings != null ? settings.getMaxConcurrentDbTasks() : new Settings().getMaxConcurrentDbTasks();
+    }
+
+    /**
+     * Creates a ThreadFactory for virtual threads with custom naming and
+     * exception handling.
+     * 
+     * @param poolName Name prefix for threads created by this factory
+     * @return ThreadFactory instance
+     */
+    private ThreadFactory createVirtualThreadFactory(String poolName) {
+        return Thread.ofVirtual()
+                .name(poolName + "-", 1)
+                .uncaughtExceptionHandler((t, e) -> logger.error("✗ Uncaught exception in thread {}: {}",
+                        t.getName(), e.getMessage(), e))
+                .factory();
+    }
+
     /**
      * Creates a ThreadFactory with custom thread naming and exception handling.
      * 
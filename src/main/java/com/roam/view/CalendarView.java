@@ -3,6 +3,7 @@ package com.roam.view;
 import com.roam.controller.CalendarController;
 import com.roam.model.CalendarEvent;
 import com.roam.model.CalendarSource;
+import com.roam.view.components.LoadingIndicator;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -17,7 +18,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class CalendarView extends BorderPane {
+public class CalendarView extends BorderPane implements RefreshableView<List<CalendarEvent>> {
 
     public enum ViewType {
         AGENDA, MONTH, WEEK, DAY
@@ -61,7 +62,7 @@ public class CalendarView extends BorderPane {
         calendarContainer = new StackPane();
         calendarContainer.setPadding(new Insets(20));
 
-        setCenter(calendarContainer);
+        setCenter(new StackPane(calendarContainer, new LoadingIndicator(controller.getLoader())));
 
         // Create legend
         legendContainer = new FlowPane();
@@ -76,6 +77,7 @@ public class CalendarView extends BorderPane {
         // Load data
         controller.setOnDataChanged(this::refreshCalendar);
         refreshCalendar();
+        controller.load();
     }
 
     private HBox createToolbar() {
@@ -771,12 +773,25 @@ public class CalendarView extends BorderPane {
 
     private void toggleFilterPanel() {
         if (getRight() == null) {
+            // Rebuilt on open: calendar sources arrive after the view is shown
+            filterPanel = createFilterPanel();
             setRight(filterPanel);
         } else {
             setRight(null);
         }
     }
 
+    @Override
+    public List<CalendarEvent> loadData() {
+        return controller.findAllEvents();
+    }
+
+    @Override
+    public void applyData(List<CalendarEvent> events) {
+        controller.setAllEvents(events);
+        refreshCalendar();
+    }
+
     private void refreshCalendar() {
         dateLabel.setText(getDateLabelText());
 
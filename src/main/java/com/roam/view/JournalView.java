@@ -3,6 +3,12 @@ package com.roam.view;
 import com.roam.controller.JournalController;
 import com.roam.model.JournalEntry;
 import com.roam.model.JournalTemplate;
+import com.roam.service.SearchService;
+import com.roam.util.AsyncLoader;
+import com.roam.util.DialogUtils;
+import com.roam.view.components.LoadingIndicator;
+import com.roam.view.components.RelatedContentBar;
+import com.roam.view.components.TextStatisticsTracker;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -13,20 +19,26 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-public class JournalView extends StackPane {
+public class JournalView extends StackPane implements RefreshableView<List<JournalEntry>> {
 
     private final JournalController controller;
     private final BorderPane contentPane;
     private ListView<JournalEntry> entryList;
     private TextArea editorArea;
     private Label dateLabel;
+    private Label statsLabel;
+    private RelatedContentBar relatedBar;
     private JournalEntry currentEntry;
+    private boolean applyingData;
+    private final AsyncLoader loader = new AsyncLoader("journal entries");
+    private Consumer<SearchService.SearchResult> onOpenResult;
 
     public JournalView() {
         this.controller = new JournalController();
         this.contentPane = new BorderPane();
-        getChildren().add(contentPane);
+        getChildren().addAll(contentPane, new LoadingIndicator(loader));
         initialize();
 
         // Add listeners for responsive scaling
@@ -87,7 +99,7 @@ public class JournalView extends StackPane {
             }
         });
         entryList.getSelectionModel().selectedItemProperty().addListener((obs, old, newVal) -> {
-            if (newVal != null)
+            if (newVal != null && !applyingData)
                 loadEntry(newVal);
         });
         VBox.setVgrow(entryList, Priority.ALWAYS);
@@ -116,31 +128,110 @@ public class JournalView extends StackPane {
         saveBtn.setStyle("-fx-background-color: -roam-blue; -fx-text-fill: -roam-white; -fx-background-radius: 4;");
         saveBtn.setOnAction(e -> saveCurrent());
 
-        toolbar.getChildren().addAll(dateLabel, spacer, templatesBtn, saveBtn);
+        statsLabel = new Label();
+        statsLabel.setStyle("-fx-text-fill: -roam-text-hint;");
+
+        toolbar.getChildren().addAll(dateLabel, spacer, statsLabel, templatesBtn, saveBtn);
 
         editorArea = new TextArea();
         editorArea.setWrapText(true);
         editorArea.setFont(Font.font("Consolas", 14));
         editorArea.setDisable(true);
+        new TextStatisticsTracker(editorArea,
+                statistics -> statsLabel.setText(TextStatisticsTracker.summary(statistics)));
         VBox.setVgrow(editorArea, Priority.ALWAYS);
 
-        editorPane.getChildren().addAll(toolbar, editorArea);
+        // Related journal entries, wikis and tasks; other entries open here
+        relatedBar = new RelatedContentBar();
+        relatedBar.setOnResultSelected(result -> {
+            if ("journal".equals(result.type)) {
+                openEntry(result.id);
+            } else if (onOpenResult != null) {
+                onOpenResult.accept(result);
+            }
+        });
+
+        editorPane.getChildren().addAll(toolbar, editorArea, relatedBar);
         contentPane.setCenter(editorPane);
 
         refreshList();
     }
 
+    /**
+     * Handles related items that are not journal entries, such as wikis.
+     */
+    public void setOnOpenResult(Consumer<SearchService.SearchResult> onOpenResult) {
+        this.onOpenResult = onOpenResult;
+    }
+
+    /**
+     * Select the entry with the given id, reloading the list if it is not in
+     * it yet.
+     */
+    public void openEntry(Long id) {
+        Optional<JournalEntry> entry = entryList.getItems().stream()
+                .filter(e -> e.getId().equals(id))
+                .findFirst();
+        if (entry.isPresent()) {
+            entryList.getSelectionModel().select(entry.get());
+            entryList.scrollTo(entry.get());
+        } else {
+            refreshList(id);
+        }
+    }
+
     private void refreshList() {
-        List<JournalEntry> entries = controller.loadAllEntries();
-        entryList.getItems().setAll(entries);
+        refreshList(null);
+    }
+
+    /**
+     * Reload the entry list in the background, then select the entry with
+     * {@code selectId} (if not null) once the list is shown.
+     */
+    private void refreshList(Long selectId) {
+        loader.load(this::loadData, entries -> {
+            applyData(entries);
+            if (selectId != null) {
+                entries.stream()
+                        .filter(e -> selectId.equals(e.getId()))
+                        .findFirst()
+                        .ifPresent(e -> entryList.getSelectionModel().select(e));
+            }
+        }, e -> DialogUtils.showError("Error", "Failed to load journal entries", e.getMessage()));
+    }
+
+    @Override
+    public List<JournalEntry> loadData() {
+        return controller.loadAllEntries();
+    }
+
+    @Override
+    public void applyData(List<JournalEntry> entries) {
+        // Keep the open entry selected without reloading it, so unsaved
+        // edits in the editor survive the refresh
+        Long selectedId = currentEntry != null ? currentEntry.getId() : null;
+        applyingData = true;
+        try {
+            entryList.getItems().setAll(entries);
+            if (selectedId != null) {
+                entries.stream()
+                        .filter(e -> selectedId.equals(e.getId()))
+                        .findFirst()
+                        .ifPresent(e -> {
+                            currentEntry = e;
+                            entryList.getSelectionModel().select(e);
+                        });
+            }
+        } finally {
+            applyingData = false;
+        }
     }
 
     private void openToday() {
         LocalDate today = LocalDate.now();
         JournalEntry entry = controller.createEntry(today);
         if (entry != null) {
-            refreshList();
-            entryList.getSelectionModel().select(entry);
+            refreshList(entry.getId());
         }
     }
 
@@ -149,6 +240,7 @@ public class JournalView extends StackPane {
         dateLabel.setText(entry.getDate().format(DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy")));
         editorArea.setText(entry.getContent());
         editorArea.setDisable(false);
+        relatedBar.load("journal", entry.getId(), entry.getUpdatedAt());
     }
 
     private void saveCurrent() {
@@ -4,6 +4,8 @@ import com.roam.controller.CalendarController;
 import com.roam.controller.OperationDetailController;
 import com.roam.controller.WikiController;
 import com.roam.model.Operation;
+import com.roam.util.AsyncLoader;
+import com.roam.util.DialogUtils;
 import com.roam.view.components.*;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
@@ -30,6 +32,7 @@ public class OperationDetailView extends StackPane {
     private ScrollPane mainScrollPane;
 
     private boolean showingKanban = true;
+    private final AsyncLoader taskLoader = new AsyncLoader("operation tasks");
 
     public OperationDetailView(Operation operation, Runnable onNavigateBack) {
         this.controller = new OperationDetailController(operation);
@@ -97,6 +100,7 @@ public class OperationDetailView extends StackPane {
         mainScrollPane.setStyle("-fx-background-color: -roam-bg-primary; -fx-background: -roam-bg-primary;");
 
         contentPane.setCenter(mainScrollPane);
+        getChildren().add(new LoadingIndicator(taskLoader));
     }
 
     private VBox createCenterContent() {
@@ -233,7 +237,7 @@ public class OperationDetailView extends StackPane {
 
     private void showKanban() {
         showingKanban = true;
-        kanbanBoard.loadTasks(controller.loadTasks());
+        reloadTasks();
         tasksCalendarContainer.getChildren().clear();
         tasksCalendarContainer.getChildren().add(kanbanBoard);
     }
@@ -517,13 +521,21 @@ public class OperationDetailView extends StackPane {
     private void refreshData() {
         // Refresh tasks
         if (showingKanban) {
-            kanbanBoard.loadTasks(controller.loadTasks());
+            reloadTasks();
         }
 
         // Refresh notes
         refreshNotes();
     }
 
+    /**
+     * Load the tasks in the background; only the latest load is applied.
+     */
+    private void reloadTasks() {
+        taskLoader.load(controller::findTasks, kanbanBoard::loadTasks,
+                e -> DialogUtils.showError("Load Error", "Failed to load tasks", e.getMessage()));
+    }
+
     private void refreshNotes() {
         // Load notes for this specific operation
         if (wikiNoteEditor != null) {
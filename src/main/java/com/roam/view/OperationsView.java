@@ -2,6 +2,7 @@ package com.roam.view;
 
 import com.roam.controller.OperationsController;
 import com.roam.model.Operation;
+import com.roam.view.components.LoadingIndicator;
 import com.roam.view.components.OperationTableView;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -15,7 +16,7 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import java.util.List;
 import java.util.function.Consumer;
 
-public class OperationsView extends StackPane {
+public class OperationsView extends StackPane implements RefreshableView<List<Operation>> {
 
     private final OperationsController controller;
     private final OperationTableView tableView;
@@ -29,7 +30,7 @@ public class OperationsView extends StackPane {
         this.contentArea = new StackPane();
         this.emptyState = createEmptyState();
         this.contentPane = new VBox();
-        getChildren().add(contentPane);
+        getChildren().addAll(contentPane, new LoadingIndicator(controller.getLoader()));
 
         initialize();
     }
@@ -53,7 +54,7 @@ public class OperationsView extends StackPane {
 
         // Configure table
         controller.setTableView(tableView);
-        controller.setOnDataChanged(this::updateContent);
+        controller.setOnDataChanged(() -> updateContent(tableView.getItems()));
 
         tableView.setOnEdit(controller::editOperation);
         tableView.setOnDelete(controller::deleteOperation);
@@ -62,7 +63,7 @@ public class OperationsView extends StackPane {
         contentPane.getChildren().addAll(header, contentArea);
 
         // Initial load
-        loadData();
+        reloadTable();
     }
 
     private HBox createHeader() {
@@ -140,13 +141,22 @@ public class OperationsView extends StackPane {
         return container;
     }
 
-    private void loadData() {
+    private void reloadTable() {
         controller.refreshTable();
     }
 
-    private void updateContent() {
-        List<Operation> operations = controller.loadOperations();
+    @Override
+    public List<Operation> loadData() {
+        return controller.findOperations();
+    }
+
+    @Override
+    public void applyData(List<Operation> operations) {
+        tableView.getItems().setAll(operations);
+        updateContent(operations);
+    }
 
+    private void updateContent(List<Operation> operations) {
         contentArea.getChildren().clear();
 
         if (operations.isEmpty()) {
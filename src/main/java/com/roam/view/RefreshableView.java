@@ -0,0 +1,24 @@
+package com.roam.view;
+
+/**
+ * A view whose data can be reloaded without rebuilding the view.
+ *
+ * Loading and applying are split so the database work can run off the FX
+ * thread while a cached view stays on screen ("stale-while-revalidate").
+ *
+ * @param <T> Snapshot of the data the view displays
+ */
+public interface RefreshableView<T> {
+
+    /**
+     * Load fresh data. Called on a background thread; must not touch the
+     * scene graph.
+     */
+    T loadData();
+
+    /**
+     * Show data previously returned by {@link #loadData()}. Called on the FX
+     * thread.
+     */
+    void applyData(T data);
+}
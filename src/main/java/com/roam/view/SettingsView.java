@@ -5,10 +5,15 @@ import com.roam.controller.WikiController;
 import com.roam.model.JournalTemplate;
 import com.roam.model.Settings;
 import com.roam.model.WikiTemplate;
+import com.roam.service.AttachmentIndexer;
 import com.roam.service.DataService;
+import com.roam.service.DiagnosticsService;
+import com.roam.service.FlightRecordingService;
+import com.roam.service.DuplicateDetectionService;
 import com.roam.service.SearchService;
 import com.roam.service.SecurityContext;
 import com.roam.service.SettingsService;
+import com.roam.util.DialogUtils;
 import com.roam.util.ExportUtils;
 import com.roam.util.ImportUtils;
 import com.roam.util.StyleBuilder;
@@ -119,6 +124,10 @@ public class SettingsView extends ScrollPane {
         rebuildIndexBtn.setStyle(createActionButtonStyle(YELLOW));
         rebuildIndexBtn.setOnAction(e -> handleRebuildIndex());
 
+        Button findDuplicatesBtn = new Button("Find Duplicates");
+        findDuplicatesBtn.setStyle(createActionButtonStyle(YELLOW));
+        findDuplicatesBtn.setOnAction(e -> handleFindDuplicates());
+
         Label dataWarning = new Label("Import will merge with existing data. Backup first!");
         dataWarning.setFont(Font.font(FONT_REGULAR, FONT_SIZE_SM));
         dataWarning.setStyle("-fx-text-fill: " + YELLOW + ";");
@@ -158,7 +167,16 @@ public class SettingsView extends ScrollPane {
         exportJournalsBtn.setStyle(createActionButtonStyle(BLUE));
         exportJournalsBtn.setOnAction(e -> handleExportJournals());
 
-        HBox specificExportsBox = new HBox(10, exportWikisBtn, exportEventsBtn, exportOpsBtn, exportJournalsBtn);
+        Button exportArchiveBtn = new Button("Export Archive (ZIP)");
+        exportArchiveBtn.setStyle(createActionButtonStyle(BLUE));
+        exportArchiveBtn.setOnAction(e -> handleExportArchive());
+
+        Button exportSiteBtn = new Button("Publish Site (HTML)");
+        exportSiteBtn.setStyle(createActionButtonStyle(BLUE));
+        exportSiteBtn.setOnAction(e -> handleExportSite());
+
+        HBox specificExportsBox = new HBox(10, exportWikisBtn, exportEventsBtn, exportOpsBtn, exportJournalsBtn,
+                exportArchiveBtn, exportSiteBtn);
         specificExportsBox.setAlignment(Pos.CENTER_LEFT);
 
         // Specific Imports
@@ -181,10 +199,18 @@ public class SettingsView extends ScrollPane {
         importJournalsBtn.setStyle(createActionButtonStyle(GREEN));
         importJournalsBtn.setOnAction(e -> handleImportJournals());
 
-        HBox specificImportsBox = new HBox(10, importWikisBtn, importEventsBtn, importOpsBtn, importJournalsBtn);
+        Button importVaultBtn = new Button("Import Vault (Folder)");
+        importVaultBtn.setStyle(createActionButtonStyle(GREEN));
+        importVaultBtn.setOnAction(e -> handleImportVault());
+
+        HBox specificImportsBox = new HBox(10, importWikisBtn, importEventsBtn, importOpsBtn, importJournalsBtn,
+                importVaultBtn);
         specificImportsBox.setAlignment(Pos.CENTER_LEFT);
 
-        VBox dataBox = new VBox(10, dataHeader, buttonBox, warningBox, rebuildIndexBtn, indexInfo, new Separator(),
+        HBox maintenanceBox = new HBox(10, rebuildIndexBtn, findDuplicatesBtn);
+        maintenanceBox.setAlignment(Pos.CENTER_LEFT);
+
+        VBox dataBox = new VBox(10, dataHeader, buttonBox, warningBox, maintenanceBox, indexInfo, new Separator(),
                 exportHeader, specificExportsBox, new Separator(), importHeader, specificImportsBox);
         dataBox.setStyle(StyleBuilder.sectionStyle());
 
@@ -198,7 +224,52 @@ public class SettingsView extends ScrollPane {
         VBox templatesBox = new VBox(10, templatesHeader, wikiTemplatesBox, journalTemplatesBox);
         templatesBox.setStyle(StyleBuilder.sectionStyle());
 
-        content.getChildren().addAll(header, securityBox, appearanceBox, dataBox, templatesBox);
+        // Diagnostics Section
+        Label diagnosticsHeader = new Label("Diagnostics");
+        diagnosticsHeader.setFont(Font.font(FONT_BOLD, FONT_SIZE_XL));
+
+        CheckBox diagnosticsToggle = new CheckBox("Collect query statistics");
+        diagnosticsToggle.setSelected(DiagnosticsService.getInstance().isEnabled());
+        diagnosticsToggle.setOnAction(e -> handleDiagnosticsToggle(diagnosticsToggle.isSelected()));
+
+        Button showDiagnosticsBtn = new Button("Show Query Statistics");
+        showDiagnosticsBtn.setStyle(createActionButtonStyle(BLUE));
+        showDiagnosticsBtn.setOnAction(e -> handleShowDiagnostics());
+
+        Button exportDiagnosticsBtn = new Button("Export Statistics (JSON)");
+        exportDiagnosticsBtn.setStyle(createActionButtonStyle(BLUE));
+        exportDiagnosticsBtn.setOnAction(e -> handleExportDiagnostics());
+
+        Button resetDiagnosticsBtn = new Button("Reset");
+        resetDiagnosticsBtn.setStyle(createActionButtonStyle(YELLOW));
+        resetDiagnosticsBtn.setOnAction(e -> DiagnosticsService.getInstance().reset());
+
+        Label diagnosticsInfo = new Label("Records query counts and latency per screen, flags slow queries (over "
+                + DiagnosticsService.SLOW_QUERY_MS + " ms) and likely N+1 patterns. Adds a small overhead.");
+        diagnosticsInfo.setFont(Font.font(FONT_REGULAR, FONT_SIZE_SM));
+        diagnosticsInfo.setStyle("-fx-text-fill: " + TEXT_SECONDARY + ";");
+        diagnosticsInfo.setWrapText(true);
+
+        HBox diagnosticsButtons = new HBox(10, showDiagnosticsBtn, exportDiagnosticsBtn, resetDiagnosticsBtn);
+        diagnosticsButtons.setAlignment(Pos.CENTER_LEFT);
+
+        ToggleButton recordingBtn = new ToggleButton();
+        recordingBtn.setSelected(FlightRecordingService.getInstance().isRecording());
+        updateRecordingButton(recordingBtn);
+        recordingBtn.setOnAction(e -> handleRecordingToggle(recordingBtn));
+
+        Label recordingInfo = new Label("Captures a Java Flight Recording (service calls, queries, search, "
+                + "rendering, view construction) to " + FlightRecordingService.getInstance().getRecordingsDir()
+                + ". Open it in JDK Mission Control.");
+        recordingInfo.setFont(Font.font(FONT_REGULAR, FONT_SIZE_SM));
+        recordingInfo.setStyle("-fx-text-fill: " + TEXT_SECONDARY + ";");
+        recordingInfo.setWrapText(true);
+
+        VBox diagnosticsBox = new VBox(10, diagnosticsHeader, diagnosticsToggle, diagnosticsButtons, diagnosticsInfo,
+                new Separator(), recordingBtn, recordingInfo);
+        diagnosticsBox.setStyle(StyleBuilder.sectionStyle());
+
+        content.getChildren().addAll(header, securityBox, appearanceBox, dataBox, templatesBox, diagnosticsBox);
     }
 
     /**
@@ -349,7 +420,7 @@ public class SettingsView extends ScrollPane {
         confirmAlert.setHeaderText("Import data from JSON file");
         confirmAlert.setContentText(
                 "This will import data and merge it with your existing data.\n\n" +
-                        "Duplicates will be skipped based on names.\n\n" +
+                        "Duplicates will be skipped based on names, and near-identical notes are skipped.\n\n" +
                         "Do you want to continue?");
 
         Optional<ButtonType> confirmResult = confirmAlert.showAndWait();
@@ -449,80 +520,8 @@ public class SettingsView extends ScrollPane {
         Task<Integer> rebuildTask = new Task<>() {
             @Override
             protected Integer call() throws Exception {
-                SearchService searchService = SearchService.getInstance();
-
-                // Clear existing index
-                searchService.clearIndex();
-
-                // Reindex all content
-                com.roam.repository.WikiRepository wikiRepo = new com.roam.repository.WikiRepository();
-                com.roam.repository.TaskRepository taskRepo = new com.roam.repository.TaskRepository();
-                com.roam.repository.OperationRepository opRepo = new com.roam.repository.OperationRepository();
-                com.roam.repository.CalendarEventRepository eventRepo = new com.roam.repository.CalendarEventRepository();
-                com.roam.repository.JournalEntryRepository journalRepo = new com.roam.repository.JournalEntryRepository();
-
-                int count = 0;
-
-                // Index all wikis
-                for (com.roam.model.Wiki wiki : wikiRepo.findAll()) {
-                    searchService.indexWiki(
-                            wiki.getId(),
-                            wiki.getTitle(),
-                            wiki.getContent(),
-                            wiki.getRegion(),
-                            wiki.getOperationId(),
-                            wiki.getUpdatedAt());
-                    count++;
-                }
-
-                // Index all tasks
-                for (com.roam.model.Task task : taskRepo.findAll()) {
-                    searchService.indexTask(
-                            task.getId(),
-                            task.getTitle(),
-                            task.getDescription(),
-                            task.getPriority() != null ? task.getPriority().toString() : null,
-                            task.getStatus() != null ? task.getStatus().toString() : null,
-                            task.getOperationId(),
-                            task.getDueDate());
-                    count++;
-                }
-
-                // Index all operations
-                for (com.roam.model.Operation op : opRepo.findAll()) {
-                    searchService.indexOperation(
-                            op.getId(),
-                            op.getName(),
-                            op.getPurpose(),
-                            op.getOutcome(),
-                            op.getStatus() != null ? op.getStatus().toString() : null,
-                            op.getPriority() != null ? op.getPriority().toString() : null);
-                    count++;
-                }
-
-                // Index all events
-                for (com.roam.model.CalendarEvent event : eventRepo.findAll()) {
-                    searchService.indexEvent(
-                            event.getId(),
-                            event.getTitle(),
-                            event.getDescription(),
-                            event.getStartDateTime(),
-                            event.getEndDateTime(),
-                            event.getLocation());
-                    count++;
-                }
-
-                // Index all journal entries
-                for (com.roam.model.JournalEntry entry : journalRepo.findAll()) {
-                    searchService.indexJournalEntry(
-                            entry.getId(),
-                            entry.getTitle(),
-                            entry.getContent(),
-                            entry.getDate() != null ? entry.getDate().toString() : null);
-                    count++;
-                }
-
-                return count;
+                // Reindex all content, then the text inside wiki attachments
+                return SearchService.getInstance().rebuildIndex() + AttachmentIndexer.getInstance().indexAll();
             }
         };
 
@@ -553,6 +552,169 @@ public class SettingsView extends ScrollPane {
         ThreadPoolManager.getInstance().submitComputeTask(rebuildTask);
     }
 
+    private void handleFindDuplicates() {
+        Alert progressAlert = new Alert(Alert.AlertType.INFORMATION);
+        progressAlert.setTitle("Finding Duplicates");
+        progressAlert.setHeaderText("Please wait...");
+        progressAlert.setContentText("Comparing Wikis and Journal entries.");
+        progressAlert.show();
+
+        Task<java.util.List<DuplicateDetectionService.DuplicatePair>> duplicatesTask = new Task<>() {
+            @Override
+            protected java.util.List<DuplicateDetectionService.DuplicatePair> call() {
+                return DuplicateDetectionService.getInstance()
+                        .findAllDuplicates(DuplicateDetectionService.DEFAULT_THRESHOLD);
+            }
+        };
+
+        duplicatesTask.setOnSucceeded(event -> {
+            progressAlert.close();
+            java.util.List<DuplicateDetectionService.DuplicatePair> pairs = duplicatesTask.getValue();
+
+            if (pairs.isEmpty()) {
+                DialogUtils.showInfo("Find Duplicates", "No duplicates found",
+                        "No Wikis or Journal entries look like near-copies of each other.");
+                return;
+            }
+
+            ListView<String> pairList = new ListView<>();
+            for (DuplicateDetectionService.DuplicatePair pair : pairs) {
+                pairList.getItems().add(String.format("%s  •  %s  ↔  %s  (%.0f%% similar)",
+                        DuplicateDetectionService.TYPE_WIKI.equals(pair.type()) ? "Wiki" : "Journal",
+                        pair.firstTitle(), pair.secondTitle(), pair.similarity() * 100));
+            }
+            pairList.setPrefSize(560, 320);
+
+            Alert resultAlert = new Alert(Alert.AlertType.INFORMATION);
+            resultAlert.setTitle("Find Duplicates");
+            resultAlert.setHeaderText(pairs.size() + " possible duplicate pair(s) found");
+            resultAlert.getDialogPane().setContent(pairList);
+            resultAlert.showAndWait();
+        });
+
+        duplicatesTask.setOnFailed(event -> {
+            progressAlert.close();
+            DialogUtils.showError("Find Duplicates", "Failed to find duplicates",
+                    duplicatesTask.getException().getMessage());
+        });
+
+        // Building the index reads all notes from the database
+        ThreadPoolManager.getInstance().submitIoTask(duplicatesTask);
+    }
+
+    private void handleDiagnosticsToggle(boolean enabled) {
+        settingsService.getSettings().setDiagnosticsEnabled(enabled);
+        settingsService.saveSettings();
+        DiagnosticsService.getInstance().setEnabled(enabled);
+    }
+
+    private void handleRecordingToggle(ToggleButton recordingBtn) {
+        FlightRecordingService recorder = FlightRecordingService.getInstance();
+        try {
+            if (recordingBtn.isSelected()) {
+                recorder.start();
+            } else {
+                java.nio.file.Path file = recorder.stop();
+                if (file != null) {
+                    DialogUtils.showSuccess("Flight recording saved to:\n" + file);
+                }
+            }
+        } catch (Exception e) {
+            DialogUtils.showError("Flight Recording", "Failed to " + (recordingBtn.isSelected() ? "start" : "stop")
+                    + " the recording", e.getMessage());
+            recordingBtn.setSelected(recorder.isRecording());
+        }
+        updateRecordingButton(recordingBtn);
+    }
+
+    private void updateRecordingButton(ToggleButton recordingBtn) {
+        boolean recording = recordingBtn.isSelected();
+        recordingBtn.setText(recording ? "Stop Flight Recording" : "Start Flight Recording");
+        recordingBtn.setStyle(createActionButtonStyle(recording ? RED : BLUE));
+    }
+
+    private void handleShowDiagnostics() {
+        DiagnosticsService.Snapshot snapshot = DiagnosticsService.getInstance().snapshot();
+
+        TableView<DiagnosticsService.QueryStat> queryTable = new TableView<>();
+        queryTable.getColumns().add(diagnosticsColumn("Query", DiagnosticsService.QueryStat::query, 320));
+        queryTable.getColumns().add(diagnosticsColumn("Count", DiagnosticsService.QueryStat::count, 60));
+        queryTable.getColumns().add(diagnosticsColumn("Rows", DiagnosticsService.QueryStat::rows, 60));
+        queryTable.getColumns().add(diagnosticsColumn("Mean ms", q -> formatMillis(q.meanMs()), 70));
+        queryTable.getColumns().add(diagnosticsColumn("p95 ms", q -> formatMillis(q.p95Ms()), 70));
+        queryTable.getColumns().add(diagnosticsColumn("Max ms", q -> formatMillis(q.maxMs()), 70));
+        queryTable.getItems().setAll(snapshot.queries());
+
+        TableView<DiagnosticsService.ActionStat> actionTable = new TableView<>();
+        actionTable.getColumns().add(diagnosticsColumn("Action", DiagnosticsService.ActionStat::action, 220));
+        actionTable.getColumns().add(diagnosticsColumn("Runs", DiagnosticsService.ActionStat::count, 60));
+        actionTable.getColumns().add(diagnosticsColumn("Statements", DiagnosticsService.ActionStat::statements, 90));
+        actionTable.getColumns().add(diagnosticsColumn("Max/run", DiagnosticsService.ActionStat::maxStatements, 70));
+        actionTable.getColumns().add(diagnosticsColumn("Mean ms", a -> formatMillis(a.meanMs()), 70));
+        actionTable.getColumns().add(diagnosticsColumn("Max ms", a -> formatMillis(a.maxMs()), 70));
+        actionTable.getItems().setAll(snapshot.actions());
+
+        ListView<String> problemList = new ListView<>();
+        for (DiagnosticsService.NPlusOneWarning warning : snapshot.nPlusOneWarnings()) {
+            problemList.getItems().add(String.format("N+1  •  %s  •  %s ×%d",
+                    warning.action(), warning.pattern(), warning.count()));
+        }
+        for (DiagnosticsService.SlowQuery slow : snapshot.slowQueries()) {
+            problemList.getItems().add(String.format("Slow  •  %s  •  %d ms  •  %s",
+                    slow.action() != null ? slow.action() : "-", slow.durationMs(), slow.query()));
+        }
+
+        TabPane tabs = new TabPane(
+                new Tab("Queries", queryTable),
+                new Tab("Actions", actionTable),
+                new Tab("Problems (" + problemList.getItems().size() + ")", problemList));
+        tabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+        tabs.setPrefSize(760, 420);
+
+        Alert dialog = new Alert(Alert.AlertType.INFORMATION);
+        dialog.setTitle("Query Statistics");
+        dialog.setHeaderText(String.format("%d queries, %d statements, %d sessions, %d lazy fetches%s",
+                snapshot.queryCount(), snapshot.statementCount(), snapshot.sessionCount(),
+                snapshot.entityFetchCount() + snapshot.collectionFetchCount(),
+                snapshot.enabled() ? "" : " (collection is off)"));
+        dialog.getDialogPane().setContent(tabs);
+        dialog.setResizable(true);
+        dialog.showAndWait();
+    }
+
+    private void handleExportDiagnostics() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Query Statistics");
+        fileChooser.setInitialFileName(
+                "roam-diagnostics-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss"))
+                        + ".json");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+
+        File file = fileChooser.showSaveDialog(getScene().getWindow());
+        if (file != null) {
+            try {
+                DiagnosticsService.getInstance().exportJson(file);
+                DialogUtils.showSuccess("Query statistics exported to:\n" + file.getAbsolutePath());
+            } catch (Exception e) {
+                DialogUtils.showError("Export Failed", "Failed to export query statistics", e.getMessage());
+            }
+        }
+    }
+
+    private static <S> TableColumn<S, Object> diagnosticsColumn(String title,
+            java.util.function.Function<S, Object> value, double width) {
+        TableColumn<S, Object> column = new TableColumn<>(title);
+        column.setCellValueFactory(data -> new javafx.beans.property.SimpleObjectProperty<>(
+                value.apply(data.getValue())));
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format("%.1f", millis);
+    }
+
     private VBox createWikiTemplatesBox() {
         Label header = new Label("Wiki Templates");
         header.setFont(Font.font("Poppins Medium", 14));
@@ -858,7 +1020,7 @@ public class SettingsView extends ScrollPane {
     }
 
     private void handleExportEvents() {
-        java.util.List<com.roam.model.CalendarEvent> events = calendarController.getAllEvents();
+        java.util.List<com.roam.model.CalendarEvent> events = calendarController.findAllEvents();
         ExportUtils.exportEventsToICS(getScene().getWindow(), events);
     }
 
@@ -872,6 +1034,14 @@ public class SettingsView extends ScrollPane {
         ExportUtils.exportJournalsToMarkdown(getScene().getWindow(), entries);
     }
 
+    private void handleExportArchive() {
+        ExportUtils.exportArchive(getScene().getWindow());
+    }
+
+    private void handleExportSite() {
+        ExportUtils.exportSite(getScene().getWindow());
+    }
+
     private void handleImportWikis() {
         ImportUtils.importNotesFromMarkdown(getScene().getWindow());
     }
@@ -888,6 +1058,10 @@ public class SettingsView extends ScrollPane {
         ImportUtils.importJournalsFromMarkdown(getScene().getWindow());
     }
 
+    private void handleImportVault() {
+        ImportUtils.importVault(getScene().getWindow());
+    }
+
     private StackPane createStyledInput(TextField textField, Feather icon) {
         FontIcon fontIcon = new FontIcon(icon);
         fontIcon.setIconColor(javafx.scene.paint.Color.GRAY);
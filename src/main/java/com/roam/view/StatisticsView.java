@@ -1,6 +1,5 @@
 package com.roam.view;
 
-import com.roam.controller.CalendarController;
 import com.roam.controller.JournalController;
 import com.roam.controller.OperationsController;
 import com.roam.controller.WikiController;
@@ -10,7 +9,11 @@ import com.roam.model.OperationStatus;
 import com.roam.model.Task;
 import com.roam.model.TaskStatus;
 import com.roam.model.Wiki;
+import com.roam.repository.CalendarEventRepository;
 import com.roam.repository.TaskRepository;
+import com.roam.util.AsyncLoader;
+import com.roam.util.DialogUtils;
+import com.roam.view.components.LoadingIndicator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -35,17 +38,26 @@ public class StatisticsView extends StackPane {
 
     private final WikiController wikiController;
     private final JournalController journalController;
-    private final CalendarController calendarController;
     private final OperationsController operationsController;
     private final TaskRepository taskRepository;
+    private final CalendarEventRepository eventRepository;
     private final VBox contentPane;
+    private final AsyncLoader loader = new AsyncLoader("statistics");
+
+    /**
+     * Everything the dashboard shows, queried together off the FX thread.
+     */
+    private record Snapshot(List<Wiki> notes, List<JournalEntry> journals, List<Operation> operations,
+            List<Task> tasks, long events, long doneTasks, long todoTasks, long inProgressTasks, long overdueTasks,
+            long highPriorityTasks) {
+    }
 
     public StatisticsView(WikiController wikiController) {
         this.wikiController = wikiController;
         this.journalController = new JournalController();
-        this.calendarController = new CalendarController();
         this.operationsController = new OperationsController();
         this.taskRepository = new TaskRepository();
+        this.eventRepository = new CalendarEventRepository();
 
         this.contentPane = new VBox();
 
@@ -53,11 +65,29 @@ public class StatisticsView extends StackPane {
         scrollPane.setFitToWidth(true);
         scrollPane.setStyle("-fx-background-color: transparent; -fx-background: transparent;");
 
-        getChildren().add(scrollPane);
-        initializeView();
+        getChildren().addAll(scrollPane, new LoadingIndicator(loader));
+        loader.load(this::loadSnapshot, this::initializeView,
+                e -> DialogUtils.showError("Database Error", "Failed to load statistics", e.getMessage()));
+    }
+
+    /**
+     * Fetch all data once. Runs on a background thread.
+     */
+    private Snapshot loadSnapshot() {
+        return new Snapshot(
+                wikiController.findAllNotes(),
+                journalController.loadAllEntries(),
+                operationsController.findOperations(),
+                taskRepository.findAll(),
+                eventRepository.count(),
+                taskRepository.countByStatus(TaskStatus.DONE),
+                taskRepository.countByStatus(TaskStatus.TODO),
+                taskRepository.countByStatus(TaskStatus.IN_PROGRESS),
+                taskRepository.countOverdue(),
+                taskRepository.countHighPriority());
     }
 
-    private void initializeView() {
+    private void initializeView(Snapshot data) {
         contentPane.setPadding(new Insets(30));
         contentPane.setSpacing(24);
 
@@ -66,23 +96,20 @@ public class StatisticsView extends StackPane {
         headerLabel.setStyle("-fx-font-family: 'Poppins Bold'; -fx-font-size: 24px;");
         contentPane.getChildren().add(headerLabel);
 
-        // Fetch all data once
-        List<Wiki> allNotes = wikiController.loadAllNotes();
-        List<JournalEntry> allJournals = journalController.loadAllEntries();
-        List<Operation> allOps = operationsController.loadOperations();
-        List<Task> allTasks = taskRepository.findAll();
+        List<Operation> allOps = data.operations();
+        List<Task> allTasks = data.tasks();
 
-        long totalWikis = allNotes.size();
-        long totalJournals = allJournals.size();
-        long totalEvents = calendarController.getAllEvents().size();
+        long totalWikis = data.notes().size();
+        long totalJournals = data.journals().size();
+        long totalEvents = data.events();
         long totalOperations = allOps.size();
         long totalTasks = allTasks.size();
 
-        long doneTasks = taskRepository.countByStatus(TaskStatus.DONE);
-        long todoTasks = taskRepository.countByStatus(TaskStatus.TODO);
-        long inProgressTasks = taskRepository.countByStatus(TaskStatus.IN_PROGRESS);
-        long overdueTasks = taskRepository.countOverdue();
-        long highPriorityTasks = taskRepository.countHighPriority();
+        long doneTasks = data.doneTasks();
+        long todoTasks = data.todoTasks();
+        long inProgressTasks = data.inProgressTasks();
+        long overdueTasks = data.overdueTasks();
+        long highPriorityTasks = data.highPriorityTasks();
 
         // Calculate completion rate
         double completionRate = totalTasks > 0 ? (double) doneTasks / totalTasks * 100 : 0;
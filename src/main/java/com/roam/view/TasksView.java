@@ -1,8 +1,12 @@
 package com.roam.view;
 
 import com.roam.controller.TasksController;
+import com.roam.model.Task;
+import com.roam.util.AsyncLoader;
+import com.roam.util.DialogUtils;
 import com.roam.view.components.BatchOperationsBar;
 import com.roam.view.components.GlobalTasksKanban;
+import com.roam.view.components.LoadingIndicator;
 import com.roam.view.components.TasksFilterPanel;
 import com.roam.view.components.TasksListView;
 import com.roam.view.components.TasksTimelineView;
@@ -14,7 +18,9 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 
-public class TasksView extends StackPane {
+import java.util.List;
+
+public class TasksView extends StackPane implements RefreshableView<List<Task>> {
 
     private final TasksController controller;
     private final TasksToolbar toolbar;
@@ -25,11 +31,12 @@ public class TasksView extends StackPane {
     private final TasksEisenhowerView matrixView;
     private final BatchOperationsBar batchBar;
     private final BorderPane contentPane;
+    private final AsyncLoader loader = new AsyncLoader("tasks");
 
     public TasksView(TasksController controller) {
         this.controller = controller;
         this.contentPane = new BorderPane();
-        getChildren().add(contentPane);
+        getChildren().addAll(contentPane, new LoadingIndicator(loader));
 
         // Create toolbar
         toolbar = new TasksToolbar(controller);
@@ -107,14 +114,29 @@ public class TasksView extends StackPane {
         controller.searchTasks(query);
     }
 
+    @Override
+    public List<Task> loadData() {
+        return controller.findTasks();
+    }
+
+    @Override
+    public void applyData(List<Task> tasks) {
+        showTasks(tasks);
+    }
+
     private void refreshView() {
+        loader.load(controller::findTasks, this::showTasks,
+                e -> DialogUtils.showError("Error", "Failed to load tasks", e.getMessage()));
+    }
+
+    private void showTasks(List<Task> tasks) {
         String selectedView = toolbar.getSelectedView();
 
         switch (selectedView) {
-            case "kanban" -> kanbanView.loadTasks(controller.loadTasks());
-            case "list" -> listView.loadTasks(controller.loadTasks());
-            case "timeline" -> timelineView.loadTasks(controller.loadTasks());
-            case "matrix" -> matrixView.loadTasks(controller.loadTasks());
+            case "kanban" -> kanbanView.loadTasks(tasks);
+            case "list" -> listView.loadTasks(tasks);
+            case "timeline" -> timelineView.loadTasks(tasks);
+            case "matrix" -> matrixView.loadTasks(tasks);
         }
 
         filterPanel.refresh();
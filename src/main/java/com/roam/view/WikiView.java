@@ -1,17 +1,34 @@
 package com.roam.view;
 
 import com.roam.controller.WikiController;
+import com.roam.model.Wiki;
+import com.roam.service.SearchService;
+import com.roam.util.AsyncLoader;
+import com.roam.util.DialogUtils;
+import com.roam.view.components.LoadingIndicator;
 import com.roam.view.components.WikiNoteEditor;
 import com.roam.view.components.WikiSidebar;
 import com.roam.view.components.WikiToolbar;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.StackPane;
 
-public class WikiView extends BorderPane {
+import java.util.List;
+import java.util.function.Consumer;
+
+public class WikiView extends BorderPane implements RefreshableView<WikiView.WikiData> {
+
+    /**
+     * Snapshot of the wiki lists shown by this view.
+     */
+    public record WikiData(List<Wiki> allNotes, List<Wiki> favorites, List<Wiki> recent) {
+    }
 
     private final WikiController controller;
     private final WikiToolbar toolbar;
     private final WikiSidebar sidebar;
     private final WikiNoteEditor noteEditor;
+    private final AsyncLoader loader = new AsyncLoader("wikis");
+    private Long pendingNoteId;
 
     public WikiView(WikiController controller) {
         this.controller = controller;
@@ -27,18 +44,54 @@ public class WikiView extends BorderPane {
         // Set components in BorderPane regions
         setTop(toolbar);
         setLeft(sidebar);
-        setCenter(noteEditor);
+        setCenter(new StackPane(noteEditor, new LoadingIndicator(loader)));
 
         // Set background
         getStyleClass().add("wiki-view");
 
         // Load initial data
-        controller.loadAllNotes();
-        sidebar.refreshAll();
+        refresh();
+    }
+
+    /**
+     * Handles related items that are not wikis, such as journal entries.
+     */
+    public void setOnOpenResult(Consumer<SearchService.SearchResult> onOpenResult) {
+        noteEditor.setOnOpenResult(onOpenResult);
+    }
+
+    /**
+     * Open the wiki with the given id, after the list has loaded if it is not
+     * in it yet.
+     */
+    public void openNote(Long id) {
+        if (!controller.openNoteById(id)) {
+            pendingNoteId = id;
+            refresh();
+        }
     }
 
     public void refresh() {
-        sidebar.refreshAll();
-        controller.loadAllNotes();
+        loader.load(this::loadData, this::applyData,
+                e -> DialogUtils.showError("Error", "Failed to load wikis", e.getMessage()));
+    }
+
+    @Override
+    public WikiData loadData() {
+        return new WikiData(
+                controller.findAllNotes(),
+                controller.loadFavoriteNotes(),
+                controller.loadRecentNotes(WikiSidebar.RECENT_LIMIT));
+    }
+
+    @Override
+    public void applyData(WikiData data) {
+        controller.setAllNotes(data.allNotes());
+        sidebar.showFavorites(data.favorites());
+        sidebar.showRecent(data.recent());
+        if (pendingNoteId != null) {
+            controller.openNoteById(pendingNoteId);
+            pendingNoteId = null;
+        }
     }
 }
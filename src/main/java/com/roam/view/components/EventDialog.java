@@ -17,6 +17,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Locale;
 
 public class EventDialog extends Dialog<CalendarEvent> {
 
@@ -37,6 +38,8 @@ public class EventDialog extends Dialog<CalendarEvent> {
     private final ComboBox<Wiki> noteCombo;
     private final ComboBox<String> recurrenceCombo;
     private final DatePicker recurrenceEndDatePicker;
+    private final Label importedRuleLabel = new Label();
+    private String importedRule;
     private final Label errorLabel;
 
     private final CalendarEvent originalEvent;
@@ -283,6 +286,23 @@ public class EventDialog extends Dialog<CalendarEvent> {
         return combo;
     }
 
+    /**
+     * The combo choice for a stored rule: the dialog's own values as they
+     * are, iCalendar rules by their FREQ.
+     */
+    private static String recurrenceChoice(String rule) {
+        String upper = rule.toUpperCase(Locale.ROOT);
+        int freq = upper.indexOf("FREQ=");
+        String frequency = freq < 0 ? upper : upper.substring(freq + 5).split(";", 2)[0];
+        return switch (frequency.trim()) {
+            case "DAILY" -> "Daily";
+            case "WEEKLY" -> "Weekly";
+            case "MONTHLY" -> "Monthly";
+            case "YEARLY" -> "Yearly";
+            default -> "None";
+        };
+    }
+
     private Spinner<Integer> createTimeSpinner(int initial, int min, int max) {
         Spinner<Integer> spinner = new Spinner<>(min, max, initial);
         spinner.setEditable(true);
@@ -366,7 +386,12 @@ public class EventDialog extends Dialog<CalendarEvent> {
         recurrenceEndDatePicker.setStyle("-fx-font-family: 'Poppins'; -fx-font-size: 14px;");
 
         box.getChildren().addAll(recurrenceCombo, recurrenceEndDatePicker);
-        section.getChildren().addAll(label, box);
+        importedRuleLabel.setFont(Font.font("Poppins", 12));
+        importedRuleLabel.setStyle("-fx-text-fill: -roam-text-secondary;");
+        importedRuleLabel.setWrapText(true);
+        importedRuleLabel.setVisible(false);
+        importedRuleLabel.managedProperty().bind(importedRuleLabel.visibleProperty());
+        section.getChildren().addAll(label, box, importedRuleLabel);
         return section;
     }
 
@@ -442,9 +467,17 @@ public class EventDialog extends Dialog<CalendarEvent> {
                         .ifPresent(noteCombo::setValue);
             }
 
-            if (originalEvent.getRecurrenceRule() != null) {
-                recurrenceCombo.setValue(originalEvent.getRecurrenceRule());
-                recurrenceEndDatePicker.setDisable(false);
+            String rule = originalEvent.getRecurrenceRule();
+            if (rule != null && !rule.isBlank()) {
+                String choice = recurrenceChoice(rule);
+                if (rule.toUpperCase(Locale.ROOT).contains("FREQ=")) {
+                    // Imported rules can say more than the combo can; keep them whole
+                    importedRule = rule;
+                    importedRuleLabel.setText("Imported rule, kept unless you change the frequency: " + rule);
+                    importedRuleLabel.setVisible(true);
+                }
+                recurrenceCombo.setValue(choice);
+                recurrenceEndDatePicker.setDisable("None".equals(choice));
             }
             if (originalEvent.getRecurrenceEndDate() != null) {
                 recurrenceEndDatePicker.setValue(originalEvent.getRecurrenceEndDate().toLocalDate());
@@ -536,8 +569,11 @@ public class EventDialog extends Dialog<CalendarEvent> {
             e.setWikiId(null);
         }
 
-        if (!"None".equals(recurrenceCombo.getValue())) {
-            e.setRecurrenceRule(recurrenceCombo.getValue());
+        // An imported rule is kept unless the user picked another frequency
+        boolean keepImported = importedRule != null
+                && recurrenceChoice(importedRule).equals(recurrenceCombo.getValue());
+        if (keepImported || !"None".equals(recurrenceCombo.getValue())) {
+            e.setRecurrenceRule(keepImported ? importedRule : recurrenceCombo.getValue());
             if (recurrenceEndDatePicker.getValue() != null) {
                 e.setRecurrenceEndDate(recurrenceEndDatePicker.getValue().atTime(23, 59, 59));
             } else {
@@ -0,0 +1,46 @@
+package com.roam.view.components;
+
+import com.roam.util.AsyncLoader;
+import javafx.animation.PauseTransition;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+
+/**
+ * Small spinner that follows an {@link AsyncLoader}'s loading state.
+ * Appears only when a load takes longer than a short grace period, so fast
+ * queries do not make the view flicker. Add it on top of the view's content
+ * in a StackPane; it sits in the top-right corner and ignores the mouse.
+ */
+public class LoadingIndicator extends StackPane {
+
+    private static final Duration SHOW_DELAY = Duration.millis(150);
+
+    private final PauseTransition showDelay = new PauseTransition(SHOW_DELAY);
+
+    public LoadingIndicator(AsyncLoader loader) {
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setPrefSize(28, 28);
+        progress.setMaxSize(28, 28);
+
+        getChildren().add(progress);
+        setPadding(new Insets(12));
+        setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+        setMouseTransparent(true);
+        setVisible(false);
+        StackPane.setAlignment(this, Pos.TOP_RIGHT);
+
+        showDelay.setOnFinished(e -> setVisible(true));
+
+        loader.loadingProperty().addListener((obs, wasLoading, isLoading) -> {
+            if (isLoading) {
+                showDelay.playFromStart();
+            } else {
+                showDelay.stop();
+                setVisible(false);
+            }
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.roam.view.components;
 
 import com.roam.model.Wiki;
+import com.roam.util.FlightEvents;
 import javafx.animation.PauseTransition;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -31,6 +32,8 @@ public class NotesEditor extends BorderPane {
     private final ToggleGroup viewToggle;
     private final Button saveButton;
     private final Label statusLabel;
+    private final Label statsLabel;
+    private final TextStatisticsTracker statisticsTracker;
     private final StackPane editorContainer;
 
     private Wiki currentNote;
@@ -58,6 +61,9 @@ public class NotesEditor extends BorderPane {
         viewToggle = new ToggleGroup();
         saveButton = createSaveButton();
         statusLabel = createStatusLabel();
+        statsLabel = createStatusLabel();
+        statisticsTracker = new TextStatisticsTracker(sourceEditor,
+                statistics -> statsLabel.setText(TextStatisticsTracker.summary(statistics)));
         editorContainer = new StackPane();
 
         // Setup layout
@@ -286,7 +292,7 @@ public class NotesEditor extends BorderPane {
                         "-fx-cursor: hand;"));
         deleteBtn.setOnAction(e -> deleteCurrentNote());
 
-        toolbar.getChildren().addAll(titleField, toggleContainer, statusLabel, saveButton, deleteBtn);
+        toolbar.getChildren().addAll(titleField, toggleContainer, statsLabel, statusLabel, saveButton, deleteBtn);
         return toolbar;
     }
 
@@ -312,8 +318,10 @@ public class NotesEditor extends BorderPane {
             return "<html><body style='font-family: Poppins, sans-serif; padding: 20px; background-color: #1E1E1E; color: #E0E0E0;'><p style='color: #757575;'>No content</p></body></html>";
         }
 
+        FlightEvents.MarkdownRender renderEvent = FlightEvents.markdownRender("notes", markdown);
         org.commonmark.node.Node document = markdownParser.parse(markdown);
         String htmlContent = htmlRenderer.render(document);
+        renderEvent.finish(htmlContent);
 
         return String.format(
                 "<html><head><style>" +
@@ -364,7 +372,7 @@ public class NotesEditor extends BorderPane {
     private void saveCurrentNote() {
         if (currentNote != null && hasUnsavedChanges) {
             currentNote.setTitle(titleField.getText().trim());
-            currentNote.setContent(sourceEditor.getText());
+            currentNote.setContent(sourceEditor.getText(), statisticsTracker.getStatistics().getWords());
 
             if (onSave != null) {
                 statusLabel.setText("Saving...");
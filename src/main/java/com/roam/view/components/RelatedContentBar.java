@@ -0,0 +1,138 @@
+package com.roam.view.components;
+
+import com.roam.service.RelatedContentService;
+import com.roam.service.SearchService;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Hyperlink;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.HBox;
+import org.kordamp.ikonli.feather.Feather;
+import org.kordamp.ikonli.javafx.FontIcon;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Compact "Related:" strip listing similar wikis, journal entries and tasks.
+ * Lookups run off the FX thread; only the result of the latest request is
+ * shown, so quickly switching between notes never flashes stale links.
+ */
+public class RelatedContentBar extends HBox {
+
+    private final Label headerLabel;
+    private final HBox linksBox;
+    private final AtomicLong requestCounter = new AtomicLong();
+
+    private final List<String> targetTypes;
+
+    private Consumer<SearchService.SearchResult> onResultSelected;
+
+    /**
+     * @param targetTypes Types of related items to show (wiki, journal, task);
+     *                    all of them when none are given
+     */
+    public RelatedContentBar(String... targetTypes) {
+        this.targetTypes = targetTypes.length > 0 ? List.of(targetTypes) : List.of("wiki", "journal", "task");
+
+        setSpacing(8);
+        setAlignment(Pos.CENTER_LEFT);
+        setPadding(new Insets(0, 0, 0, 10));
+
+        FontIcon icon = new FontIcon(Feather.LINK);
+        icon.setIconSize(12);
+
+        headerLabel = new Label("Related:");
+        headerLabel.setGraphic(icon);
+        headerLabel.getStyleClass().add("wiki-metadata-label");
+
+        linksBox = new HBox(4);
+        linksBox.setAlignment(Pos.CENTER_LEFT);
+
+        getChildren().addAll(headerLabel, linksBox);
+        clear();
+    }
+
+    public void setOnResultSelected(Consumer<SearchService.SearchResult> onResultSelected) {
+        this.onResultSelected = onResultSelected;
+    }
+
+    /**
+     * Load recommendations for the given document.
+     *
+     * @param type    Document type (wiki, journal, task)
+     * @param id      Document ID
+     * @param version Last modification time, used to reuse cached results
+     */
+    public void load(String type, Long id, LocalDateTime version) {
+        long request = requestCounter.incrementAndGet();
+        linksBox.getChildren().clear();
+
+        if (id == null) {
+            clear();
+            return;
+        }
+
+        RelatedContentService.getInstance()
+                .findRelatedAsync(type, id, version, RelatedContentService.DEFAULT_MAX_RESULTS, targetTypes)
+                .whenComplete((results, error) -> Platform.runLater(() -> {
+                    if (request != requestCounter.get()) {
+                        return; // A newer document was loaded meanwhile
+                    }
+                    showResults(error == null ? results : List.of());
+                }));
+    }
+
+    public void clear() {
+        requestCounter.incrementAndGet();
+        linksBox.getChildren().clear();
+        setVisible(false);
+        setManaged(false);
+    }
+
+    private void showResults(List<SearchService.SearchResult> results) {
+        linksBox.getChildren().clear();
+        boolean hasResults = results != null && !results.isEmpty();
+        setVisible(hasResults);
+        setManaged(hasResults);
+        if (!hasResults) {
+            return;
+        }
+
+        for (SearchService.SearchResult result : results) {
+            Hyperlink link = new Hyperlink(result.title != null ? result.title : "Untitled");
+            link.setGraphic(new FontIcon(iconFor(result.type)));
+            link.setTooltip(new Tooltip(capitalize(result.type)));
+            link.getStyleClass().add("wiki-metadata-label");
+            link.setOnAction(e -> {
+                if (onResultSelected != null) {
+                    onResultSelected.accept(result);
+                }
+            });
+            linksBox.getChildren().add(link);
+        }
+    }
+
+    private Feather iconFor(String type) {
+        if (type == null) {
+            return Feather.FILE;
+        }
+        return switch (type) {
+            case "wiki" -> Feather.FILE_TEXT;
+            case "journal" -> Feather.BOOK_OPEN;
+            case "task" -> Feather.CHECK_SQUARE;
+            default -> Feather.FILE;
+        };
+    }
+
+    private String capitalize(String type) {
+        if (type == null || type.isEmpty()) {
+            return "";
+        }
+        return Character.toUpperCase(type.charAt(0)) + type.substring(1);
+    }
+}
@@ -69,7 +69,8 @@ public class TasksListView extends TableView<Task> {
 
         masterCheckbox.setOnAction(e -> {
             if (masterCheckbox.isSelected()) {
-                controller.selectAll(controller.loadTasks());
+                // The table already holds the tasks matching the current filter
+                controller.selectAll(List.copyOf(getItems()));
             } else {
                 controller.clearSelection();
             }
@@ -0,0 +1,59 @@
+package com.roam.view.components;
+
+import com.roam.util.TextStatistics;
+import javafx.scene.control.TextFormatter;
+import javafx.scene.control.TextInputControl;
+
+import java.util.function.Consumer;
+
+/**
+ * Keeps a {@link TextStatistics} in step with a text control. Each edit is
+ * picked up from the control's {@link TextFormatter} as a range and the
+ * inserted text, so typing costs time proportional to the keystroke rather
+ * than the document. Text set without passing through the formatter, such as
+ * loading a document, falls back to a full recount.
+ *
+ * <p>
+ * Create the tracker before adding other text listeners to the control, so
+ * they see the updated statistics.
+ * </p>
+ */
+public class TextStatisticsTracker {
+
+    private final TextStatistics statistics = new TextStatistics();
+    private boolean deltaApplied;
+
+    public TextStatisticsTracker(TextInputControl control, Consumer<TextStatistics> onChange) {
+        statistics.reset(control.getText());
+
+        control.setTextFormatter(new TextFormatter<>(change -> {
+            if (change.isContentChange()) {
+                statistics.replace(change.getControlText(), change.getRangeStart(), change.getRangeEnd(),
+                        change.getText());
+                deltaApplied = true;
+            }
+            return change;
+        }));
+
+        control.textProperty().addListener((obs, oldText, newText) -> {
+            int length = newText == null ? 0 : newText.length();
+            if (!deltaApplied || statistics.getCharacters() != length) {
+                statistics.reset(newText);
+            }
+            deltaApplied = false;
+            onChange.accept(statistics);
+        });
+    }
+
+    public TextStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Short summary for status bars, e.g. "120 words · 2 min read".
+     */
+    public static String summary(TextStatistics statistics) {
+        return statistics.getWords() + (statistics.getWords() == 1 ? " word" : " words")
+                + " · " + statistics.getReadingTimeMinutes() + " min read";
+    }
+}
@@ -3,9 +3,16 @@ package com.roam.view.components;
 import com.roam.model.Wiki;
 import com.roam.model.WikiFileAttachment;
 import com.roam.repository.WikiFileAttachmentRepository;
+import com.roam.service.AttachmentIndexer;
+import com.roam.service.AttachmentStore;
+import com.roam.service.ThumbnailService;
+import com.roam.util.ThreadPoolManager;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.stage.FileChooser;
@@ -15,23 +22,30 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import java.awt.Desktop;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.text.DecimalFormat;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 public class WikiFileHierarchy extends VBox {
 
+    private static final double THUMBNAIL_SIZE = 32;
+
     private final WikiFileAttachmentRepository attachmentRepository;
+    private final AttachmentStore attachmentStore;
+    private final AttachmentIndexer attachmentIndexer;
+    private final ThumbnailService thumbnailService;
     private final Font poppinsRegular;
     private final Font poppinsBold;
 
     private Wiki currentWiki;
     private VBox fileListContainer;
+    private ProgressBar progressBar;
 
     public WikiFileHierarchy(Font poppinsRegular, Font poppinsBold) {
         this.attachmentRepository = new WikiFileAttachmentRepository();
+        this.attachmentStore = AttachmentStore.getInstance();
+        this.attachmentIndexer = AttachmentIndexer.getInstance();
+        this.thumbnailService = ThumbnailService.getInstance();
         this.poppinsRegular = poppinsRegular;
         this.poppinsBold = poppinsBold;
 
@@ -74,6 +88,12 @@ public class WikiFileHierarchy extends VBox {
 
         header.getChildren().addAll(folderIcon, titleLabel, spacer, addFileBtn);
 
+        // Shown while a file is being copied into the store
+        progressBar = new ProgressBar(0);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        progressBar.setVisible(false);
+        progressBar.setManaged(false);
+
         // File list container
         ScrollPane scrollPane = new ScrollPane();
         scrollPane.setFitToWidth(true);
@@ -84,7 +104,7 @@ public class WikiFileHierarchy extends VBox {
         fileListContainer.setPadding(new Insets(10, 0, 0, 0));
         scrollPane.setContent(fileListContainer);
 
-        getChildren().addAll(header, scrollPane);
+        getChildren().addAll(header, progressBar, scrollPane);
     }
 
     public void loadFiles(Wiki wiki) {
@@ -131,6 +151,33 @@ public class WikiFileHierarchy extends VBox {
         fileIcon.setIconSize(14);
         fileIcon.setStyle("-fx-icon-color: -roam-blue;");
 
+        // Images get a thumbnail, swapped in for the icon once it is ready
+        ImageView thumbnailView = null;
+        if (ThumbnailService.isImage(attachment.getFileName(), attachment.getFileType())) {
+            ImageView view = new ImageView(thumbnailService.getCached(attachment));
+            view.setFitWidth(THUMBNAIL_SIZE);
+            view.setFitHeight(THUMBNAIL_SIZE);
+            view.setPreserveRatio(true);
+            view.setSmooth(true);
+            if (view.getImage() == null) {
+                view.setVisible(false);
+                view.setManaged(false);
+                thumbnailService.thumbnail(attachment).thenAccept(image -> Platform.runLater(() -> {
+                    if (image != null) {
+                        view.setImage(image);
+                        view.setVisible(true);
+                        view.setManaged(true);
+                        fileIcon.setVisible(false);
+                        fileIcon.setManaged(false);
+                    }
+                }));
+            } else {
+                fileIcon.setVisible(false);
+                fileIcon.setManaged(false);
+            }
+            thumbnailView = view;
+        }
+
         Label nameLabel = new Label(attachment.getFileName());
         nameLabel.setFont(Font.font(poppinsRegular.getFamily(), 12));
         nameLabel.setMaxWidth(160);
@@ -150,7 +197,11 @@ public class WikiFileHierarchy extends VBox {
             handleDeleteFile(attachment);
         });
 
-        nameRow.getChildren().addAll(fileIcon, nameLabel, spacer, deleteBtn);
+        nameRow.getChildren().add(fileIcon);
+        if (thumbnailView != null) {
+            nameRow.getChildren().add(thumbnailView);
+        }
+        nameRow.getChildren().addAll(nameLabel, spacer, deleteBtn);
 
         // File metadata
         HBox metaRow = new HBox(8);
@@ -231,51 +282,71 @@ public class WikiFileHierarchy extends VBox {
         File selectedFile = fileChooser.showOpenDialog(getScene().getWindow());
 
         if (selectedFile != null) {
-            try {
-                // Create attachments directory if it doesn't exist
-                File attachmentsDir = new File("data/wiki-attachments");
-                attachmentsDir.mkdirs();
-
-                // Copy file to attachments directory with wiki-specific subdirectory
-                File wikiDir = new File(attachmentsDir, "wiki-" + currentWiki.getId());
-                wikiDir.mkdirs();
-
-                File targetFile = new File(wikiDir, selectedFile.getName());
-                Files.copy(selectedFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-
-                // Create attachment record
-                WikiFileAttachment attachment = new WikiFileAttachment();
-                attachment.setWikiId(currentWiki.getId());
-                attachment.setFileName(selectedFile.getName());
-                attachment.setFilePath(targetFile.getAbsolutePath());
-                attachment.setFileSize(selectedFile.length());
-                attachment.setFileType(Files.probeContentType(selectedFile.toPath()));
+            Wiki wiki = currentWiki;
+
+            // Copy into the attachment store off the FX thread
+            Task<WikiFileAttachment> attachTask = new Task<>() {
+                @Override
+                protected WikiFileAttachment call() throws IOException {
+                    return attachmentStore.attach(wiki.getId(), selectedFile.toPath(),
+                            (copied, total) -> updateProgress(copied, total));
+                }
+            };
 
-                attachmentRepository.save(attachment);
+            progressBar.progressProperty().bind(attachTask.progressProperty());
+            progressBar.setVisible(true);
+            progressBar.setManaged(true);
 
-                // Refresh the file list
-                loadFiles(currentWiki);
+            attachTask.setOnSucceeded(event -> {
+                hideProgress();
+                attachmentIndexer.indexAsync(attachTask.getValue());
+                if (wiki == currentWiki) {
+                    loadFiles(currentWiki);
+                }
 
-                // Show success message
                 Alert alert = new Alert(Alert.AlertType.INFORMATION);
                 alert.setTitle("File Added");
                 alert.setHeaderText("File attached successfully");
                 alert.setContentText(selectedFile.getName() + " has been attached to this wiki.");
                 alert.showAndWait();
+            });
 
-            } catch (IOException e) {
+            attachTask.setOnFailed(event -> {
+                hideProgress();
                 Alert alert = new Alert(Alert.AlertType.ERROR);
                 alert.setTitle("Error");
                 alert.setHeaderText("Failed to attach file");
-                alert.setContentText("An error occurred while copying the file: " + e.getMessage());
+                alert.setContentText("An error occurred while copying the file: "
+                        + attachTask.getException().getMessage());
                 alert.showAndWait();
-            }
+            });
+
+            ThreadPoolManager.getInstance().submitIoTask(attachTask);
         }
     }
 
+    private void hideProgress() {
+        progressBar.progressProperty().unbind();
+        progressBar.setVisible(false);
+        progressBar.setManaged(false);
+    }
+
     private void handleOpenFile(WikiFileAttachment attachment) {
-        File file = new File(attachment.getFilePath());
+        // Copying a large attachment out of the store takes a while
+        Task<File> resolveTask = new Task<>() {
+            @Override
+            protected File call() throws IOException {
+                return attachmentStore.resolveForOpening(attachment).toFile();
+            }
+        };
 
+        resolveTask.setOnSucceeded(event -> openFile(attachment, resolveTask.getValue()));
+        resolveTask.setOnFailed(event -> openFile(attachment, new File(attachment.getFilePath())));
+
+        ThreadPoolManager.getInstance().submitIoTask(resolveTask);
+    }
+
+    private void openFile(WikiFileAttachment attachment, File file) {
         if (!file.exists()) {
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("File Not Found");
@@ -306,14 +377,9 @@ public class WikiFileHierarchy extends VBox {
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 try {
-                    // Delete file from disk
-                    File file = new File(attachment.getFilePath());
-                    if (file.exists()) {
-                        file.delete();
-                    }
-
-                    // Delete from database
-                    attachmentRepository.delete(attachment);
+                    // Delete the record, and the stored file once no wiki uses it
+                    attachmentStore.detach(attachment);
+                    attachmentIndexer.remove(attachment);
 
                     // Refresh the file list
                     loadFiles(currentWiki);
@@ -2,9 +2,13 @@ package com.roam.view.components;
 
 import com.roam.controller.WikiController;
 import com.roam.model.*;
+import com.roam.service.SearchService;
+import com.roam.util.AsyncLoader;
 import com.roam.util.DialogUtils;
 import com.roam.util.ExportUtils;
+import com.roam.util.FlightEvents;
 import com.roam.util.MarkdownUtils;
+import com.roam.util.TextStatistics;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -14,19 +18,13 @@ import javafx.scene.layout.*;
 import javafx.scene.web.WebView;
 import javafx.stage.FileChooser;
 import javafx.util.StringConverter;
-import org.commonmark.node.Node;
-import org.commonmark.parser.Parser;
-import org.commonmark.renderer.html.HtmlRenderer;
-import org.commonmark.ext.gfm.tables.TablesExtension;
-import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
-import org.commonmark.ext.task.list.items.TaskListItemsExtension;
 import org.kordamp.ikonli.feather.Feather;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import java.io.File;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class WikiNoteEditor extends BorderPane {
 
@@ -41,6 +39,7 @@ public class WikiNoteEditor extends BorderPane {
     private Label wordCountLabel;
     private Label charCountLabel;
     private Label updatedLabel;
+    private RelatedContentBar relatedBar;
     private ImageView bannerView;
 
     // Property fields
@@ -52,6 +51,10 @@ public class WikiNoteEditor extends BorderPane {
     private TitledPane propertiesPane;
 
     private Wiki currentNote;
+    private TextStatisticsTracker statisticsTracker;
+    private boolean loading;
+    private final AsyncLoader propertyLoader = new AsyncLoader("wiki properties");
+    private Consumer<SearchService.SearchResult> onOpenResult;
 
     public WikiNoteEditor(WikiController controller) {
         this.controller = controller;
@@ -62,6 +65,13 @@ public class WikiNoteEditor extends BorderPane {
         showEmptyState();
     }
 
+    /**
+     * Handles related items that are not wikis, such as journal entries.
+     */
+    public void setOnOpenResult(Consumer<SearchService.SearchResult> onOpenResult) {
+        this.onOpenResult = onOpenResult;
+    }
+
     private void initializeComponents() {
         // Will be created in respective methods
     }
@@ -86,6 +96,7 @@ public class WikiNoteEditor extends BorderPane {
     }
 
     private void setupListeners() {
+        setupBindings();
         controller.addOnNoteChangedListener(Wiki -> {
             if (Wiki != null) {
                 loadNote(Wiki);
@@ -204,6 +215,7 @@ public class WikiNoteEditor extends BorderPane {
         editorArea.setWrapText(true);
         editorArea.setPadding(new Insets(30));
         editorArea.getStyleClass().add("wiki-editor-area");
+        statisticsTracker = new TextStatisticsTracker(editorArea, statistics -> updateStats());
 
         // Preview pane
         previewPane = new WebView();
@@ -251,7 +263,17 @@ public class WikiNoteEditor extends BorderPane {
         updatedLabel = new Label("Updated now");
         updatedLabel.getStyleClass().add("wiki-metadata-label");
 
-        bar.getChildren().addAll(spacer, wordCountLabel, charCountLabel, separator, updatedLabel);
+        // Related wikis, journal entries and tasks; other wikis open here
+        relatedBar = new RelatedContentBar();
+        relatedBar.setOnResultSelected(result -> {
+            if ("wiki".equals(result.type)) {
+                controller.openNoteById(result.id);
+            } else if (onOpenResult != null) {
+                onOpenResult.accept(result);
+            }
+        });
+
+        bar.getChildren().addAll(relatedBar, spacer, wordCountLabel, charCountLabel, separator, updatedLabel);
         return bar;
     }
 
@@ -263,23 +285,12 @@ public class WikiNoteEditor extends BorderPane {
 
         // Process wiki-links [[Wiki Title]] before rendering
         String rawContent = currentNote.getContent();
+        FlightEvents.MarkdownRender renderEvent = FlightEvents.markdownRender("wiki", rawContent);
         String processedContent = MarkdownUtils.processWikiLinks(rawContent);
 
         // Parse markdown using CommonMark with GFM extensions
-        Parser parser = Parser.builder()
-                .extensions(Arrays.asList(
-                        TablesExtension.create(),
-                        StrikethroughExtension.create(),
-                        TaskListItemsExtension.create()))
-                .build();
-        Node document = parser.parse(processedContent);
-        HtmlRenderer renderer = HtmlRenderer.builder()
-                .extensions(Arrays.asList(
-                        TablesExtension.create(),
-                        StrikethroughExtension.create(),
-                        TaskListItemsExtension.create()))
-                .build();
-        String markdownHtml = renderer.render(document);
+        String markdownHtml = MarkdownUtils.toHtml(processedContent);
+        renderEvent.finish(markdownHtml);
 
         String html = """
                 <!DOCTYPE html>
@@ -398,52 +409,21 @@ public class WikiNoteEditor extends BorderPane {
         favoriteBtn.setDisable(false);
         propertiesPane.setDisable(false);
 
-        // Set values
-        titleField.setText(Wiki.getTitle());
-        editorArea.setText(Wiki.getContent());
-
-        // Populate properties
-        regionCombo.getItems().setAll(controller.loadAllRegions());
-        operationCombo.getItems().setAll(controller.loadAllOperations());
-        taskCombo.getItems().setAll(controller.loadAllTasks());
-        eventCombo.getItems().setAll(controller.loadAllEvents());
-
-        // Set selected values
-        if (Wiki.getRegion() != null) {
-            regionCombo.getItems().stream()
-                    .filter(r -> r.getName().equals(Wiki.getRegion()))
-                    .findFirst()
-                    .ifPresent(regionCombo::setValue);
-        } else {
-            regionCombo.setValue(null);
+        // Set values without treating them as edits
+        loading = true;
+        try {
+            titleField.setText(Wiki.getTitle());
+            editorArea.setText(Wiki.getContent());
+        } finally {
+            loading = false;
         }
 
-        if (Wiki.getOperationId() != null) {
-            operationCombo.getItems().stream()
-                    .filter(op -> op.getId().equals(Wiki.getOperationId()))
-                    .findFirst()
-                    .ifPresent(operationCombo::setValue);
-        } else {
-            operationCombo.setValue(null);
-        }
-
-        if (Wiki.getTaskId() != null) {
-            taskCombo.getItems().stream()
-                    .filter(t -> t.getId().equals(Wiki.getTaskId()))
-                    .findFirst()
-                    .ifPresent(taskCombo::setValue);
-        } else {
-            taskCombo.setValue(null);
-        }
-
-        if (Wiki.getCalendarEventId() != null) {
-            eventCombo.getItems().stream()
-                    .filter(e -> e.getId().equals(Wiki.getCalendarEventId()))
-                    .findFirst()
-                    .ifPresent(eventCombo::setValue);
-        } else {
-            eventCombo.setValue(null);
-        }
+        // Populate properties in the background; the lists are not needed to edit
+        propertyLoader.load(controller::findPropertyChoices, choices -> {
+            if (currentNote == Wiki) {
+                applyPropertyChoices(Wiki, choices);
+            }
+        }, e -> DialogUtils.showError("Load Error", "Failed to load wiki properties", e.getMessage()));
 
         // Update favorite button
         updateFavoriteButton();
@@ -454,19 +434,23 @@ public class WikiNoteEditor extends BorderPane {
         // Update stats
         updateStats();
 
-        // Setup bindings
+        // Related wikis
+        relatedBar.load("wiki", Wiki.getId(), Wiki.getUpdatedAt());
+    }
+
+    private void setupBindings() {
         titleField.textProperty().addListener((obs, oldVal, newVal) -> {
-            if (currentNote != null) {
+            if (currentNote != null && !loading) {
                 currentNote.setTitle(newVal);
                 controller.scheduleAutoSave();
             }
         });
 
+        // The tracker's listener runs first, so the word count is current here
         editorArea.textProperty().addListener((obs, oldVal, newVal) -> {
-            if (currentNote != null) {
-                currentNote.setContent(newVal);
+            if (currentNote != null && !loading) {
+                currentNote.setContent(newVal, statisticsTracker.getStatistics().getWords());
                 controller.scheduleAutoSave();
-                updateStats();
             }
         });
 
@@ -553,13 +537,9 @@ public class WikiNoteEditor extends BorderPane {
 
     private void updateStats() {
         if (currentNote != null) {
-            String content = currentNote.getContent();
-            if (content != null) {
-                int words = content.trim().isEmpty() ? 0 : content.trim().split("\\s+").length;
-                int chars = content.length();
-                wordCountLabel.setText(words + " words");
-                charCountLabel.setText(chars + " chars");
-            }
+            TextStatistics statistics = statisticsTracker.getStatistics();
+            wordCountLabel.setText(TextStatisticsTracker.summary(statistics));
+            charCountLabel.setText(statistics.getCharacters() + " chars");
 
             if (currentNote.getUpdatedAt() != null) {
                 String formatted = currentNote.getUpdatedAt().format(
@@ -578,6 +558,9 @@ public class WikiNoteEditor extends BorderPane {
         editorArea.setDisable(true);
         editorArea.clear();
         favoriteBtn.setDisable(true);
+        if (relatedBar != null) {
+            relatedBar.clear();
+        }
         if (propertiesPane != null) {
             propertiesPane.setDisable(true);
             propertiesPane.setExpanded(false);
@@ -755,34 +738,68 @@ public class WikiNoteEditor extends BorderPane {
 
         // Listeners for property changes
         regionCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if (currentNote != null && newVal != null) {
+            if (!loading && currentNote != null && newVal != null) {
                 currentNote.setRegion(newVal.getName()); // Storing region name for now as per Wiki model
                 controller.saveCurrentNote();
             }
         });
 
         operationCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if (currentNote != null) {
+            if (!loading && currentNote != null) {
                 currentNote.setOperationId(newVal != null ? newVal.getId() : null);
                 controller.saveCurrentNote();
             }
         });
 
         taskCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if (currentNote != null) {
+            if (!loading && currentNote != null) {
                 currentNote.setTaskId(newVal != null ? newVal.getId() : null);
                 controller.saveCurrentNote();
             }
         });
 
         eventCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if (currentNote != null) {
+            if (!loading && currentNote != null) {
                 currentNote.setCalendarEventId(newVal != null ? newVal.getId() : null);
                 controller.saveCurrentNote();
             }
         });
     }
 
+    private void applyPropertyChoices(Wiki Wiki, WikiController.PropertyChoices choices) {
+        // Set values without treating them as edits
+        loading = true;
+        try {
+            regionCombo.getItems().setAll(choices.regions());
+            operationCombo.getItems().setAll(choices.operations());
+            taskCombo.getItems().setAll(choices.tasks());
+            eventCombo.getItems().setAll(choices.events());
+
+            regionCombo.setValue(Wiki.getRegion() == null ? null
+                    : regionCombo.getItems().stream()
+                            .filter(r -> r.getName().equals(Wiki.getRegion()))
+                            .findFirst()
+                            .orElse(null));
+            operationCombo.setValue(Wiki.getOperationId() == null ? null
+                    : operationCombo.getItems().stream()
+                            .filter(op -> op.getId().equals(Wiki.getOperationId()))
+                            .findFirst()
+                            .orElse(null));
+            taskCombo.setValue(Wiki.getTaskId() == null ? null
+                    : taskCombo.getItems().stream()
+                            .filter(t -> t.getId().equals(Wiki.getTaskId()))
+                            .findFirst()
+                            .orElse(null));
+            eventCombo.setValue(Wiki.getCalendarEventId() == null ? null
+                    : eventCombo.getItems().stream()
+                            .filter(e -> e.getId().equals(Wiki.getCalendarEventId()))
+                            .findFirst()
+                            .orElse(null));
+        } finally {
+            loading = false;
+        }
+    }
+
     private HBox createPropertyRow(String labelText, Control control) {
         HBox row = new HBox(10);
         row.setAlignment(Pos.CENTER_LEFT);
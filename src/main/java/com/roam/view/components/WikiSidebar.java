@@ -17,6 +17,8 @@ import java.util.List;
 
 public class WikiSidebar extends VBox {
 
+    public static final int RECENT_LIMIT = 10;
+
     private final WikiController controller;
 
     private VBox favoritesContent;
@@ -192,8 +194,11 @@ public class WikiSidebar extends VBox {
 
     // Public refresh methods
     public void refreshFavorites() {
+        showFavorites(controller.loadFavoriteNotes());
+    }
+
+    public void showFavorites(List<Wiki> favorites) {
         favoritesContent.getChildren().clear();
-        List<Wiki> favorites = controller.loadFavoriteNotes();
 
         if (favorites.isEmpty()) {
             Label emptyLabel = new Label("No favorites yet");
@@ -208,8 +213,11 @@ public class WikiSidebar extends VBox {
     }
 
     public void refreshRecent() {
+        showRecent(controller.loadRecentNotes(RECENT_LIMIT));
+    }
+
+    public void showRecent(List<Wiki> recent) {
         recentContent.getChildren().clear();
-        List<Wiki> recent = controller.loadRecentNotes(10);
 
         if (recent.isEmpty()) {
             Label emptyLabel = new Label("No wikis yet");
@@ -0,0 +1,8 @@
+-- Attachments are stored once per content digest under ~/.roam/attachments;
+-- rows sharing a content_hash share the blob, and the blob is removed once
+-- no row references it. Rows from before this migration keep their own file
+-- at file_path and have no hash.
+ALTER TABLE wiki_file_attachments ADD COLUMN content_hash VARCHAR(64);
+
+-- Reference counts and garbage collection look up rows by hash
+CREATE INDEX idx_wiki_file_attachments_content_hash ON wiki_file_attachments(content_hash);
@@ -0,0 +1,14 @@
+-- Events imported from iCalendar files remember where they came from, so a
+-- re-import updates them instead of adding duplicates. external_uid is the
+-- VEVENT UID, plus its RECURRENCE-ID for a changed occurrence;
+-- external_fingerprint is a digest of the imported fields, so unchanged
+-- events can be skipped without comparing them.
+ALTER TABLE calendar_events ADD COLUMN external_uid VARCHAR(512);
+ALTER TABLE calendar_events ADD COLUMN external_fingerprint VARCHAR(64);
+
+-- EXDATE values of a recurring event, comma-separated in iCalendar form
+ALTER TABLE calendar_events ADD COLUMN recurrence_exdates TEXT;
+
+-- Re-imports match events by UID across all calendars, so an updated event
+-- stays in the calendar it was first imported into.
+CREATE UNIQUE INDEX idx_calendar_events_external_uid ON calendar_events(external_uid);
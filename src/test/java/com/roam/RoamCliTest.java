@@ -0,0 +1,113 @@
+package com.roam;
+
+import com.roam.model.Wiki;
+import com.roam.repository.WikiRepository;
+import com.roam.service.SearchService;
+import com.roam.util.InMemoryDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(InMemoryDatabase.class)
+class RoamCliTest {
+
+    private SearchService searchService;
+    private ByteArrayOutputStream output;
+    private RoamCli cli;
+
+    @BeforeEach
+    void setUp() {
+        searchService = mock(SearchService.class);
+        output = new ByteArrayOutputStream();
+        cli = new RoamCli(() -> searchService, new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stats_PrintsCountsAsJson() throws Exception {
+        new WikiRepository().save(new Wiki("Roadmap", null));
+        new WikiRepository().save(new Wiki("Goals", null));
+        when(searchService.documentCount()).thenReturn(5);
+
+        assertEquals(RoamCli.OK, cli.run(new String[] { "stats" }));
+
+        assertEquals("{\"command\":\"stats\",\"wikis\":2,\"journalEntries\":0,\"tasks\":0,\"operations\":0,"
+                + "\"events\":0,\"indexDocuments\":5}\n", output());
+    }
+
+    @Test
+    void search_PrintsOneResultPerLine() throws Exception {
+        SearchService.SearchResult first = new SearchService.SearchResult();
+        first.id = 1L;
+        first.type = "wiki";
+        first.title = "Roadmap";
+        SearchService.SearchResult second = new SearchService.SearchResult();
+        second.id = 2L;
+        second.type = "task";
+        second.title = "Plan \"Q3\"";
+        when(searchService.search(anyString(), any())).thenReturn(List.of(first, second));
+
+        assertEquals(RoamCli.OK, cli.run(new String[] { "search", "quarterly", "plan", "--types=wiki,task",
+                "--limit=5" }));
+
+        ArgumentCaptor<SearchService.SearchFilter> filter = ArgumentCaptor.forClass(SearchService.SearchFilter.class);
+        verify(searchService).search(eq("quarterly plan"), filter.capture());
+        assertEquals(List.of("wiki", "task"), filter.getValue().types);
+        assertEquals(5, filter.getValue().maxResults);
+        String[] lines = output().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"type\":\"wiki\",\"title\":\"Roadmap\",\"score\":0.0}", lines[0]);
+        assertTrue(lines[1].contains("\"title\":\"Plan \\\"Q3\\\"\""));
+    }
+
+    @Test
+    void run_BadUsage_ExitsWithUsageStatus() {
+        assertEquals(RoamCli.USAGE, cli.run(new String[0]));
+        assertEquals(RoamCli.USAGE, cli.run(new String[] { "frobnicate" }));
+        assertEquals(RoamCli.USAGE, cli.run(new String[] { "search" }));
+        assertEquals(RoamCli.USAGE, cli.run(new String[] { "search", "x", "--limit=none" }));
+        assertEquals(RoamCli.USAGE, cli.run(new String[] { "export" }));
+        assertEquals(RoamCli.USAGE, cli.run(new String[] { "stats", "extra" }));
+        assertEquals("", output());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void run_Failure_PrintsErrorAndExitsWithFailure() throws Exception {
+        when(searchService.rebuildIndex()).thenThrow(new IOException("index locked"));
+
+        assertEquals(RoamCli.FAILED, cli.run(new String[] { "reindex" }));
+
+        assertEquals("{\"command\":\"reindex\",\"error\":\"IOException\",\"message\":\"index locked\"}\n", output());
+    }
+
+    @Test
+    void parseArguments_SplitsOptionsFromWords() {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> words = new ArrayList<>();
+
+        RoamCli.parseArguments(new String[] { "--archive=a=b.zip", "hello", "--dry-run" }, options, words);
+
+        assertEquals(Map.of("archive", "a=b.zip", "dry-run", "true"), options);
+        assertEquals(List.of("hello"), words);
+        assertThrows(RoamCli.UsageException.class,
+                () -> RoamCli.parseArguments(new String[] { "--=x" }, options, words));
+    }
+
+    private String output() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,196 @@
+package com.roam.service;
+
+import com.roam.model.JournalEntry;
+import com.roam.model.Operation;
+import com.roam.model.Wiki;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.OperationRepository;
+import com.roam.repository.RegionRepository;
+import com.roam.repository.WikiFileAttachmentRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.InMemoryDatabase;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InMemoryDatabase.class)
+class ArchiveExportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private WikiRepository wikiRepository;
+    private JournalEntryRepository journalRepository;
+    private WikiFileAttachmentRepository attachmentRepository;
+    private OperationRepository operationRepository;
+    private AttachmentStore attachmentStore;
+    private ExecutorService executor;
+    private ArchiveExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        wikiRepository = new WikiRepository();
+        journalRepository = new JournalEntryRepository();
+        attachmentRepository = new WikiFileAttachmentRepository();
+        operationRepository = new OperationRepository();
+        attachmentStore = new AttachmentStore(tempDir.resolve("store"), attachmentRepository);
+        executor = Executors.newFixedThreadPool(4);
+        exportService = new ArchiveExportService(wikiRepository, journalRepository, attachmentRepository,
+                operationRepository, attachmentStore, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void exportTo_LaysOutNotesByRegionAndOperation() throws IOException {
+        Operation operation = new Operation("Job Hunt");
+        operation.setRegion("Career");
+        operation = operationRepository.save(operation);
+        Wiki resume = new Wiki("Resume: \"final\"", operation.getId());
+        resume.setRegion("Career");
+        resume.setContent("Link to [[Goals]]");
+        wikiRepository.save(resume);
+        Wiki goals = new Wiki("Goals", null);
+        goals.setContent("Be kind");
+        wikiRepository.save(goals);
+        wikiRepository.save(new Wiki("goals", null));
+        journalRepository.save(journal(LocalDate.of(2024, 3, 1), "Quiet day"));
+
+        Path zip = tempDir.resolve("export.zip");
+        ArchiveExportService.ExportResult result = exportService.exportTo(zip);
+
+        assertEquals(new ArchiveExportService.ExportResult(3, 1, 0), result);
+        Map<String, String> entries = read(zip);
+        assertEquals(List.of("Career/Job Hunt/Resume_ _final_.md", "Goals.md", "goals (2).md",
+                "Journal/2024-03-01.md"), new ArrayList<>(entries.keySet()));
+        String markdown = entries.get("Career/Job Hunt/Resume_ _final_.md");
+        assertTrue(markdown.startsWith("---\ntitle: \"Resume: \\\"final\\\"\"\nregion: \"Career\"\n"
+                + "operation: \"Job Hunt\"\n"));
+        assertTrue(markdown.endsWith("---\n\nLink to [[Goals]]"));
+        assertTrue(entries.get("Journal/2024-03-01.md").contains("date: 2024-03-01\n"));
+        assertFalse(Files.list(tempDir).anyMatch(p -> p.toString().endsWith(".part")));
+    }
+
+    @Test
+    void exportTo_SharedAttachment_StoredOnce() throws IOException {
+        Wiki first = wikiRepository.save(new Wiki("First", null));
+        Wiki second = wikiRepository.save(new Wiki("Second", null));
+        Path source = Files.writeString(tempDir.resolve("report.txt"), "quarterly numbers");
+        attachmentStore.attach(first.getId(), source, null);
+        attachmentStore.attach(second.getId(), source, null);
+
+        Path zip = tempDir.resolve("export.zip");
+        ArchiveExportService.ExportResult result = exportService.exportTo(zip);
+
+        assertEquals(1, result.attachments());
+        Map<String, String> entries = read(zip);
+        List<String> blobs = entries.keySet().stream().filter(name -> name.startsWith("attachments/")).toList();
+        assertEquals(1, blobs.size());
+        assertTrue(blobs.get(0).endsWith("/report.txt"));
+        assertEquals("quarterly numbers", entries.get(blobs.get(0)));
+        assertTrue(entries.get("First.md").contains("attachments:\n  - \"" + blobs.get(0) + "\"\n"));
+        assertTrue(entries.get("Second.md").contains("  - \"" + blobs.get(0) + "\"\n"));
+    }
+
+    @Test
+    void exportTo_ManyNotes_WrittenInIdOrder() throws IOException {
+        int count = ArchiveExportService.PAGE_SIZE * 2 + ArchiveExportService.MAX_IN_FLIGHT + 5;
+        for (int i = 0; i < count; i++) {
+            Wiki wiki = new Wiki("Note " + i, null);
+            wiki.setContent("Body " + i);
+            wikiRepository.save(wiki);
+        }
+
+        Path zip = tempDir.resolve("export.zip");
+        ArchiveExportService.ExportResult result = exportService.exportTo(zip);
+
+        assertEquals(count, result.wikis());
+        List<String> names = new ArrayList<>(read(zip).keySet());
+        assertEquals(count, names.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("Note " + i + ".md", names.get(i));
+        }
+    }
+
+    @Test
+    void exportTo_ImportedBackAsVault() throws IOException {
+        Operation operation = new Operation("Reading");
+        operation.setRegion("Knowledge");
+        operation = operationRepository.save(operation);
+        Wiki wiki = new Wiki("Book \"notes\"", operation.getId());
+        wiki.setRegion("Knowledge");
+        wiki.setContent("Chapter one");
+        wikiRepository.save(wiki);
+        journalRepository.save(journal(LocalDate.of(2024, 5, 2), "Read a lot"));
+
+        Path zip = tempDir.resolve("export.zip");
+        exportService.exportTo(zip);
+        Path vault = Files.createDirectories(tempDir.resolve("vault"));
+        for (Map.Entry<String, String> entry : read(zip).entrySet()) {
+            Path file = vault.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, entry.getValue());
+        }
+
+        // Restore into an empty database: notes still there would be skipped
+        wikiRepository.delete(wiki);
+        journalRepository.findAll().forEach(journalRepository::delete);
+        SearchService searchService = new SearchService(new ByteBuffersDirectory());
+        try {
+            VaultImportService.ImportResult imported = new VaultImportService(wikiRepository, journalRepository,
+                    new RegionRepository(), operationRepository, searchService,
+                    new DuplicateDetectionService(wikiRepository, journalRepository), 2).importVault(vault);
+            assertEquals(new VaultImportService.ImportResult(1, 1, 0, 0, 0), imported);
+        } finally {
+            searchService.close();
+        }
+
+        Wiki copy = wikiRepository.findAll().get(0);
+        assertEquals("Book \"notes\"", copy.getTitle());
+        assertEquals("Chapter one", copy.getContent());
+        assertEquals("Knowledge", copy.getRegion());
+        assertEquals(operation.getId(), copy.getOperationId());
+    }
+
+    private static JournalEntry journal(LocalDate date, String content) {
+        JournalEntry entry = new JournalEntry();
+        entry.setTitle("Journal " + date);
+        entry.setDate(date);
+        entry.setContent(content);
+        return entry;
+    }
+
+    private static Map<String, String> read(Path zip) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (InputStream in = Files.newInputStream(zip); ZipInputStream zipIn = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zipIn.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zipIn.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,67 @@
+package com.roam.service;
+
+import com.roam.model.Wiki;
+import com.roam.model.WikiFileAttachment;
+import com.roam.repository.WikiFileAttachmentRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.InMemoryDatabase;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(InMemoryDatabase.class)
+class AttachmentIndexerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SearchService searchService;
+    private AttachmentStore store;
+    private AttachmentIndexer indexer;
+    private Long wikiId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchService = spy(new SearchService(new ByteBuffersDirectory()));
+        WikiFileAttachmentRepository repository = new WikiFileAttachmentRepository();
+        store = new AttachmentStore(tempDir.resolve("store"), repository);
+        indexer = new AttachmentIndexer(searchService, store, repository, Runnable::run);
+        wikiId = new WikiRepository().save(new Wiki("Trip", null)).getId();
+        searchService.indexWiki(wikiId, "Trip", "", null, null, null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchService.close();
+    }
+
+    @Test
+    void indexAll_SkipsUnchangedWithoutPerAttachmentLookups() throws Exception {
+        WikiFileAttachment notes = store.attach(wikiId,
+                Files.writeString(tempDir.resolve("notes.txt"), "itinerary for the glacier hike"), null);
+        store.attach(wikiId, Files.writeString(tempDir.resolve("log.md"), "packing list"), null);
+
+        assertEquals(2, indexer.indexAll());
+        Map<Long, String> digests = searchService.attachmentDigests();
+        assertEquals(2, digests.size());
+        assertEquals(notes.getContentHash(), digests.get(notes.getId()));
+
+        assertEquals(0, indexer.indexAll());
+        verify(searchService, never()).hasAttachment(any(), any());
+        assertEquals(1, searchService.search("glacier", new SearchService.SearchFilter()).size());
+    }
+}
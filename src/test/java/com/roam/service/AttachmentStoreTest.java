@@ -0,0 +1,168 @@
+package com.roam.service;
+
+import com.roam.model.Wiki;
+import com.roam.model.WikiFileAttachment;
+import com.roam.repository.WikiFileAttachmentRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.InMemoryDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InMemoryDatabase.class)
+class AttachmentStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AttachmentStore store;
+    private WikiFileAttachmentRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new WikiFileAttachmentRepository();
+        store = new AttachmentStore(tempDir.resolve("store"), repository);
+    }
+
+    @Test
+    void store_LargeFile_CopiesContentAndReportsProgress() throws Exception {
+        // Spans several copy chunks, with a partial last chunk
+        byte[] content = new byte[(int) (AttachmentStore.CHUNK_BYTES * 2 + 12_345)];
+        new Random(7).nextBytes(content);
+        Path source = Files.write(tempDir.resolve("large.bin"), content);
+        List<Long> progress = new ArrayList<>();
+
+        AttachmentStore.Blob blob = store.store(source, (copied, total) -> {
+            assertEquals(content.length, total);
+            progress.add(copied);
+        });
+
+        String expectedHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        assertEquals(expectedHash, blob.hash());
+        assertEquals(content.length, blob.size());
+        assertFalse(blob.deduplicated());
+        assertArrayEquals(content, Files.readAllBytes(blob.path()));
+        assertEquals(List.of(AttachmentStore.CHUNK_BYTES, AttachmentStore.CHUNK_BYTES * 2, (long) content.length),
+                progress);
+    }
+
+    @Test
+    void store_SameContentTwice_KeepsOneBlob() throws IOException {
+        Path first = Files.writeString(tempDir.resolve("report.pdf"), "same bytes");
+        Path second = Files.writeString(tempDir.resolve("copy of report.pdf"), "same bytes");
+
+        AttachmentStore.Blob a = store.store(first, null);
+        AttachmentStore.Blob b = store.store(second, null);
+
+        assertEquals(a.path(), b.path());
+        assertTrue(b.deduplicated());
+        assertEquals(1, countBlobs());
+    }
+
+    @Test
+    void store_EmptyFile_IsStored() throws IOException {
+        Path empty = Files.createFile(tempDir.resolve("empty.txt"));
+
+        AttachmentStore.Blob blob = store.store(empty, null);
+
+        assertEquals(0, blob.size());
+        assertTrue(Files.exists(blob.path()));
+    }
+
+    @Test
+    void detach_SharedBlob_DeletedWithLastReference() throws IOException {
+        WikiRepository wikis = new WikiRepository();
+        Long first = wikis.save(new Wiki("First", null)).getId();
+        Long second = wikis.save(new Wiki("Second", null)).getId();
+        Path source = Files.writeString(tempDir.resolve("spec.pdf"), "specification");
+
+        WikiFileAttachment a = store.attach(first, source, null);
+        WikiFileAttachment b = store.attach(second, source, null);
+        Path blob = store.blobPath(a.getContentHash());
+
+        assertEquals(a.getContentHash(), b.getContentHash());
+        assertEquals(2, repository.countByContentHash(a.getContentHash()));
+        assertEquals("spec.pdf", a.getFileName());
+
+        store.detach(a);
+        assertTrue(Files.exists(blob));
+
+        store.detach(b);
+        assertFalse(Files.exists(blob));
+    }
+
+    @Test
+    void resolveForOpening_UsesOriginalFileName() throws IOException {
+        Long wikiId = new WikiRepository().save(new Wiki("Notes", null)).getId();
+        Path source = Files.writeString(tempDir.resolve("minutes.txt"), "minutes");
+
+        WikiFileAttachment attachment = store.attach(wikiId, source, null);
+        Path openable = store.resolveForOpening(attachment);
+
+        assertEquals("minutes.txt", openable.getFileName().toString());
+        assertEquals("minutes", Files.readString(openable));
+    }
+
+    @Test
+    void resolveForOpening_EditedInPlace_LeavesBlobIntact() throws IOException {
+        Long wikiId = new WikiRepository().save(new Wiki("Notes", null)).getId();
+        WikiFileAttachment attachment = store.attach(wikiId,
+                Files.writeString(tempDir.resolve("shared.txt"), "shared"), null);
+
+        Path copy = store.resolveForOpening(attachment);
+        copy.toFile().setWritable(true);
+        Files.writeString(copy, "edited by another app");
+
+        assertEquals("shared", Files.readString(store.contentPath(attachment)));
+        assertEquals("shared", Files.readString(store.resolveForOpening(attachment)));
+    }
+
+    @Test
+    void resolveForOpening_ReusesCopyUntilDeleted() throws IOException {
+        Long wikiId = new WikiRepository().save(new Wiki("Notes", null)).getId();
+        WikiFileAttachment attachment = store.attach(wikiId,
+                Files.writeString(tempDir.resolve("plan.txt"), "plan"), null);
+
+        Path first = store.resolveForOpening(attachment);
+        Object copied = Files.readAttributes(first, BasicFileAttributes.class).fileKey();
+        Path second = store.resolveForOpening(attachment);
+
+        assertEquals(first, second);
+        assertEquals(copied, Files.readAttributes(second, BasicFileAttributes.class).fileKey());
+        store.deleteOpenCopies();
+        assertFalse(Files.exists(first));
+    }
+
+    @Test
+    void collectGarbage_RemovesOnlyUnreferencedBlobs() throws IOException {
+        AttachmentStore.Blob kept = store.store(Files.writeString(tempDir.resolve("a.txt"), "kept"), null);
+        AttachmentStore.Blob orphan = store.store(Files.writeString(tempDir.resolve("b.txt"), "orphan"), null);
+
+        AttachmentStore.GcResult result = store.collectGarbage(Set.of(kept.hash()), 0);
+
+        assertEquals(1, result.blobsDeleted());
+        assertEquals("orphan".length(), result.bytesReclaimed());
+        assertTrue(Files.exists(kept.path()));
+        assertFalse(Files.exists(orphan.path()));
+    }
+
+    private long countBlobs() throws IOException {
+        try (var files = Files.walk(tempDir.resolve("store").resolve("blobs"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.roam.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseMaintenanceServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void runMaintenance_SparseFile_CompactsAndKeepsData() throws SQLException {
+        String url = "jdbc:h2:file:" + tempDir.resolve("maintenance").toString().replace('\\', '/');
+        DatabaseMaintenanceService service = new DatabaseMaintenanceService(url, "sa", "", true, 50);
+
+        // Keep one connection open so compaction runs against a live database
+        try (Connection open = DriverManager.getConnection(url, "sa", "");
+                Statement statement = open.createStatement()) {
+            statement.execute("CREATE TABLE notes(id INT PRIMARY KEY, body VARCHAR)");
+            for (int i = 0; i < 5; i++) {
+                statement.execute("INSERT INTO notes SELECT x + " + i * 10_000
+                        + ", REPEAT('x', 500) FROM SYSTEM_RANGE(1, 5000)");
+            }
+            statement.execute("DELETE FROM notes WHERE MOD(id, 10) <> 0");
+            statement.execute("CHECKPOINT");
+
+            DatabaseMaintenanceService.Report report = service.runMaintenance(true);
+
+            assertNotNull(report);
+            assertTrue(report.analyzed());
+            assertTrue(report.compacted(), () -> "Expected compaction at " + report.fillRateBefore() + "% fill");
+            assertTrue(report.reclaimedBytes() > 0);
+            assertTrue(report.fillRateAfter() > report.fillRateBefore());
+            assertSame(report, service.getLastReport());
+
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM notes")) {
+                rs.next();
+                assertEquals(2_500, rs.getLong(1));
+            }
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void runMaintenance_NothingDue_ReturnsNull() {
+        DatabaseMaintenanceService service = new DatabaseMaintenanceService(
+                "jdbc:h2:mem:maintenance-idle", "sa", "", true, 50);
+
+        assertNull(service.runMaintenance(false));
+
+        for (int i = 0; i < DatabaseMaintenanceService.ANALYZE_AFTER_WRITES; i++) {
+            service.recordStatement("insert into tasks (title) values (?)");
+        }
+        DatabaseMaintenanceService.Report report = service.runMaintenance(false);
+        assertNotNull(report);
+        assertTrue(report.analyzed());
+        assertFalse(report.compacted());
+        assertNull(service.runMaintenance(false));
+    }
+
+    @Test
+    void isWrite_RecognizesDataChanges() {
+        assertTrue(DatabaseMaintenanceService.isWrite("insert into wikis (title) values (?)"));
+        assertTrue(DatabaseMaintenanceService.isWrite("  UPDATE tasks set status=?"));
+        assertTrue(DatabaseMaintenanceService.isWrite("delete from tasks where id=?"));
+        assertFalse(DatabaseMaintenanceService.isWrite("select t1_0.id from tasks t1_0"));
+        assertFalse(DatabaseMaintenanceService.isWrite(null));
+    }
+
+    @Test
+    void isFileDatabase_OnlyEmbeddedFiles() {
+        assertTrue(DatabaseMaintenanceService.isFileDatabase("jdbc:h2:file:~/roam/roamdb;DB_CLOSE_DELAY=-1"));
+        assertTrue(DatabaseMaintenanceService.isFileDatabase("jdbc:h2:~/roam/roamdb"));
+        assertFalse(DatabaseMaintenanceService.isFileDatabase("jdbc:h2:mem:roam-test;DB_CLOSE_DELAY=-1"));
+        assertFalse(DatabaseMaintenanceService.isFileDatabase("jdbc:h2:tcp://localhost/~/roamdb"));
+        assertFalse(DatabaseMaintenanceService.isFileDatabase("jdbc:postgresql://localhost:5432/roamdb"));
+    }
+
+    @Test
+    void cacheSizeKb_ScalesWithHeapWithinBounds() {
+        long mb = 1024 * 1024;
+
+        assertEquals(DatabaseMaintenanceService.MIN_CACHE_MB * 1024, DatabaseMaintenanceService.cacheSizeKb(64 * mb));
+        assertEquals(128 * 1024, DatabaseMaintenanceService.cacheSizeKb(1024 * mb));
+        assertEquals(DatabaseMaintenanceService.MAX_CACHE_MB * 1024,
+                DatabaseMaintenanceService.cacheSizeKb(16 * 1024 * mb));
+        assertEquals(DatabaseMaintenanceService.MAX_CACHE_MB * 1024,
+                DatabaseMaintenanceService.cacheSizeKb(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,109 @@
+package com.roam.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticsServiceTest {
+
+    private static final String FIND_TASKS = "SELECT t FROM Task t WHERE t.operationId = :operationId";
+
+    private DiagnosticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DiagnosticsService();
+        service.setEnabled(true);
+    }
+
+    @Test
+    void track_RepeatedQueryInOneAction_FlagsNPlusOne() {
+        service.track("open operations", () -> {
+            for (int i = 0; i < DiagnosticsService.N_PLUS_ONE_THRESHOLD; i++) {
+                service.recordStatement();
+                service.recordQuery(FIND_TASKS, 3, 2);
+            }
+            return null;
+        });
+
+        DiagnosticsService.Snapshot snapshot = service.snapshot();
+        assertEquals(1, snapshot.nPlusOneWarnings().size());
+        assertEquals("open operations", snapshot.nPlusOneWarnings().get(0).action());
+        assertEquals(DiagnosticsService.N_PLUS_ONE_THRESHOLD, snapshot.nPlusOneWarnings().get(0).count());
+
+        DiagnosticsService.ActionStat action = snapshot.actions().get(0);
+        assertEquals(1, action.count());
+        assertEquals(DiagnosticsService.N_PLUS_ONE_THRESHOLD, action.statements());
+
+        DiagnosticsService.QueryStat query = snapshot.queries().get(0);
+        assertEquals(FIND_TASKS, query.query());
+        assertEquals(DiagnosticsService.N_PLUS_ONE_THRESHOLD, query.count());
+        assertEquals(3L * DiagnosticsService.N_PLUS_ONE_THRESHOLD, query.rows());
+    }
+
+    @Test
+    void track_LazyFetchesAcrossActions_OnlyCountsWithinAction() {
+        for (int run = 0; run < 3; run++) {
+            service.track("open wiki", () -> {
+                for (int i = 0; i < 4; i++) {
+                    service.recordFetch("entity", "com.roam.model.Operation");
+                }
+                return null;
+            });
+        }
+
+        assertTrue(service.snapshot().nPlusOneWarnings().isEmpty());
+        assertEquals(3, service.snapshot().actions().get(0).count());
+    }
+
+    @Test
+    void recordQuery_SlowQuery_KeptWithAction() {
+        service.track("refresh tasks", () -> {
+            service.recordQuery(FIND_TASKS, 1, DiagnosticsService.SLOW_QUERY_MS + 50);
+            return null;
+        });
+
+        DiagnosticsService.SlowQuery slow = service.snapshot().slowQueries().get(0);
+        assertEquals("refresh tasks", slow.action());
+        assertEquals(DiagnosticsService.SLOW_QUERY_MS + 50, slow.durationMs());
+    }
+
+    @Test
+    void track_Disabled_RecordsNoActions() {
+        service.setEnabled(false);
+
+        String result = service.track("open tasks", () -> "done");
+
+        assertEquals("done", result);
+        assertTrue(service.snapshot().actions().isEmpty());
+    }
+
+    @Test
+    void exportJson_WritesSnapshot(@TempDir Path tempDir) throws Exception {
+        service.recordQuery(FIND_TASKS, 2, 5);
+        File file = tempDir.resolve("diagnostics.json").toFile();
+
+        service.exportJson(file);
+
+        String json = Files.readString(file.toPath());
+        assertTrue(json.contains("\"queries\""));
+        assertTrue(json.contains("t.operationId"));
+    }
+
+    @Test
+    void reset_ClearsRecordedData() {
+        service.recordQuery(FIND_TASKS, 1, DiagnosticsService.SLOW_QUERY_MS);
+
+        service.reset();
+
+        DiagnosticsService.Snapshot snapshot = service.snapshot();
+        assertTrue(snapshot.queries().isEmpty());
+        assertTrue(snapshot.slowQueries().isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package com.roam.service;
+
+import com.roam.model.JournalEntry;
+import com.roam.model.Wiki;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.WikiRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateDetectionServiceTest {
+
+    private static final String MEETING_NOTES = """
+            Weekly planning meeting. We reviewed the release checklist, agreed to freeze
+            features on Thursday and assigned the migration scripts to the backend team.
+            Open questions: hosting costs, onboarding docs, and the beta feedback survey.
+            """;
+
+    @Mock
+    private WikiRepository wikiRepository;
+
+    @Mock
+    private JournalEntryRepository journalRepository;
+
+    private DuplicateDetectionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DuplicateDetectionService(wikiRepository, journalRepository);
+    }
+
+    @Test
+    void findSimilarWikis_NearCopy_ReturnsExistingWiki() {
+        when(wikiRepository.findAll()).thenReturn(List.of(
+                wiki(1L, "Planning", MEETING_NOTES),
+                wiki(2L, "Recipe", "Mix flour, sugar and butter, then bake for forty minutes at 180 degrees.")));
+        when(journalRepository.findAll()).thenReturn(List.of());
+
+        List<DuplicateDetectionService.DuplicateMatch> matches = service
+                .findSimilarWikis(MEETING_NOTES.replace("Thursday", "Friday"));
+
+        assertEquals(1, matches.size());
+        assertEquals(1L, matches.get(0).id());
+        assertEquals("Planning", matches.get(0).title());
+        assertTrue(matches.get(0).similarity() >= DuplicateDetectionService.DEFAULT_THRESHOLD);
+    }
+
+    @Test
+    void findSimilarWikis_UnrelatedContent_ReturnsEmpty() {
+        when(wikiRepository.findAll()).thenReturn(List.of(wiki(1L, "Planning", MEETING_NOTES)));
+        when(journalRepository.findAll()).thenReturn(List.of());
+
+        assertTrue(service.findSimilarWikis(
+                "Mix flour, sugar and butter, then bake for forty minutes at 180 degrees.").isEmpty());
+    }
+
+    @Test
+    void onWikiSaved_AfterLoad_UpdatesIndexIncrementally() {
+        when(wikiRepository.findAll()).thenReturn(List.of());
+        when(journalRepository.findAll()).thenReturn(List.of());
+        assertTrue(service.findAllDuplicates(DuplicateDetectionService.DEFAULT_THRESHOLD).isEmpty());
+
+        service.onWikiSaved(wiki(1L, "Original", MEETING_NOTES));
+        service.onWikiSaved(wiki(2L, "Copy", MEETING_NOTES));
+
+        List<DuplicateDetectionService.DuplicatePair> pairs = service
+                .findAllDuplicates(DuplicateDetectionService.DEFAULT_THRESHOLD);
+        assertEquals(1, pairs.size());
+        assertEquals(1.0, pairs.get(0).similarity());
+
+        service.onWikiDeleted(2L);
+        assertTrue(service.findAllDuplicates(DuplicateDetectionService.DEFAULT_THRESHOLD).isEmpty());
+        verify(wikiRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onWikiSaved_BeforeLoad_DoesNotTouchRepository() {
+        service.onWikiSaved(wiki(1L, "Original", MEETING_NOTES));
+
+        verifyNoInteractions(wikiRepository, journalRepository);
+    }
+
+    @Test
+    void findAllDuplicates_ManyDocuments_OnlyReportsCopies() {
+        List<Wiki> wikis = new ArrayList<>();
+        for (long i = 1; i <= 500; i++) {
+            wikis.add(wiki(i, "Note " + i, "Unique note number " + i + " about topic " + (i * 7919) % 1000
+                    + " with details " + Long.toHexString(i * 2654435761L)));
+        }
+        wikis.add(wiki(1000L, "Planning", MEETING_NOTES));
+        wikis.add(wiki(1001L, "Planning (imported)", MEETING_NOTES + " Action items to follow."));
+        when(wikiRepository.findAll()).thenReturn(wikis);
+
+        JournalEntry entry = new JournalEntry();
+        entry.setId(1L);
+        entry.setContent(MEETING_NOTES);
+        when(journalRepository.findAll()).thenReturn(List.of(entry));
+
+        List<DuplicateDetectionService.DuplicatePair> pairs = service
+                .findAllDuplicates(DuplicateDetectionService.DEFAULT_THRESHOLD);
+
+        assertEquals(1, pairs.size());
+        assertEquals(DuplicateDetectionService.TYPE_WIKI, pairs.get(0).type());
+        assertEquals(1000L, pairs.get(0).firstId());
+        assertEquals(1001L, pairs.get(0).secondId());
+    }
+
+    private Wiki wiki(Long id, String title, String content) {
+        Wiki wiki = new Wiki();
+        wiki.setId(id);
+        wiki.setTitle(title);
+        wiki.setContent(content);
+        return wiki;
+    }
+}
@@ -0,0 +1,68 @@
+package com.roam.service;
+
+import com.roam.util.FlightEvents;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void startStop_WritesRoamEventsToRecordingsDir() throws Exception {
+        FlightRecordingService service = new FlightRecordingService(tempDir.resolve("recordings"));
+
+        Path destination = service.start();
+        assertTrue(service.isRecording());
+
+        FlightEvents.ServiceOperation operation = FlightEvents.serviceOperation("Wiki", "create");
+        operation.finish(42L);
+        FlightEvents.Search search = FlightEvents.search("search", null, "release notes");
+        search.finish(3);
+        FlightEvents.queryExecuted("SELECT t FROM Task t WHERE t.operationId = :id", 7, 12);
+
+        Path written = service.stop();
+
+        assertEquals(destination, written);
+        assertFalse(service.isRecording());
+        assertTrue(Files.size(written) > 0);
+        assertTrue(written.startsWith(tempDir.resolve("recordings")));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(written).stream()
+                .filter(e -> e.getEventType().getName().startsWith("com.roam."))
+                .toList();
+
+        RecordedEvent created = find(events, "com.roam.ServiceOperation");
+        assertEquals("Wiki", created.getString("entityType"));
+        assertEquals(42L, created.getLong("entityId"));
+
+        assertEquals(3, find(events, "com.roam.Search").getInt("resultCount"));
+
+        RecordedEvent query = find(events, "com.roam.Query");
+        assertEquals("Task", query.getString("entityType"));
+        assertEquals(7, query.getInt("rows"));
+    }
+
+    @Test
+    void stop_NotRecording_ReturnsNull() {
+        FlightRecordingService service = new FlightRecordingService(tempDir);
+
+        assertNull(service.stop());
+    }
+
+    private RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+    }
+}
@@ -0,0 +1,224 @@
+package com.roam.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roam.model.Operation;
+import com.roam.model.Task;
+import com.roam.repository.CalendarEventRepository;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.OperationRepository;
+import com.roam.repository.TaskRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.InMemoryDatabase;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InMemoryDatabase.class)
+class HttpApiServiceTest {
+
+    private static final String TOKEN = "secret-token";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private SearchService searchService;
+    private HttpApiService api;
+    private Semaphore dbPermits;
+    private Long operationId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchService = new SearchService(new ByteBuffersDirectory());
+        TaskRepository taskRepository = new TaskRepository();
+        dbPermits = new Semaphore(4, true);
+        api = new HttpApiService(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), TOKEN, dbPermits,
+                new TaskServiceImpl(taskRepository, searchService),
+                new WikiServiceImpl(new WikiRepository(), searchService),
+                new CalendarServiceImpl(new CalendarEventRepository(), taskRepository, searchService),
+                new JournalServiceImpl(new JournalEntryRepository(), searchService), searchService);
+        api.start();
+        operationId = new OperationRepository().save(new Operation("API")).getId();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        api.stop();
+        searchService.close();
+    }
+
+    @Test
+    void request_WithoutToken_Unauthorized() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/tasks")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(401, response.statusCode());
+
+        HttpResponse<String> wrong = client.send(HttpRequest.newBuilder(uri("/api/tasks"))
+                .header("Authorization", "Bearer guess").build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(401, wrong.statusCode());
+    }
+
+    @Test
+    void task_CreateGetUpdateDelete() throws Exception {
+        HttpResponse<String> created = send("POST", "/api/tasks",
+                "{\"id\":99,\"title\":\"Write report\",\"operationId\":" + operationId + ",\"priority\":\"HIGH\"}");
+        assertEquals(201, created.statusCode());
+        long id = json(created).get("id").asLong();
+        assertNotEquals(99, id);
+
+        HttpResponse<String> updated = send("PUT", "/api/tasks/" + id, "{\"status\":\"DONE\"}");
+        assertEquals(200, updated.statusCode());
+        assertEquals("Write report", json(updated).get("title").asText());
+
+        JsonNode fetched = json(send("GET", "/api/tasks/" + id, null));
+        assertEquals("DONE", fetched.get("status").asText());
+        assertEquals("HIGH", fetched.get("priority").asText());
+
+        assertEquals(204, send("DELETE", "/api/tasks/" + id, null).statusCode());
+        assertEquals(404, send("GET", "/api/tasks/" + id, null).statusCode());
+        assertEquals(404, send("DELETE", "/api/tasks/" + id, null).statusCode());
+    }
+
+    @Test
+    void request_BadInput_ClientErrors() throws Exception {
+        assertEquals(400, send("POST", "/api/tasks", "{not json").statusCode());
+        assertEquals(400, send("GET", "/api/tasks?status=SOMEDAY", null).statusCode());
+        assertEquals(404, send("GET", "/api/widgets", null).statusCode());
+        assertEquals(405, send("DELETE", "/api/tasks", null).statusCode());
+        HttpResponse<String> missing = send("GET", "/api/search", null);
+        assertEquals(400, missing.statusCode());
+        assertEquals("Missing query parameter: q", json(missing).get("error").asText());
+    }
+
+    @Test
+    void batch_CreatesAndUpdatesInOneTransaction() throws Exception {
+        Task existing = new TaskRepository().save(new Task("Existing", operationId));
+        String body = "{\"title\":\"First\",\"operationId\":" + operationId + "}\n"
+                + "{\"title\":\"Second\",\"operationId\":" + operationId + "}\n"
+                + "{\"id\":" + existing.getId() + ",\"title\":\"Renamed\",\"operationId\":" + operationId + "}\n";
+
+        HttpResponse<String> response = send("POST", "/api/tasks/batch", body);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(HttpApiService.NDJSON, response.headers().firstValue("Content-Type").orElseThrow());
+        List<JsonNode> saved = lines(response);
+        assertEquals(List.of("First", "Second", "Renamed"), saved.stream().map(n -> n.get("title").asText()).toList());
+        assertEquals(existing.getId(), saved.get(2).get("id").asLong());
+        assertEquals(3, new TaskRepository().countAll());
+        assertEquals(2, searchService.search("first OR second", new SearchService.SearchFilter()).size());
+    }
+
+    @Test
+    void batch_OneBadItem_SavesNothing() throws Exception {
+        String body = "[{\"title\":\"Fine\",\"operationId\":" + operationId + "},"
+                + "{\"id\":12345,\"title\":\"Unknown\",\"operationId\":" + operationId + "}]";
+
+        HttpResponse<String> response = send("POST", "/api/tasks/batch", body);
+
+        assertEquals(400, response.statusCode());
+        assertEquals(0, new TaskRepository().countAll());
+    }
+
+    @Test
+    void list_StreamsEveryPage() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < HttpApiService.PAGE_SIZE + 20; i++) {
+            tasks.add(new Task("Task " + i, operationId));
+        }
+        new TaskRepository().saveAll(tasks);
+
+        List<JsonNode> listed = lines(send("GET", "/api/tasks", null));
+
+        assertEquals(tasks.size(), listed.size());
+        assertEquals("Task 0", listed.get(0).get("title").asText());
+        assertEquals("Task " + (tasks.size() - 1), listed.get(listed.size() - 1).get("title").asText());
+        assertEquals(tasks.size(), lines(send("GET", "/api/tasks?operationId=" + operationId, null)).size());
+    }
+
+    @Test
+    void request_WaitsForSharedDbPermit() throws Exception {
+        dbPermits.acquire(4);
+        CompletableFuture<HttpResponse<String>> pending = client.sendAsync(HttpRequest.newBuilder(uri("/api/tasks"))
+                .header("Authorization", "Bearer " + TOKEN).build(), HttpResponse.BodyHandlers.ofString());
+
+        Thread.sleep(200);
+        assertFalse(pending.isDone());
+
+        dbPermits.release(4);
+        assertEquals(200, pending.get(5, TimeUnit.SECONDS).statusCode());
+    }
+
+    @Test
+    void search_ReturnsResultsAsLines() throws Exception {
+        send("POST", "/api/wikis", "{\"title\":\"Quarterly roadmap\",\"content\":\"Plans\"}");
+        send("POST", "/api/wikis", "{\"title\":\"Groceries\",\"content\":\"Milk\"}");
+
+        List<JsonNode> results = lines(send("GET", "/api/search?q=roadmap&types=wiki&limit=5", null));
+
+        assertEquals(1, results.size());
+        assertEquals("Quarterly roadmap", results.get(0).get("title").asText());
+        assertEquals("wiki", results.get(0).get("type").asText());
+    }
+
+    @Test
+    void list_Filtered_ReturnsMatchesOnly() throws Exception {
+        send("POST", "/api/journal", "{\"title\":\"Monday\",\"date\":\"2026-10-19\"}");
+        send("POST", "/api/journal", "{\"title\":\"Tuesday\",\"date\":\"2026-10-20\"}");
+
+        List<JsonNode> entries = lines(send("GET", "/api/journal?date=2026-10-19", null));
+
+        assertEquals(1, entries.size());
+        assertEquals("Monday", entries.get(0).get("title").asText());
+        assertEquals(2, lines(send("GET", "/api/journal", null)).size());
+    }
+
+    @Test
+    void queryParams_DecodesPairs() {
+        assertEquals(Map.of("q", "a b&c", "flag", ""), HttpApiService.queryParams("q=a+b%26c&flag"));
+        assertEquals(Map.of(), HttpApiService.queryParams(null));
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + TOKEN)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + api.getPort() + path);
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        return mapper.readTree(response.body());
+    }
+
+    private List<JsonNode> lines(HttpResponse<String> response) throws IOException {
+        assertEquals(200, response.statusCode(), response.body());
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : response.body().split("\n")) {
+            if (!line.isEmpty()) {
+                nodes.add(mapper.readTree(line));
+            }
+        }
+        return nodes;
+    }
+}
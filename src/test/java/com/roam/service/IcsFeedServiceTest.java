@@ -0,0 +1,153 @@
+package com.roam.service;
+
+import com.roam.model.CalendarEvent;
+import com.roam.repository.CalendarEventRepository;
+import com.roam.util.IcsEventReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IcsFeedServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private CalendarEventRepository repository;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private Path feedFile;
+    private IcsFeedService feed;
+
+    @BeforeEach
+    void setUp() {
+        feedFile = tempDir.resolve("roam").resolve("calendar.ics");
+        feed = new IcsFeedService(feedFile, repository, (task, delay) -> scheduled.add(task), true);
+    }
+
+    @Test
+    void rebuild_WritesEventsReadableByImporter() throws IOException {
+        CalendarEvent weekly = event(1L, "Weekly sync", LocalDateTime.of(2024, 1, 1, 10, 0));
+        weekly.setRecurrenceRule("Weekly");
+        weekly.setRecurrenceEndDate(LocalDateTime.of(2024, 3, 25, 10, 0));
+        weekly.setRecurrenceExdates("20240115T100000");
+        CalendarEvent offsite = event(2L, "Offsite; day one, two", LocalDateTime.of(2024, 6, 10, 0, 0));
+        offsite.setIsAllDay(true);
+        offsite.setEndDateTime(LocalDateTime.of(2024, 6, 11, 23, 59, 59));
+        when(repository.findAll()).thenReturn(List.of(weekly, offsite));
+
+        feed.rebuild();
+
+        List<IcsEventReader.IcsEvent> events = readFeed();
+        assertEquals(2, events.size());
+        IcsEventReader.IcsEvent sync = events.get(0);
+        assertEquals("1@roam.app", sync.uid());
+        assertEquals(weekly.getStartDateTime(), sync.start());
+        assertTrue(sync.recurrenceRule().startsWith("FREQ=WEEKLY;UNTIL="));
+        assertEquals("20240115T100000", sync.exdates());
+        IcsEventReader.IcsEvent day = events.get(1);
+        assertEquals("Offsite; day one, two", day.summary());
+        assertTrue(day.allDay());
+        assertEquals(offsite.getEndDateTime(), day.end());
+    }
+
+    @Test
+    void changes_DebouncedIntoOneWrite() throws IOException {
+        when(repository.findAll()).thenReturn(List.of(event(1L, "Planning", LocalDateTime.of(2024, 2, 1, 9, 0))));
+        feed.rebuild();
+
+        feed.onEventSaved(event(2L, "Review", LocalDateTime.of(2024, 2, 2, 9, 0)));
+        feed.onEventSaved(event(1L, "Planning (moved)", LocalDateTime.of(2024, 2, 1, 11, 0)));
+        feed.onEventDeleted(2L);
+
+        assertEquals(1, scheduled.size());
+        assertEquals(List.of("Planning"), readFeed().stream().map(IcsEventReader.IcsEvent::summary).toList());
+
+        scheduled.remove(0).run();
+
+        assertEquals(List.of("Planning (moved)"), readFeed().stream().map(IcsEventReader.IcsEvent::summary).toList());
+        assertEquals(List.of(feedFile), listFeedDir());
+    }
+
+    @Test
+    void rebuild_ChangesDuringRead_NotOverwrittenByStaleRows() throws IOException {
+        when(repository.findAll()).thenReturn(List.of(event(1L, "Planning", LocalDateTime.of(2024, 2, 1, 9, 0))));
+        feed.rebuild();
+
+        // The rows are read before the delete and the save land
+        CalendarEvent deleted = event(1L, "Planning", LocalDateTime.of(2024, 2, 1, 9, 0));
+        CalendarEvent stale = event(2L, "Review", LocalDateTime.of(2024, 2, 2, 9, 0));
+        when(repository.findAll()).thenAnswer(invocation -> {
+            feed.onEventDeleted(1L);
+            feed.onEventSaved(event(2L, "Review (moved)", LocalDateTime.of(2024, 2, 2, 11, 0)));
+            return List.of(deleted, stale);
+        });
+        feed.rebuild();
+
+        assertEquals(List.of("Review (moved)"), readFeed().stream().map(IcsEventReader.IcsEvent::summary).toList());
+    }
+
+    @Test
+    void render_FoldsLongLinesAndKeepsText() throws IOException {
+        CalendarEvent event = event(1L, "Notes", LocalDateTime.of(2024, 2, 1, 9, 0));
+        String description = "Zażółć gęślą jaźń — ".repeat(20) + "\nsecond line";
+        event.setDescription(description);
+
+        String rendered = IcsFeedService.render(event);
+
+        for (String line : rendered.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        when(repository.findAll()).thenReturn(List.of(event));
+        feed.rebuild();
+        assertEquals(description, readFeed().get(0).description());
+    }
+
+    @Test
+    void recurrenceRule_TranslatesDialogChoices() {
+        CalendarEvent event = event(1L, "Standup", LocalDateTime.of(2024, 1, 1, 9, 0));
+
+        event.setRecurrenceRule("None");
+        assertNull(IcsFeedService.recurrenceRule(event));
+        event.setRecurrenceRule("Monthly");
+        assertEquals("FREQ=MONTHLY", IcsFeedService.recurrenceRule(event));
+        event.setRecurrenceRule("FREQ=WEEKLY;COUNT=5");
+        event.setRecurrenceEndDate(LocalDateTime.of(2024, 6, 1, 0, 0));
+        assertEquals("FREQ=WEEKLY;COUNT=5", IcsFeedService.recurrenceRule(event));
+    }
+
+    private List<IcsEventReader.IcsEvent> readFeed() throws IOException {
+        List<IcsEventReader.IcsEvent> events = new ArrayList<>();
+        IcsEventReader.read(new StringReader(Files.readString(feedFile)), events::add);
+        return events;
+    }
+
+    private List<Path> listFeedDir() throws IOException {
+        try (var files = Files.list(feedFile.getParent())) {
+            return files.toList();
+        }
+    }
+
+    private static CalendarEvent event(Long id, String title, LocalDateTime start) {
+        CalendarEvent event = new CalendarEvent(title, start, start.plusHours(1), 1L);
+        event.setId(id);
+        event.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return event;
+    }
+}
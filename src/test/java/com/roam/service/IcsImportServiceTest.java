@@ -0,0 +1,158 @@
+package com.roam.service;
+
+import com.roam.model.CalendarEvent;
+import com.roam.model.CalendarSource;
+import com.roam.model.CalendarSourceType;
+import com.roam.repository.CalendarEventRepository;
+import com.roam.repository.CalendarSourceRepository;
+import com.roam.util.InMemoryDatabase;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InMemoryDatabase.class)
+class IcsImportServiceTest {
+
+    private CalendarEventRepository eventRepository;
+    private SearchService searchService;
+    private IcsImportService importService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        CalendarSourceRepository sourceRepository = new CalendarSourceRepository();
+        CalendarSource source = new CalendarSource("Work", "#3366ff", CalendarSourceType.REGION);
+        source.setIsDefault(true);
+        sourceRepository.save(source);
+
+        eventRepository = new CalendarEventRepository();
+        searchService = new SearchService(new ByteBuffersDirectory());
+        importService = new IcsImportService(eventRepository, sourceRepository, searchService, null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchService.close();
+    }
+
+    @Test
+    void importFrom_Reimport_TouchesOnlyChangedEvents() throws IOException {
+        String calendar = calendar(event("one", "Planning"), event("two", "Review"), event("three", "Retro"));
+
+        IcsImportService.ImportResult first = importService.importFrom(new StringReader(calendar));
+        assertEquals(new IcsImportService.ImportResult(3, 0, 0, 0), first);
+
+        IcsImportService.ImportResult again = importService.importFrom(new StringReader(calendar));
+        assertEquals(new IcsImportService.ImportResult(0, 0, 3, 0), again);
+
+        IcsImportService.ImportResult changed = importService.importFrom(new StringReader(
+                calendar(event("one", "Planning"), event("two", "Review (moved)"), event("four", "Demo"))));
+        assertEquals(new IcsImportService.ImportResult(1, 1, 1, 0), changed);
+
+        List<CalendarEvent> events = eventRepository.findAll();
+        assertEquals(4, events.size());
+        assertTrue(events.stream().anyMatch(e -> e.getTitle().equals("Review (moved)")));
+    }
+
+    @Test
+    void importFrom_UpdatedEvent_KeepsLocalLinks() throws IOException {
+        importService.importFrom(new StringReader(calendar(event("one", "Planning"))));
+        CalendarEvent imported = eventRepository.findAll().get(0);
+        imported.setColor("#ff0000");
+        eventRepository.save(imported);
+
+        importService.importFrom(new StringReader(calendar(event("one", "Planning, rescheduled"))));
+
+        CalendarEvent updated = eventRepository.findById(imported.getId()).orElseThrow();
+        assertEquals("Planning, rescheduled", updated.getTitle());
+        assertEquals("#ff0000", updated.getColor());
+    }
+
+    @Test
+    void importFrom_OverriddenOccurrence_LinkedToSeries() throws IOException {
+        String series = """
+                BEGIN:VEVENT
+                UID:weekly
+                DTSTART:20240101T100000
+                DTEND:20240101T110000
+                SUMMARY:Weekly sync
+                RRULE:FREQ=WEEKLY
+                EXDATE:20240115T100000
+                END:VEVENT
+                """;
+        String moved = """
+                BEGIN:VEVENT
+                UID:weekly
+                RECURRENCE-ID:20240108T100000
+                DTSTART:20240109T100000
+                DTEND:20240109T110000
+                SUMMARY:Weekly sync (Tuesday)
+                END:VEVENT
+                """;
+
+        // The override may come first in the file
+        IcsImportService.ImportResult result = importService.importFrom(new StringReader(calendar(moved, series)));
+
+        assertEquals(2, result.added());
+        List<CalendarEvent> events = eventRepository.findAll();
+        CalendarEvent master = events.stream().filter(e -> "weekly".equals(e.getExternalUid())).findFirst()
+                .orElseThrow();
+        CalendarEvent occurrence = events.stream().filter(CalendarEvent::getIsRecurringInstance).findFirst()
+                .orElseThrow();
+        assertEquals("FREQ=WEEKLY", master.getRecurrenceRule());
+        assertEquals("20240115T100000", master.getRecurrenceExdates());
+        assertEquals(master.getId(), occurrence.getParentEventId());
+    }
+
+    @Test
+    void importFrom_ManyEvents_SavedAcrossBatches() throws IOException {
+        StringBuilder events = new StringBuilder();
+        int count = IcsImportService.BATCH_SIZE * 2 + 7;
+        for (int i = 0; i < count; i++) {
+            events.append(event("bulk-" + i, "Event " + i));
+        }
+
+        IcsImportService.ImportResult result = importService.importFrom(
+                new StringReader(calendar(events.toString())));
+
+        assertEquals(count, result.added());
+        assertEquals(count, eventRepository.findAll().size());
+    }
+
+    @Test
+    void externalUid_UniqueAcrossCalendars() {
+        CalendarSourceRepository sourceRepository = new CalendarSourceRepository();
+        Long work = sourceRepository.findAll().get(0).getId();
+        Long home = sourceRepository.save(new CalendarSource("Home", "#33aa55", CalendarSourceType.REGION)).getId();
+
+        eventRepository.save(imported("shared", work));
+
+        assertThrows(RuntimeException.class, () -> eventRepository.save(imported("shared", home)));
+        assertEquals(1, eventRepository.findAll().size());
+    }
+
+    private static CalendarEvent imported(String uid, Long sourceId) {
+        CalendarEvent event = new CalendarEvent("Standup", LocalDateTime.of(2024, 3, 1, 9, 0),
+                LocalDateTime.of(2024, 3, 1, 9, 15), sourceId);
+        event.setExternalUid(uid);
+        return event;
+    }
+
+    private static String event(String uid, String summary) {
+        return "BEGIN:VEVENT\nUID:" + uid + "\nDTSTART:20240301T090000\nDTEND:20240301T100000\nSUMMARY:"
+                + summary.replace(",", "\\,") + "\nEND:VEVENT\n";
+    }
+
+    private static String calendar(String... events) {
+        return ("BEGIN:VCALENDAR\nVERSION:2.0\nPRODID:-//Test//EN\n" + String.join("", events) + "END:VCALENDAR\n")
+                .replace("\n", "\r\n");
+    }
+}
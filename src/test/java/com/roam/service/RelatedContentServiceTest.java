@@ -0,0 +1,76 @@
+package com.roam.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelatedContentServiceTest {
+
+    @Mock
+    private SearchService searchService;
+
+    private RelatedContentService service;
+    private SearchService.SearchResult related;
+
+    @BeforeEach
+    void setUp() {
+        service = new RelatedContentService(searchService, Runnable::run);
+
+        related = new SearchService.SearchResult();
+        related.id = 2L;
+        related.type = "wiki";
+        related.title = "Related Wiki";
+    }
+
+    @Test
+    void findRelatedAsync_SameVersion_UsesCache() throws Exception {
+        LocalDateTime version = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(searchService.findRelated(eq("wiki"), eq(1L), anyInt(), anyCollection()))
+                .thenReturn(List.of(related));
+
+        List<SearchService.SearchResult> first = service.findRelatedAsync("wiki", 1L, version).get();
+        List<SearchService.SearchResult> second = service.findRelatedAsync("wiki", 1L, version).get();
+
+        assertEquals(1, first.size());
+        assertEquals("Related Wiki", second.get(0).title);
+        verify(searchService, times(1)).findRelated(eq("wiki"), eq(1L), anyInt(), anyCollection());
+    }
+
+    @Test
+    void findRelatedAsync_NewVersion_RecomputesResults() throws Exception {
+        when(searchService.findRelated(eq("wiki"), eq(1L), anyInt(), anyCollection()))
+                .thenReturn(List.of(related));
+
+        service.findRelatedAsync("wiki", 1L, LocalDateTime.of(2024, 1, 1, 12, 0)).get();
+        service.findRelatedAsync("wiki", 1L, LocalDateTime.of(2024, 1, 2, 12, 0)).get();
+
+        verify(searchService, times(2)).findRelated(eq("wiki"), eq(1L), anyInt(), anyCollection());
+    }
+
+    @Test
+    void findRelatedAsync_NullId_ReturnsEmptyWithoutSearching() throws Exception {
+        List<SearchService.SearchResult> results = service.findRelatedAsync("wiki", null, null).get();
+
+        assertTrue(results.isEmpty());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void findRelatedAsync_SearchFails_CompletesExceptionally() throws Exception {
+        when(searchService.findRelated(anyString(), anyLong(), anyInt(), anyCollection()))
+                .thenThrow(new IOException("index unavailable"));
+
+        assertTrue(service.findRelatedAsync("wiki", 1L, null).isCompletedExceptionally());
+    }
+}
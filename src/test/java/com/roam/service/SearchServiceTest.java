@@ -0,0 +1,177 @@
+package com.roam.service;
+
+import com.roam.model.Wiki;
+import com.roam.repository.CalendarEventRepository;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.OperationRepository;
+import com.roam.repository.TaskRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.InMemoryDatabase;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(InMemoryDatabase.class)
+class SearchServiceTest {
+
+    private Directory directory;
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = new ByteBuffersDirectory();
+        searchService = new SearchService(directory);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchService.close();
+    }
+
+    @Test
+    void indexWiki_CommitsImmediately() throws IOException {
+        searchService.indexWiki(1L, "Roadmap", "Quarterly roadmap", "Career", null, LocalDateTime.now());
+
+        assertEquals(1, committedDocs());
+    }
+
+    @Test
+    void batch_CommitsOnceWhenOutermostBatchEnds() throws IOException {
+        searchService.batch(() -> {
+            searchService.indexWiki(1L, "Roadmap", "Quarterly roadmap", "Career", null, LocalDateTime.now());
+            searchService.batch(() -> searchService.indexJournalEntry(2L, "Monday", "Planning", "2024-01-01"));
+            assertEquals(0, committedDocs());
+        });
+
+        assertEquals(2, committedDocs());
+    }
+
+    @Test
+    void batch_Failure_DoesNotCommit() throws IOException {
+        assertThrows(IOException.class, () -> searchService.batch(() -> {
+            searchService.indexWiki(1L, "Roadmap", "Quarterly roadmap", "Career", null, LocalDateTime.now());
+            throw new IOException("disk full");
+        }));
+
+        assertEquals(0, committedDocs());
+
+        // Not rolled back: the next commit publishes the failed batch's update
+        searchService.indexJournalEntry(2L, "Monday", "Standup notes", "2024-01-01");
+        assertEquals(2, committedDocs());
+    }
+
+    @Test
+    void batch_OtherThreadsKeepCommitting() throws Exception {
+        searchService.batch(() -> {
+            searchService.indexWiki(1L, "Roadmap", "Quarterly roadmap", "Career", null, LocalDateTime.now());
+            Thread save = new Thread(() -> {
+                try {
+                    searchService.indexJournalEntry(2L, "Monday", "Standup notes", "2024-01-01");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            save.start();
+            try {
+                save.join();
+                assertEquals(1, searchService.search("standup", new SearchService.SearchFilter()).size());
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        });
+
+        assertEquals(2, committedDocs());
+    }
+
+    @Test
+    void search_AttachmentText_FindsParentWikiOnce() throws Exception {
+        searchService.indexWiki(1L, "Incident review", "Timeline of the outage", null, null, LocalDateTime.now());
+        searchService.indexAttachmentChunk(10L, 1L, "server.log", "abc", 0, "ERROR kafkaconsumer rebalanced");
+        searchService.indexAttachmentChunk(11L, 1L, "notes.md", "def", 0, "kafkaconsumer lag notes");
+
+        List<SearchService.SearchResult> results = searchService.search("kafkaconsumer",
+                new SearchService.SearchFilter());
+
+        assertEquals(1, results.size());
+        assertEquals("wiki", results.get(0).type);
+        assertEquals(1L, results.get(0).id);
+        assertEquals("Incident review", results.get(0).title);
+        assertTrue(results.get(0).snippet.startsWith("📎 "));
+    }
+
+    @Test
+    void hasAttachment_MatchesDigest() throws IOException {
+        searchService.indexAttachmentChunk(10L, 1L, "server.log", "abc", 0, "text");
+
+        assertTrue(searchService.hasAttachment(10L, "abc"));
+        assertFalse(searchService.hasAttachment(10L, "changed"));
+        assertFalse(searchService.hasAttachment(11L, "abc"));
+    }
+
+    @Test
+    void deleteDocument_KeepsAttachments_DeleteAttachmentsOfWikiRemovesThem() throws IOException {
+        searchService.indexWiki(1L, "Incident review", "Timeline", null, null, LocalDateTime.now());
+        searchService.indexAttachmentChunk(10L, 1L, "server.log", "abc", 0, "text");
+        searchService.indexAttachmentChunk(10L, 1L, "server.log", "abc", 1, "more text");
+
+        searchService.indexWiki(1L, "Incident review", "Edited timeline", null, null, LocalDateTime.now());
+        assertEquals(3, committedDocs());
+
+        searchService.deleteDocument(1L);
+        searchService.deleteAttachmentsOfWiki(1L);
+        assertEquals(0, committedDocs());
+    }
+
+    @Test
+    void rebuildIndex_ReplacesIndexWithDatabaseContents() throws Exception {
+        searchService.indexWiki(99L, "Stale", "Archived long ago", null, null, LocalDateTime.now());
+        searchService.indexAttachmentChunk(10L, 99L, "old.log", "abc", 0, "text");
+        Wiki roadmap = new Wiki("Roadmap", null);
+        roadmap.setContent("Quarterly roadmap");
+        new WikiRepository().save(roadmap);
+        new WikiRepository().save(new Wiki("Goals", null));
+
+        assertEquals(2, searchService.rebuildIndex());
+
+        assertEquals(2, committedDocs());
+        assertEquals(2, searchService.documentCount());
+        assertTrue(searchService.search("archived", new SearchService.SearchFilter()).isEmpty());
+        assertEquals(1, searchService.search("roadmap", new SearchService.SearchFilter()).size());
+    }
+
+    @Test
+    void rebuildIndex_RepositoryFails_KeepsOldIndex() throws Exception {
+        searchService.indexWiki(99L, "Stale", "Archived long ago", null, null, LocalDateTime.now());
+        searchService.indexTask(98L, "Old task", "Archived", null, null, null, null);
+        new WikiRepository().save(new Wiki("Goals", null));
+        TaskRepository tasks = mock(TaskRepository.class);
+        when(tasks.findAll()).thenThrow(new RuntimeException("Failed to find tasks"));
+
+        assertThrows(RuntimeException.class, () -> searchService.rebuildIndex(new WikiRepository(), tasks,
+                new OperationRepository(), new CalendarEventRepository(), new JournalEntryRepository()));
+
+        assertEquals(2, committedDocs());
+        assertEquals(2, searchService.search("archived", new SearchService.SearchFilter()).size());
+    }
+
+    private int committedDocs() throws IOException {
+        if (!DirectoryReader.indexExists(directory)) {
+            return 0;
+        }
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            return reader.numDocs();
+        }
+    }
+}
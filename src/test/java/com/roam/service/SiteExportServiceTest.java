@@ -0,0 +1,154 @@
+package com.roam.service;
+
+import com.roam.model.Wiki;
+import com.roam.repository.WikiRepository;
+import com.roam.util.InMemoryDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InMemoryDatabase.class)
+class SiteExportServiceTest {
+
+    @TempDir
+    Path site;
+
+    private WikiRepository wikiRepository;
+    private ExecutorService executor;
+    private SiteExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        wikiRepository = new WikiRepository();
+        executor = Executors.newFixedThreadPool(4);
+        exportService = new SiteExportService(wikiRepository, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void export_RendersPagesWithResolvedLinks() throws IOException {
+        Wiki home = wiki("Home", "# Welcome\n\nSee [[Recipes]] and [[Nowhere]].");
+        Wiki recipes = wiki("Recipes", "| Dish | Time |\n|---|---|\n| Soup | 20 |");
+
+        SiteExportService.ExportResult result = exportService.export(site);
+
+        assertEquals(new SiteExportService.ExportResult(2, 0, 0), result);
+        String homePage = Files.readString(site.resolve("home-" + home.getId() + ".html"));
+        assertTrue(homePage.contains("<h1>Welcome</h1>"));
+        assertTrue(homePage.contains("<a href='recipes-" + recipes.getId() + ".html' class='wiki-link'>Recipes</a>"));
+        assertTrue(homePage.contains("<span class='wiki-link missing'>Nowhere</span>"));
+        assertTrue(Files.readString(site.resolve("recipes-" + recipes.getId() + ".html")).contains("<table>"));
+        assertTrue(Files.readString(site.resolve("index.html")).contains(">Recipes</a>"));
+        assertTrue(Files.readString(site.resolve(SiteExportService.SEARCH_INDEX)).contains("soup"));
+    }
+
+    @Test
+    void export_Again_RendersOnlyChangedPagesAndLinkers() throws IOException {
+        Wiki home = wiki("Home", "See [[Recipes]]");
+        Wiki recipes = wiki("Recipes", "Soup");
+        wiki("About", "Nothing links here");
+        exportService.export(site);
+
+        assertEquals(new SiteExportService.ExportResult(0, 3, 0), exportService.export(site));
+
+        recipes.setContent("Soup and bread");
+        wikiRepository.save(recipes);
+        assertEquals(new SiteExportService.ExportResult(1, 2, 0), exportService.export(site));
+
+        // Renaming moves the page, so the page linking to it changes too
+        recipes.setTitle("Cookbook");
+        wikiRepository.save(recipes);
+        home.setContent("See [[Cookbook]]");
+        wikiRepository.save(home);
+        assertEquals(new SiteExportService.ExportResult(2, 1, 0), exportService.export(site));
+        assertFalse(Files.exists(site.resolve("recipes-" + recipes.getId() + ".html")));
+        assertTrue(Files.readString(site.resolve("home-" + home.getId() + ".html"))
+                .contains("cookbook-" + recipes.getId() + ".html"));
+    }
+
+    @Test
+    void export_LinkTargetCreated_RerendersLinkingPage() throws IOException {
+        Wiki home = wiki("Home", "See [[Later]]");
+        exportService.export(site);
+
+        Wiki later = wiki("Later", "Written afterwards");
+
+        assertEquals(new SiteExportService.ExportResult(2, 0, 0), exportService.export(site));
+        assertTrue(Files.readString(site.resolve("home-" + home.getId() + ".html"))
+                .contains("later-" + later.getId() + ".html"));
+    }
+
+    @Test
+    void export_DeletedWiki_RemovesPage() throws IOException {
+        wiki("Keep", "Stays");
+        Wiki gone = wiki("Gone", "Removed later");
+        exportService.export(site);
+
+        wikiRepository.delete(gone.getId());
+
+        assertEquals(new SiteExportService.ExportResult(0, 1, 1), exportService.export(site));
+        assertFalse(Files.exists(site.resolve("gone-" + gone.getId() + ".html")));
+        assertFalse(Files.readString(site.resolve("index.html")).contains("Gone"));
+    }
+
+    @Test
+    void export_DeletedPageFile_RenderedAgain() throws IOException {
+        Wiki wiki = wiki("Notes", "Text");
+        exportService.export(site);
+        Files.delete(site.resolve("notes-" + wiki.getId() + ".html"));
+
+        assertEquals(new SiteExportService.ExportResult(1, 0, 0), exportService.export(site));
+    }
+
+    @Test
+    void export_NonEmptyFolderWithoutManifest_Refused() throws IOException {
+        wiki("Notes", "Text");
+        Path unrelated = Files.writeString(site.resolve("index.html"), "not ours");
+
+        assertThrows(IOException.class, () -> exportService.export(site));
+        assertEquals("not ours", Files.readString(unrelated));
+    }
+
+    @Test
+    void export_ManifestPathOutsideFolder_NotDeleted() throws IOException {
+        Path output = site.resolve("public");
+        Wiki gone = wiki("Gone", "Removed later");
+        exportService.export(output);
+        Path bystander = Files.writeString(site.resolve("keep.txt"), "mine");
+        Path manifest = output.resolve(SiteExportService.MANIFEST);
+        Files.writeString(manifest, Files.readString(manifest)
+                .replace("gone-" + gone.getId() + ".html", "../keep.txt"));
+
+        wikiRepository.delete(gone.getId());
+
+        assertEquals(new SiteExportService.ExportResult(0, 0, 0), exportService.export(output));
+        assertEquals("mine", Files.readString(bystander));
+    }
+
+    @Test
+    void slugAndTerms() {
+        assertEquals("résumé-draft-v2", SiteExportService.slug("  Résumé: Draft (v2)! "));
+        assertEquals("page", SiteExportService.slug("???"));
+        assertEquals("soup bread", SiteExportService.terms("Soup & bread, a soup"));
+    }
+
+    private Wiki wiki(String title, String content) {
+        Wiki wiki = new Wiki(title, null);
+        wiki.setContent(content);
+        return wikiRepository.save(wiki);
+    }
+}
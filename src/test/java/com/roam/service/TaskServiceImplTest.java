@@ -192,7 +192,7 @@ class TaskServiceImplTest {
         // Arrange
         TaskStatus status = TaskStatus.IN_PROGRESS;
         testTask.setStatus(status);
-        when(repository.findAll()).thenReturn(Arrays.asList(testTask));
+        when(repository.findByStatus(status)).thenReturn(Arrays.asList(testTask));
 
         // Act
         List<Task> result = service.findByStatus(status);
@@ -207,7 +207,7 @@ class TaskServiceImplTest {
     void findByPriority_Success() {
         // Arrange
         Priority priority = Priority.HIGH;
-        when(repository.findAll()).thenReturn(Arrays.asList(testTask));
+        when(repository.findByPriority(priority)).thenReturn(Arrays.asList(testTask));
 
         // Act
         List<Task> result = service.findByPriority(priority);
@@ -222,7 +222,7 @@ class TaskServiceImplTest {
     void findDueBefore_Success() {
         // Arrange
         LocalDate futureDate = LocalDate.now().plusDays(10);
-        when(repository.findAll()).thenReturn(Arrays.asList(testTask));
+        when(repository.findDueBefore(futureDate.atStartOfDay())).thenReturn(Arrays.asList(testTask));
 
         // Act
         List<Task> result = service.findDueBefore(futureDate);
@@ -230,6 +230,7 @@ class TaskServiceImplTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
+        verify(repository, never()).findAll();
     }
 
     @Test
@@ -237,7 +238,7 @@ class TaskServiceImplTest {
         // Arrange
         testTask.setDueDate(LocalDateTime.now().minusDays(1));
         testTask.setStatus(TaskStatus.TODO);
-        when(repository.findAll()).thenReturn(Arrays.asList(testTask));
+        when(repository.findOverdue(LocalDate.now().atStartOfDay())).thenReturn(Arrays.asList(testTask));
 
         // Act
         List<Task> result = service.findOverdue();
@@ -245,13 +246,13 @@ class TaskServiceImplTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
+        verify(repository, never()).findAll();
     }
 
     @Test
     void count_Success() {
         // Arrange
-        Task task2 = new Task("Task2", 10L);
-        when(repository.findAll()).thenReturn(Arrays.asList(testTask, task2));
+        when(repository.countAll()).thenReturn(2L);
 
         // Act
         long result = service.count();
@@ -0,0 +1,131 @@
+package com.roam.service;
+
+import com.roam.model.Operation;
+import com.roam.model.Priority;
+import com.roam.model.Task;
+import com.roam.model.TaskStatus;
+import com.roam.repository.OperationRepository;
+import com.roam.repository.TaskRepository;
+import com.roam.util.InMemoryDatabase;
+import com.roam.util.QueryBudget;
+import com.roam.util.QueryCounter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query budgets for TaskService against a real (in-memory) database. A
+ * failure here usually means a query turned into a full scan or N+1.
+ */
+@ExtendWith(InMemoryDatabase.class)
+class TaskServiceQueryBudgetTest {
+
+    private SearchService searchService;
+    private TaskService service;
+    private Long operationId;
+    private Task overdue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchService = new SearchService(new ByteBuffersDirectory());
+        TaskRepository repository = new TaskRepository();
+        service = new TaskServiceImpl(repository, searchService);
+        operationId = new OperationRepository().save(new Operation("Budget")).getId();
+
+        LocalDateTime now = LocalDateTime.now();
+        overdue = repository.save(task("Overdue", TaskStatus.TODO, Priority.HIGH, now.minusDays(3)));
+        repository.save(task("Overdue in progress", TaskStatus.IN_PROGRESS, Priority.LOW, now.minusDays(1)));
+        repository.save(task("Overdue but done", TaskStatus.DONE, Priority.HIGH, now.minusDays(2)));
+        for (int i = 0; i < 10; i++) {
+            repository.save(task("Future " + i, TaskStatus.TODO, Priority.MEDIUM, now.plusDays(i + 1)));
+        }
+        repository.save(task("No due date", TaskStatus.TODO, Priority.MEDIUM, null));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchService.close();
+    }
+
+    private Task task(String title, TaskStatus status, Priority priority, LocalDateTime dueDate) {
+        Task task = new Task(title, operationId);
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setDueDate(dueDate);
+        return task;
+    }
+
+    @Test
+    void findOverdue_OneQuery_LoadsOnlyMatchingRows() {
+        QueryBudget<List<Task>> run = QueryCounter.measure(service::findOverdue);
+
+        run.assertStatementsAtMost(1).assertEntitiesLoadedAtMost(2);
+        assertEquals(2, run.result().size());
+    }
+
+    @Test
+    void findByStatus_OneQuery_LoadsOnlyMatchingRows() {
+        QueryBudget<List<Task>> run = QueryCounter.measure(() -> service.findByStatus(TaskStatus.DONE));
+
+        run.assertStatementsAtMost(1).assertEntitiesLoadedAtMost(1);
+        assertEquals("Overdue but done", run.result().get(0).getTitle());
+    }
+
+    @Test
+    void findByPriority_OneQuery_LoadsOnlyMatchingRows() {
+        QueryBudget<List<Task>> run = QueryCounter.measure(() -> service.findByPriority(Priority.HIGH));
+
+        run.assertStatementsAtMost(1).assertEntitiesLoadedAtMost(2);
+        assertEquals(2, run.result().size());
+    }
+
+    @Test
+    void findDueBefore_OneQuery_LoadsOnlyMatchingRows() {
+        QueryBudget<List<Task>> run = QueryCounter.measure(() -> service.findDueBefore(LocalDate.now()));
+
+        run.assertStatementsAtMost(1).assertEntitiesLoadedAtMost(3);
+        assertEquals(3, run.result().size());
+    }
+
+    @Test
+    void count_SingleAggregate_LoadsNoEntities() {
+        QueryBudget<Long> run = QueryCounter.measure(service::count);
+
+        run.assertStatementsAtMost(1).assertEntitiesLoadedAtMost(0);
+        assertEquals(14L, run.result());
+    }
+
+    @Test
+    void findByOperationId_OneQuery_NoLazyLoads() {
+        QueryBudget<List<Task>> run = QueryCounter.measure(() -> service.findByOperationId(operationId));
+
+        run.assertStatementsAtMost(1).assertNoCollectionsLoaded();
+        assertEquals(14, run.result().size());
+    }
+
+    @Test
+    void findById_SingleSelect() {
+        QueryBudget<Optional<Task>> run = QueryCounter.measure(() -> service.findById(overdue.getId()));
+
+        run.assertSelectsAtMost(1).assertEntitiesLoadedAtMost(1);
+        assertTrue(run.result().isPresent());
+    }
+
+    @Test
+    void updateStatus_BoundedStatements() {
+        QueryBudget<Task> run = QueryCounter.measure(() -> service.updateStatus(overdue.getId(), TaskStatus.DONE));
+
+        run.assertSelectsAtMost(2).assertStatementsAtMost(3);
+        assertEquals(TaskStatus.DONE, run.result().getStatus());
+    }
+}
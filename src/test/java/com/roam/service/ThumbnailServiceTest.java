@@ -0,0 +1,130 @@
+package com.roam.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path cacheDir;
+
+    @BeforeEach
+    void setUp() {
+        cacheDir = tempDir.resolve("thumbnails");
+    }
+
+    @Test
+    void decodeScaled_LargeImage_FitsThumbnailKeepingAspect() throws IOException {
+        Path photo = writeImage("photo.jpg", "jpg", 2400, 1200);
+
+        BufferedImage thumbnail = ThumbnailService.decodeScaled(photo, ThumbnailService.THUMBNAIL_PX);
+
+        assertEquals(ThumbnailService.THUMBNAIL_PX, thumbnail.getWidth());
+        assertEquals(ThumbnailService.THUMBNAIL_PX / 2, thumbnail.getHeight());
+    }
+
+    @Test
+    void decodeScaled_SmallImage_NotEnlarged() throws IOException {
+        Path icon = writeImage("icon.png", "png", 20, 10);
+
+        BufferedImage thumbnail = ThumbnailService.decodeScaled(icon, ThumbnailService.THUMBNAIL_PX);
+
+        assertEquals(20, thumbnail.getWidth());
+        assertEquals(10, thumbnail.getHeight());
+    }
+
+    @Test
+    void thumbnailFile_SecondRequest_ServedFromDisk() throws IOException {
+        ThumbnailService service = new ThumbnailService(cacheDir, ThumbnailService.MAX_DISK_BYTES, null, Runnable::run);
+        Path source = writeImage("diagram.png", "png", 400, 300);
+
+        Path first = service.thumbnailFile("abc", source);
+        Files.delete(source);
+        Path second = service.thumbnailFile("abc", source);
+
+        assertEquals(first, second);
+        assertEquals(ThumbnailService.THUMBNAIL_PX, ImageIO.read(second.toFile()).getWidth());
+    }
+
+    @Test
+    void thumbnailFile_OverBudget_EvictsLeastRecentlyUsed() throws IOException {
+        ThumbnailService probe = new ThumbnailService(tempDir.resolve("probe"), Long.MAX_VALUE, null, Runnable::run);
+        long size = Files.size(probe.thumbnailFile("probe", writeImage("probe.png", "png", 400, 400, 1)));
+
+        // Room for two thumbnails
+        ThumbnailService service = new ThumbnailService(cacheDir, size * 2 + size / 2, null, Runnable::run);
+        Path a = service.thumbnailFile("a", writeImage("a.png", "png", 400, 400, 1));
+        Path b = service.thumbnailFile("b", writeImage("b.png", "png", 400, 400, 1));
+        service.thumbnailFile("a", a); // a is now the most recently used
+        Path c = service.thumbnailFile("c", writeImage("c.png", "png", 400, 400, 1));
+
+        assertTrue(Files.exists(a));
+        assertFalse(Files.exists(b));
+        assertTrue(Files.exists(c));
+        assertTrue(service.diskBytes() <= size * 2 + size / 2);
+
+        // The order survives a restart
+        ThumbnailService reopened = new ThumbnailService(cacheDir, service.diskBytes(), null, Runnable::run);
+        reopened.thumbnailFile("d", writeImage("d.png", "png", 400, 400, 1));
+        assertFalse(Files.exists(a));
+        assertTrue(Files.exists(c));
+    }
+
+    @Test
+    void thumbnailFile_NotAnImage_ReturnsNull() throws IOException {
+        ThumbnailService service = new ThumbnailService(cacheDir, ThumbnailService.MAX_DISK_BYTES, null, Runnable::run);
+        Path text = Files.writeString(tempDir.resolve("fake.png"), "not really a png");
+
+        assertNull(service.thumbnailFile("fake", text));
+    }
+
+    @Test
+    void isImage_ByExtensionOrMimeType() {
+        assertTrue(ThumbnailService.isImage("Screenshot.PNG", null));
+        assertTrue(ThumbnailService.isImage("scan", "image/jpeg"));
+        assertFalse(ThumbnailService.isImage("notes.txt", "text/plain"));
+        assertFalse(ThumbnailService.isImage(null, null));
+    }
+
+    private Path writeImage(String name, String format, int width, int height) throws IOException {
+        return writeImage(name, format, width, height, 0);
+    }
+
+    /**
+     * @param noiseSeed Non-zero fills the image with random pixels from this
+     *                  seed, so its thumbnail does not compress away
+     */
+    private Path writeImage(String name, String format, int width, int height, long noiseSeed) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        if (noiseSeed != 0) {
+            Random random = new Random(noiseSeed);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    image.setRGB(x, y, random.nextInt());
+                }
+            }
+        } else {
+            Graphics2D g = image.createGraphics();
+            g.setColor(Color.ORANGE);
+            g.fillRect(0, 0, width, height);
+            g.dispose();
+        }
+        Path file = tempDir.resolve(name);
+        ImageIO.write(image, format, file.toFile());
+        return file;
+    }
+}
@@ -0,0 +1,224 @@
+package com.roam.service;
+
+import com.roam.model.JournalEntry;
+import com.roam.model.Operation;
+import com.roam.model.Region;
+import com.roam.model.Wiki;
+import com.roam.repository.JournalEntryRepository;
+import com.roam.repository.OperationRepository;
+import com.roam.repository.RegionRepository;
+import com.roam.repository.WikiRepository;
+import com.roam.util.InMemoryDatabase;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+@ExtendWith(InMemoryDatabase.class)
+class VaultImportServiceTest {
+
+    @TempDir
+    Path vault;
+
+    private WikiRepository wikiRepository;
+    private JournalEntryRepository journalRepository;
+    private RegionRepository regionRepository;
+    private OperationRepository operationRepository;
+    private SearchService searchService;
+    private VaultImportService importService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        wikiRepository = new WikiRepository();
+        journalRepository = new JournalEntryRepository();
+        regionRepository = new RegionRepository();
+        operationRepository = new OperationRepository();
+        searchService = new SearchService(new ByteBuffersDirectory());
+        importService = new VaultImportService(wikiRepository, journalRepository, regionRepository,
+                operationRepository, searchService,
+                new DuplicateDetectionService(wikiRepository, journalRepository), 4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchService.close();
+    }
+
+    @Test
+    void importVault_MapsFoldersToRegionsAndOperations() throws IOException {
+        write("Inbox.md", "Loose note");
+        write("Career/Goals.md", "Get promoted");
+        write("Career/Job Hunt/Resume.md", "Draft the resume");
+        write("Career/Job Hunt/Interviews/Acme.md", "Onsite on Friday");
+        regionRepository.save(new Region("Career", "#3F51B5", false));
+
+        VaultImportService.ImportResult result = importService.importVault(vault);
+
+        assertEquals(4, result.wikis());
+        assertEquals(1, regionRepository.findAll().size());
+        List<Operation> operations = operationRepository.findAll();
+        assertEquals(1, operations.size());
+        assertEquals("Job Hunt", operations.get(0).getName());
+        assertEquals("Career", operations.get(0).getRegion());
+
+        Map<String, Wiki> wikis = byTitle();
+        assertNull(wikis.get("Inbox").getRegion());
+        assertEquals("Career", wikis.get("Goals").getRegion());
+        assertNull(wikis.get("Goals").getOperationId());
+        assertEquals(operations.get(0).getId(), wikis.get("Resume").getOperationId());
+        assertEquals(operations.get(0).getId(), wikis.get("Acme").getOperationId());
+    }
+
+    @Test
+    void importVault_ResolvesLinksByFileNameAndTitle() throws IOException {
+        write("projects/roam-notes.md", "---\ntitle: \"Roam Notes\"\ntags: [a, b]\n---\nSee [[Reading List]].");
+        write("Reading List.md", "Back to [[roam-notes|the notes]], [[Missing]] and [[Reading List#Top]].");
+        write("Index.md", "![[projects/roam-notes.md]] and [[Reading List]]");
+        wikiRepository.save(new Wiki("Existing", null));
+
+        VaultImportService.ImportResult result = importService.importVault(vault);
+
+        Map<String, Wiki> wikis = byTitle();
+        Long notes = wikis.get("Roam Notes").getId();
+        Long reading = wikis.get("Reading List").getId();
+        assertEquals(String.valueOf(reading), wikis.get("Roam Notes").getLinkedWikiIds());
+        assertEquals(String.valueOf(notes), wikis.get("Reading List").getLinkedWikiIds());
+        assertEquals(notes + "," + reading, wikis.get("Index").getLinkedWikiIds());
+        assertEquals(4, result.links());
+        assertEquals("See [[Reading List]].", wikis.get("Roam Notes").getContent());
+    }
+
+    @Test
+    void importVault_DailyNotesBecomeJournalEntries() throws IOException {
+        write("Daily/2024-03-01.md", "Quiet day");
+        write(".obsidian/workspace.md", "ignored");
+        write("Notes.txt", "not markdown");
+
+        VaultImportService.ImportResult result = importService.importVault(vault);
+
+        assertEquals(new VaultImportService.ImportResult(0, 1, 0, 0, 0), result);
+        JournalEntry entry = journalRepository.findAll().get(0);
+        assertEquals(LocalDate.of(2024, 3, 1), entry.getDate());
+        assertEquals("Quiet day", entry.getContent());
+        assertTrue(regionRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void importVault_InvalidNote_CountedAsFailed() throws IOException {
+        write("Huge.md", "x".repeat(100_001));
+        write("Fine.md", "ok");
+
+        VaultImportService.ImportResult result = importService.importVault(vault);
+
+        assertEquals(1, result.wikis());
+        assertEquals(1, result.failed());
+        assertEquals(Set.of("Fine"), byTitle().keySet());
+    }
+
+    @Test
+    void importVault_ManyNotes_SavedAcrossBatchesAndIndexed() throws Exception {
+        int count = VaultImportService.BATCH_SIZE * 2 + 3;
+        for (int i = 0; i < count; i++) {
+            write("bulk/Note " + i + ".md", "Bulk zanzibar note linking [[Note " + (i + 1) % count + "]]");
+        }
+
+        VaultImportService.ImportResult result = importService.importVault(vault);
+
+        assertEquals(count, result.wikis());
+        assertEquals(count, result.links());
+        assertEquals(count, wikiRepository.findAll().size());
+        SearchService.SearchFilter filter = new SearchService.SearchFilter();
+        filter.maxResults = 5;
+        assertEquals(5, searchService.search("zanzibar", filter).size());
+    }
+
+    @Test
+    void importVault_Again_SkipsNotesAlreadyImported() throws IOException {
+        write("Trips/Packing.md", "Boots, rope, harness and a warm jacket for the glacier");
+        write("Daily/2024-03-01.md", "Walked to the lake and back before lunch");
+        importService.importVault(vault);
+        write("Trips/Route.md", "Up the ridge, down the [[Packing]] valley");
+
+        VaultImportService.ImportResult result = importService.importVault(vault);
+
+        assertEquals(new VaultImportService.ImportResult(1, 0, 1, 0, 2), result);
+        assertEquals(2, wikiRepository.findAll().size());
+        assertEquals(1, journalRepository.findAll().size());
+        Map<String, Wiki> wikis = byTitle();
+        assertEquals(String.valueOf(wikis.get("Packing").getId()), wikis.get("Route").getLinkedWikiIds());
+    }
+
+    @Test
+    void importVault_JournalSaveFails_SavedWikisStillLinkedAndIndexed() throws Exception {
+        write("Trips/Alps/Plan.md", "Glacier crossing, see [[Gear]]");
+        write("Gear.md", "Crampons");
+        write("Daily/2024-03-01.md", "Quiet day");
+        JournalEntryRepository failing = spy(journalRepository);
+        doThrow(new RuntimeException("Failed to save journal entries")).when(failing).saveAll(any());
+        importService = new VaultImportService(wikiRepository, failing, regionRepository, operationRepository,
+                searchService, new DuplicateDetectionService(wikiRepository, journalRepository), 4);
+
+        assertThrows(RuntimeException.class, () -> importService.importVault(vault));
+
+        Map<String, Wiki> wikis = byTitle();
+        assertEquals(String.valueOf(wikis.get("Gear").getId()), wikis.get("Plan").getLinkedWikiIds());
+        assertEquals(1, searchService.search("glacier", new SearchService.SearchFilter()).size());
+        assertEquals(1, regionRepository.findAll().size());
+        assertEquals(1, operationRepository.findAll().size());
+    }
+
+    @Test
+    void importVault_WikiSaveFails_RemovesCreatedRegionsAndOperations() throws IOException {
+        write("Trips/Alps/Plan.md", "Glacier crossing");
+        write("Career/Goals.md", "Get promoted");
+        WikiRepository failing = spy(wikiRepository);
+        doThrow(new RuntimeException("Failed to save wikis")).when(failing).saveAll(any());
+        importService = new VaultImportService(failing, journalRepository, regionRepository, operationRepository,
+                searchService, new DuplicateDetectionService(wikiRepository, journalRepository), 4);
+        regionRepository.save(new Region("Career", "#3F51B5", false));
+
+        assertThrows(RuntimeException.class, () -> importService.importVault(vault));
+
+        assertEquals(List.of("Career"), regionRepository.findAll().stream().map(Region::getName).toList());
+        assertTrue(operationRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void splitFrontMatter_Unterminated_KeepsText() {
+        Map<String, String> frontMatter = new HashMap<>();
+        String text = "---\ntitle: Nope\nbody";
+
+        assertEquals(text, VaultImportService.splitFrontMatter(text, frontMatter));
+        assertTrue(frontMatter.isEmpty());
+    }
+
+    private void write(String relative, String content) throws IOException {
+        Path file = vault.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private Map<String, Wiki> byTitle() {
+        Map<String, Wiki> wikis = new HashMap<>();
+        for (Wiki wiki : wikiRepository.findAll()) {
+            wikis.put(wiki.getTitle(), wiki);
+        }
+        return wikis;
+    }
+}
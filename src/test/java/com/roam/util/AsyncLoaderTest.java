@@ -0,0 +1,95 @@
+package com.roam.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLoaderTest {
+
+    private final List<Runnable> uiQueue = new ArrayList<>();
+    private AsyncLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new AsyncLoader("test", Runnable::run, uiQueue::add);
+    }
+
+    @Test
+    void load_Completes_DeliversResultOnUiExecutor() {
+        List<String> received = new ArrayList<>();
+
+        loader.load(() -> "data", received::add);
+
+        assertTrue(loader.isLoading());
+        assertTrue(received.isEmpty());
+        runUiQueue();
+        assertEquals(List.of("data"), received);
+        assertFalse(loader.isLoading());
+    }
+
+    @Test
+    void load_SupersededRequest_DropsStaleResult() {
+        List<String> received = new ArrayList<>();
+
+        loader.load(() -> "stale", received::add);
+        loader.load(() -> "fresh", received::add);
+        runUiQueue();
+
+        assertEquals(List.of("fresh"), received);
+        assertFalse(loader.isLoading());
+    }
+
+    @Test
+    void load_SlowOlderRequest_CannotOverwriteNewerResult() {
+        List<Runnable> background = new ArrayList<>();
+        AsyncLoader deferred = new AsyncLoader("test", background::add, uiQueue::add);
+        List<String> received = new ArrayList<>();
+
+        deferred.load(() -> "old", received::add);
+        deferred.load(() -> "new", received::add);
+        // Run the newer query first, then the older one
+        background.get(1).run();
+        background.get(0).run();
+        runUiQueue();
+
+        assertEquals(List.of("new"), received);
+    }
+
+    @Test
+    void load_QueryFails_PassesCauseToErrorHandler() {
+        List<Throwable> errors = new ArrayList<>();
+
+        loader.load(() -> {
+            throw new IllegalStateException("boom");
+        }, result -> fail("Unexpected result"), errors::add);
+        runUiQueue();
+
+        assertEquals(1, errors.size());
+        assertInstanceOf(IllegalStateException.class, errors.get(0));
+        assertFalse(loader.isLoading());
+    }
+
+    @Test
+    void cancel_PendingRequest_NothingDelivered() {
+        List<String> received = new ArrayList<>();
+
+        CompletableFuture<String> future = loader.load(() -> "data", received::add);
+        loader.cancel();
+        runUiQueue();
+
+        assertTrue(received.isEmpty());
+        assertFalse(loader.isLoading());
+        assertEquals("data", future.join());
+    }
+
+    private void runUiQueue() {
+        while (!uiQueue.isEmpty()) {
+            uiQueue.remove(0).run();
+        }
+    }
+}
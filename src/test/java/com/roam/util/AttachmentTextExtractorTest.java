@@ -0,0 +1,107 @@
+package com.roam.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentTextExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void extract_CharacterSplitAcrossWindows_DecodedWhole() throws IOException {
+        String text = "naïve café résumé — 日本語 ".repeat(50);
+        Path file = Files.writeString(tempDir.resolve("notes.md"), text);
+
+        // 7-byte windows split most multi-byte characters
+        assertEquals(text, String.join("", extract(file, 7)));
+    }
+
+    @Test
+    void extract_Utf16WithBom_Decoded() throws IOException {
+        Path file = tempDir.resolve("export.csv");
+        byte[] body = "name,city\nZoë,Kraków\n".getBytes(StandardCharsets.UTF_16LE);
+        byte[] content = new byte[body.length + 2];
+        content[0] = (byte) 0xFF;
+        content[1] = (byte) 0xFE;
+        System.arraycopy(body, 0, content, 2, body.length);
+        Files.write(file, content);
+
+        assertEquals("name,city\nZoë,Kraków\n", String.join("", extract(file, 16)));
+    }
+
+    @Test
+    void extract_InvalidUtf8_FallsBackToWindows1252() throws IOException {
+        Path file = tempDir.resolve("legacy.txt");
+        Files.write(file, "Café €5".getBytes(Charset.forName("windows-1252")));
+
+        assertEquals("Café €5", String.join("", extract(file, AttachmentTextExtractor.WINDOW_BYTES)));
+    }
+
+    @Test
+    void extract_Html_StripsTags() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("page.html"),
+                "<html><body><h1>Release</h1><p class=\"x\">Shipped <b>today</b></p></body></html>");
+
+        String text = String.join("", extract(file, AttachmentTextExtractor.WINDOW_BYTES));
+
+        assertFalse(text.contains("<"));
+        assertEquals(List.of("Release", "Shipped", "today"), Arrays.asList(text.trim().split("\\s+")));
+    }
+
+    @Test
+    void extract_LargeFile_ChunksAtWhitespaceKeepingEveryWord() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < AttachmentTextExtractor.CHUNK_CHARS * 3; i++) {
+            text.append("word").append(i).append(i % 12 == 0 ? '\n' : ' ');
+        }
+        Path file = Files.writeString(tempDir.resolve("server.log"), text);
+
+        List<String> chunks = extract(file, 4096);
+
+        assertTrue(chunks.size() >= 3);
+        for (String chunk : chunks) {
+            assertTrue(chunk.length() <= AttachmentTextExtractor.CHUNK_CHARS);
+        }
+        assertEquals(text.toString(), String.join("", chunks));
+    }
+
+    @Test
+    void extract_BinaryOrEmpty_ProducesNothing() throws IOException {
+        Path binary = Files.write(tempDir.resolve("data.txt"), new byte[] { 'P', 'K', 3, 4, 0, 0, 1 });
+        Path empty = Files.createFile(tempDir.resolve("empty.txt"));
+
+        assertEquals(List.of(), extract(binary, AttachmentTextExtractor.WINDOW_BYTES));
+        assertEquals(List.of(), extract(empty, AttachmentTextExtractor.WINDOW_BYTES));
+    }
+
+    @Test
+    void isTextLike_ByExtensionOrMimeType() {
+        assertTrue(AttachmentTextExtractor.isTextLike("README.MD", null));
+        assertTrue(AttachmentTextExtractor.isTextLike("Main.java", "application/octet-stream"));
+        assertTrue(AttachmentTextExtractor.isTextLike("notes", "text/plain"));
+        assertFalse(AttachmentTextExtractor.isTextLike("photo.png", "image/png"));
+        assertFalse(AttachmentTextExtractor.isTextLike(null, null));
+    }
+
+    private static List<String> extract(Path file, int windowBytes) throws IOException {
+        List<String> chunks = new ArrayList<>();
+        int count = AttachmentTextExtractor.extract(file, (index, text) -> {
+            assertEquals(chunks.size(), index);
+            chunks.add(text);
+        }, windowBytes);
+        assertEquals(chunks.size(), count);
+        return chunks;
+    }
+}
@@ -0,0 +1,147 @@
+package com.roam.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IcsEventReaderTest {
+
+    @Test
+    void read_TimedEvent_UnfoldsAndUnescapes() throws IOException {
+        List<IcsEventReader.IcsEvent> events = read("""
+                BEGIN:VEVENT
+                UID:standup@example.com
+                DTSTART:20240108T090000
+                DTEND:20240108T091500
+                SUMMARY:Standup\\, daily
+                DESCRIPTION:Agenda:\\nblockers and a very long line that was folded by the
+                  exporting application
+                LOCATION:Room 4
+                BEGIN:VALARM
+                DESCRIPTION:Reminder
+                END:VALARM
+                END:VEVENT
+                """);
+
+        assertEquals(1, events.size());
+        IcsEventReader.IcsEvent event = events.get(0);
+        assertEquals("standup@example.com", event.key());
+        assertEquals("Standup, daily", event.summary());
+        assertEquals("Agenda:\nblockers and a very long line that was folded by the exporting application",
+                event.description());
+        assertEquals(LocalDateTime.of(2024, 1, 8, 9, 0), event.start());
+        assertEquals(LocalDateTime.of(2024, 1, 8, 9, 15), event.end());
+        assertFalse(event.allDay());
+    }
+
+    @Test
+    void read_RecurringEvent_KeepsRuleAndExdates() throws IOException {
+        IcsEventReader.IcsEvent event = read("""
+                BEGIN:VEVENT
+                UID:review
+                DTSTART:20240101T100000
+                DURATION:PT30M
+                RRULE:FREQ=WEEKLY;BYDAY=MO;UNTIL=20240401T100000
+                EXDATE:20240115T100000,20240122T100000
+                EXDATE:20240205T100000
+                END:VEVENT
+                """).get(0);
+
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 30), event.end());
+        assertEquals("FREQ=WEEKLY;BYDAY=MO;UNTIL=20240401T100000", event.recurrenceRule());
+        assertEquals(LocalDateTime.of(2024, 4, 1, 10, 0), event.recurrenceEnd());
+        assertEquals("20240115T100000,20240122T100000,20240205T100000", event.exdates());
+    }
+
+    @Test
+    void read_AllDayEvent_EndsOnLastDay() throws IOException {
+        IcsEventReader.IcsEvent event = read("""
+                BEGIN:VEVENT
+                UID:offsite
+                DTSTART;VALUE=DATE:20240610
+                DTEND;VALUE=DATE:20240612
+                SUMMARY:Offsite
+                END:VEVENT
+                """).get(0);
+
+        assertTrue(event.allDay());
+        assertEquals(LocalDateTime.of(2024, 6, 10, 0, 0), event.start());
+        assertEquals(LocalDateTime.of(2024, 6, 11, 23, 59, 59), event.end());
+    }
+
+    @Test
+    void read_UtcAndZonedTimes_ConvertedToLocal() throws IOException {
+        IcsEventReader.IcsEvent event = read("""
+                BEGIN:VEVENT
+                UID:call
+                DTSTART;TZID=America/New_York:20240301T090000
+                DTEND:20240301T150000Z
+                RECURRENCE-ID;TZID=America/New_York:20240301T080000
+                END:VEVENT
+                """).get(0);
+
+        ZoneId local = ZoneId.systemDefault();
+        assertEquals(LocalDateTime.of(2024, 3, 1, 9, 0).atZone(ZoneId.of("America/New_York"))
+                .withZoneSameInstant(local).toLocalDateTime(), event.start());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 15, 0).atOffset(ZoneOffset.UTC)
+                .atZoneSameInstant(local).toLocalDateTime(), event.end());
+        assertNotNull(event.recurrenceId());
+        assertTrue(event.key().startsWith("call/"));
+        assertEquals("Untitled event", event.summary());
+    }
+
+    @Test
+    void read_EventWithoutUidOrStart_Skipped() throws IOException {
+        List<IcsEventReader.IcsEvent> events = new ArrayList<>();
+        int skipped = IcsEventReader.read(new StringReader(calendar("""
+                BEGIN:VEVENT
+                DTSTART:20240101T100000
+                END:VEVENT
+                BEGIN:VEVENT
+                UID:no-start
+                END:VEVENT
+                BEGIN:VEVENT
+                UID:ok
+                DTSTART:20240101T100000
+                END:VEVENT
+                """)), events::add);
+
+        assertEquals(2, skipped);
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void fingerprint_ChangesWithContent() throws IOException {
+        String original = """
+                BEGIN:VEVENT
+                UID:a
+                DTSTART:20240101T100000
+                SUMMARY:Planning
+                END:VEVENT
+                """;
+
+        String first = read(original).get(0).fingerprint();
+
+        assertEquals(first, read(original).get(0).fingerprint());
+        assertNotEquals(first, read(original.replace("Planning", "Planning v2")).get(0).fingerprint());
+    }
+
+    private static List<IcsEventReader.IcsEvent> read(String events) throws IOException {
+        List<IcsEventReader.IcsEvent> result = new ArrayList<>();
+        IcsEventReader.read(new StringReader(calendar(events)), result::add);
+        return result;
+    }
+
+    private static String calendar(String events) {
+        return ("BEGIN:VCALENDAR\nVERSION:2.0\nPRODID:-//Test//EN\n" + events + "END:VCALENDAR\n")
+                .replace("\n", "\r\n");
+    }
+}
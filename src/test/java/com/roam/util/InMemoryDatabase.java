@@ -0,0 +1,86 @@
+package com.roam.util;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JUnit extension that runs tests against an in-memory H2 database migrated
+ * by Flyway, with {@link QueryCounter} installed. Every table except the
+ * Flyway history is emptied before each test.
+ *
+ * <pre>
+ * &#64;ExtendWith(InMemoryDatabase.class)
+ * class TaskServiceQueryBudgetTest { ... }
+ * </pre>
+ */
+public class InMemoryDatabase implements BeforeAllCallback, BeforeEachCallback {
+
+    public static final String JDBC_URL = "jdbc:h2:mem:roam-test;DB_CLOSE_DELAY=-1";
+
+    private static boolean initialized;
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        initialize();
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        clearTables();
+    }
+
+    private static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        if (System.getProperty("roam.db.url") == null) {
+            System.setProperty("roam.db.url", JDBC_URL);
+        }
+        // Never truncate a real database
+        String url = DatabaseConfig.getInstance().getJdbcUrl();
+        if (!url.startsWith("jdbc:h2:mem:")) {
+            throw new IllegalStateException("Refusing to run database tests against " + url);
+        }
+
+        HibernateUtil.addStatementListener(QueryCounter.INSTANCE);
+        HibernateUtil.getEntityManagerFactory();
+        initialized = true;
+    }
+
+    private static void clearTables() {
+        EntityManager em = HibernateUtil.getEntityManager();
+        try {
+            em.unwrap(Session.class).doWork(connection -> {
+                List<String> tables = new ArrayList<>();
+                try (Statement statement = connection.createStatement();
+                        ResultSet rs = statement.executeQuery(
+                                "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                                        + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'")) {
+                    while (rs.next()) {
+                        String table = rs.getString(1);
+                        if (!table.equalsIgnoreCase("flyway_schema_history")) {
+                            tables.add(table);
+                        }
+                    }
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                    for (String table : tables) {
+                        statement.execute("TRUNCATE TABLE \"" + table + "\" RESTART IDENTITY");
+                    }
+                    statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+                }
+            });
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.roam.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property tests comparing the single-pass sanitizer against the original
+ * regex implementation on random adversarial input.
+ */
+class InputSanitizerTest {
+
+    private static final int SAMPLES = 20_000;
+
+    // Pieces random inputs are built from: SQL keywords in mixed case, Lucene
+    // operators, control characters, regex line terminators, wildcards and
+    // non-ASCII characters that case-fold to ASCII letters
+    private static final String[] FRAGMENTS = {
+            "select", "SeLeCt", "update", "DELETE", "insert", "drop", "Create", "alter", "exec", "EXECUTE",
+            "union", "sel", "ect", "--", "/*", "*/", ";", "*", "?", "+", "-", "!", "(", ")", "{", "}", "[", "]",
+            "^", "\"", "~", ":", "\\", "/", " ", "  ", "\t", "\n", "\r", "\r\n", "\u0085", " ", " ",
+            "\u0000", "\u0001", "\u0008", "\u000B", "\u000C", "\u001F", "\u007F", "\u0080", "\u009F",
+            "word", "roadmap", "a", "Z", "ınsert", "ſelect", "Key", "café", "😀",
+            " ", "　", "1", "42"
+    };
+
+    // ==================== Reference (regex) implementation ====================
+
+    private static final Pattern JPQL_INJECTION_PATTERN = Pattern.compile(
+            "(?i)(SELECT|UPDATE|DELETE|INSERT|DROP|CREATE|ALTER|EXEC|EXECUTE|UNION|--|\\/\\*|\\*\\/|;)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern LUCENE_SPECIAL_CHARS = Pattern.compile(
+            "[+\\-!(){}\\[\\]^\"~*?:\\\\/]");
+
+    private static final Pattern EXCESSIVE_WILDCARDS = Pattern.compile(
+            "([*?].*){5,}");
+
+    private static String referenceSearchQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        query = query.trim();
+        if (query.length() > InputSanitizer.MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Search query too long. Maximum length is " + InputSanitizer.MAX_SEARCH_QUERY_LENGTH
+                            + " characters.");
+        }
+        if (EXCESSIVE_WILDCARDS.matcher(query).find()) {
+            throw new IllegalArgumentException(
+                    "Search query too complex. Please reduce the number of wildcards.");
+        }
+        String sanitized = LUCENE_SPECIAL_CHARS.matcher(query).replaceAll("\\\\$0");
+        if (JPQL_INJECTION_PATTERN.matcher(sanitized).find()) {
+            throw new IllegalArgumentException(
+                    "Invalid search query. Please remove SQL keywords.");
+        }
+        return sanitized;
+    }
+
+    private static String referenceForJPQL(String input) {
+        if (input == null) {
+            return "";
+        }
+        input = input.trim();
+        if (JPQL_INJECTION_PATTERN.matcher(input).find()) {
+            throw new IllegalArgumentException(
+                    "Invalid input detected. Please remove special SQL characters.");
+        }
+        return input.replace("'", "''");
+    }
+
+    private static String referenceTitle(String title) {
+        if (title == null) {
+            return "";
+        }
+        title = title.trim();
+        if (title.length() > InputSanitizer.MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Title too long. Maximum length is " + InputSanitizer.MAX_TITLE_LENGTH + " characters.");
+        }
+        return title.replaceAll("\\p{Cntrl}", "");
+    }
+
+    private static String referenceDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        description = description.trim();
+        if (description.length() > InputSanitizer.MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Description too long. Maximum length is " + InputSanitizer.MAX_DESCRIPTION_LENGTH
+                            + " characters.");
+        }
+        return description.replaceAll("[\\p{Cntrl}&&[^\n\t]]", "");
+    }
+
+    private static String referenceContent(String content) {
+        if (content == null) {
+            return "";
+        }
+        if (content.length() > InputSanitizer.MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Content too long. Maximum length is " + InputSanitizer.MAX_CONTENT_LENGTH + " characters.");
+        }
+        return content.replaceAll("[\\p{Cntrl}&&[^\n\t\r]]", "");
+    }
+
+    // ==================== Properties ====================
+
+    @Test
+    void sanitizeSearchQuery_MatchesRegexImplementation() {
+        assertEquivalent(InputSanitizerTest::referenceSearchQuery, InputSanitizer::sanitizeSearchQuery, 1, 40);
+    }
+
+    @Test
+    void sanitizeForJPQL_MatchesRegexImplementation() {
+        assertEquivalent(InputSanitizerTest::referenceForJPQL, InputSanitizer::sanitizeForJPQL, 2, 40);
+    }
+
+    @Test
+    void sanitizeTitle_MatchesRegexImplementation() {
+        assertEquivalent(InputSanitizerTest::referenceTitle, InputSanitizer::sanitizeTitle, 3, 80);
+    }
+
+    @Test
+    void sanitizeDescription_MatchesRegexImplementation() {
+        assertEquivalent(InputSanitizerTest::referenceDescription, InputSanitizer::sanitizeDescription, 4, 1000);
+    }
+
+    @Test
+    void sanitizeContent_MatchesRegexImplementation() {
+        assertEquivalent(InputSanitizerTest::referenceContent, InputSanitizer::sanitizeContent, 5, 1000);
+    }
+
+    @Test
+    void sanitizeContent_NothingToRemove_ReturnsSameInstance() {
+        String content = "## Heading\n\nSome *markdown* text with [[Links]] and\ttabs.\r\n".repeat(1500);
+
+        assertSame(content, InputSanitizer.sanitizeContent(content));
+    }
+
+    @Test
+    void sanitizeSearchQuery_NothingToEscape_ReturnsTrimmedQuery() {
+        String query = "project roadmap";
+
+        assertSame(query, InputSanitizer.sanitizeSearchQuery(query));
+    }
+
+    @Test
+    void sanitizeContent_AtLengthLimit_MatchesRegexImplementation() {
+        String content = "x\u0000".repeat(InputSanitizer.MAX_CONTENT_LENGTH / 2);
+
+        assertEquals(referenceContent(content), InputSanitizer.sanitizeContent(content));
+        assertThrows(IllegalArgumentException.class, () -> InputSanitizer.sanitizeContent(content + "x"));
+    }
+
+    /**
+     * Run both implementations on the same random inputs and require the same
+     * result or the same exception message.
+     */
+    private static void assertEquivalent(Function<String, String> reference, Function<String, String> candidate,
+            long seed, int maxFragments) {
+        Random random = new Random(seed);
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = randomInput(random, maxFragments);
+
+            String expected;
+            try {
+                expected = reference.apply(input);
+            } catch (IllegalArgumentException e) {
+                IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                        () -> candidate.apply(input), () -> "Expected failure for " + escape(input));
+                assertEquals(e.getMessage(), actual.getMessage(), () -> "Different error for " + escape(input));
+                continue;
+            }
+            assertEquals(expected, candidate.apply(input), () -> "Different output for " + escape(input));
+        }
+        assertEquals(reference.apply(null), candidate.apply(null));
+    }
+
+    private static String randomInput(Random random, int maxFragments) {
+        int fragments = random.nextInt(maxFragments + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fragments; i++) {
+            if (random.nextInt(8) == 0) {
+                sb.append((char) random.nextInt(0x3000));
+            } else {
+                sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            if (c < 0x20 || c > 0x7E) {
+                sb.append(String.format("\\u%04X", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.roam.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedExecutorServiceTest {
+
+    private final ExecutorMetrics metrics = new ExecutorMetrics("test");
+    private final InstrumentedExecutorService executor = new InstrumentedExecutorService(
+            Executors.newSingleThreadExecutor(), metrics);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_QueuedBehindBusyThread_RecordsGaugesAndWaitTime() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> blocker = executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<?> queued = executor.submit(() -> {
+        });
+
+        assertEquals(1, metrics.getActiveCount());
+        assertEquals(1, metrics.getQueuedCount());
+
+        Thread.sleep(20);
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(2, metrics.getSubmittedCount());
+        assertEquals(2, metrics.getCompletedCount());
+        assertEquals(0, metrics.getActiveCount());
+        assertEquals(0, metrics.getQueuedCount());
+        assertEquals(2, metrics.getWaitTime().getCount());
+        assertTrue(metrics.getWaitTime().getMaxMillis() >= 20);
+        assertTrue(metrics.getRunTimeMaxMillis() >= 20);
+    }
+
+    @Test
+    void submit_TaskThrows_CountsAsFailed() throws Exception {
+        Future<?> future = executor.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, metrics.getFailedCount());
+        assertEquals(0, metrics.getCompletedCount());
+    }
+
+    @Test
+    void execute_AfterShutdown_CountsRejection() {
+        executor.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+
+        assertEquals(1, metrics.getRejectedCount());
+        assertEquals(0, metrics.getQueuedCount());
+    }
+
+    @Test
+    void execute_SlowTask_CountsSlowTask() throws Exception {
+        metrics.setSlowTaskThresholdMillis(10);
+
+        executor.execute(() -> {
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, metrics.getSlowTaskCount());
+    }
+
+    @Test
+    void latencyHistogram_Percentiles_WithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMeanMillis(), 0.01);
+        assertEquals(100.0, histogram.getMaxMillis(), 0.01);
+        double p50 = histogram.getPercentileMillis(50);
+        assertTrue(p50 >= 50 && p50 <= 100, "p50=" + p50);
+        assertTrue(histogram.getPercentileMillis(99) <= 100.0);
+    }
+}
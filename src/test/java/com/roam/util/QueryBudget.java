@@ -0,0 +1,94 @@
+package com.roam.util;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * What a measured call did against the database (see
+ * {@link QueryCounter#measure}). Assertion failures list the SQL that ran.
+ */
+public final class QueryBudget<T> {
+
+    private final T result;
+    private final List<String> statements;
+    private final long entitiesLoaded;
+    private final long collectionsLoaded;
+
+    QueryBudget(T result, List<String> statements, long entitiesLoaded, long collectionsLoaded) {
+        this.result = result;
+        this.statements = statements;
+        this.entitiesLoaded = entitiesLoaded;
+        this.collectionsLoaded = collectionsLoaded;
+    }
+
+    public T result() {
+        return result;
+    }
+
+    public List<String> statements() {
+        return statements;
+    }
+
+    public int statementCount() {
+        return statements.size();
+    }
+
+    public long selectCount() {
+        return statements.stream().filter(QueryBudget::isSelect).count();
+    }
+
+    public long entitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public long collectionsLoaded() {
+        return collectionsLoaded;
+    }
+
+    public QueryBudget<T> assertStatementsAtMost(int max) {
+        if (statements.size() > max) {
+            fail("Expected at most " + max + " SQL statements but " + statements.size() + " ran" + describe());
+        }
+        return this;
+    }
+
+    public QueryBudget<T> assertSelectsAtMost(int max) {
+        long selects = selectCount();
+        if (selects > max) {
+            fail("Expected at most " + max + " SELECT statements but " + selects + " ran" + describe());
+        }
+        return this;
+    }
+
+    /**
+     * Fail if more entities were hydrated than expected, e.g. because rows
+     * were filtered in Java instead of in the query.
+     */
+    public QueryBudget<T> assertEntitiesLoadedAtMost(long max) {
+        if (entitiesLoaded > max) {
+            fail("Expected at most " + max + " entities loaded but " + entitiesLoaded + " were" + describe());
+        }
+        return this;
+    }
+
+    public QueryBudget<T> assertNoCollectionsLoaded() {
+        if (collectionsLoaded > 0) {
+            fail("Expected no lazy collection loads but " + collectionsLoaded + " happened" + describe());
+        }
+        return this;
+    }
+
+    private String describe() {
+        StringBuilder sb = new StringBuilder(":");
+        for (int i = 0; i < statements.size(); i++) {
+            sb.append("\n  ").append(i + 1).append(". ").append(statements.get(i));
+        }
+        return sb.toString();
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+}
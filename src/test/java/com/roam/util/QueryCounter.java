@@ -0,0 +1,79 @@
+package com.roam.util;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements and entity loads caused by a piece of code, so
+ * tests can hold services to a query budget. Requires the
+ * {@link InMemoryDatabase} extension. Usage:
+ *
+ * <pre>
+ * QueryBudget&lt;List&lt;Task&gt;&gt; run = QueryCounter.measure(service::findOverdue);
+ * run.assertStatementsAtMost(1).assertEntitiesLoadedAtMost(3);
+ * </pre>
+ *
+ * Only statements issued on the measuring thread are counted.
+ */
+public final class QueryCounter implements Consumer<String> {
+
+    static final QueryCounter INSTANCE = new QueryCounter();
+
+    private final ThreadLocal<List<String>> active = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    @Override
+    public void accept(String sql) {
+        List<String> statements = active.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    /**
+     * Run {@code work} and record what it did against the database.
+     */
+    public static <T> QueryBudget<T> measure(Supplier<T> work) {
+        Statistics statistics = statistics();
+        long entityLoads = statistics.getEntityLoadCount();
+        long collectionLoads = statistics.getCollectionLoadCount();
+
+        List<String> statements = new ArrayList<>();
+        INSTANCE.active.set(statements);
+        T result;
+        try {
+            result = work.get();
+        } finally {
+            INSTANCE.active.remove();
+        }
+
+        return new QueryBudget<>(result, List.copyOf(statements),
+                statistics.getEntityLoadCount() - entityLoads,
+                statistics.getCollectionLoadCount() - collectionLoads);
+    }
+
+    /**
+     * Run {@code work} that returns nothing and record what it did.
+     */
+    public static QueryBudget<Void> measure(Runnable work) {
+        return measure(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    static Statistics statistics() {
+        Statistics statistics = HibernateUtil.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            statistics.setStatisticsEnabled(true);
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,111 @@
+package com.roam.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property tests checking that incremental updates agree with a full
+ * recount, and that the word count agrees with the split-based count it
+ * replaced.
+ */
+class TextStatisticsTest {
+
+    private static final int SAMPLES = 20_000;
+
+    private static final String[] FRAGMENTS = {
+            "word", "a", "roadmap", "[[Link]]", "**bold**", "café", "😀", "-", ".",
+            " ", "  ", "\t", "\n", "\r\n", "\u000B", "\f", " ", "　"
+    };
+
+    private static int referenceWordCount(String content) {
+        return content.trim().isEmpty() ? 0 : content.trim().split("\\s+").length;
+    }
+
+    private static int referenceLines(String content) {
+        return content.isEmpty() ? 0 : content.split("\n", -1).length;
+    }
+
+    @Test
+    void countWords_MatchesSplitOnSanitizedContent() {
+        Random random = new Random(1);
+        for (int i = 0; i < SAMPLES; i++) {
+            String content = InputSanitizer.sanitizeContent(randomText(random, 30));
+
+            assertEquals(referenceWordCount(content), TextStatistics.countWords(content), content);
+        }
+    }
+
+    @Test
+    void replace_RandomEdits_MatchFullRecount() {
+        Random random = new Random(2);
+        String text = randomText(random, 20);
+        TextStatistics statistics = new TextStatistics();
+        statistics.reset(text);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            int start = random.nextInt(text.length() + 1);
+            int end = start + random.nextInt(Math.min(8, text.length() - start) + 1);
+            String inserted = random.nextInt(4) == 0 ? "" : randomText(random, 3);
+
+            statistics.replace(text, start, end, inserted);
+            text = text.substring(0, start) + inserted + text.substring(end);
+
+            TextStatistics recount = new TextStatistics();
+            recount.reset(text);
+            String snapshot = text;
+            assertEquals(recount.getWords(), statistics.getWords(), () -> "Words after edit: " + snapshot);
+            assertEquals(text.length(), statistics.getCharacters());
+            assertEquals(referenceLines(text), statistics.getLines(), () -> "Lines after edit: " + snapshot);
+        }
+    }
+
+    @Test
+    void replace_JoiningAndSplittingWords_UpdatesCount() {
+        TextStatistics statistics = new TextStatistics();
+        statistics.reset("hello world");
+        assertEquals(2, statistics.getWords());
+
+        // Delete the space: "helloworld"
+        statistics.replace("hello world", 5, 6, "");
+        assertEquals(1, statistics.getWords());
+
+        // Split it again in the middle: "hel loworld"
+        statistics.replace("helloworld", 3, 3, " ");
+        assertEquals(2, statistics.getWords());
+    }
+
+    @Test
+    void readingTime_RoundsUp() {
+        TextStatistics statistics = new TextStatistics();
+        statistics.reset("");
+        assertEquals(0, statistics.getReadingTimeMinutes());
+        assertEquals(0, statistics.getLines());
+
+        statistics.reset("word ".repeat(TextStatistics.WORDS_PER_MINUTE + 1));
+        assertEquals(2, statistics.getReadingTimeMinutes());
+    }
+
+    @Test
+    void replace_RangeOutsideText_Throws() {
+        TextStatistics statistics = new TextStatistics();
+        statistics.reset("abc");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> statistics.replace("abc", 2, 4, "x"));
+    }
+
+    private static String randomText(Random random, int maxFragments) {
+        int fragments = random.nextInt(maxFragments + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fragments; i++) {
+            if (random.nextInt(10) == 0) {
+                sb.append((char) random.nextInt(0x3000));
+            } else {
+                sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+        }
+        return sb.toString();
+    }
+}
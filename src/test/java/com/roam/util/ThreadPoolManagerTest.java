@@ -0,0 +1,156 @@
+package com.roam.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadPoolManagerTest {
+
+    private ThreadPoolManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.shutdownNow();
+        }
+    }
+
+    @Test
+    void virtualMode_ManyBlockingTasks_RunConcurrently() throws Exception {
+        manager = new ThreadPoolManager(true, 4);
+        int tasks = 200;
+        CountDownLatch allStarted = new CountDownLatch(tasks);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < tasks; i++) {
+            manager.submitIoTask(() -> {
+                allStarted.countDown();
+                release.await();
+                return null;
+            });
+        }
+
+        // A 5-thread platform pool could never have all tasks blocked at once
+        assertTrue(allStarted.await(10, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(manager.isVirtualThreads());
+    }
+
+    @Test
+    void platformMode_IoTasksRunOnPlatformThreads() throws Exception {
+        manager = new ThreadPoolManager(false, 4);
+
+        boolean virtual = manager.submitIoTask(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+
+        assertFalse(virtual);
+        assertFalse(manager.isVirtualThreads());
+    }
+
+    @Test
+    void submitDbTask_ManyTasks_NeverExceedsPermitLimit() {
+        manager = new ThreadPoolManager(true, 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            futures.add(manager.submitDbTask(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+
+        int sum = futures.stream().mapToInt(CompletableFuture::join).sum();
+        assertEquals(49 * 50 / 2, sum);
+        assertTrue(maxRunning.get() <= 3, "Max concurrent DB tasks: " + maxRunning.get());
+    }
+
+    @Test
+    void submitDbTask_CheckedException_CompletesExceptionally() {
+        manager = new ThreadPoolManager(false, 2);
+
+        CompletableFuture<Object> future = manager.submitDbTask(() -> {
+            throw new java.io.IOException("disk");
+        });
+
+        Exception e = assertThrows(Exception.class, future::join);
+        assertInstanceOf(java.io.IOException.class, e.getCause());
+    }
+
+    @Test
+    void submitDbTask_InterruptedWhileWaitingForPermit_StillCompletes() throws Exception {
+        manager = new ThreadPoolManager(true, 1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // The holder ignores the interrupt, so the permit stays taken until
+        // the waiting task has been interrupted too
+        CompletableFuture<Object> holder = manager.submitDbTask(() -> {
+            holding.countDown();
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+            return null;
+        });
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> waiting = manager.submitDbTask(() -> Thread.currentThread().isInterrupted());
+
+        manager.shutdownNow();
+        release.countDown();
+
+        holder.get(5, TimeUnit.SECONDS);
+        assertTrue(waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void platformMode_PermitLimitCappedAtPoolSize() {
+        manager = new ThreadPoolManager(false, 8);
+
+        assertEquals(5, manager.getMaxDbTasks());
+    }
+
+    @Test
+    void schedule_CancelledBeforeRunning_LeavesQueuedGauge() {
+        manager = new ThreadPoolManager(false, 2);
+        ExecutorMetrics metrics = MetricsRegistry.getInstance().executor("scheduled");
+        int queuedBefore = metrics.getQueuedCount();
+
+        ScheduledFuture<?> future = manager.schedule(() -> {
+        }, 1, TimeUnit.HOURS);
+        assertEquals(queuedBefore + 1, metrics.getQueuedCount());
+
+        assertTrue(future.cancel(false));
+        assertEquals(queuedBefore, metrics.getQueuedCount());
+    }
+
+    @Test
+    void scheduleAtFixedRate_RecordsEveryExecution() throws Exception {
+        manager = new ThreadPoolManager(false, 2);
+        ExecutorMetrics metrics = MetricsRegistry.getInstance().executor("scheduled");
+        int queuedBefore = metrics.getQueuedCount();
+        long completedBefore = metrics.getCompletedCount();
+        // The latch opens inside a run, before that run is recorded
+        CountDownLatch runs = new CountDownLatch(4);
+
+        ScheduledFuture<?> future = manager.scheduleAtFixedRate(runs::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+
+        assertTrue(metrics.getCompletedCount() - completedBefore >= 3);
+        assertEquals(queuedBefore, metrics.getQueuedCount());
+    }
+}